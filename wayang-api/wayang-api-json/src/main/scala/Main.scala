@@ -19,28 +19,34 @@ package org.apache.wayang.api.json
 
 import zio._
 import zio.http._
+import zio.stream.ZStream
 import scala.util.Try
+import java.util.concurrent.RejectedExecutionException
+
+import com.fasterxml.jackson.databind.json.JsonMapper
+import com.fasterxml.jackson.module.scala.DefaultScalaModule
 
-import org.apache.wayang.api.json.builder.JsonPlanBuilder
 import org.apache.wayang.api.json.operatorfromdrawflow.OperatorFromDrawflowConverter
-import org.apache.wayang.api.json.operatorfromjson.OperatorFromJson
+import org.apache.wayang.api.json.operatorfromjson.PlanFromJson
 import org.apache.wayang.api.json.parserutil.ParseOperatorsFromDrawflow
-import org.apache.wayang.api.json.parserutil.ParsePlanFromJson
+import org.apache.wayang.api.json.parserutil.{ParsePlanFromJson, PlanTemplate}
+import org.apache.wayang.api.json.service.{JobHandle, JobRequest, JobService, PlanTemplates}
 
 object Main extends ZIOAppDefault {
+  lazy val jobService: JobService = JobService.fromEnvironment()
+
+  lazy val planTemplates: PlanTemplates = PlanTemplates.fromEnvironment()
+
+  // Maximum number of results per chunk of a streamed response
+  val resultChunkSize = 1024
+
   val drawRoute =
     Method.POST / "wayang-api-json" / "submit-plan" / "drawflow-format" -> handler { (req: Request) =>
      (for {
         requestBody <- req.body.asString
         operatorsFromDrawflow <- ZIO.fromTry(Try(ParseOperatorsFromDrawflow.parseOperatorsFromString(requestBody).get))
         operatorsFromJson = operatorsFromDrawflow.flatMap(op => OperatorFromDrawflowConverter.toOperatorFromJson(op))
-        result <- ZIO.attempt(new JsonPlanBuilder().setOperators(operatorsFromJson).execute())
-        responseBody <- ZIO.attempt {
-          if (operatorsFromJson.exists(op => op.cat == OperatorFromJson.Categories.Output))
-            "Success"
-          else
-            result.collect().toString()
-        }
+        responseBody <- execute(JobRequest.fromOperators(operatorsFromJson))
         resBody <- ZIO.succeed(Response.text(responseBody))
      } yield resBody).catchAll(t => ZIO.succeed(Response.text(t.getMessage)))
   }
@@ -50,28 +56,141 @@ object Main extends ZIOAppDefault {
      (for {
         requestBody <- req.body.asString
         planFromJson <- ZIO.fromTry(Try(ParsePlanFromJson.parsePlanFromString(requestBody).get))
-        result <- ZIO.attempt(new JsonPlanBuilder().fromPlan(planFromJson).execute())
-        responseBody <- ZIO.attempt {
-          if (planFromJson.operators.exists(op => op.cat == OperatorFromJson.Categories.Output)) {
-            println("Successfully executed WayangJob")
-            "Success"
-          } else {
-            result.collect().toString()
-          }
-        }
+        responseBody <- execute(JobRequest.fromPlan(planFromJson))
         resBody <- ZIO.succeed(Response.text(responseBody))
-     } yield resBody).catchAll(t => {
-       t.printStackTrace
-       ZIO.succeed(Response.error(Status.BadRequest, t.getMessage))
-     })
+     } yield resBody).catchAll(t =>
+       ZIO.logErrorCause("Could not execute plan.", Cause.fail(t)).as(errorResponse(t))
+     )
+    }
+
+  val submitDrawflowJobRoute =
+    Method.POST / "wayang-api-json" / "jobs" / "drawflow-format" -> handler { (req: Request) =>
+     (for {
+        requestBody <- req.body.asString
+        operatorsFromDrawflow <- ZIO.fromTry(Try(ParseOperatorsFromDrawflow.parseOperatorsFromString(requestBody).get))
+        operatorsFromJson = operatorsFromDrawflow.flatMap(op => OperatorFromDrawflowConverter.toOperatorFromJson(op))
+        handle <- ZIO.attempt(jobService.submit(JobRequest.fromOperators(operatorsFromJson)))
+     } yield statusResponse(handle)).catchAll(t => ZIO.succeed(errorResponse(t)))
+    }
+
+  val submitJsonJobRoute =
+    Method.POST / "wayang-api-json" / "jobs" / "json" -> handler { (req: Request) =>
+     (for {
+        requestBody <- req.body.asString
+        planFromJson <- ZIO.fromTry(Try(ParsePlanFromJson.parsePlanFromString(requestBody).get))
+        handle <- ZIO.attempt(jobService.submit(JobRequest.fromPlan(planFromJson)))
+     } yield statusResponse(handle)).catchAll(t => ZIO.succeed(errorResponse(t)))
+    }
+
+  val jobStatusRoute =
+    Method.GET / "wayang-api-json" / "jobs" / string("id") -> handler { (id: String, _: Request) =>
+      jobService.getJob(id) match {
+        case Some(handle) => statusResponse(handle)
+        case None => Response.error(Status.NotFound, s"Unknown job $id.")
+      }
+    }
+
+  val jobResultsRoute =
+    Method.GET / "wayang-api-json" / "jobs" / string("id") / "results" -> handler { (id: String, _: Request) =>
+      jobService.getJob(id) match {
+        case None => Response.error(Status.NotFound, s"Unknown job $id.")
+        case Some(handle) if !handle.claimResults() => Response.error(Status.Conflict, s"Results of job $id are already being consumed.")
+        case Some(handle) =>
+          // Stream the results as lines, in chunks as they are produced, so that they need not be held in memory.
+          val lines = ZStream.repeatZIOChunkOption(
+            ZIO.attemptBlocking(handle.takeResults(resultChunkSize))
+              .mapError(Option(_))
+              .flatMap {
+                case Some(results) => ZIO.succeed(Chunk.fromIterable(results.map(result => s"$result\n")))
+                case None => ZIO.fail(None)
+              }
+          )
+          Response(
+            status = Status.Ok,
+            headers = Headers(Header.ContentType(MediaType.text.plain)),
+            body = Body.fromCharSequenceStreamChunked(lines)
+          )
+      }
     }
 
+  val registerTemplateRoute =
+    Method.POST / "wayang-api-json" / "templates" -> handler { (req: Request) =>
+     (for {
+        requestBody <- req.body.asString
+        template <- ZIO.attempt(PlanTemplate.parseFromString(requestBody))
+        id <- ZIO.attempt(planTemplates.register(template))
+     } yield Response.json(statusMapper.writeValueAsString(Map("id" -> id, "parameters" -> template.parameters.keys.toList.sorted))))
+       .catchAll(t => ZIO.succeed(errorResponse(t)))
+    }
+
+  val removeTemplateRoute =
+    Method.DELETE / "wayang-api-json" / "templates" / string("id") -> handler { (id: String, _: Request) =>
+      if (planTemplates.remove(id)) Response.ok else Response.error(Status.NotFound, s"Unknown plan template $id.")
+    }
+
+  val executeTemplateRoute =
+    Method.POST / "wayang-api-json" / "templates" / string("id") / "execute" -> handler { (id: String, req: Request) =>
+     (for {
+        planFromJson <- bindTemplate(id, req)
+        responseBody <- execute(JobRequest.fromPlan(planFromJson))
+     } yield Response.text(responseBody)).catchAll(t => ZIO.succeed(errorResponse(t)))
+    }
+
+  val submitTemplateJobRoute =
+    Method.POST / "wayang-api-json" / "templates" / string("id") / "jobs" -> handler { (id: String, req: Request) =>
+     (for {
+        planFromJson <- bindTemplate(id, req)
+        handle <- ZIO.attempt(jobService.submit(JobRequest.fromPlan(planFromJson)))
+     } yield statusResponse(handle)).catchAll(t => ZIO.succeed(errorResponse(t)))
+    }
+
+  /**
+   * Bind the parameter values in the body of a request to a registered [[PlanTemplate]].
+   */
+  private def bindTemplate(id: String, req: Request): Task[PlanFromJson] = for {
+    template <- ZIO.fromOption(planTemplates.get(id)).orElseFail(new NoSuchElementException(s"Unknown plan template $id."))
+    requestBody <- req.body.asString
+    planFromJson <- ZIO.attempt(template.bind(PlanTemplate.parseValuesFromString(requestBody)))
+  } yield planFromJson
+
+  /**
+   * Execute a plan synchronously on the [[jobService]] and describe its outcome.
+   */
+  private def execute(request: JobRequest): Task[String] =
+    ZIO.fromFuture(_ => jobService.run(request) { result =>
+      if (request.hasOutput) "Success" else result.collect().toString()
+    }).tap(_ => ZIO.logInfo("Successfully executed WayangJob"))
+
+  private def statusResponse(handle: JobHandle): Response = {
+    val status = Map(
+      "id" -> handle.id,
+      "status" -> handle.getStatus,
+      "results" -> handle.getNumResults
+    ) ++ handle.getFailure.map(t => "error" -> String.valueOf(t.getMessage))
+    Response.json(statusMapper.writeValueAsString(status))
+  }
+
+  private def errorResponse(t: Throwable): Response = t match {
+    case _: RejectedExecutionException => Response.error(Status.ServiceUnavailable, "Too many queued jobs.")
+    case _: NoSuchElementException => Response.error(Status.NotFound, t.getMessage)
+    case _ => Response.error(Status.BadRequest, t.getMessage)
+  }
+
+  private lazy val statusMapper: JsonMapper = JsonMapper.builder().addModule(DefaultScalaModule).build()
+
   // Create HTTP route
-  val app = Routes(drawRoute, jsonRoute).toHttpApp
+  val app = Routes(
+    drawRoute, jsonRoute,
+    submitDrawflowJobRoute, submitJsonJobRoute, jobStatusRoute, jobResultsRoute,
+    registerTemplateRoute, removeTemplateRoute, executeTemplateRoute, submitTemplateJobRoute
+  ).toHttpApp
 
   // Run it like any simple app
   def run = for {
     args <- getArgs
+    _ <- ZIO.attemptBlocking(jobService.warmUp())
+      .catchAllCause(cause => ZIO.logWarningCause("Could not warm up the job service.", cause))
     _ <- Server.serve(app).provide(Server.defaultWithPort((args.headOption getOrElse "8080" toInt)))
+      .ensuring(ZIO.succeed(jobService.shutdown()))
   } yield ()
 }
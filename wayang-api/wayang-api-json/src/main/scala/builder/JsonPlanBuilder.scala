@@ -53,6 +53,7 @@ class JsonPlanBuilder() {
 
   var planBuilder: PlanBuilder = _
   var configuration: Configuration = null
+  var wayangContext: WayangContext = null
   var operators: Map[Long, OperatorFromJson] = Map()
   var plugins: List[Plugin] = List(
     Java.basicPlugin,
@@ -108,21 +109,40 @@ class JsonPlanBuilder() {
     this
   }
 
-  def setOperators(operators: List[OperatorFromJson]): JsonPlanBuilder = {
-    setOperatorsRec(operators)
+  /**
+   * Use an existing, possibly warm, context for the plan rather than creating a new one in [[setOperators]].
+   * Plans with a [[JDBCRemoteInputFromJson]] cannot use such a context (see [[JsonPlanBuilder.requiresDedicatedContext]]).
+   */
+  def withContext(context: WayangContext): JsonPlanBuilder = {
+    wayangContext = context
+    this
+  }
 
-    // Create context with plugins
+  /**
+   * Create a new context with the configuration and plugins of this instance.
+   */
+  def createContext(): WayangContext = {
     val wayangContext = new WayangContext(this.configuration)
     plugins.foreach(plugin => wayangContext.withPlugin(plugin))
+    wayangContext
+  }
 
-    // Check if there is a jdbc remote input. If yes, set configuration appropriately
-    operators.foreach {
-      case jdbcRemoteInputFromJson: JDBCRemoteInputFromJson =>
-        configuration.setProperty("wayang.postgres.jdbc.url", jdbcRemoteInputFromJson.data.uri)
-        configuration.setProperty("wayang.postgres.jdbc.user", jdbcRemoteInputFromJson.data.username)
-        configuration.setProperty("wayang.postgres.jdbc.password", jdbcRemoteInputFromJson.data.password)
-        wayangContext.withPlugin(Postgres.plugin())
-      case _ =>
+  def setOperators(operators: List[OperatorFromJson]): JsonPlanBuilder = {
+    setOperatorsRec(operators)
+
+    // Create context with plugins unless one has been provided
+    if (wayangContext == null) {
+      wayangContext = createContext()
+
+      // Check if there is a jdbc remote input. If yes, set configuration appropriately
+      operators.foreach {
+        case jdbcRemoteInputFromJson: JDBCRemoteInputFromJson =>
+          configuration.setProperty("wayang.postgres.jdbc.url", jdbcRemoteInputFromJson.data.uri)
+          configuration.setProperty("wayang.postgres.jdbc.user", jdbcRemoteInputFromJson.data.username)
+          configuration.setProperty("wayang.postgres.jdbc.password", jdbcRemoteInputFromJson.data.password)
+          wayangContext.withPlugin(Postgres.plugin())
+        case _ =>
+      }
     }
 
     // Create plan builder and return
@@ -626,3 +646,14 @@ class JsonPlanBuilder() {
     }
   }
 }
+
+object JsonPlanBuilder {
+
+  /**
+   * Tells whether a plan with the given operators must be executed in a context of its own, because it modifies the
+   * configuration and plugins of the context.
+   */
+  def requiresDedicatedContext(operators: List[OperatorFromJson]): Boolean = {
+    operators.exists(_.isInstanceOf[JDBCRemoteInputFromJson])
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wayang.api.json.parserutil
+
+import scala.reflect.runtime.universe
+import scala.reflect.runtime.universe._
+import scala.tools.reflect.ToolBox
+import scala.util.Try
+
+/**
+ * Compiles the Scala source code of UDFs and caches the compiled code per JVM, so that plans that are submitted
+ * repeatedly, and UDFs that are deserialized repeatedly, e.g., by Spark executors, are compiled only once.
+ */
+object CompiledUdfs {
+
+  private val maxSize: Int = getEnv("WAYANG_API_JSON_UDF_CACHE_SIZE", 1024)
+
+  /**
+   * A toolbox keeps the classes of all the code it has compiled, so evicting compiled code from the [[cache]] frees
+   * them only once the toolbox that compiled them is discarded. Hence, a fresh toolbox is used after this many
+   * compilations.
+   */
+  private val maxToolboxCompilations: Int = getEnv("WAYANG_API_JSON_UDF_TOOLBOX_COMPILATIONS", 256)
+
+  /**
+   * Maps source code to the compiled code, which evaluates the source code when invoked; in access order.
+   */
+  private val cache = new java.util.LinkedHashMap[String, () => Any](16, 0.75f, true) {
+    override def removeEldestEntry(eldest: java.util.Map.Entry[String, () => Any]): Boolean = size > maxSize
+  }
+
+  private var toolbox: ToolBox[universe.type] = _
+
+  private var numToolboxCompilations = 0
+
+  /**
+   * Evaluate the given source code, compiling it unless it has been compiled before.
+   *
+   * @param string the source code
+   * @return the value of the source code, e.g., a function
+   */
+  def evaluate(string: String): Any = {
+    val cached = cache.synchronized(cache.get(string))
+    val compiled = if (cached != null) cached else {
+      val compiled = compile(string)
+      cache.synchronized(cache.put(string, compiled))
+      compiled
+    }
+    compiled()
+  }
+
+  private def compile(string: String): () => Any = {
+    // Toolboxes are not thread-safe.
+    synchronized {
+      if (toolbox == null || numToolboxCompilations >= maxToolboxCompilations) {
+        toolbox = runtimeMirror(getClass.getClassLoader).mkToolBox()
+        numToolboxCompilations = 0
+      }
+      numToolboxCompilations += 1
+      try {
+        toolbox.compile(toolbox.parse(string))
+      }
+      catch {
+        case e: Throwable =>
+          ParsingErrors.handleException(e, string)
+      }
+    }
+  }
+
+  def size: Int = cache.synchronized(cache.size)
+
+  /**
+   * Read a positive integer from an environment variable. Invalid values are ignored, as this object could not be
+   * initialized otherwise.
+   */
+  private def getEnv(name: String, default: Int): Int =
+    sys.env.get(name).flatMap(value => Try(value.trim.toInt).toOption).filter(_ > 0).getOrElse(default)
+}
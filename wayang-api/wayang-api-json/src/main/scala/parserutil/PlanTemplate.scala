@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wayang.api.json.parserutil
+
+import com.fasterxml.jackson.core.JsonPointer
+import com.fasterxml.jackson.core.`type`.TypeReference
+import com.fasterxml.jackson.databind.JsonNode
+import com.fasterxml.jackson.databind.json.JsonMapper
+import com.fasterxml.jackson.databind.node.{ArrayNode, ObjectNode, TextNode}
+import com.fasterxml.jackson.module.scala.DefaultScalaModule
+import org.apache.wayang.api.json.exception.WayangApiJsonException
+import org.apache.wayang.api.json.operatorfromjson.PlanFromJson
+
+import scala.collection.JavaConverters._
+
+/**
+ * A plan in the JSON format whose string values may contain placeholders <code>{{name}}</code> for declared
+ * parameters. The plan is parsed only once, and binding parameter values yields a [[PlanFromJson]] without parsing
+ * the JSON again. UDFs that do not contain placeholders are thus identical across bindings and are compiled only once
+ * (see [[CompiledUdfs]]), whereas UDFs with placeholders are compiled once per distinct binding.
+ *
+ * @param plan       the plan as a JSON tree
+ * @param parameters the names of the declared parameters and their default values, if any
+ */
+class PlanTemplate(plan: JsonNode, val parameters: Map[String, Option[JsonNode]]) {
+
+  /**
+   * Locates the string values with placeholders.
+   */
+  private val slots: List[(JsonPointer, String)] = PlanTemplate.findSlots(plan, JsonPointer.empty(), parameters.keySet)
+
+  /**
+   * Caches the most recently bound plans.
+   */
+  private val boundPlans = new java.util.LinkedHashMap[Map[String, JsonNode], PlanFromJson](16, 0.75f, true) {
+    override def removeEldestEntry(eldest: java.util.Map.Entry[Map[String, JsonNode], PlanFromJson]): Boolean =
+      size > PlanTemplate.maxBoundPlans
+  }
+
+  /**
+   * Bind the parameters of this instance.
+   *
+   * @param values the values for the parameters; parameters with default values may be omitted
+   * @return the bound plan
+   */
+  def bind(values: Map[String, JsonNode]): PlanFromJson = {
+    val unknownParameters = values.keySet -- parameters.keySet
+    if (unknownParameters.nonEmpty) {
+      throw new WayangApiJsonException(s"Unknown parameters: ${unknownParameters.mkString(", ")}.")
+    }
+    val boundValues = parameters.map { case (name, default) =>
+      name -> values.get(name).orElse(default).getOrElse(
+        throw new WayangApiJsonException(s"No value for parameter $name.")
+      )
+    }
+    val cachedPlan = boundPlans.synchronized(boundPlans.get(boundValues))
+    if (cachedPlan != null) return cachedPlan
+
+    val boundPlan = plan.deepCopy[JsonNode]()
+    for ((pointer, text) <- slots) {
+      val value = PlanTemplate.substitute(text, boundValues)
+      boundPlan.at(pointer.head()) match {
+        case parent: ObjectNode => parent.set[JsonNode](pointer.last().getMatchingProperty, value)
+        case parent: ArrayNode => parent.set(pointer.last().getMatchingIndex, value)
+      }
+    }
+    val planFromJson = PlanTemplate.mapper.convertValue(boundPlan, new TypeReference[PlanFromJson] {})
+    boundPlans.synchronized(boundPlans.put(boundValues, planFromJson))
+    planFromJson
+  }
+}
+
+object PlanTemplate {
+
+  private val maxBoundPlans = 32
+
+  private val placeholderPattern = """\{\{\s*([A-Za-z_][A-Za-z0-9_]*)\s*\}\}""".r
+
+  private lazy val mapper: JsonMapper = JsonMapper.builder()
+    .addModule(DefaultScalaModule)
+    .build()
+
+  /**
+   * Parse a template of the form <code>{"parameters": {"name": default or null, ...}, "plan": {...}}</code>.
+   */
+  def parseFromString(string: String): PlanTemplate = {
+    val tree = try {
+      mapper.readTree(string)
+    } catch {
+      case e: Exception =>
+        throw new WayangApiJsonException(s"Can't parse plan template: ${e.getMessage}")
+    }
+    if (tree == null || !tree.path("plan").isObject) {
+      throw new WayangApiJsonException("Plan template has no plan.")
+    }
+    val parameters = tree.path("parameters").fields().asScala
+      .map(field => field.getKey -> Option(field.getValue).filterNot(_.isNull))
+      .toMap
+    val template = new PlanTemplate(tree.get("plan"), parameters)
+    // Fail early if the plan is malformed.
+    if (parameters.values.forall(_.isDefined)) template.bind(Map())
+    template
+  }
+
+  /**
+   * Parse parameter values from a JSON object.
+   */
+  def parseValuesFromString(string: String): Map[String, JsonNode] = {
+    if (string.trim.isEmpty) return Map()
+    val tree = try {
+      mapper.readTree(string)
+    } catch {
+      case e: Exception =>
+        throw new WayangApiJsonException(s"Can't parse parameter values: ${e.getMessage}")
+    }
+    if (!tree.isObject) throw new WayangApiJsonException("Parameter values must be a JSON object.")
+    tree.fields().asScala.map(field => field.getKey -> field.getValue).toMap
+  }
+
+  private def findSlots(node: JsonNode, pointer: JsonPointer, names: Set[String]): List[(JsonPointer, String)] = {
+    node match {
+      case text: TextNode =>
+        val hasPlaceholders = placeholderPattern.findAllMatchIn(text.textValue).exists(m => names.contains(m.group(1)))
+        if (hasPlaceholders) List((pointer, text.textValue)) else List()
+      case obj: ObjectNode =>
+        obj.fields().asScala.toList.flatMap(field => findSlots(field.getValue, pointer.append(JsonPointer.compile("/" + escape(field.getKey))), names))
+      case array: ArrayNode =>
+        (0 until array.size).toList.flatMap(index => findSlots(array.get(index), pointer.append(JsonPointer.compile("/" + index)), names))
+      case _ => List()
+    }
+  }
+
+  private def escape(property: String): String = property.replace("~", "~0").replace("/", "~1")
+
+  /**
+   * Replace the placeholders in a string value. If the value consists of a single placeholder, it is replaced by the
+   * bound value as is, so that it may be, e.g., a number or a list.
+   */
+  private def substitute(text: String, values: Map[String, JsonNode]): JsonNode = {
+    placeholderPattern.unapplySeq(text) match {
+      case Some(List(name)) if values.contains(name) => values(name)
+      case _ => new TextNode(placeholderPattern.replaceAllIn(text, m =>
+        scala.util.matching.Regex.quoteReplacement(values.get(m.group(1)).map(asText).getOrElse(m.matched))
+      ))
+    }
+  }
+
+  private def asText(value: JsonNode): String = if (value.isTextual) value.textValue else value.toString
+}
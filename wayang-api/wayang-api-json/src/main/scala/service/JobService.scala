@@ -0,0 +1,331 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wayang.api.json.service
+
+import org.apache.wayang.api.DataQuanta
+import org.apache.wayang.api.json.builder.JsonPlanBuilder
+import org.apache.wayang.api.json.exception.WayangApiJsonException
+import org.apache.wayang.api.json.operatorfromjson.{OperatorFromJson, PlanFromJson}
+import org.apache.wayang.core.api.WayangContext
+import org.apache.wayang.core.plan.wayangplan.WayangPlan
+import org.apache.wayang.core.util.{LruCache, ReferenceCountable}
+import org.apache.wayang.spark.platform.SparkPlatform
+
+import java.util.UUID
+import java.util.concurrent.atomic.{AtomicBoolean, AtomicInteger, AtomicLong}
+import java.util.concurrent.{ArrayBlockingQueue, ConcurrentHashMap, ConcurrentLinkedQueue, ThreadFactory, ThreadPoolExecutor, TimeUnit}
+import scala.collection.JavaConverters._
+import scala.concurrent.{Future, Promise}
+
+/**
+ * Executes plans on a bounded pool of threads. Plans are queued up to a given capacity, beyond which submissions are
+ * rejected with a [[java.util.concurrent.RejectedExecutionException]].
+ *
+ * Rather than creating a new [[WayangContext]] per plan, plans with the same platforms and configuration share a
+ * context, and the Spark context is kept alive across jobs once it has been created (see [[warmUp]]). As the
+ * platforms and configuration are supplied by clients, only the most recently used contexts are kept.
+ *
+ * @param concurrency         the maximum number of jobs to execute at the same time
+ * @param queueCapacity       the maximum number of jobs waiting for execution
+ * @param resultCapacity      the maximum number of results a job buffers (see [[JobHandle]])
+ * @param resultTimeoutMillis how long a job waits for its streamed results to be consumed before it fails
+ * @param numRetainedJobs     the number of finished jobs whose status is kept
+ * @param maxContexts         the maximum number of shared [[WayangContext]]s
+ */
+class JobService(val concurrency: Int,
+                 val queueCapacity: Int,
+                 val resultCapacity: Int,
+                 val resultTimeoutMillis: Long,
+                 val numRetainedJobs: Int,
+                 val maxContexts: Int) {
+
+  private val executor = new ThreadPoolExecutor(
+    concurrency, concurrency, 0L, TimeUnit.MILLISECONDS,
+    new ArrayBlockingQueue[Runnable](queueCapacity),
+    JobService.createThreadFactory()
+  )
+
+  private val contexts = new LruCache[(Option[List[String]], Map[String, String]), WayangContext](maxContexts)
+
+  private val jobs = new ConcurrentHashMap[String, JobHandle]()
+
+  private val finishedJobIds = new ConcurrentLinkedQueue[String]()
+
+  /**
+   * Holds a reference on the Spark context, so that it is not closed at the end of each job.
+   */
+  @volatile private var sparkContextReference: ReferenceCountable = _
+
+  /**
+   * Create the context for plans with default platforms and configuration and start the Spark context if applicable,
+   * so that the first job does not have to.
+   */
+  def warmUp(): Unit = {
+    val request = JobRequest.fromOperators(List())
+    val builder = createBuilder(request)
+    val isUsingSpark = builder.plugins.exists(_.getRequiredPlatforms.contains(SparkPlatform.getInstance))
+    if (isUsingSpark && sparkContextReference == null) {
+      val job = builder.wayangContext.createJob("Warm-up", new WayangPlan())
+      val reference = SparkPlatform.getInstance.getSparkContext(job)
+      reference.noteObtainedReference()
+      sparkContextReference = reference
+    }
+  }
+
+  /**
+   * Submit a plan for asynchronous execution. Its results can be consumed via the returned [[JobHandle]].
+   */
+  def submit(request: JobRequest): JobHandle = {
+    val handle = new JobHandle(UUID.randomUUID().toString, resultCapacity, resultTimeoutMillis)
+    jobs.put(handle.id, handle)
+    try {
+      executor.execute(() => {
+        handle.markRunning()
+        try {
+          val result = createBuilder(request).execute()
+          if (!request.hasOutput) result.foreachJava(dataQuantum => handle.offer(dataQuantum))
+          handle.markFinished(None)
+        } catch {
+          // Catch any Throwable, as consumers of the results would wait forever otherwise.
+          case t: Throwable => handle.markFinished(Some(t))
+        } finally {
+          retire(handle)
+        }
+      })
+    } catch {
+      case e: Throwable =>
+        jobs.remove(handle.id)
+        throw e
+    }
+    handle
+  }
+
+  /**
+   * Execute a plan on the pool of this instance, but do not track it as a job.
+   *
+   * @param action is applied to the [[DataQuanta]] of the plan and triggers its execution
+   */
+  def run[T](request: JobRequest)(action: DataQuanta[Any] => T): Future[T] = {
+    val promise = Promise[T]()
+    executor.execute(() => {
+      try {
+        promise.success(action(createBuilder(request).execute()))
+      } catch {
+        case t: Throwable => promise.failure(t)
+      }
+    })
+    promise.future
+  }
+
+  def getJob(id: String): Option[JobHandle] = Option(jobs.get(id))
+
+  def getNumQueuedJobs: Int = executor.getQueue.size
+
+  def getNumRunningJobs: Int = executor.getActiveCount
+
+  def shutdown(): Unit = {
+    executor.shutdownNow()
+    if (sparkContextReference != null) {
+      sparkContextReference.noteDiscardedReference(true)
+      sparkContextReference = null
+    }
+  }
+
+  private def createBuilder(request: JobRequest): JsonPlanBuilder = {
+    val builder = new JsonPlanBuilder()
+    request.platforms.foreach(builder.setPlatforms)
+    builder.setOrigin(request.origin)
+    builder.setConfiguration(request.configuration)
+    if (!JsonPlanBuilder.requiresDedicatedContext(request.operators)) {
+      // WayangContexts fork their configuration per job and can thus be shared by concurrent jobs.
+      builder.withContext(getContext(request, builder))
+    }
+    builder.setOperators(request.operators)
+  }
+
+  private def getContext(request: JobRequest, builder: JsonPlanBuilder): WayangContext = contexts.synchronized {
+    val key = (request.platforms, request.configuration)
+    // Re-insert the context, as the LruCache evicts in insertion order.
+    var context = contexts.remove(key)
+    if (context == null) context = builder.createContext()
+    contexts.put(key, context)
+    context
+  }
+
+  private[service] def getNumContexts: Int = contexts.synchronized(contexts.size)
+
+  /**
+   * Forget the oldest finished jobs, such that at most [[numRetainedJobs]] are kept.
+   */
+  private def retire(handle: JobHandle): Unit = {
+    finishedJobIds.add(handle.id)
+    while (finishedJobIds.size > numRetainedJobs) {
+      val id = finishedJobIds.poll()
+      if (id != null) jobs.remove(id)
+    }
+  }
+}
+
+object JobService {
+
+  /**
+   * Create a new instance configured via environment variables.
+   */
+  def fromEnvironment(): JobService = {
+    new JobService(
+      getEnv("WAYANG_API_JSON_CONCURRENCY", Runtime.getRuntime.availableProcessors).toInt,
+      getEnv("WAYANG_API_JSON_QUEUE_CAPACITY", 64).toInt,
+      getEnv("WAYANG_API_JSON_RESULT_CAPACITY", 8192).toInt,
+      getEnv("WAYANG_API_JSON_RESULT_TIMEOUT_MS", 300000L),
+      getEnv("WAYANG_API_JSON_RETAINED_JOBS", 1000).toInt,
+      getEnv("WAYANG_API_JSON_MAX_CONTEXTS", 16).toInt
+    )
+  }
+
+  private def getEnv(name: String, default: Long): Long = sys.env.get(name).map(_.toLong).getOrElse(default)
+
+  private def createThreadFactory(): ThreadFactory = {
+    val counter = new AtomicInteger()
+    (runnable: Runnable) => {
+      val thread = new Thread(runnable, s"wayang-api-json-job-${counter.incrementAndGet()}")
+      thread.setDaemon(true)
+      thread
+    }
+  }
+}
+
+/**
+ * Describes a plan to be executed by a [[JobService]].
+ *
+ * @param platforms     the platforms to use or [[None]] for the default platforms
+ * @param origin        the origin of the UDFs in the plan
+ * @param configuration the configuration properties
+ * @param operators     the operators of the plan
+ */
+case class JobRequest(platforms: Option[List[String]],
+                      origin: String,
+                      configuration: Map[String, String],
+                      operators: List[OperatorFromJson]) {
+
+  def hasOutput: Boolean = operators.exists(op => op.cat == OperatorFromJson.Categories.Output)
+}
+
+object JobRequest {
+
+  def fromPlan(plan: PlanFromJson): JobRequest =
+    JobRequest(Some(plan.context.platforms), plan.context.origin, plan.context.configuration, plan.operators)
+
+  def fromOperators(operators: List[OperatorFromJson]): JobRequest =
+    JobRequest(None, null, Map(), operators)
+}
+
+object JobStatus {
+  final val Queued = "QUEUED"
+  final val Running = "RUNNING"
+  final val Succeeded = "SUCCEEDED"
+  final val Failed = "FAILED"
+}
+
+/**
+ * Tracks a job of a [[JobService]] and buffers its results until they are consumed. The results can be consumed only
+ * once. While the buffer is full, the job waits for its results to be consumed, whether they have been claimed yet or
+ * not. If no result is consumed within the result timeout, the job fails rather than dropping results, so that it
+ * does not hold a pool thread for a consumer that never comes.
+ */
+class JobHandle(val id: String, resultCapacity: Int, resultTimeoutMillis: Long) {
+
+  @volatile private var status: String = JobStatus.Queued
+
+  @volatile private var failure: Option[Throwable] = None
+
+  private val results = new ArrayBlockingQueue[AnyRef](resultCapacity)
+
+  private val numResults = new AtomicLong()
+
+  private val isResultsClaimed = new AtomicBoolean(false)
+
+  private var isResultsExhausted = false
+
+  def getStatus: String = status
+
+  def getFailure: Option[Throwable] = failure
+
+  def getNumResults: Long = numResults.get
+
+  def isFinished: Boolean = status == JobStatus.Succeeded || status == JobStatus.Failed
+
+  /**
+   * Obtain the exclusive right to consume the results of the job.
+   *
+   * @return whether the right was obtained, i.e., whether the results have not been claimed before
+   */
+  def claimResults(): Boolean = isResultsClaimed.compareAndSet(false, true)
+
+  /**
+   * Wait for the next results of the job.
+   *
+   * @param maxResults the maximum number of results to return
+   * @return the results, which are at least one, or [[None]] if the job has finished and has no more results
+   * @throws WayangApiJsonException if the job failed
+   */
+  def takeResults(maxResults: Int): Option[Seq[Any]] = {
+    if (isResultsExhausted) return None
+    var next = results.poll()
+    while (next == null) {
+      if (isFinished) {
+        // The job has offered all its results before finishing.
+        next = results.poll()
+        if (next == null) {
+          isResultsExhausted = true
+          failure.foreach(t => throw new WayangApiJsonException(s"Job $id failed: ${t.getMessage}"))
+          return None
+        }
+      } else {
+        next = results.poll(100, TimeUnit.MILLISECONDS)
+      }
+    }
+    val chunk = new java.util.ArrayList[AnyRef](maxResults)
+    chunk.add(next)
+    results.drainTo(chunk, maxResults - 1)
+    Some(chunk.asScala.map(JobHandle.unmask))
+  }
+
+  private[service] def markRunning(): Unit = status = JobStatus.Running
+
+  private[service] def offer(result: Any): Unit = {
+    if (!results.offer(JobHandle.mask(result), resultTimeoutMillis, TimeUnit.MILLISECONDS)) {
+      val state = if (isResultsClaimed.get) "consumed" else "claimed"
+      throw new WayangApiJsonException(s"Results of job $id have not been $state within $resultTimeoutMillis ms.")
+    }
+    numResults.incrementAndGet()
+  }
+
+  private[service] def markFinished(failure: Option[Throwable]): Unit = {
+    this.failure = failure
+    status = if (failure.isEmpty) JobStatus.Succeeded else JobStatus.Failed
+  }
+}
+
+object JobHandle {
+
+  private object Null
+
+  private def mask(result: Any): AnyRef = if (result == null) Null else result.asInstanceOf[AnyRef]
+
+  private def unmask(result: AnyRef): Any = if (result eq Null) null else result
+}
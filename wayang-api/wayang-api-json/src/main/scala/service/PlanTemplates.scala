@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wayang.api.json.service
+
+import org.apache.wayang.api.json.exception.WayangApiJsonException
+import org.apache.wayang.api.json.parserutil.PlanTemplate
+
+import java.util.UUID
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Keeps the [[PlanTemplate]]s that have been registered with the JSON API.
+ *
+ * @param maxTemplates the maximum number of templates to keep
+ */
+class PlanTemplates(val maxTemplates: Int) {
+
+  private val templates = new ConcurrentHashMap[String, PlanTemplate]()
+
+  /**
+   * Register a template.
+   *
+   * @return the ID of the template
+   */
+  def register(template: PlanTemplate): String = {
+    // The bound is not strict under concurrent registrations, which is fine for its purpose.
+    if (templates.size >= maxTemplates) {
+      throw new WayangApiJsonException(s"Cannot register more than $maxTemplates plan templates.")
+    }
+    val id = UUID.randomUUID().toString
+    templates.put(id, template)
+    id
+  }
+
+  def get(id: String): Option[PlanTemplate] = Option(templates.get(id))
+
+  def remove(id: String): Boolean = templates.remove(id) != null
+}
+
+object PlanTemplates {
+
+  /**
+   * Create a new instance configured via environment variables.
+   */
+  def fromEnvironment(): PlanTemplates =
+    new PlanTemplates(sys.env.get("WAYANG_API_JSON_MAX_TEMPLATES").map(_.toInt).getOrElse(256))
+}
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wayang.api.json.parserutil
+
+import org.apache.wayang.api.json.exception.WayangApiJsonException
+import org.apache.wayang.api.json.operatorfromjson.PlanFromJson
+import org.apache.wayang.api.json.operatorfromjson.input.TextFileInputFromJson
+import org.junit.jupiter.api.Assertions._
+import org.junit.jupiter.api.Test
+
+/**
+  * Tests the [[PlanTemplate]].
+  */
+class PlanTemplateTest {
+
+  private val template = PlanTemplate.parseFromString(
+    """{
+      |  "parameters": {"platforms": ["java"], "directory": null, "name": "in"},
+      |  "plan": {
+      |    "context": {"platforms": "{{platforms}}", "origin": "scala", "configuration": {}},
+      |    "operators": [{
+      |      "id": 1, "cat": "input", "input": [], "output": [], "operatorName": "textFileInput",
+      |      "data": {"filename": "file:///{{directory}}/{{ name }}.txt"}
+      |    }]
+      |  }
+      |}""".stripMargin
+  )
+
+  @Test
+  def testParameters(): Unit = {
+    assertEquals(Set("platforms", "directory", "name"), template.parameters.keySet)
+    assertTrue(template.parameters("platforms").isDefined)
+    assertTrue(template.parameters("directory").isEmpty)
+  }
+
+  @Test
+  def testReplaceWholeValue(): Unit = {
+    val plan = template.bind(PlanTemplate.parseValuesFromString("""{"directory": "tmp", "platforms": ["java", "spark"]}"""))
+    assertEquals(List("java", "spark"), plan.context.platforms)
+  }
+
+  @Test
+  def testReplaceInString(): Unit = {
+    val plan = template.bind(PlanTemplate.parseValuesFromString("""{"directory": "tmp", "name": 42}"""))
+    assertEquals("file:///tmp/42.txt", getFilename(plan))
+  }
+
+  @Test
+  def testDefaults(): Unit = {
+    val plan = template.bind(PlanTemplate.parseValuesFromString("""{"directory": "tmp"}"""))
+    assertEquals(List("java"), plan.context.platforms)
+    assertEquals("file:///tmp/in.txt", getFilename(plan))
+    assertSame(plan, template.bind(PlanTemplate.parseValuesFromString("""{"directory": "tmp", "name": "in"}""")))
+  }
+
+  @Test
+  def testUnknownParameter(): Unit = {
+    assertThrows(classOf[WayangApiJsonException],
+      () => template.bind(PlanTemplate.parseValuesFromString("""{"directory": "tmp", "other": 1}""")))
+  }
+
+  @Test
+  def testMissingParameter(): Unit = {
+    assertThrows(classOf[WayangApiJsonException], () => template.bind(PlanTemplate.parseValuesFromString("")))
+  }
+
+  @Test
+  def testUndeclaredPlaceholder(): Unit = {
+    val template = PlanTemplate.parseFromString(
+      """{
+        |  "parameters": {},
+        |  "plan": {
+        |    "context": {"platforms": ["java"], "origin": "scala", "configuration": {}},
+        |    "operators": [{
+        |      "id": 1, "cat": "input", "input": [], "output": [], "operatorName": "textFileInput",
+        |      "data": {"filename": "file:///{{name}}.txt"}
+        |    }]
+        |  }
+        |}""".stripMargin
+    )
+    assertEquals("file:///{{name}}.txt", getFilename(template.bind(Map())))
+  }
+
+  private def getFilename(plan: PlanFromJson): String =
+    plan.operators.head.asInstanceOf[TextFileInputFromJson].data.filename
+}
@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wayang.api.json.service
+
+import org.apache.wayang.api.json.exception.WayangApiJsonException
+import org.apache.wayang.api.json.parserutil.ParseOperatorsFromJson
+import org.junit.jupiter.api.Assertions._
+import org.junit.jupiter.api.Test
+
+import scala.concurrent.Await
+import scala.concurrent.duration.Duration
+
+/**
+  * Tests the [[JobService]] and its [[JobHandle]]s.
+  */
+class JobServiceTest {
+
+  @Test
+  def testKeepUnclaimedResults(): Unit = {
+    val handle = new JobHandle("test", 2, 60000)
+    val producer = new Thread(() => {
+      (1 to 5).foreach(handle.offer)
+      handle.markFinished(None)
+    })
+    producer.start()
+
+    assertTrue(handle.claimResults())
+    assertFalse(handle.claimResults())
+    var results = Seq[Any]()
+    var chunk = handle.takeResults(10)
+    while (chunk.isDefined) {
+      results ++= chunk.get
+      chunk = handle.takeResults(10)
+    }
+    producer.join()
+    assertEquals(Seq(1, 2, 3, 4, 5), results)
+    assertEquals(5, handle.getNumResults)
+    assertEquals(JobStatus.Succeeded, handle.getStatus)
+  }
+
+  @Test
+  def testFailUnclaimedResults(): Unit = {
+    val handle = new JobHandle("test", 2, 10)
+    handle.offer(1)
+    handle.offer(2)
+    assertThrows(classOf[WayangApiJsonException], () => handle.offer(3))
+    assertEquals(2, handle.getNumResults)
+  }
+
+  @Test
+  def testWaitForClaimedResults(): Unit = {
+    val handle = new JobHandle("test", 2, 10)
+    assertTrue(handle.claimResults())
+    handle.offer(null)
+    handle.offer(1)
+    assertThrows(classOf[WayangApiJsonException], () => handle.offer(2))
+    handle.markFinished(None)
+    assertEquals(Some(Seq(null, 1)), handle.takeResults(10))
+    assertEquals(None, handle.takeResults(10))
+  }
+
+  @Test
+  def testSubmit(): Unit = {
+    val jobService = new JobService(1, 1, 16, 60000, 10, 2)
+    try {
+      val handle = jobService.submit(createRequest("List(1, 2, 3, 4, 5)"))
+      assertEquals(Some(handle), jobService.getJob(handle.id))
+      assertTrue(handle.claimResults())
+      var results = Seq[Any]()
+      var chunk = handle.takeResults(2)
+      while (chunk.isDefined) {
+        results ++= chunk.get
+        chunk = handle.takeResults(2)
+      }
+      assertEquals(Seq(1, 2, 3, 4, 5), results.sortBy(_.asInstanceOf[Int]))
+      assertEquals(JobStatus.Succeeded, handle.getStatus)
+    } finally {
+      jobService.shutdown()
+    }
+  }
+
+  @Test
+  def testSubmitWithoutConsumer(): Unit = {
+    val jobService = new JobService(1, 1, 2, 10, 10, 2)
+    try {
+      val handle = jobService.submit(createRequest("List(1, 2, 3, 4, 5)"))
+      // The job must fail rather than drop the results that nobody claims.
+      val deadline = System.currentTimeMillis + 60000
+      while (!handle.isFinished && System.currentTimeMillis < deadline) Thread.sleep(10)
+      assertEquals(JobStatus.Failed, handle.getStatus)
+      val causes = Iterator.iterate(handle.getFailure.orNull)(_.getCause).takeWhile(_ != null)
+      assertTrue(causes.exists(_.isInstanceOf[WayangApiJsonException]))
+      assertEquals(2, handle.getNumResults)
+    } finally {
+      jobService.shutdown()
+    }
+  }
+
+  @Test
+  def testBoundContexts(): Unit = {
+    val jobService = new JobService(1, 4, 16, 60000, 10, 2)
+    try {
+      for (i <- 1 to 4) {
+        val request = createRequest("List(1)").copy(configuration = Map("wayang.test.id" -> i.toString))
+        Await.result(jobService.run(request)(_ => ()), Duration.Inf)
+        assertEquals(math.min(i, 2), jobService.getNumContexts)
+      }
+    } finally {
+      jobService.shutdown()
+    }
+  }
+
+  private def createRequest(collection: String): JobRequest = {
+    val operators = ParseOperatorsFromJson.parseOperatorsFromString(
+      s"""[{"id": 1, "cat": "input", "input": [], "output": [], "operatorName": "inputCollection",
+         |  "data": {"udf": "$collection"}}]""".stripMargin
+    ).get
+    JobRequest(Some(List("java")), null, Map(), operators)
+  }
+}
@@ -558,9 +558,18 @@ class DataQuanta[Out: ClassTag](val operator: ElementaryOperator, outputIndex: I
     * @param that the other instance to intersect with
     * @return a new instance representing the [[IntersectOperator]]'s output
     */
-  def intersect(that: DataQuanta[Out]): DataQuanta[Out] = {
+  def intersect(that: DataQuanta[Out]): DataQuanta[Out] = intersect(that, isInputsSorted = false)
+
+  /**
+    * Feed this instance and a further instance into a [[IntersectOperator]].
+    *
+    * @param that           the other instance to intersect with
+    * @param isInputsSorted whether both instances are sorted by the natural order of their elements
+    * @return a new instance representing the [[IntersectOperator]]'s output
+    */
+  def intersect(that: DataQuanta[Out], isInputsSorted: Boolean): DataQuanta[Out] = {
     require(this.planBuilder eq that.planBuilder, s"$this and $that must use the same plan builders.")
-    val intersectOperator = new IntersectOperator(dataSetType[Out])
+    val intersectOperator = new IntersectOperator(dataSetType[Out]).withSortedInputs(isInputsSorted)
     this.connectTo(intersectOperator, 0)
     that.connectTo(intersectOperator, 1)
     intersectOperator
@@ -28,7 +28,7 @@ import org.apache.wayang.api.graph.{Edge, EdgeDataQuantaBuilder, EdgeDataQuantaB
 import org.apache.wayang.api.util.{DataQuantaBuilderCache, TypeTrap}
 import org.apache.wayang.basic.data.{Record, Tuple2 => RT2}
 import org.apache.wayang.basic.model.{DLModel, Model, LogisticRegressionModel,DecisionTreeRegressionModel}
-import org.apache.wayang.basic.operators.{DLTrainingOperator, GlobalReduceOperator, LocalCallbackSink, MapOperator, SampleOperator, LogisticRegressionOperator,DecisionTreeRegressionOperator, LinearSVCOperator}
+import org.apache.wayang.basic.operators.{CoGroupOperator, DLTrainingOperator, GlobalReduceOperator, LocalCallbackSink, MapOperator, SampleOperator, LogisticRegressionOperator,DecisionTreeRegressionOperator, LinearSVCOperator}
 import org.apache.wayang.commons.util.profiledb.model.Experiment
 import org.apache.wayang.core.function.FunctionDescriptor.{SerializableBiFunction, SerializableBinaryOperator, SerializableFunction, SerializableIntUnaryOperator, SerializablePredicate}
 import org.apache.wayang.core.optimizer.ProbabilisticDoubleInterval
@@ -1301,9 +1301,25 @@ class IntersectDataQuantaBuilder[T](inputDataQuanta0: DataQuantaBuilder[_, T],
                                    (implicit javaPlanBuilder: JavaPlanBuilder)
   extends BasicDataQuantaBuilder[IntersectDataQuantaBuilder[T], T] {
 
+  /** Whether both inputs are sorted by the natural order of their elements. */
+  private var isInputsSorted = false
+
   override def getOutputTypeTrap = inputDataQuanta0.outputTypeTrap
 
-  override protected def build = inputDataQuanta0.dataQuanta().intersect(inputDataQuanta1.dataQuanta())
+  /**
+    * Declare whether both inputs are sorted by the natural order of their elements, which must then be
+    * [[Comparable]]. Platforms can then intersect the inputs by merging them rather than by hashing them.
+    *
+    * @param isInputsSorted whether the inputs are sorted
+    * @return this instance
+    */
+  def withSortedInputs(isInputsSorted: Boolean) = {
+    this.isInputsSorted = isInputsSorted
+    this
+  }
+
+  override protected def build =
+    inputDataQuanta0.dataQuanta().intersect(inputDataQuanta1.dataQuanta(), this.isInputsSorted)
 
 }
 
@@ -1508,6 +1524,9 @@ class CoGroupDataQuantaBuilder[In0, In1, Key](inputDataQuanta0: DataQuantaBuilde
   /** [[LoadEstimator]] to estimate the RAM load of the [[keyUdf1]]. */
   private var keyUdf1RamEstimator: LoadEstimator = _
 
+  /** Whether both inputs are sorted by their keys. */
+  private var isInputsSorted = false
+
   // Try to infer the type classes from the UDFs.
   locally {
     val parameters = ReflectionUtils.getTypeParameters(keyUdf0.getClass, classOf[SerializableFunction[_, _]])
@@ -1586,8 +1605,24 @@ class CoGroupDataQuantaBuilder[In0, In1, Key](inputDataQuanta0: DataQuantaBuilde
     this
   }
 
-  override protected def build =
-    inputDataQuanta0.dataQuanta().coGroupJava(keyUdf0, inputDataQuanta1.dataQuanta(), keyUdf1)(inputDataQuanta1.classTag, this.keyTag)
+  /**
+    * Declare whether both inputs are sorted by their keys, which must then be [[Comparable]]. Platforms can then
+    * co-group the inputs by merging them rather than by hashing them.
+    *
+    * @param isInputsSorted whether the inputs are sorted
+    * @return this instance
+    */
+  def withSortedInputs(isInputsSorted: Boolean) = {
+    this.isInputsSorted = isInputsSorted
+    this
+  }
+
+  override protected def build = {
+    val dataQuanta = inputDataQuanta0.dataQuanta()
+      .coGroupJava(keyUdf0, inputDataQuanta1.dataQuanta(), keyUdf1)(inputDataQuanta1.classTag, this.keyTag)
+    dataQuanta.operator.asInstanceOf[CoGroupOperator[In0, In1, Key]].withSortedInputs(this.isInputsSorted)
+    dataQuanta
+  }
 
 }
 
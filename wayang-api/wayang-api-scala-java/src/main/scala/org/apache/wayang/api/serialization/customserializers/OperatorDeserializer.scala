@@ -279,7 +279,7 @@ class OperatorDeserializer extends JsonDeserializer[Operator] {
 
   private def deserializeIntersectOperator(jp: JsonParser, rootNode: JsonNode): Operator = {
     val inputType0 = mapper.treeToValue(rootNode.get("inputType0"), classOf[DataSetType[AnyRef]])
-    new IntersectOperator(inputType0)
+    new IntersectOperator(inputType0).withSortedInputs(isInputsSorted(rootNode))
   }
 
   private def deserializeJoinOperator(jp: JsonParser, rootNode: JsonNode): Operator = {
@@ -291,9 +291,12 @@ class OperatorDeserializer extends JsonDeserializer[Operator] {
   private def deserializeCoGroupOperator(jp: JsonParser, rootNode: JsonNode): Operator = {
     val keyDescriptor0 = mapper.treeToValue(rootNode.get("keyDescriptor0"), classOf[TransformationDescriptor[AnyRef, AnyRef]])
     val keyDescriptor1 = mapper.treeToValue(rootNode.get("keyDescriptor1"), classOf[TransformationDescriptor[AnyRef, AnyRef]])
-    new CoGroupOperator(keyDescriptor0, keyDescriptor1)
+    new CoGroupOperator(keyDescriptor0, keyDescriptor1).withSortedInputs(isInputsSorted(rootNode))
   }
 
+  private def isInputsSorted(rootNode: JsonNode): Boolean =
+    Seq("isInputsSorted", "inputsSorted").exists(field => Option(rootNode.get(field)).exists(_.asBoolean()))
+
   private def deserializeDoWhileOperator(jp: JsonParser, rootNode: JsonNode): Operator = {
     val inputType = mapper.treeToValue(rootNode.get("inputType"), classOf[DataSetType[AnyRef]])
     val convergenceType = mapper.treeToValue(rootNode.get("convergenceType"), classOf[DataSetType[AnyRef]])
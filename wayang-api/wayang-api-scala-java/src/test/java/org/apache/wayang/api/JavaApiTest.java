@@ -556,6 +556,25 @@ class JavaApiTest {
         assertEquals(expectedValues, WayangCollections.asSet(outputValues));
     }
 
+    @Test
+    void testIntersectSortedInputs() {
+        // Set up WayangContext.
+        WayangContext wayangContext = new WayangContext().with(Java.basicPlugin());
+        JavaPlanBuilder builder = new JavaPlanBuilder(wayangContext);
+
+        // Generate test data.
+        final List<Integer> inputValues1 = Arrays.asList(1, 2, 3, 4, 5, 7, 8, 9, 10);
+        final List<Integer> inputValues2 = Arrays.asList(0, 2, 3, 3, 4, 5, 7, 8, 9, 11);
+
+        // Execute the job.
+        final LoadCollectionDataQuantaBuilder<Integer> dataQuanta1 = builder.loadCollection(inputValues1);
+        final LoadCollectionDataQuantaBuilder<Integer> dataQuanta2 = builder.loadCollection(inputValues2);
+        final Collection<Integer> outputValues = dataQuanta1.intersect(dataQuanta2).withSortedInputs(true).collect();
+
+        // Verify the outcome.
+        assertEquals(Arrays.asList(2, 3, 4, 5, 7, 8, 9), new ArrayList<>(outputValues));
+    }
+
     @Test
     void testSort() {
         // Set up WayangContext.
@@ -20,12 +20,15 @@
 package org.apache.wayang.api.serialization
 
 import org.apache.wayang.api.{MultiContext, PlanBuilder, createPlanBuilder}
+import org.apache.wayang.basic.operators.IntersectOperator
 import org.apache.wayang.core.api.{Configuration, WayangContext}
+import org.apache.wayang.core.plan.wayangplan.Operator
 import org.apache.wayang.java.Java
 import org.apache.wayang.postgres.Postgres
 import org.apache.wayang.postgres.operators.PostgresTableSource
 import org.apache.wayang.sqlite3.Sqlite3
 import org.apache.wayang.sqlite3.operators.Sqlite3TableSource
+import org.junit.jupiter.api.Assertions.assertTrue
 import org.junit.jupiter.api.Test
 
 import java.io.{File, PrintWriter}
@@ -351,6 +354,25 @@ class OperatorSerializationTests extends SerializationTestBase {
     serializeDeserializeExecuteAssert(dq.operator, wayang, intersectExpectedValues)
   }
 
+  @Test
+  def testIntersectSortedInputs(): Unit = {
+    val wayang = new WayangContext().withPlugin(Java.basicPlugin)
+
+    val inputValues1 = Array(1, 2, 3, 4, 5, 7, 8, 9, 10)
+    val inputValues2 = Array(0, 2, 3, 3, 4, 5, 7, 8, 9, 11)
+
+    val builder = new PlanBuilder(wayang)
+    val dataQuanta1 = builder.loadCollection(inputValues1)
+    val dataQuanta2 = builder.loadCollection(inputValues2)
+    val dq = dataQuanta1.intersect(dataQuanta2, isInputsSorted = true)
+
+    val deserializedOperator = SerializationUtils.deserialize[Operator](SerializationUtils.serialize(dq.operator))
+    assertTrue(deserializedOperator.asInstanceOf[IntersectOperator[_]].isInputsSorted)
+
+    val intersectExpectedValues = List(2, 3, 4, 5, 7, 8, 9).map(_.toString)
+    serializeDeserializeExecuteAssert(dq.operator, wayang, intersectExpectedValues)
+  }
+
   @Test
   def testRepeat(): Unit = {
     val wayang = new WayangContext().withPlugin(Java.basicPlugin)
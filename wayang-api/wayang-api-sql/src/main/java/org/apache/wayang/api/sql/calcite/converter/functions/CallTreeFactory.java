@@ -67,11 +67,21 @@ interface Node extends Serializable {
 
 class Call implements Node {
     private final List<Node> operands;
+    private final SqlKind kind;
     final SerializableFunction<List<Object>, Object> operation;
 
     protected Call(final RexCall call, final CallTreeFactory tree) {
         operands = call.getOperands().stream().map(tree::fromRexNode).toList();
-        operation = tree.deriveOperation(call.getKind());
+        kind = call.getKind();
+        operation = tree.deriveOperation(kind);
+    }
+
+    List<Node> getOperands() {
+        return operands;
+    }
+
+    SqlKind getKind() {
+        return kind;
     }
 
     @Override
@@ -116,6 +126,10 @@ class InputRef implements Node {
         this.key = inputRef.getIndex();
     }
 
+    int getKey() {
+        return key;
+    }
+
     @Override
     public Object evaluate(final Record rec) {
         return rec.getField(key);
@@ -0,0 +1,279 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.wayang.api.sql.calcite.converter.functions;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.calcite.sql.SqlKind;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.wayang.basic.data.Record;
+import org.codehaus.commons.compiler.CompileException;
+import org.codehaus.janino.ClassBodyEvaluator;
+
+/**
+ * Generates Java code for the call trees of filter conditions and projections and compiles it with Janino, so that
+ * expressions are evaluated without walking the call trees and without intermediate lists per row.
+ * <p>
+ * As the compiled classes exist only in the JVM that compiled them, the UDFs retain the generated code (see
+ * {@link GeneratedCode}) and compile it on demand in every JVM that they are shipped to. Compiled classes are cached
+ * by their code, so that each JVM compiles each expression only once.
+ * </p>
+ */
+public final class ExpressionCompiler {
+
+    private static final Logger logger = LogManager.getLogger(ExpressionCompiler.class);
+
+    private static final Map<String, Class<?>> compiledClasses = new ConcurrentHashMap<>();
+
+    private ExpressionCompiler() {
+    }
+
+    /**
+     * Compiled filter condition.
+     */
+    public interface CompiledPredicate {
+        boolean test(Record r, Object[] c);
+    }
+
+    /**
+     * Compiled projection.
+     */
+    public interface CompiledProjection {
+        Record apply(Record r, Object[] c);
+    }
+
+    /**
+     * Generated code along with the constants that it refers to.
+     */
+    static final class GeneratedCode implements Serializable {
+        final String classBody;
+        final Object[] constants;
+
+        private GeneratedCode(final String classBody, final Object[] constants) {
+            this.classBody = classBody;
+            this.constants = constants;
+        }
+    }
+
+    /**
+     * Generates code for a filter condition
+     *
+     * @param condition call tree of the condition
+     * @return the code or {@code null} if the condition cannot be compiled
+     */
+    static GeneratedCode generatePredicate(final Node condition) {
+        final Generator generator = new Generator(false);
+        final Expression expression = generator.generate(condition);
+        final String code = expression == null ? null : expression.asBoolean();
+        if (code == null) {
+            return null;
+        }
+        return new GeneratedCode(
+                "public boolean test(Record r, Object[] c) {\n    return " + code + ";\n}\n",
+                generator.constants.toArray()
+        );
+    }
+
+    /**
+     * Generates code for a projection
+     *
+     * @param projections call trees of the projected fields
+     * @return the code or {@code null} if any projected field cannot be compiled
+     */
+    static GeneratedCode generateProjection(final List<Node> projections) {
+        final Generator generator = new Generator(true);
+        final List<String> fields = new ArrayList<>(projections.size());
+        for (final Node projection : projections) {
+            final Expression expression = generator.generate(projection);
+            if (expression == null) {
+                return null;
+            }
+            fields.add(expression.asObject());
+        }
+        return new GeneratedCode(
+                "public Record apply(Record r, Object[] c) {\n    return new Record(new Object[] {"
+                        + String.join(", ", fields) + "});\n}\n",
+                generator.constants.toArray()
+        );
+    }
+
+    /**
+     * Compiles generated code, unless it has been compiled in this JVM before.
+     *
+     * @param code          the generated code
+     * @param interfaceType the interface that the code implements
+     * @return an instance of the compiled class or {@code null} if the compilation failed
+     */
+    static <T> T compile(final GeneratedCode code, final Class<T> interfaceType) {
+        final Class<?> compiledClass = compiledClasses.computeIfAbsent(code.classBody, classBody -> {
+            final ClassBodyEvaluator evaluator = new ClassBodyEvaluator();
+            evaluator.setParentClassLoader(ExpressionCompiler.class.getClassLoader());
+            evaluator.setDefaultImports(Record.class.getName(), SqlExpressions.class.getName());
+            evaluator.setImplementedInterfaces(new Class[] { interfaceType });
+            try {
+                evaluator.cook(classBody);
+            } catch (final CompileException e) {
+                logger.warn("Could not compile {}; interpreting it instead.", classBody, e);
+                return null;
+            }
+            return evaluator.getClazz();
+        });
+        if (compiledClass == null) {
+            return null;
+        }
+        try {
+            return interfaceType.cast(compiledClass.getDeclaredConstructor().newInstance());
+        } catch (final ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not instantiate " + compiledClass, e);
+        }
+    }
+
+    /**
+     * Java expression along with its static type.
+     */
+    private record Expression(String code, Class<?> type) {
+
+        String asObject() {
+            if (type == boolean.class) return "Boolean.valueOf(" + code + ")";
+            if (type == double.class) return "Double.valueOf(" + code + ")";
+            return code;
+        }
+
+        String asBoolean() {
+            if (type == boolean.class) return code;
+            if (type == Object.class) return "((Boolean) " + code + ").booleanValue()";
+            return null;
+        }
+
+        String asDouble(final boolean isProjection) {
+            if (type == double.class) return code;
+            if (type == Object.class) {
+                return (isProjection ? "SqlExpressions.asDouble(" : "SqlExpressions.widenToDouble(") + code + ")";
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Translates call trees into {@link Expression}s, mirroring the operations of the {@link CallTreeFactory}s of
+     * {@link FilterPredicateImpl} and {@link ProjectMapFuncImpl}.
+     */
+    private static final class Generator {
+
+        private final boolean isProjection;
+
+        private final List<Object> constants = new ArrayList<>();
+
+        private Generator(final boolean isProjection) {
+            this.isProjection = isProjection;
+        }
+
+        /**
+         * @return the {@link Expression} or {@code null} if the {@code node} is not supported
+         */
+        Expression generate(final Node node) {
+            if (node instanceof final InputRef inputRef) {
+                return new Expression("r.getField(" + inputRef.getKey() + ")", Object.class);
+            } else if (node instanceof final Literal literal) {
+                constants.add(literal.value);
+                return new Expression("c[" + (constants.size() - 1) + "]", Object.class);
+            } else if (node instanceof final Call call) {
+                final List<Expression> operands = new ArrayList<>();
+                for (final Node operand : call.getOperands()) {
+                    final Expression expression = generate(operand);
+                    if (expression == null) {
+                        return null;
+                    }
+                    operands.add(expression);
+                }
+                return isProjection ? generateArithmetic(call.getKind(), operands) : generateCondition(call.getKind(), operands);
+            }
+            return null;
+        }
+
+        private Expression generateCondition(final SqlKind kind, final List<Expression> operands) {
+            return switch (kind) {
+                case NOT -> {
+                    final String operand = operands.get(0).asBoolean();
+                    yield operand == null ? null : new Expression("(!" + operand + ")", boolean.class);
+                }
+                case AND, OR -> {
+                    final List<String> booleans = new ArrayList<>();
+                    for (final Expression operand : operands) {
+                        if (operand.asBoolean() == null) {
+                            yield null;
+                        }
+                        booleans.add(operand.asBoolean());
+                    }
+                    yield new Expression("(" + String.join(kind == SqlKind.AND ? " && " : " || ", booleans) + ")",
+                            boolean.class);
+                }
+                case IS_NULL -> call("SqlExpressions.isEqualTo", operands.get(0).asObject(), "null");
+                case IS_NOT_NULL -> negate(call("SqlExpressions.isEqualTo", operands.get(0).asObject(), "null"));
+                case LIKE -> call("SqlExpressions.like",
+                        "(String) " + operands.get(0).asObject(), "(String) " + operands.get(1).asObject());
+                case EQUALS -> binaryCall("SqlExpressions.isEqualTo", operands);
+                case NOT_EQUALS -> negate(binaryCall("SqlExpressions.isEqualTo", operands));
+                case GREATER_THAN -> binaryCall("SqlExpressions.isGreaterThan", operands);
+                case LESS_THAN -> binaryCall("SqlExpressions.isLessThan", operands);
+                case GREATER_THAN_OR_EQUAL -> binaryCall("SqlExpressions.isGreaterThanOrEqualTo", operands);
+                case LESS_THAN_OR_EQUAL -> binaryCall("SqlExpressions.isLessThanOrEqualTo", operands);
+                case SEARCH -> binaryCall("SqlExpressions.search", operands);
+                case PLUS, MINUS -> generateArithmetic(kind, operands);
+                default -> null;
+            };
+        }
+
+        private Expression generateArithmetic(final SqlKind kind, final List<Expression> operands) {
+            final String operator = switch (kind) {
+                case PLUS -> " + ";
+                case MINUS -> " - ";
+                case TIMES -> " * ";
+                case DIVIDE -> " / ";
+                default -> null;
+            };
+            if (operator == null || operands.size() != 2) {
+                return null;
+            }
+            final String left = operands.get(0).asDouble(isProjection);
+            final String right = operands.get(1).asDouble(isProjection);
+            if (left == null || right == null) {
+                return null;
+            }
+            return new Expression("(" + left + operator + right + ")", double.class);
+        }
+
+        private static Expression binaryCall(final String method, final List<Expression> operands) {
+            return call(method, operands.get(0).asObject(), operands.get(1).asObject());
+        }
+
+        private static Expression call(final String method, final String... arguments) {
+            return new Expression(method + "(" + String.join(", ", arguments) + ")", boolean.class);
+        }
+
+        private static Expression negate(final Expression expression) {
+            return new Expression("(!" + expression.code() + ")", boolean.class);
+        }
+    }
+}
@@ -32,32 +32,47 @@ public class ProjectMapFuncImpl implements
 
     private final List<Node> projectionSyntaxTrees;
 
+    /**
+     * Code generated for the {@link #projectionSyntaxTrees} or {@code null} if they are not supported by the
+     * {@link ExpressionCompiler}
+     */
+    private final ExpressionCompiler.GeneratedCode generatedCode;
+
+    private transient ExpressionCompiler.CompiledProjection compiledProjection;
+
+    private transient boolean isCompiled;
+
     public ProjectMapFuncImpl(final List<RexNode> projects) {
         final ProjectCallTreeFactory treeFactory = new ProjectCallTreeFactory();
         this.projectionSyntaxTrees = projects.stream().map(treeFactory::fromRexNode).toList();
+        this.generatedCode = ExpressionCompiler.generateProjection(projectionSyntaxTrees);
     }
 
     class ProjectCallTreeFactory implements CallTreeFactory {
         public SerializableFunction<List<Object>, Object> deriveOperation(final SqlKind kind) {
             return input -> 
                 switch (kind) {
-                    case PLUS   -> asDouble(input.get(0)) + asDouble(input.get(1));
-                    case MINUS  -> asDouble(input.get(0)) - asDouble(input.get(1));
-                    case TIMES  -> asDouble(input.get(0)) * asDouble(input.get(1));
-                    case DIVIDE -> asDouble(input.get(0)) / asDouble(input.get(1));
+                    case PLUS   -> SqlExpressions.asDouble(input.get(0)) + SqlExpressions.asDouble(input.get(1));
+                    case MINUS  -> SqlExpressions.asDouble(input.get(0)) - SqlExpressions.asDouble(input.get(1));
+                    case TIMES  -> SqlExpressions.asDouble(input.get(0)) * SqlExpressions.asDouble(input.get(1));
+                    case DIVIDE -> SqlExpressions.asDouble(input.get(0)) / SqlExpressions.asDouble(input.get(1));
                     default -> throw new UnsupportedOperationException(
                                 "Operation not supported in projection function RexCall: " + kind);
             };
         }
-
-        double asDouble(final Object o){
-            assert o instanceof Number : "Cannot perform arithmetic on non-numbers: " + o.getClass();
-            return ((Number) o).doubleValue();
-        }
     }
 
     @Override
     public Record apply(final Record rec) {
+        if (!isCompiled) {
+            compiledProjection = generatedCode == null ?
+                    null :
+                    ExpressionCompiler.compile(generatedCode, ExpressionCompiler.CompiledProjection.class);
+            isCompiled = true;
+        }
+        if (compiledProjection != null) {
+            return compiledProjection.apply(rec, generatedCode.constants);
+        }
         return new Record(projectionSyntaxTrees.stream().map(call -> call.evaluate(rec)).toArray());
     }
 }
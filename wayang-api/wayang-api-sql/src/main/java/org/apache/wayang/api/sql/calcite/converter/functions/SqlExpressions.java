@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.wayang.api.sql.calcite.converter.functions;
+
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Objects;
+
+import org.apache.calcite.runtime.SqlFunctions;
+import org.apache.calcite.util.DateString;
+import org.apache.calcite.util.NlsString;
+
+import com.google.common.collect.ImmutableRangeSet;
+import com.google.common.collect.Range;
+
+/**
+ * Java equivalents of the SQL operations in filter conditions and projections. They are shared by the
+ * interpreted call trees (see {@link CallTreeFactory}) and the code generated by {@link ExpressionCompiler}, so that
+ * both evaluate expressions alike.
+ */
+public final class SqlExpressions {
+
+    private SqlExpressions() {
+    }
+
+    /**
+     * Widens number types to double
+     *
+     * @throws UnsupportedOperationException if conversion was not possible
+     */
+    public static double widenToDouble(final Object field) {
+        if (field instanceof final Number number) {
+            return number.doubleValue();
+        } else if (field instanceof final Date date) {
+            return (double) date.getTime();
+        } else if (field instanceof final Calendar calendar) {
+            return (double) calendar.getTime().getTime();
+        } else {
+            throw new UnsupportedOperationException("Could not widen to double, field class: " + field.getClass());
+        }
+    }
+
+    /**
+     * Converts an operand of arithmetic in projections to double
+     */
+    public static double asDouble(final Object o) {
+        assert o instanceof Number : "Cannot perform arithmetic on non-numbers: " + o.getClass();
+        return ((Number) o).doubleValue();
+    }
+
+    /**
+     * Widening conversions, all numbers to double
+     */
+    public static Comparable ensureComparable(final Object field) {
+        if (field instanceof final Number number) {
+            return number.doubleValue();
+        } else if (field instanceof final Date date) {
+            return (double) date.getTime();
+        } else if (field instanceof final Calendar calendar) {
+            return (double) calendar.getTime().getTime();
+        } else if (field instanceof final String string) {
+            return string;
+        } else if (field instanceof final NlsString nlsString) {
+            return nlsString.getValue();
+        } else if (field instanceof final Character character) {
+            return character.toString();
+        } else if (field instanceof final DateString dateString) {
+            return (double) dateString.getMillisSinceEpoch();
+        } else if (field == null) {
+            return null;
+        } else {
+            throw new UnsupportedOperationException(
+                    "Type not supported in filter comparisons yet: " + field.getClass());
+        }
+    }
+
+    /**
+     * Java equivalent of SQL like clauses
+     *
+     * @param s1
+     * @param s2
+     * @return true if {@code s1} like {@code s2}
+     */
+    public static boolean like(final String s1, final String s2) {
+        return new SqlFunctions.LikeFunction().like(s1, s2);
+    }
+
+    /**
+     * Java equivalent of sql greater than clauses
+     *
+     * @param o1
+     * @param o2
+     * @return true if {@code o1 > o2}
+     */
+    public static boolean isGreaterThan(final Object o1, final Object o2) {
+        return ensureComparable(o1).compareTo(ensureComparable(o2)) > 0;
+    }
+
+    /**
+     * Java equivalent of sql less than clauses
+     *
+     * @param o1
+     * @param o2
+     * @return true if {@code o1 < o2}
+     */
+    public static boolean isLessThan(final Object o1, final Object o2) {
+        return ensureComparable(o1).compareTo(ensureComparable(o2)) < 0;
+    }
+
+    /**
+     * Java equivalent of sql greater than or equal clauses
+     *
+     * @param o1
+     * @param o2
+     * @return true if {@code o1 >= o2}
+     */
+    public static boolean isGreaterThanOrEqualTo(final Object o1, final Object o2) {
+        return isGreaterThan(o1, o2) || isEqualTo(o1, o2);
+    }
+
+    /**
+     * Java equivalent of sql less than or equal clauses
+     *
+     * @param o1
+     * @param o2
+     * @return true if {@code o1 <= o2}
+     */
+    public static boolean isLessThanOrEqualTo(final Object o1, final Object o2) {
+        return isLessThan(o1, o2) || isEqualTo(o1, o2);
+    }
+
+    /**
+     * Java equivalent of SQL equals clauses
+     *
+     * @param o1
+     * @param o2
+     * @return true if {@code o1 == o2}
+     */
+    public static boolean isEqualTo(final Object o1, final Object o2) {
+        return Objects.equals(ensureComparable(o1), ensureComparable(o2));
+    }
+
+    /**
+     * Java equivalent of SQL search arguments, i.e., whether a field is within the span of a range set
+     *
+     * @param o1 the field or the range set
+     * @param o2 the range set or the field
+     * @return true if the field is within the span of the range set
+     */
+    public static boolean search(final Object o1, final Object o2) {
+        if (o1 instanceof final ImmutableRangeSet range) {
+            return isInSpan(o2, range);
+        } else if (o2 instanceof final ImmutableRangeSet range) {
+            return isInSpan(o1, range);
+        } else {
+            throw new UnsupportedOperationException("No range set found in SARG, input1: "
+                    + o1.getClass() + ", input2: " + o2.getClass());
+        }
+    }
+
+    private static boolean isInSpan(final Object o, final ImmutableRangeSet range) {
+        assert o instanceof Comparable : "field is not comparable: " + o.getClass();
+        final Comparable field = ensureComparable(o);
+        final Comparable left = ensureComparable(range.span().lowerEndpoint());
+        final Comparable right = ensureComparable(range.span().upperEndpoint());
+        final Range<Comparable> newRange = Range.closed(left, right);
+        return newRange.contains(field);
+    }
+}
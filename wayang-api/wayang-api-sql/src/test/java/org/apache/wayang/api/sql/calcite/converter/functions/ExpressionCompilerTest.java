@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.wayang.api.sql.calcite.converter.functions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.calcite.jdbc.JavaTypeFactoryImpl;
+import org.apache.calcite.rel.type.RelDataTypeFactory;
+import org.apache.calcite.rex.RexBuilder;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.sql.fun.SqlStdOperatorTable;
+import org.apache.calcite.sql.type.SqlTypeName;
+import org.apache.wayang.basic.data.Record;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the {@link ExpressionCompiler}: compiled expressions must yield the same results as the interpreted
+ * call trees.
+ */
+class ExpressionCompilerTest {
+
+    private final RelDataTypeFactory typeFactory = new JavaTypeFactoryImpl();
+
+    private final RexBuilder rb = new RexBuilder(typeFactory);
+
+    private final RexNode i = rb.makeInputRef(typeFactory.createSqlType(SqlTypeName.INTEGER), 0);
+
+    private final RexNode s = rb.makeInputRef(typeFactory.createSqlType(SqlTypeName.VARCHAR), 1);
+
+    private final RexNode d = rb.makeInputRef(typeFactory.createSqlType(SqlTypeName.DOUBLE), 2);
+
+    private final List<Record> records = Arrays.asList(
+            new Record(1, "abc", 0.5),
+            new Record(20, "xyz", 2.5),
+            new Record(11, "ab", 4.0),
+            new Record(11, "x", -1.0));
+
+    @Test
+    void testPredicates() {
+        final List<RexNode> conditions = Arrays.asList(
+                rb.makeCall(SqlStdOperatorTable.AND,
+                        rb.makeCall(SqlStdOperatorTable.GREATER_THAN, i, rb.makeExactLiteral(BigDecimal.TEN)),
+                        rb.makeCall(SqlStdOperatorTable.LIKE, s, rb.makeLiteral("a%"))),
+                rb.makeCall(SqlStdOperatorTable.LESS_THAN_OR_EQUAL,
+                        rb.makeCall(SqlStdOperatorTable.PLUS, d, rb.makeExactLiteral(new BigDecimal("1.5"))),
+                        rb.makeExactLiteral(new BigDecimal("4"))),
+                rb.makeCall(SqlStdOperatorTable.OR,
+                        rb.makeCall(SqlStdOperatorTable.IS_NULL, s),
+                        rb.makeCall(SqlStdOperatorTable.NOT,
+                                rb.makeCall(SqlStdOperatorTable.EQUALS, s, rb.makeLiteral("xyz")))),
+                rb.makeCall(SqlStdOperatorTable.GREATER_THAN_OR_EQUAL,
+                        rb.makeCall(SqlStdOperatorTable.MINUS, i, d), rb.makeExactLiteral(BigDecimal.TEN)));
+
+        for (final RexNode condition : conditions) {
+            final FilterPredicateImpl predicate = new FilterPredicateImpl(condition);
+            final Node callTree = predicate.new FilterCallTreeFactory().fromRexNode(condition);
+            final ExpressionCompiler.GeneratedCode code = ExpressionCompiler.generatePredicate(callTree);
+            assertNotNull(code, "Not compiled: " + condition);
+            assertNotNull(ExpressionCompiler.compile(code, ExpressionCompiler.CompiledPredicate.class));
+            for (final Record record : records) {
+                assertEquals(callTree.evaluate(record), predicate.test(record), condition + " on " + record);
+            }
+        }
+    }
+
+    @Test
+    void testProjections() {
+        final List<RexNode> projections = Arrays.asList(
+                s,
+                rb.makeCall(SqlStdOperatorTable.MULTIPLY,
+                        d, rb.makeCall(SqlStdOperatorTable.MINUS, rb.makeExactLiteral(BigDecimal.ONE), d)),
+                rb.makeCall(SqlStdOperatorTable.DIVIDE, i, d),
+                rb.makeExactLiteral(new BigDecimal("2.5")));
+
+        final ProjectMapFuncImpl projection = new ProjectMapFuncImpl(projections);
+        final ProjectMapFuncImpl.ProjectCallTreeFactory treeFactory = projection.new ProjectCallTreeFactory();
+        final List<Node> callTrees = projections.stream().map(treeFactory::fromRexNode).toList();
+        assertNotNull(ExpressionCompiler.generateProjection(callTrees));
+        for (final Record record : records) {
+            final Record expected = new Record(callTrees.stream().map(callTree -> callTree.evaluate(record)).toArray());
+            assertEquals(expected, projection.apply(record));
+        }
+    }
+
+    @Test
+    void testUnsupportedExpressions() {
+        // Projections do not support comparisons, so they are left to the interpreter.
+        final RexNode comparison = rb.makeCall(SqlStdOperatorTable.EQUALS, i, rb.makeExactLiteral(BigDecimal.ONE));
+        final ProjectMapFuncImpl projection = new ProjectMapFuncImpl(List.of(comparison));
+        assertNull(ExpressionCompiler.generateProjection(
+                List.of(projection.new ProjectCallTreeFactory().fromRexNode(comparison))));
+    }
+}
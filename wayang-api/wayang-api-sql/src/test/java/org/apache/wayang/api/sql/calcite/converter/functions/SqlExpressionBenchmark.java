@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.wayang.api.sql.calcite.converter.functions;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.ToIntFunction;
+
+import org.apache.calcite.jdbc.JavaTypeFactoryImpl;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.rel.type.RelDataTypeFactory;
+import org.apache.calcite.rex.RexBuilder;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.sql.fun.SqlStdOperatorTable;
+import org.apache.calcite.sql.type.SqlTypeName;
+import org.apache.calcite.util.DateString;
+import org.apache.wayang.basic.data.Record;
+
+/**
+ * Micro-benchmark that compares the interpreted call trees with the compiled expressions of the
+ * {@link ExpressionCompiler} on TPC-H style expressions: the predicate of Q6 and the projection of Q1 over
+ * synthetic {@code lineitem} records. Run it via its {@link #main(String[])} method, optionally passing the number
+ * of records.
+ */
+public class SqlExpressionBenchmark {
+
+    public static void main(final String[] args) {
+        final int numRecords = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+
+        // lineitem(l_quantity, l_extendedprice, l_discount, l_tax, l_shipdate)
+        final Random random = new Random(42);
+        final List<Record> lineitems = new ArrayList<>(numRecords);
+        final long startDate = Date.valueOf("1992-01-01").getTime();
+        for (int i = 0; i < numRecords; i++) {
+            lineitems.add(new Record(
+                    (double) (1 + random.nextInt(50)),
+                    1000 + random.nextDouble() * 100_000,
+                    random.nextInt(11) / 100d,
+                    random.nextInt(9) / 100d,
+                    new Date(startDate + random.nextInt(7 * 365) * 86_400_000L)));
+        }
+
+        final RelDataTypeFactory typeFactory = new JavaTypeFactoryImpl();
+        final RexBuilder rb = new RexBuilder(typeFactory);
+        final RelDataType doubleType = typeFactory.createSqlType(SqlTypeName.DOUBLE);
+        final RexNode quantity = rb.makeInputRef(doubleType, 0);
+        final RexNode extendedPrice = rb.makeInputRef(doubleType, 1);
+        final RexNode discount = rb.makeInputRef(doubleType, 2);
+        final RexNode tax = rb.makeInputRef(doubleType, 3);
+        final RexNode shipDate = rb.makeInputRef(typeFactory.createSqlType(SqlTypeName.DATE), 4);
+
+        // Q6: l_shipdate >= date '1994-01-01' and l_shipdate < date '1995-01-01'
+        //     and l_discount between 0.05 and 0.07 and l_quantity < 24
+        final RexNode q6 = rb.makeCall(SqlStdOperatorTable.AND,
+                rb.makeCall(SqlStdOperatorTable.GREATER_THAN_OR_EQUAL, shipDate,
+                        rb.makeDateLiteral(new DateString("1994-01-01"))),
+                rb.makeCall(SqlStdOperatorTable.LESS_THAN, shipDate,
+                        rb.makeDateLiteral(new DateString("1995-01-01"))),
+                rb.makeCall(SqlStdOperatorTable.GREATER_THAN_OR_EQUAL, discount,
+                        rb.makeExactLiteral(new BigDecimal("0.05"))),
+                rb.makeCall(SqlStdOperatorTable.LESS_THAN_OR_EQUAL, discount,
+                        rb.makeExactLiteral(new BigDecimal("0.07"))),
+                rb.makeCall(SqlStdOperatorTable.LESS_THAN, quantity, rb.makeExactLiteral(new BigDecimal(24))));
+        final FilterPredicateImpl filter = new FilterPredicateImpl(q6);
+        final Node q6CallTree = filter.new FilterCallTreeFactory().fromRexNode(q6);
+        run("Q6 filter (interpreted)", lineitems, record -> (boolean) q6CallTree.evaluate(record) ? 1 : 0);
+        run("Q6 filter (compiled)", lineitems, record -> filter.test(record) ? 1 : 0);
+
+        // Q1: l_extendedprice * (1 - l_discount), l_extendedprice * (1 - l_discount) * (1 + l_tax)
+        final RexNode discountedPrice = rb.makeCall(SqlStdOperatorTable.MULTIPLY, extendedPrice,
+                rb.makeCall(SqlStdOperatorTable.MINUS, rb.makeExactLiteral(BigDecimal.ONE), discount));
+        final List<RexNode> q1 = Arrays.asList(quantity, extendedPrice, discountedPrice,
+                rb.makeCall(SqlStdOperatorTable.MULTIPLY, discountedPrice,
+                        rb.makeCall(SqlStdOperatorTable.PLUS, rb.makeExactLiteral(BigDecimal.ONE), tax)));
+        final ProjectMapFuncImpl projection = new ProjectMapFuncImpl(q1);
+        final ProjectMapFuncImpl.ProjectCallTreeFactory treeFactory = projection.new ProjectCallTreeFactory();
+        final List<Node> q1CallTrees = q1.stream().map(treeFactory::fromRexNode).toList();
+        run("Q1 projection (interpreted)", lineitems,
+                record -> new Record(q1CallTrees.stream().map(callTree -> callTree.evaluate(record)).toArray()).size());
+        run("Q1 projection (compiled)", lineitems, record -> projection.apply(record).size());
+    }
+
+    private static void run(final String name, final List<Record> records, final ToIntFunction<Record> evaluation) {
+        long blackhole = 0;
+        for (final Record record : records) blackhole += evaluation.applyAsInt(record); // warm-up
+        final long startTime = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            for (final Record record : records) blackhole += evaluation.applyAsInt(record);
+        }
+        final long elapsedNanos = System.nanoTime() - startTime;
+        System.out.printf("%-32s %10.1f ns/record (checksum %d)%n", name, elapsedNanos / (5d * records.size()), blackhole);
+    }
+}
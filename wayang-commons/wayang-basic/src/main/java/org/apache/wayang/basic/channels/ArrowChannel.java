@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.wayang.basic.channels;
+
+import org.apache.wayang.basic.data.Record;
+import org.apache.wayang.core.optimizer.OptimizationContext;
+import org.apache.wayang.core.plan.executionplan.Channel;
+import org.apache.wayang.core.plan.wayangplan.OutputSlot;
+import org.apache.wayang.core.platform.AbstractChannelInstance;
+import org.apache.wayang.core.platform.ChannelDescriptor;
+import org.apache.wayang.core.platform.ChannelInstance;
+import org.apache.wayang.core.platform.Executor;
+
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.stream.Stream;
+
+/**
+ * {@link Channel} that exchanges {@link Record}s between platforms as columnar batches in the Arrow IPC format
+ * (see {@link ArrowRecordCodec}). As opposed to row-wise Java serialization, this avoids the per-object overhead and
+ * keeps the transferred data compact.
+ */
+public class ArrowChannel extends Channel {
+
+    public static final ChannelDescriptor DESCRIPTOR = new ChannelDescriptor(ArrowChannel.class, true, false);
+
+    public ArrowChannel(ChannelDescriptor descriptor, OutputSlot<?> outputSlot) {
+        super(descriptor, outputSlot);
+        assert descriptor == DESCRIPTOR;
+    }
+
+    private ArrowChannel(ArrowChannel parent) {
+        super(parent);
+    }
+
+    @Override
+    public ArrowChannel copy() {
+        return new ArrowChannel(this);
+    }
+
+    @Override
+    public Instance createInstance(Executor executor,
+                                   OptimizationContext.OperatorContext producerOperatorContext,
+                                   int producerOutputIndex) {
+        // NB: Arrow batches are not inherent to a certain Platform, therefore are not tied to the executor.
+        return new Instance(producerOperatorContext, producerOutputIndex);
+    }
+
+    /**
+     * {@link ChannelInstance} implementation for {@link ArrowChannel}s.
+     */
+    public class Instance extends AbstractChannelInstance {
+
+        private List<byte[]> batches;
+
+        protected Instance(OptimizationContext.OperatorContext producerOperatorContext, int producerOutputIndex) {
+            super(null, producerOperatorContext, producerOutputIndex);
+        }
+
+        /**
+         * Accept encoded batches.
+         *
+         * @param batches    the batches as created by {@link ArrowRecordCodec}
+         * @param numRecords the number of {@link Record}s in the batches or {@code -1} if unknown
+         */
+        public void accept(List<byte[]> batches, long numRecords) {
+            this.batches = batches;
+            if (numRecords >= 0) {
+                this.setMeasuredCardinality(numRecords);
+            }
+        }
+
+        public List<byte[]> provideBatches() {
+            return this.batches;
+        }
+
+        /**
+         * Decode the batches lazily.
+         *
+         * @return a {@link Stream} of the {@link Record}s
+         */
+        public Stream<Record> provideRecords() {
+            return this.batches.stream().flatMap(batch -> ArrowRecordCodec.decodeBatch(batch).stream());
+        }
+
+        @Override
+        public OptionalLong getMeasuredByteSize() {
+            if (this.batches == null) return OptionalLong.empty();
+            return OptionalLong.of(this.batches.stream().mapToLong(batch -> batch.length).sum());
+        }
+
+        @Override
+        public ArrowChannel getChannel() {
+            return ArrowChannel.this;
+        }
+
+        @Override
+        protected void doDispose() {
+            logger.debug("Free {}.", this);
+            this.batches = null;
+        }
+    }
+}
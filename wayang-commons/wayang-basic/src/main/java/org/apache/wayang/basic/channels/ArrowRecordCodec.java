@@ -0,0 +1,283 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.wayang.basic.channels;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.Float4Vector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarBinaryVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowStreamReader;
+import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.apache.wayang.basic.data.Record;
+import org.apache.wayang.core.api.exception.WayangException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Encodes {@link Record}s as columnar batches in the Arrow IPC stream format and decodes them again. Each batch is a
+ * self-contained byte array with its own schema, so that batches can be created and consumed independently, e.g., by
+ * the workers of a distributed platform.
+ * <p>The column types are derived from the values in a batch: {@link Integer}, {@link Long}, {@link Float},
+ * {@link Double}, {@link Boolean}, {@link String}, and {@code byte[]} columns are stored natively; any other or mixed
+ * columns are stored as Java-serialized values.</p>
+ */
+public class ArrowRecordCodec {
+
+    public static final String BATCH_SIZE_PROPERTY_KEY = "wayang.basic.arrow.batch-size";
+
+    public static final int DEFAULT_BATCH_SIZE = 65536;
+
+    /**
+     * Marks {@link Field}s with Java-serialized values.
+     */
+    private static final Map<String, String> SERIALIZED_FIELD_METADATA =
+            Collections.singletonMap("wayang.serialized", "true");
+
+    /**
+     * Lazily provides the {@link RootAllocator} of this JVM.
+     */
+    private static class AllocatorHolder {
+
+        private static final BufferAllocator ROOT_ALLOCATOR = new RootAllocator();
+
+    }
+
+    private ArrowRecordCodec() {
+    }
+
+    /**
+     * Encode {@link Record}s lazily into batches.
+     *
+     * @param records   the {@link Record}s
+     * @param batchSize the maximum number of {@link Record}s per batch
+     * @return an {@link Iterator} of the encoded batches
+     */
+    public static Iterator<byte[]> encode(Iterator<Record> records, int batchSize) {
+        if (batchSize < 1) throw new IllegalArgumentException(String.format("Illegal batch size: %d.", batchSize));
+        return new Iterator<byte[]>() {
+            @Override
+            public boolean hasNext() {
+                return records.hasNext();
+            }
+
+            @Override
+            public byte[] next() {
+                if (!this.hasNext()) throw new NoSuchElementException();
+                List<Record> batch = new ArrayList<>(Math.min(batchSize, 1024));
+                while (records.hasNext() && batch.size() < batchSize) {
+                    batch.add(records.next());
+                }
+                return encodeBatch(batch);
+            }
+        };
+    }
+
+    /**
+     * Encode {@link Record}s as a single batch. All {@link Record}s must have the same number of fields.
+     *
+     * @param records the {@link Record}s
+     * @return the encoded batch
+     */
+    public static byte[] encodeBatch(List<Record> records) {
+        final int width = records.isEmpty() ? 0 : records.get(0).size();
+        List<Field> fields = new ArrayList<>(width);
+        for (int column = 0; column < width; column++) {
+            fields.add(createField(column, records));
+        }
+
+        try (BufferAllocator allocator = AllocatorHolder.ROOT_ALLOCATOR.newChildAllocator("encode", 0, Long.MAX_VALUE);
+             VectorSchemaRoot root = VectorSchemaRoot.create(new Schema(fields), allocator)) {
+            root.allocateNew();
+            for (int column = 0; column < width; column++) {
+                fill(root.getVector(column), column, records);
+            }
+            root.setRowCount(records.size());
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ArrowStreamWriter writer = new ArrowStreamWriter(root, null, Channels.newChannel(bytes))) {
+                writer.start();
+                writer.writeBatch();
+                writer.end();
+            }
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new WayangException("Could not encode records.", e);
+        }
+    }
+
+    /**
+     * Decode a batch.
+     *
+     * @param batch the encoded batch
+     * @return the decoded {@link Record}s
+     */
+    public static List<Record> decodeBatch(byte[] batch) {
+        try (BufferAllocator allocator = AllocatorHolder.ROOT_ALLOCATOR.newChildAllocator("decode", 0, Long.MAX_VALUE);
+             ArrowStreamReader reader = new ArrowStreamReader(new ByteArrayInputStream(batch), allocator)) {
+            final VectorSchemaRoot root = reader.getVectorSchemaRoot();
+            List<Record> records = new ArrayList<>();
+            while (reader.loadNextBatch()) {
+                final int width = root.getFieldVectors().size();
+                final int rowCount = root.getRowCount();
+                Object[][] values = new Object[rowCount][width];
+                for (int column = 0; column < width; column++) {
+                    read(root.getVector(column), column, values);
+                }
+                for (Object[] row : values) {
+                    records.add(new Record(row));
+                }
+            }
+            return records;
+        } catch (IOException e) {
+            throw new WayangException("Could not decode records.", e);
+        }
+    }
+
+    /**
+     * Derive the {@link Field} for a column from its values.
+     */
+    private static Field createField(int column, List<Record> records) {
+        Class<?> valueClass = null;
+        for (Record record : records) {
+            if (record.size() <= column) {
+                throw new WayangException(String.format("Cannot encode records of different widths, e.g., %s.", record));
+            }
+            final Object value = record.getField(column);
+            if (value == null) continue;
+            if (valueClass == null) {
+                valueClass = value.getClass();
+            } else if (valueClass != value.getClass()) {
+                valueClass = Object.class;
+                break;
+            }
+        }
+
+        final String name = "f" + column;
+        final ArrowType arrowType = toArrowType(valueClass);
+        if (arrowType == null) {
+            return new Field(name, new FieldType(true, ArrowType.Binary.INSTANCE, null, SERIALIZED_FIELD_METADATA), null);
+        }
+        return new Field(name, FieldType.nullable(arrowType), null);
+    }
+
+    private static ArrowType toArrowType(Class<?> valueClass) {
+        if (valueClass == Integer.class) return new ArrowType.Int(32, true);
+        if (valueClass == Long.class) return new ArrowType.Int(64, true);
+        if (valueClass == Float.class) return new ArrowType.FloatingPoint(FloatingPointPrecision.SINGLE);
+        if (valueClass == Double.class) return new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE);
+        if (valueClass == Boolean.class) return ArrowType.Bool.INSTANCE;
+        if (valueClass == String.class) return ArrowType.Utf8.INSTANCE;
+        if (valueClass == byte[].class) return ArrowType.Binary.INSTANCE;
+        return null;
+    }
+
+    private static void fill(FieldVector vector, int column, List<Record> records) {
+        final boolean isSerialized = isSerialized(vector.getField());
+        for (int row = 0; row < records.size(); row++) {
+            final Object value = records.get(row).getField(column);
+            if (value == null) {
+                vector.setNull(row);
+            } else if (vector instanceof IntVector) {
+                ((IntVector) vector).setSafe(row, (Integer) value);
+            } else if (vector instanceof BigIntVector) {
+                ((BigIntVector) vector).setSafe(row, (Long) value);
+            } else if (vector instanceof Float4Vector) {
+                ((Float4Vector) vector).setSafe(row, (Float) value);
+            } else if (vector instanceof Float8Vector) {
+                ((Float8Vector) vector).setSafe(row, (Double) value);
+            } else if (vector instanceof BitVector) {
+                ((BitVector) vector).setSafe(row, (Boolean) value ? 1 : 0);
+            } else if (vector instanceof VarCharVector) {
+                ((VarCharVector) vector).setSafe(row, ((String) value).getBytes(StandardCharsets.UTF_8));
+            } else if (isSerialized) {
+                ((VarBinaryVector) vector).setSafe(row, serialize(value));
+            } else {
+                ((VarBinaryVector) vector).setSafe(row, (byte[]) value);
+            }
+        }
+        vector.setValueCount(records.size());
+    }
+
+    private static void read(FieldVector vector, int column, Object[][] values) {
+        final boolean isSerialized = isSerialized(vector.getField());
+        for (int row = 0; row < values.length; row++) {
+            if (vector.isNull(row)) {
+                continue;
+            }
+            final Object value;
+            if (vector instanceof VarCharVector) {
+                value = new String(((VarCharVector) vector).get(row), StandardCharsets.UTF_8);
+            } else if (vector instanceof BitVector) {
+                value = ((BitVector) vector).get(row) != 0;
+            } else if (isSerialized) {
+                value = deserialize(((VarBinaryVector) vector).get(row));
+            } else {
+                // IntVector, BigIntVector, Float4Vector, Float8Vector, and VarBinaryVector yield the proper Java types.
+                value = vector.getObject(row);
+            }
+            values[row][column] = value;
+        }
+    }
+
+    private static boolean isSerialized(Field field) {
+        return field.getMetadata() != null && "true".equals(field.getMetadata().get("wayang.serialized"));
+    }
+
+    private static byte[] serialize(Object value) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bytes)) {
+            oos.writeObject(value);
+        } catch (IOException e) {
+            throw new WayangException(String.format("Could not serialize %s.", value), e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object deserialize(byte[] bytes) {
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return ois.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new WayangException("Could not deserialize value.", e);
+        }
+    }
+}
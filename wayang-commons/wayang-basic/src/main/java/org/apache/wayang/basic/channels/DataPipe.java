@@ -0,0 +1,254 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.wayang.basic.channels;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.wayang.core.api.exception.WayangException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A bounded buffer that hands over blocks of data quanta from a producer to one or more consumers while the producer
+ * is still running. If the buffer is full, the producer is blocked until the consumers catch up (back-pressure).
+ * The data quanta can be consumed only once.
+ *
+ * @param <T> the type of the data quanta
+ */
+public class DataPipe<T> implements AutoCloseable {
+
+    /**
+     * Marks the end of the data quanta in the {@link #queue}.
+     */
+    private static final Object END_MARKER = new Object();
+
+    /**
+     * Interval in which blocked producers and consumers check whether this instance has been closed.
+     */
+    private static final long POLL_MILLIS = 100L;
+
+    /**
+     * Contains blocks ({@link List}s) of data quanta and eventually the {@link #END_MARKER}.
+     */
+    private final BlockingQueue<Object> queue;
+
+    private final int blockSize;
+
+    /**
+     * Actions to run on {@link #close()}.
+     */
+    private final List<Runnable> closeActions = new CopyOnWriteArrayList<>();
+
+    private volatile boolean isClosed = false;
+
+    /**
+     * Set if the producer failed.
+     */
+    private volatile Throwable failure;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param capacity  maximum number of buffered blocks
+     * @param blockSize number of data quanta per block
+     */
+    public DataPipe(int capacity, int blockSize) {
+        if (capacity < 1) throw new IllegalArgumentException(String.format("Illegal capacity: %d.", capacity));
+        if (blockSize < 1) throw new IllegalArgumentException(String.format("Illegal block size: %d.", blockSize));
+        this.queue = new ArrayBlockingQueue<>(capacity + 1);
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Consume the data quanta from an {@link Iterator} on a new daemon thread and push them into this instance.
+     *
+     * @param iterator provides the data quanta
+     * @param name     name of the thread
+     * @return the started {@link Thread}
+     */
+    public Thread produceAsync(Iterator<? extends T> iterator, String name) {
+        final Thread thread = new Thread(() -> {
+            try {
+                List<T> block = new ArrayList<>(this.blockSize);
+                while (iterator.hasNext() && !this.isClosed) {
+                    block.add(iterator.next());
+                    if (block.size() >= this.blockSize) {
+                        this.push(block);
+                        block = new ArrayList<>(this.blockSize);
+                    }
+                }
+                if (!block.isEmpty()) {
+                    this.push(block);
+                }
+                this.finish();
+            } catch (Throwable t) {
+                if (!this.isClosed) {
+                    LogManager.getLogger(DataPipe.class).error("Producing data quanta for {} failed.", this, t);
+                }
+                this.fail(t);
+            }
+        }, name);
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    /**
+     * Push a block of data quanta, blocking while this instance is full.
+     *
+     * @param block the data quanta
+     * @throws WayangException if this instance has been closed in the meantime
+     */
+    public void push(List<T> block) {
+        this.offer(block);
+    }
+
+    /**
+     * Declare that no more data quanta will be pushed.
+     */
+    public void finish() {
+        this.offer(END_MARKER);
+    }
+
+    /**
+     * Declare that the producer failed. Consumers will fail, too.
+     *
+     * @param failure the cause
+     */
+    public void fail(Throwable failure) {
+        this.failure = failure;
+        // If the queue is full, consumers will notice the failure once they drained it.
+        this.queue.offer(END_MARKER);
+    }
+
+    private void offer(Object element) {
+        try {
+            while (!this.queue.offer(element, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (this.isClosed) throw new WayangException(String.format("%s has been closed.", this));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WayangException("Interrupted while pushing data quanta.", e);
+        }
+    }
+
+    /**
+     * Take the next block of data quanta, blocking until one is available. Several consumers may take blocks
+     * concurrently.
+     *
+     * @return the block or {@code null} if there are no more data quanta
+     * @throws WayangException if the producer failed or this instance has been closed
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> takeBlock() {
+        try {
+            Object element;
+            do {
+                if (this.isClosed) throw new WayangException(String.format("%s has been closed.", this));
+                element = this.queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (element == null && this.failure != null) element = END_MARKER;
+            } while (element == null);
+            if (element == END_MARKER) {
+                // Leave the marker for other consumers.
+                this.queue.offer(END_MARKER);
+                if (this.failure != null) {
+                    throw new WayangException("Producing the data quanta failed.", this.failure);
+                }
+                return null;
+            }
+            return (List<T>) element;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WayangException("Interrupted while taking data quanta.", e);
+        }
+    }
+
+    /**
+     * Provide the data quanta. Should be called only once.
+     *
+     * @return an {@link Iterator} over the data quanta
+     */
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+
+            private Iterator<T> currentBlock = Collections.emptyIterator();
+
+            private boolean isExhausted = false;
+
+            @Override
+            public boolean hasNext() {
+                while (!this.currentBlock.hasNext()) {
+                    if (this.isExhausted) return false;
+                    final List<T> block = DataPipe.this.takeBlock();
+                    if (block == null) {
+                        this.isExhausted = true;
+                    } else {
+                        this.currentBlock = block.iterator();
+                    }
+                }
+                return true;
+            }
+
+            @Override
+            public T next() {
+                if (!this.hasNext()) throw new NoSuchElementException();
+                return this.currentBlock.next();
+            }
+        };
+    }
+
+    /**
+     * Register an action to run when this instance is closed, e.g., to release resources of consumers.
+     *
+     * @param action the action
+     */
+    public void onClose(Runnable action) {
+        this.closeActions.add(action);
+    }
+
+    /**
+     * Release this instance. Any blocked producer or consumer will fail.
+     */
+    @Override
+    public void close() {
+        if (this.isClosed) return;
+        this.isClosed = true;
+        this.queue.clear();
+        for (Runnable closeAction : this.closeActions) {
+            closeAction.run();
+        }
+    }
+
+    public boolean isClosed() {
+        return this.isClosed;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s[%d/%d blocks]", this.getClass().getSimpleName(),
+                this.queue.size(), this.queue.size() + this.queue.remainingCapacity());
+    }
+}
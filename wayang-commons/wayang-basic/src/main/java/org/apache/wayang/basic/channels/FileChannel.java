@@ -31,12 +31,14 @@ import org.apache.wayang.core.util.Actions;
 import org.apache.wayang.core.util.fs.FileSystem;
 import org.apache.wayang.core.util.fs.FileSystems;
 
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.Random;
 
 /**
@@ -44,10 +46,22 @@ import java.util.Random;
  */
 public class FileChannel extends Channel {
 
+    /**
+     * Declares whether {@code wayang.basic.tempdir} resides on a file system that all workers can access.
+     */
+    public static final String SHARED_TEMPDIR_PROPERTY_KEY = "wayang.basic.tempdir.shared";
+
     public static final FileChannel.Descriptor HDFS_TSV_DESCRIPTOR = new FileChannel.Descriptor("hdfs", "tsv");
 
     public static final FileChannel.Descriptor HDFS_OBJECT_FILE_DESCRIPTOR = new FileChannel.Descriptor("hdfs", "object-file");
 
+    /**
+     * Describes a directory of compressed segment files on a local or shared disk, each of which consists of binary
+     * encoded blocks of data quanta. As the files are written to {@code wayang.basic.tempdir} of the driver, remote
+     * workers may read them only if {@value #SHARED_TEMPDIR_PROPERTY_KEY} declares that directory to be shared.
+     */
+    public static final FileChannel.Descriptor LOCAL_SEGMENT_FILE_DESCRIPTOR = new FileChannel.Descriptor("file", "segment-file");
+
     public FileChannel(FileChannel.Descriptor descriptor) {
         this(descriptor, null);
     }
@@ -196,6 +210,24 @@ public class FileChannel extends Channel {
             return this.paths.iterator().next();
         }
 
+        @Override
+        public OptionalLong getMeasuredByteSize() {
+            if (!this.wasProduced()) return OptionalLong.empty();
+            long byteSize = 0L;
+            for (String path : this.paths) {
+                for (String actualPath : FileSystems.findActualInputPaths(path)) {
+                    final Optional<FileSystem> fileSystem = FileSystems.getFileSystem(actualPath);
+                    if (!fileSystem.isPresent()) return OptionalLong.empty();
+                    try {
+                        byteSize += fileSystem.get().getFileSize(actualPath);
+                    } catch (FileNotFoundException e) {
+                        return OptionalLong.empty();
+                    }
+                }
+            }
+            return OptionalLong.of(byteSize);
+        }
+
         @Override
         public void doDispose() throws WayangException {
             Actions.doSafe(() -> {
@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.wayang.basic.channels;
+
+import org.apache.wayang.core.api.Configuration;
+import org.apache.wayang.core.optimizer.OptimizationContext;
+import org.apache.wayang.core.plan.executionplan.Channel;
+import org.apache.wayang.core.plan.wayangplan.OutputSlot;
+import org.apache.wayang.core.platform.AbstractChannelInstance;
+import org.apache.wayang.core.platform.ChannelDescriptor;
+import org.apache.wayang.core.platform.ChannelInstance;
+import org.apache.wayang.core.platform.Executor;
+
+/**
+ * {@link Channel} that pipelines data quanta from one platform to another via a {@link DataPipe}: the producing
+ * {@link org.apache.wayang.core.plan.executionplan.ExecutionStage} completes as soon as it has started to fill the
+ * pipe, so that the consuming {@link org.apache.wayang.core.plan.executionplan.ExecutionStage} can overlap with it.
+ * As a result, the producing {@link org.apache.wayang.core.plan.wayangplan.ExecutionOperator}s are not measured.
+ * <p>A pipe does not preserve the order of the data quanta, e.g., because several partitions pull blocks of data
+ * quanta concurrently. Hence, the optimizer does not employ it next to
+ * {@link org.apache.wayang.core.plan.wayangplan.ExecutionOperator#isOrderSensitive() order-sensitive} operators.</p>
+ * <p>As the data quanta can be consumed only once, this {@link Channel} is not reusable. This way, the optimizer
+ * employs it only for a single consumer that is not loop-invariant. Moreover, the pipelining conversions are only
+ * applicable if enabled via {@value #ENABLED_PROPERTY_KEY} and not executed repeatedly
+ * (see {@link #isApplicable(OptimizationContext.OperatorContext)}).</p>
+ */
+public class PipeChannel extends Channel {
+
+    public static final String ENABLED_PROPERTY_KEY = "wayang.basic.pipe.enabled";
+
+    public static final String CAPACITY_PROPERTY_KEY = "wayang.basic.pipe.capacity";
+
+    public static final String BLOCK_SIZE_PROPERTY_KEY = "wayang.basic.pipe.block-size";
+
+    public static final ChannelDescriptor DESCRIPTOR = new ChannelDescriptor(PipeChannel.class, false, false, false);
+
+    public PipeChannel(ChannelDescriptor descriptor, OutputSlot<?> outputSlot) {
+        super(descriptor, outputSlot);
+        assert descriptor == DESCRIPTOR;
+    }
+
+    private PipeChannel(PipeChannel parent) {
+        super(parent);
+    }
+
+    @Override
+    public PipeChannel copy() {
+        return new PipeChannel(this);
+    }
+
+    @Override
+    public Instance createInstance(Executor executor,
+                                   OptimizationContext.OperatorContext producerOperatorContext,
+                                   int producerOutputIndex) {
+        // NB: Pipes are not inherent to a certain Platform, therefore are not tied to the executor.
+        return new Instance(producerOperatorContext, producerOutputIndex);
+    }
+
+    /**
+     * Tells whether an operator that produces or consumes {@link PipeChannel}s may be used.
+     *
+     * @param operatorContext describes the operator
+     * @return whether pipelining is enabled and the operator is executed at most once
+     */
+    public static boolean isApplicable(OptimizationContext.OperatorContext operatorContext) {
+        final Configuration configuration = operatorContext.getOptimizationContext().getConfiguration();
+        return configuration.getBooleanProperty(ENABLED_PROPERTY_KEY, false)
+                && operatorContext.getNumExecutions() <= 1;
+    }
+
+    /**
+     * Create a new {@link DataPipe} as specified in the {@code configuration}.
+     *
+     * @param configuration provides the capacity and block size
+     * @return the new {@link DataPipe}
+     */
+    public static <T> DataPipe<T> createPipe(Configuration configuration) {
+        return new DataPipe<>(
+                (int) configuration.getLongProperty(CAPACITY_PROPERTY_KEY, 16),
+                (int) configuration.getLongProperty(BLOCK_SIZE_PROPERTY_KEY, 4096)
+        );
+    }
+
+    /**
+     * {@link ChannelInstance} implementation for {@link PipeChannel}s.
+     */
+    public class Instance extends AbstractChannelInstance {
+
+        private DataPipe<?> pipe;
+
+        protected Instance(OptimizationContext.OperatorContext producerOperatorContext, int producerOutputIndex) {
+            super(null, producerOperatorContext, producerOutputIndex);
+        }
+
+        public void accept(DataPipe<?> pipe) {
+            assert this.pipe == null;
+            this.pipe = pipe;
+        }
+
+        @SuppressWarnings("unchecked")
+        public <T> DataPipe<T> providePipe() {
+            return (DataPipe<T>) this.pipe;
+        }
+
+        /**
+         * Provide the {@link DataPipe} and hand over the responsibility to close it, e.g., because it is consumed
+         * lazily after this instance has been disposed.
+         *
+         * @return the {@link DataPipe}
+         */
+        public <T> DataPipe<T> takePipe() {
+            final DataPipe<T> pipe = this.providePipe();
+            this.pipe = null;
+            return pipe;
+        }
+
+        @Override
+        public PipeChannel getChannel() {
+            return PipeChannel.this;
+        }
+
+        @Override
+        protected void doDispose() {
+            logger.debug("Close {}.", this);
+            if (this.pipe != null) {
+                this.pipe.close();
+                this.pipe = null;
+            }
+        }
+    }
+}
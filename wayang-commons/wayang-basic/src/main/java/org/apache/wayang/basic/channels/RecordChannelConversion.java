@@ -0,0 +1,44 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.wayang.basic.channels;
+
+import org.apache.wayang.basic.data.Record;
+import org.apache.wayang.core.optimizer.channels.DefaultChannelConversion;
+import org.apache.wayang.core.plan.wayangplan.ExecutionOperator;
+import org.apache.wayang.core.platform.ChannelDescriptor;
+import org.apache.wayang.core.types.DataSetType;
+
+import java.util.function.Supplier;
+
+/**
+ * {@link DefaultChannelConversion} that applies only to {@link Record}s, e.g., to and from {@link ArrowChannel}s.
+ */
+public class RecordChannelConversion extends DefaultChannelConversion {
+
+    public RecordChannelConversion(ChannelDescriptor sourceChannelDescriptor,
+                                   ChannelDescriptor targetChannelDescriptor,
+                                   Supplier<ExecutionOperator> executionOperatorFactory) {
+        super(sourceChannelDescriptor, targetChannelDescriptor, executionOperatorFactory);
+    }
+
+    @Override
+    public boolean isSupporting(DataSetType<?> dataSetType) {
+        return Record.class.isAssignableFrom(dataSetType.getDataUnitType().getTypeClass());
+    }
+}
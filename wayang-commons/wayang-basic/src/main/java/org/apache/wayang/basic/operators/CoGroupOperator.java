@@ -46,6 +46,11 @@ public class CoGroupOperator<InputType0, InputType1, Key>
 
     protected final TransformationDescriptor<InputType1, Key> keyDescriptor1;
 
+    /**
+     * Tells whether both inputs are sorted by their (then {@link Comparable}) keys.
+     */
+    protected boolean isInputsSorted = false;
+
     public CoGroupOperator(FunctionDescriptor.SerializableFunction<InputType0, Key> keyExtractor0,
                            FunctionDescriptor.SerializableFunction<InputType1, Key> keyExtractor1,
                            Class<InputType0> input0Class,
@@ -85,6 +90,7 @@ public class CoGroupOperator<InputType0, InputType1, Key>
         super(that);
         this.keyDescriptor0 = that.getKeyDescriptor0();
         this.keyDescriptor1 = that.getKeyDescriptor1();
+        this.isInputsSorted = that.isInputsSorted();
     }
 
     public TransformationDescriptor<InputType0, Key> getKeyDescriptor0() {
@@ -95,6 +101,22 @@ public class CoGroupOperator<InputType0, InputType1, Key>
         return this.keyDescriptor1;
     }
 
+    /**
+     * Declare whether both inputs are sorted by their keys, which must then be {@link Comparable}. Platforms can
+     * then co-group the inputs by merging them rather than by hashing them.
+     *
+     * @param isInputsSorted whether the inputs are sorted
+     * @return this instance
+     */
+    public CoGroupOperator<InputType0, InputType1, Key> withSortedInputs(boolean isInputsSorted) {
+        this.isInputsSorted = isInputsSorted;
+        return this;
+    }
+
+    public boolean isInputsSorted() {
+        return this.isInputsSorted;
+    }
+
 
     @Override
     public Optional<CardinalityEstimator> createCardinalityEstimator(
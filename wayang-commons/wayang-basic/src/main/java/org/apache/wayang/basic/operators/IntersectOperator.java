@@ -33,6 +33,11 @@ import java.util.Optional;
  */
 public class IntersectOperator<Type> extends BinaryToUnaryOperator<Type, Type, Type> {
 
+    /**
+     * Tells whether both inputs are sorted by the natural order of their (then {@link Comparable}) elements.
+     */
+    protected boolean isInputsSorted = false;
+
     public IntersectOperator(Class<Type> typeClass) {
         this(DataSetType.createDefault(typeClass));
     }
@@ -48,6 +53,23 @@ public class IntersectOperator<Type> extends BinaryToUnaryOperator<Type, Type, T
      */
     public IntersectOperator(IntersectOperator<Type> that) {
         super(that);
+        this.isInputsSorted = that.isInputsSorted();
+    }
+
+    /**
+     * Declare whether both inputs are sorted by the natural order of their elements, which must then be
+     * {@link Comparable}. Platforms can then intersect the inputs by merging them rather than by hashing them.
+     *
+     * @param isInputsSorted whether the inputs are sorted
+     * @return this instance
+     */
+    public IntersectOperator<Type> withSortedInputs(boolean isInputsSorted) {
+        this.isInputsSorted = isInputsSorted;
+        return this;
+    }
+
+    public boolean isInputsSorted() {
+        return this.isInputsSorted;
     }
 
     /**
@@ -22,7 +22,7 @@ import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
-import org.apache.wayang.basic.operators.TextFileSource;
+import org.apache.wayang.basic.streaming.KafkaMicroBatchSession;
 
 import java.io.FileInputStream;
 import java.io.IOException;
@@ -65,6 +65,11 @@ public class KafkaTopicSource extends UnarySource<String> {
 
     transient KafkaConsumer<String, String> consumer = null;
 
+    /**
+     * If set, this instance emits the current batch of this {@link KafkaMicroBatchSession} instead of polling itself.
+     */
+    transient KafkaMicroBatchSession microBatchSession = null;
+
     public KafkaTopicSource(String topicName) {
         this(topicName, "UTF-8");
     }
@@ -84,6 +89,22 @@ public class KafkaTopicSource extends UnarySource<String> {
         super(that);
         this.topicName = that.getTopicName();
         this.encoding = that.getEncoding();
+        this.microBatchSession = that.getMicroBatchSession();
+    }
+
+    /**
+     * Lets this instance emit the current batch of a {@link KafkaMicroBatchSession}.
+     *
+     * @param microBatchSession the {@link KafkaMicroBatchSession}
+     * @return this instance
+     */
+    public KafkaTopicSource withMicroBatchSession(KafkaMicroBatchSession microBatchSession) {
+        this.microBatchSession = microBatchSession;
+        return this;
+    }
+
+    public KafkaMicroBatchSession getMicroBatchSession() {
+        return this.microBatchSession;
     }
 
     public void initConsumer( KafkaTopicSource kts ) {
@@ -255,6 +276,13 @@ public class KafkaTopicSource extends UnarySource<String> {
                     "Optimization", "Cardinality&Load Estimation", "Push Estimation", "Estimate source cardinalities"
             );
 
+            // In micro-batch mode, the current batch is already known.
+            if (KafkaTopicSource.this.microBatchSession != null) {
+                timeMeasurement.stop();
+                final long batchSize = KafkaTopicSource.this.microBatchSession.getCurrentBatch().size();
+                return new CardinalityEstimate(batchSize, batchSize, 1d);
+            }
+
             // Otherwise calculate the cardinality ...
             // In a streaming app we can't know the nr of messages in a particular topic.
             KafkaTopicSource.this.logger.warn("Could not determine size of {}... deliver fallback estimate.");
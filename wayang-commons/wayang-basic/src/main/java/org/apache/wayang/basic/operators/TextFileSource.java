@@ -27,6 +27,7 @@ import org.apache.wayang.core.optimizer.cardinality.CardinalityEstimate;
 import org.apache.wayang.core.plan.wayangplan.UnarySource;
 import org.apache.wayang.core.types.DataSetType;
 import org.apache.wayang.core.util.LimitedInputStream;
+import org.apache.wayang.core.util.fs.CompressionCodec;
 import org.apache.wayang.core.util.fs.FileSystem;
 import org.apache.wayang.core.util.fs.FileSystems;
 import org.apache.logging.log4j.LogManager;
@@ -35,6 +36,7 @@ import org.apache.logging.log4j.Logger;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.util.List;
 import java.util.Optional;
 import java.util.OptionalDouble;
 import java.util.OptionalLong;
@@ -116,20 +118,35 @@ public class TextFileSource extends UnarySource<String> {
             if (cardinalityEstimate != null) return  cardinalityEstimate;
 
             // Otherwise calculate the cardinality.
-            // First, inspect the size of the file and its line sizes.
-            OptionalLong fileSize = FileSystems.getFileSize(TextFileSource.this.inputUrl);
-            if (!fileSize.isPresent()) {
-                TextFileSource.this.logger.warn("Could not determine size of {}... deliver fallback estimate.",
-                        TextFileSource.this.inputUrl);
+            // First, inspect the size of the file(s) and their line sizes.
+            final List<String> fileUrls;
+            try {
+                fileUrls = FileSystems.listDataFiles(TextFileSource.this.inputUrl);
+            } catch (RuntimeException e) {
+                TextFileSource.this.logger.warn("Could not list files of {}... deliver fallback estimate.",
+                        TextFileSource.this.inputUrl, e);
                 timeMeasurement.stop();
                 return this.FALLBACK_ESTIMATE;
-
-            } else if (fileSize.getAsLong() == 0L) {
+            }
+            long totalFileSize = 0L;
+            String sampleFileUrl = null;
+            for (String fileUrl : fileUrls) {
+                OptionalLong fileSize = FileSystems.getFileSize(fileUrl);
+                if (!fileSize.isPresent()) {
+                    TextFileSource.this.logger.warn("Could not determine size of {}... deliver fallback estimate.",
+                            fileUrl);
+                    timeMeasurement.stop();
+                    return this.FALLBACK_ESTIMATE;
+                }
+                totalFileSize += fileSize.getAsLong();
+                if (sampleFileUrl == null && fileSize.getAsLong() > 0L) sampleFileUrl = fileUrl;
+            }
+            if (sampleFileUrl == null) {
                 timeMeasurement.stop();
                 return new CardinalityEstimate(0L, 0L, 1d);
             }
 
-            OptionalDouble bytesPerLine = this.estimateBytesPerLine();
+            OptionalDouble bytesPerLine = this.estimateBytesPerLine(sampleFileUrl);
             if (!bytesPerLine.isPresent()) {
                 TextFileSource.this.logger.warn("Could not determine average line size of {}... deliver fallback estimate.",
                         TextFileSource.this.inputUrl);
@@ -138,7 +155,7 @@ public class TextFileSource extends UnarySource<String> {
             }
 
             // Extrapolate a cardinality estimate for the complete file.
-            double numEstimatedLines = fileSize.getAsLong() / bytesPerLine.getAsDouble();
+            double numEstimatedLines = totalFileSize / bytesPerLine.getAsDouble();
             double expectedDeviation = numEstimatedLines * EXPECTED_ESTIMATE_DEVIATION;
             cardinalityEstimate = new CardinalityEstimate(
                     (long) (numEstimatedLines - expectedDeviation),
@@ -154,35 +171,43 @@ public class TextFileSource extends UnarySource<String> {
         }
 
         /**
-         * Estimate the number of bytes that are in each line of a given file.
+         * Estimate the number of stored bytes that are in each line of a given file. Compressed files are sampled
+         * after decompression, so that the result relates their lines to their compressed size.
          *
+         * @param fileUrl URL of the file to sample
          * @return the average number of bytes per line if it could be determined
          */
-        private OptionalDouble estimateBytesPerLine() {
-            final Optional<FileSystem> fileSystem = FileSystems.getFileSystem(TextFileSource.this.inputUrl);
+        private OptionalDouble estimateBytesPerLine(String fileUrl) {
+            final Optional<FileSystem> fileSystem = FileSystems.getFileSystem(fileUrl);
             if (fileSystem.isPresent()) {
 
                 // Construct a limited reader for the first x KiB of the file.
                 final int KiB = 1024;
                 final int MiB = 1024 * KiB;
-                try (LimitedInputStream lis = new LimitedInputStream(fileSystem.get().open(TextFileSource.this.inputUrl), 1 * MiB)) {
+                final CompressionCodec codec = CompressionCodec.forFile(fileUrl);
+                try (LimitedInputStream lis = new LimitedInputStream(fileSystem.get().open(fileUrl), 1 * MiB)) {
                     final BufferedReader bufferedReader = new BufferedReader(
-                            new InputStreamReader(lis, TextFileSource.this.encoding)
+                            new InputStreamReader(codec.decompress(lis), TextFileSource.this.encoding)
                     );
 
                     // Read as much as possible.
                     char[] cbuf = new char[1024];
                     int numReadChars, numLineFeeds = 0;
-                    while ((numReadChars = bufferedReader.read(cbuf)) != -1) {
-                        for (int i = 0; i < numReadChars; i++) {
-                            if (cbuf[i] == '\n') {
-                                numLineFeeds++;
+                    try {
+                        while ((numReadChars = bufferedReader.read(cbuf)) != -1) {
+                            for (int i = 0; i < numReadChars; i++) {
+                                if (cbuf[i] == '\n') {
+                                    numLineFeeds++;
+                                }
                             }
                         }
+                    } catch (IOException e) {
+                        // The sample of a compressed file usually ends within a compressed block.
+                        if (codec == CompressionCodec.NONE) throw e;
                     }
 
                     if (numLineFeeds == 0) {
-                        TextFileSource.this.logger.warn("Could not find any newline character in {}.", TextFileSource.this.inputUrl);
+                        TextFileSource.this.logger.warn("Could not find any newline character in {}.", fileUrl);
                         return OptionalDouble.empty();
                     }
                     return OptionalDouble.of((double) lis.getNumReadBytes() / numLineFeeds);
@@ -0,0 +1,262 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.wayang.basic.streaming;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.wayang.basic.operators.KafkaTopicSource;
+import org.apache.wayang.basic.operators.LocalCallbackSink;
+import org.apache.wayang.core.api.WayangContext;
+import org.apache.wayang.core.api.exception.WayangException;
+import org.apache.wayang.core.function.FunctionDescriptor;
+import org.apache.wayang.core.plan.wayangplan.WayangPlan;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Runs a {@link WayangPlan} continuously over a Kafka topic: for every micro-batch of a
+ * {@link KafkaMicroBatchSession}, a new {@link WayangPlan} is created and executed, its results are handed to a
+ * {@link BatchHandler}, and only then are the offsets of the batch committed. If any of these steps fails, the
+ * session is rewound, so that the batch will be processed again.
+ * <p>Optionally, the results can be aggregated incrementally across batches, e.g., when the {@link WayangPlan}
+ * ends with a {@link org.apache.wayang.basic.operators.ReduceByOperator}: the per-batch aggregates are then merged
+ * with the aggregates of all previous batches, and the {@link BatchHandler} receives the updated aggregates.</p>
+ *
+ * @param <T> the type of the results of the {@link WayangPlan}
+ */
+public class KafkaMicroBatchRunner<T> implements AutoCloseable {
+
+    private static final Logger logger = LogManager.getLogger(KafkaMicroBatchRunner.class);
+
+    /**
+     * Creates the {@link WayangPlan} for a batch.
+     */
+    @FunctionalInterface
+    public interface PlanFactory<T> {
+
+        /**
+         * Create a {@link WayangPlan} for a batch.
+         *
+         * @param source    emits the records of the batch
+         * @param collector should receive the results of the {@link WayangPlan}, e.g., via
+         *                  {@link LocalCallbackSink#createCollectingSink(Collection, Class)}
+         * @return the {@link WayangPlan}
+         */
+        WayangPlan createPlan(KafkaTopicSource source, Collection<T> collector);
+
+    }
+
+    /**
+     * Processes the results of a batch, e.g., by writing them to an external system.
+     */
+    @FunctionalInterface
+    public interface BatchHandler<T> {
+
+        /**
+         * Process the results of a batch.
+         *
+         * @param results the results
+         * @throws Exception if the processing failed; the batch will then be processed again
+         */
+        void handle(Collection<T> results) throws Exception;
+
+    }
+
+    private final WayangContext wayangContext;
+
+    private final KafkaMicroBatchSession session;
+
+    private final PlanFactory<T> planFactory;
+
+    private final BatchHandler<T> batchHandler;
+
+    private String[] udfJars = new String[0];
+
+    /**
+     * Merges the results of batches incrementally or {@code null}.
+     */
+    private IncrementalReduce<?, T> incrementalReduce;
+
+    /**
+     * Counts the successfully processed batches.
+     */
+    private long numProcessedBatches = 0L;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param wayangContext executes the {@link WayangPlan}s
+     * @param session       provides the batches
+     * @param planFactory   creates a {@link WayangPlan} per batch
+     * @param batchHandler  processes the results of each batch
+     */
+    public KafkaMicroBatchRunner(WayangContext wayangContext,
+                                 KafkaMicroBatchSession session,
+                                 PlanFactory<T> planFactory,
+                                 BatchHandler<T> batchHandler) {
+        this.wayangContext = wayangContext;
+        this.session = session;
+        this.planFactory = planFactory;
+        this.batchHandler = batchHandler;
+    }
+
+    /**
+     * Declare JARs that contain the UDFs of the {@link WayangPlan}s.
+     *
+     * @param udfJars the JARs
+     * @return this instance
+     */
+    public KafkaMicroBatchRunner<T> withUdfJars(String... udfJars) {
+        this.udfJars = udfJars;
+        return this;
+    }
+
+    /**
+     * Aggregate the results of all batches incrementally. Note that the {@code reducer} must not modify its
+     * inputs, as otherwise a failed batch could not be rolled back.
+     *
+     * @param keyExtractor extracts the key from the results
+     * @param reducer      aggregates two results with the same key
+     * @return this instance
+     */
+    public <K> KafkaMicroBatchRunner<T> withIncrementalReduce(FunctionDescriptor.SerializableFunction<T, K> keyExtractor,
+                                                              FunctionDescriptor.SerializableBinaryOperator<T> reducer) {
+        this.incrementalReduce = new IncrementalReduce<>(keyExtractor, reducer);
+        return this;
+    }
+
+    /**
+     * Process batches until {@code isStopped} is {@code true}.
+     *
+     * @param isStopped tells whether to stop
+     */
+    public void run(BooleanSupplier isStopped) {
+        while (!isStopped.getAsBoolean()) {
+            this.runBatch();
+        }
+    }
+
+    /**
+     * Poll and process a single batch. Empty batches are skipped.
+     *
+     * @return the number of records in the batch
+     */
+    public int runBatch() {
+        final int batchSize = this.session.pollBatch();
+        if (batchSize == 0) {
+            this.session.commit();
+            return 0;
+        }
+        try {
+            final KafkaTopicSource source = new KafkaTopicSource(this.session.getTopicName())
+                    .withMicroBatchSession(this.session);
+            final List<T> results = new ArrayList<>();
+            final WayangPlan wayangPlan = this.planFactory.createPlan(source, results);
+            this.wayangContext.execute(
+                    String.format("Kafka micro-batch %d on %s", this.numProcessedBatches, this.session.getTopicName()),
+                    wayangPlan,
+                    this.udfJars
+            );
+
+            if (this.incrementalReduce == null) {
+                this.batchHandler.handle(results);
+                this.session.commit();
+            } else {
+                final Map<?, T> updates = this.incrementalReduce.merge(results);
+                this.batchHandler.handle(Collections.unmodifiableCollection(updates.values()));
+                this.session.commit();
+                this.incrementalReduce.apply(updates);
+            }
+        } catch (Throwable t) {
+            logger.error("Processing a batch of {} records from {} failed; rolling back.", batchSize, this.session.getTopicName(), t);
+            this.session.rollback();
+            throw new WayangException("Could not process micro-batch.", t);
+        }
+        this.numProcessedBatches++;
+        return batchSize;
+    }
+
+    /**
+     * Provides the incrementally aggregated results of all batches so far.
+     *
+     * @return the aggregated results by their keys
+     * @throws IllegalStateException if no incremental aggregation has been declared
+     */
+    @SuppressWarnings("unchecked")
+    public <K> Map<K, T> getAggregates() {
+        if (this.incrementalReduce == null) {
+            throw new IllegalStateException("No incremental aggregation declared.");
+        }
+        return Collections.unmodifiableMap((Map<K, T>) this.incrementalReduce.state);
+    }
+
+    public long getNumProcessedBatches() {
+        return this.numProcessedBatches;
+    }
+
+    @Override
+    public void close() {
+        this.session.close();
+    }
+
+    /**
+     * Maintains aggregates across batches.
+     */
+    private static class IncrementalReduce<K, T> {
+
+        private final FunctionDescriptor.SerializableFunction<T, K> keyExtractor;
+
+        private final FunctionDescriptor.SerializableBinaryOperator<T> reducer;
+
+        private final Map<K, T> state = new HashMap<>();
+
+        private IncrementalReduce(FunctionDescriptor.SerializableFunction<T, K> keyExtractor,
+                                  FunctionDescriptor.SerializableBinaryOperator<T> reducer) {
+            this.keyExtractor = keyExtractor;
+            this.reducer = reducer;
+        }
+
+        /**
+         * Merges the results of a batch with the {@link #state} without modifying the latter.
+         *
+         * @return the updated aggregates
+         */
+        private Map<K, T> merge(Collection<T> results) {
+            Map<K, T> updates = new LinkedHashMap<>();
+            for (T result : results) {
+                final K key = this.keyExtractor.apply(result);
+                final T previous = updates.containsKey(key) ? updates.get(key) : this.state.get(key);
+                updates.put(key, previous == null ? result : this.reducer.apply(previous, result));
+            }
+            return updates;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void apply(Map<?, T> updates) {
+            this.state.putAll((Map<K, T>) updates);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.wayang.basic.streaming;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.wayang.basic.operators.KafkaTopicSource;
+import org.apache.wayang.core.api.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Consumes a Kafka topic in micro-batches. Each batch is limited by a maximum number of records and by a latency
+ * target, i.e., the maximum time to wait for the batch to fill up. The offsets of a batch are committed only
+ * via {@link #commit()}, i.e., after the batch has been processed successfully; {@link #rollback()} rewinds the
+ * consumer to the beginning of the batch instead. This yields at-least-once processing.
+ * <p>{@link KafkaTopicSource}s that are attached to an instance emit its current batch.</p>
+ */
+public class KafkaMicroBatchSession implements AutoCloseable {
+
+    public static final String BATCH_SIZE_PROPERTY_KEY = "wayang.basic.kafka.microbatch.size";
+
+    public static final String BATCH_LATENCY_PROPERTY_KEY = "wayang.basic.kafka.microbatch.latency";
+
+    private final Consumer<String, String> consumer;
+
+    private final String topicName;
+
+    /**
+     * Maximum number of records per batch.
+     */
+    private final int maxBatchSize;
+
+    /**
+     * Maximum time in milliseconds to wait for a batch to fill up.
+     */
+    private final long maxLatencyMillis;
+
+    /**
+     * The record values of the current batch.
+     */
+    private List<String> currentBatch = Collections.emptyList();
+
+    /**
+     * Offsets of the first record of the current batch per partition, so that we can rewind.
+     */
+    private final Map<TopicPartition, Long> batchStartOffsets = new HashMap<>();
+
+    /**
+     * Offsets to commit once the current batch has been processed.
+     */
+    private final Map<TopicPartition, OffsetAndMetadata> pendingOffsets = new HashMap<>();
+
+    /**
+     * Creates a new instance and subscribes the {@code consumer} to the topic.
+     *
+     * @param consumer         the {@link Consumer}; should not commit offsets automatically
+     * @param topicName        the topic to consume
+     * @param maxBatchSize     the maximum number of records per batch
+     * @param maxLatencyMillis the maximum time to wait for a batch to fill up
+     */
+    public KafkaMicroBatchSession(Consumer<String, String> consumer, String topicName, int maxBatchSize, long maxLatencyMillis) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException(String.format("Illegal batch size: %d.", maxBatchSize));
+        }
+        this.consumer = consumer;
+        this.topicName = topicName;
+        this.maxBatchSize = maxBatchSize;
+        this.maxLatencyMillis = maxLatencyMillis;
+        this.consumer.subscribe(Collections.singletonList(topicName));
+    }
+
+    /**
+     * Creates a new instance with a new {@link KafkaConsumer}.
+     *
+     * @param topicName     the topic to consume
+     * @param properties    configure the {@link KafkaConsumer}; automatic commits will be disabled
+     * @param configuration provides the batch size and latency target
+     * @return the new instance
+     */
+    public static KafkaMicroBatchSession create(String topicName, Properties properties, Configuration configuration) {
+        final int maxBatchSize = (int) configuration.getLongProperty(BATCH_SIZE_PROPERTY_KEY, 10000);
+        final long maxLatencyMillis = configuration.getLongProperty(BATCH_LATENCY_PROPERTY_KEY, 1000);
+        Properties consumerProperties = new Properties();
+        consumerProperties.putAll(properties);
+        consumerProperties.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+        consumerProperties.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, Integer.toString(maxBatchSize));
+        return new KafkaMicroBatchSession(
+                new KafkaConsumer<>(consumerProperties), topicName, maxBatchSize, maxLatencyMillis
+        );
+    }
+
+    /**
+     * Polls the next batch. The previous batch must have been committed or rolled back.
+     *
+     * @return the number of records in the new batch
+     */
+    public synchronized int pollBatch() {
+        if (!this.pendingOffsets.isEmpty()) {
+            throw new IllegalStateException("The previous batch has been neither committed nor rolled back.");
+        }
+        List<String> batch = new ArrayList<>();
+        final long deadline = System.currentTimeMillis() + this.maxLatencyMillis;
+        long remainingMillis = this.maxLatencyMillis;
+        do {
+            final ConsumerRecords<String, String> records = this.consumer.poll(Duration.ofMillis(Math.max(remainingMillis, 0L)));
+            Map<TopicPartition, Long> surplusStartOffsets = new HashMap<>();
+            for (ConsumerRecord<String, String> record : records) {
+                final TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+                if (batch.size() >= this.maxBatchSize) {
+                    // Leave the surplus records to the next batch.
+                    if (surplusStartOffsets.putIfAbsent(partition, record.offset()) == null) {
+                        this.consumer.seek(partition, record.offset());
+                    }
+                    continue;
+                }
+                this.batchStartOffsets.putIfAbsent(partition, record.offset());
+                this.pendingOffsets.put(partition, new OffsetAndMetadata(record.offset() + 1));
+                batch.add(record.value());
+            }
+            remainingMillis = deadline - System.currentTimeMillis();
+        } while (batch.size() < this.maxBatchSize && remainingMillis > 0);
+        this.currentBatch = batch;
+        return batch.size();
+    }
+
+    /**
+     * Provides the record values of the current batch.
+     *
+     * @return the record values
+     */
+    public synchronized List<String> getCurrentBatch() {
+        return this.currentBatch;
+    }
+
+    /**
+     * Commits the offsets of the current batch.
+     */
+    public synchronized void commit() {
+        if (!this.pendingOffsets.isEmpty()) {
+            this.consumer.commitSync(this.pendingOffsets);
+        }
+        this.clearBatch();
+    }
+
+    /**
+     * Rewinds the consumer to the beginning of the current batch, so that the next batch will include its records.
+     */
+    public synchronized void rollback() {
+        for (Map.Entry<TopicPartition, Long> entry : this.batchStartOffsets.entrySet()) {
+            this.consumer.seek(entry.getKey(), entry.getValue());
+        }
+        this.clearBatch();
+    }
+
+    private void clearBatch() {
+        this.currentBatch = Collections.emptyList();
+        this.batchStartOffsets.clear();
+        this.pendingOffsets.clear();
+    }
+
+    public String getTopicName() {
+        return this.topicName;
+    }
+
+    @Override
+    public synchronized void close() {
+        this.consumer.close();
+    }
+}
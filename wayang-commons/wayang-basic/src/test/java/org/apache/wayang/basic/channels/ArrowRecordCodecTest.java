@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.wayang.basic.channels;
+
+import org.apache.wayang.basic.data.Record;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Tests for the {@link ArrowRecordCodec}.
+ */
+class ArrowRecordCodecTest {
+
+    @Test
+    void testRoundTrip() {
+        List<Record> records = Arrays.asList(
+                new Record(1, 10L, 1.5f, 2.5d, true, "one", new BigDecimal("1.1"), 7),
+                new Record(null, 20L, null, 3.5d, false, "zwei", new BigDecimal("2.2"), "mixed"),
+                new Record(3, null, 3.5f, null, null, null, null, null)
+        );
+
+        Iterator<byte[]> batches = ArrowRecordCodec.encode(records.iterator(), 2);
+        List<Record> decodedRecords = new ArrayList<>();
+        int numBatches = 0;
+        while (batches.hasNext()) {
+            decodedRecords.addAll(ArrowRecordCodec.decodeBatch(batches.next()));
+            numBatches++;
+        }
+
+        assertEquals(2, numBatches);
+        assertEquals(records, decodedRecords);
+    }
+
+    @Test
+    void testBinaryValues() {
+        final byte[] bytes = {1, 2, 3};
+        final List<Record> decodedRecords = ArrowRecordCodec.decodeBatch(
+                ArrowRecordCodec.encodeBatch(Arrays.asList(new Record((Object) bytes), new Record((Object) null)))
+        );
+        assertArrayEquals(bytes, (byte[]) decodedRecords.get(0).getField(0));
+        assertNull(decodedRecords.get(1).getField(0));
+    }
+}
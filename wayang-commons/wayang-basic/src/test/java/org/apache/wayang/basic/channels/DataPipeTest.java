@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wayang.basic.channels;
+
+import org.apache.wayang.core.api.exception.WayangException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the {@link DataPipe}.
+ */
+class DataPipeTest {
+
+    @Test
+    void testProduceAndConsume() {
+        final List<Integer> integers = IntStream.range(0, 10000).boxed().collect(Collectors.toList());
+        try (DataPipe<Integer> pipe = new DataPipe<>(4, 100)) {
+            pipe.produceAsync(integers.iterator(), "producer");
+            List<Integer> consumedIntegers = new ArrayList<>();
+            pipe.iterator().forEachRemaining(consumedIntegers::add);
+            assertEquals(integers, consumedIntegers);
+            assertFalse(pipe.iterator().hasNext());
+        }
+    }
+
+    @Test
+    void testBackPressure() throws InterruptedException {
+        final AtomicInteger numProducedIntegers = new AtomicInteger();
+        final Iterator<Integer> producer = IntStream.range(0, 1000)
+                .peek(i -> numProducedIntegers.incrementAndGet())
+                .boxed()
+                .iterator();
+        try (DataPipe<Integer> pipe = new DataPipe<>(2, 10)) {
+            pipe.produceAsync(producer, "producer");
+            Thread.sleep(200);
+            // At most the buffered blocks, a spare slot for the end marker, and the block that is about to be pushed.
+            assertTrue(numProducedIntegers.get() <= 40, String.format("Produced %d integers.", numProducedIntegers.get()));
+
+            int numConsumedIntegers = 0;
+            for (Iterator<Integer> iterator = pipe.iterator(); iterator.hasNext(); iterator.next()) {
+                numConsumedIntegers++;
+            }
+            assertEquals(1000, numConsumedIntegers);
+        }
+    }
+
+    @Test
+    void testFailure() {
+        final Iterator<Integer> producer = IntStream.range(0, 100)
+                .peek(i -> {
+                    if (i == 50) throw new IllegalStateException("Producer failure.");
+                })
+                .boxed()
+                .iterator();
+        try (DataPipe<Integer> pipe = new DataPipe<>(2, 10)) {
+            pipe.produceAsync(producer, "producer");
+            final Iterator<Integer> iterator = pipe.iterator();
+            final WayangException exception = assertThrows(WayangException.class, () -> {
+                while (iterator.hasNext()) iterator.next();
+            });
+            assertTrue(exception.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    @Test
+    void testCloseReleasesProducer() throws InterruptedException {
+        final AtomicInteger numCloseActions = new AtomicInteger();
+        final DataPipe<Integer> pipe = new DataPipe<>(1, 1);
+        pipe.onClose(numCloseActions::incrementAndGet);
+        final Thread producer = pipe.produceAsync(IntStream.range(0, 1000).boxed().iterator(), "producer");
+        pipe.close();
+        producer.join(5000);
+        assertFalse(producer.isAlive());
+        assertEquals(1, numCloseActions.get());
+        assertThrows(WayangException.class, pipe::takeBlock);
+    }
+}
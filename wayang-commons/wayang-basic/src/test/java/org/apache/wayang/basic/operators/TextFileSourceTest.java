@@ -30,15 +30,22 @@ import org.apache.wayang.core.optimizer.cardinality.CardinalityEstimator;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
 
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
@@ -53,12 +60,7 @@ class TextFileSourceTest {
 
     @Test
     void testCardinalityEstimation() throws URISyntaxException, IOException {
-        Job job = mock(Job.class);
-        DefaultOptimizationContext optimizationContext = mock(DefaultOptimizationContext.class);
-        when(job.getOptimizationContext()).thenReturn(optimizationContext);
-        when(optimizationContext.getJob()).thenReturn(job);
-        when(job.getStopWatch()).thenReturn(new StopWatch(new Experiment("mock", new Subject("mock", "mock"))));
-        when(optimizationContext.getConfiguration()).thenReturn(new Configuration());
+        final DefaultOptimizationContext optimizationContext = createOptimizationContext();
         final URL testFile = this.getClass().getResource("/text.input");
         final TextFileSource textFileSource = new TextFileSource(testFile.toString());
 
@@ -96,4 +98,39 @@ class TextFileSourceTest {
         assertTrue(estimate.getUpperEstimate() >= numLineFeeds);
     }
 
+    @Test
+    void testCardinalityEstimationOfCompressedPartFiles(@TempDir Path tempDir) throws IOException {
+        final DefaultOptimizationContext optimizationContext = createOptimizationContext();
+        final int numLinesPerFile = 10000;
+        for (String partFile : new String[]{"part-00000.gz", "part-00001.gz"}) {
+            try (Writer writer = new OutputStreamWriter(
+                    new GZIPOutputStream(Files.newOutputStream(tempDir.resolve(partFile))), StandardCharsets.UTF_8
+            )) {
+                for (int i = 0; i < numLinesPerFile; i++) {
+                    writer.write(String.format("line %05d of %s%n", i, partFile));
+                }
+            }
+        }
+        Files.createFile(tempDir.resolve("_SUCCESS"));
+
+        final TextFileSource textFileSource = new TextFileSource(tempDir.toUri().toString());
+        final CardinalityEstimate estimate = textFileSource
+                .createCardinalityEstimator(0, optimizationContext.getConfiguration())
+                .orElseThrow()
+                .estimate(optimizationContext);
+
+        assertTrue(estimate.getLowerEstimate() <= 2 * numLinesPerFile);
+        assertTrue(estimate.getUpperEstimate() >= 2 * numLinesPerFile);
+    }
+
+    private static DefaultOptimizationContext createOptimizationContext() {
+        Job job = mock(Job.class);
+        DefaultOptimizationContext optimizationContext = mock(DefaultOptimizationContext.class);
+        when(job.getOptimizationContext()).thenReturn(optimizationContext);
+        when(optimizationContext.getJob()).thenReturn(job);
+        when(job.getStopWatch()).thenReturn(new StopWatch(new Experiment("mock", new Subject("mock", "mock"))));
+        when(optimizationContext.getConfiguration()).thenReturn(new Configuration());
+        return optimizationContext;
+    }
+
 }
@@ -39,6 +39,7 @@ import org.apache.wayang.core.optimizer.ProbabilisticDoubleInterval;
 import org.apache.wayang.core.optimizer.cardinality.CardinalityEstimate;
 import org.apache.wayang.core.optimizer.cardinality.CardinalityEstimator;
 import org.apache.wayang.core.optimizer.cardinality.FallbackCardinalityEstimator;
+import org.apache.wayang.core.optimizer.cardinality.FeedbackCardinalityEstimator;
 import org.apache.wayang.core.optimizer.channels.ChannelConversion;
 import org.apache.wayang.core.optimizer.costs.IntervalLoadEstimator;
 import org.apache.wayang.core.optimizer.costs.LoadProfileEstimator;
@@ -52,6 +53,7 @@ import org.apache.wayang.core.plan.wayangplan.ExecutionOperator;
 import org.apache.wayang.core.plan.wayangplan.OutputSlot;
 import org.apache.wayang.core.platform.Platform;
 import org.apache.wayang.core.plugin.Plugin;
+import org.apache.wayang.core.profiling.FeedbackStore;
 import org.apache.wayang.core.profiling.InstrumentationStrategy;
 import org.apache.wayang.core.profiling.OutboundInstrumentationStrategy;
 import org.apache.wayang.core.util.Actions;
@@ -347,9 +349,21 @@ public class Configuration implements Serializable {
                             .orElse(null);
                 });
 
+        // Feedback layer: Prefer cardinalities observed in previous executions unless the user specified an estimator.
+        KeyValueProvider<OutputSlot<?>, CardinalityEstimator> feedbackProvider =
+                new FunctionalKeyValueProvider<>(defaultProvider, (outputSlot, requestee) -> {
+                    final ElementaryOperator operator = (ElementaryOperator) outputSlot.getOwner();
+                    if (operator.getCardinalityEstimator(outputSlot.getIndex()) != null) return null;
+                    return FeedbackStore.open(requestee.getConfiguration())
+                            .map(feedbackStore -> (CardinalityEstimator) new FeedbackCardinalityEstimator(
+                                    outputSlot, feedbackStore, defaultProvider.provideFor(outputSlot)
+                            ))
+                            .orElse(null);
+                });
+
         // Customizable layer: Users can override manually.
         KeyValueProvider<OutputSlot<?>, CardinalityEstimator> overrideProvider =
-                new MapBasedKeyValueProvider<>(defaultProvider);
+                new MapBasedKeyValueProvider<>(feedbackProvider);
 
         configuration.setCardinalityEstimatorProvider(overrideProvider);
     }
@@ -596,6 +610,10 @@ public class Configuration implements Serializable {
                 Arrays.asList(System.getProperty("user.home"), ".wayang", "executions.json"),
                 File.separator
         ));
+        configuration.setProperty("wayang.core.log.feedback", StringUtils.join(
+                Arrays.asList(System.getProperty("user.home"), ".wayang", "feedback.bin"),
+                File.separator
+        ));
 
         // Supplement with a customizable layer.
         final KeyValueProvider<String, String> customizableProperties = new MapBasedKeyValueProvider<>(defaultProperties);
@@ -23,9 +23,11 @@ import org.apache.wayang.commons.util.profiledb.model.Experiment;
 import org.apache.wayang.commons.util.profiledb.model.measurement.TimeMeasurement;
 import org.apache.wayang.core.api.exception.WayangException;
 import org.apache.wayang.core.mapping.PlanTransformation;
+import org.apache.wayang.core.monitor.AsyncMonitor;
 import org.apache.wayang.core.monitor.DisabledMonitor;
 import org.apache.wayang.core.monitor.FileMonitor;
 import org.apache.wayang.core.monitor.Monitor;
+import org.apache.wayang.core.optimizer.AdaptiveReoptimizer;
 import org.apache.wayang.core.optimizer.DefaultOptimizationContext;
 import org.apache.wayang.core.optimizer.OptimizationContext;
 import org.apache.wayang.core.optimizer.ProbabilisticDoubleInterval;
@@ -61,7 +63,9 @@ import org.apache.wayang.core.profiling.CardinalityRepository;
 import org.apache.wayang.core.profiling.CostMeasurement;
 import org.apache.wayang.core.profiling.ExecutionLog;
 import org.apache.wayang.core.profiling.ExecutionPlanMeasurement;
+import org.apache.wayang.core.profiling.FeedbackStore;
 import org.apache.wayang.core.profiling.InstrumentationStrategy;
+import org.apache.wayang.core.profiling.NoInstrumentationStrategy;
 import org.apache.wayang.core.profiling.PartialExecutionMeasurement;
 import org.apache.wayang.core.util.Formats;
 import org.apache.wayang.core.util.OneTimeExecutable;
@@ -185,6 +189,11 @@ public class Job extends OneTimeExecutable {
 
     private final boolean isProactiveReoptimization;
 
+    /**
+     * Decides on re-optimization at every {@link ExecutionStage} boundary if adaptive re-optimization is enabled.
+     */
+    private final AdaptiveReoptimizer adaptiveReoptimizer;
+
     /**
      * Creates a new instance.
      *
@@ -210,6 +219,9 @@ public class Job extends OneTimeExecutable {
             this.cardinalityBreakpoint = null;
             this.isProactiveReoptimization = false;
         }
+        this.adaptiveReoptimizer = this.configuration.getBooleanProperty("wayang.core.optimizer.reoptimize.adaptive", false) ?
+                new AdaptiveReoptimizer(this.configuration) :
+                null;
 
         // Prepare instrumentation.
         this.experiment = experiment;
@@ -220,6 +232,9 @@ public class Job extends OneTimeExecutable {
         // Configure job monitor.
         if (Monitor.isEnabled(this.configuration)) {
             this.monitor = monitor == null ? new FileMonitor() : monitor;
+            if (AsyncMonitor.isAsync(this.configuration)) {
+                this.monitor = new AsyncMonitor(this.monitor, this.configuration);
+            }
         } else {
             this.monitor = new DisabledMonitor();
         }
@@ -270,6 +285,22 @@ public class Job extends OneTimeExecutable {
         }
     }
 
+    public void reportStageTiming(String stageName, long millis) {
+        try {
+            this.monitor.reportStageTiming(stageName, millis);
+        } catch (IOException e) {
+            this.logger.warn("Could not report the execution time of {}.", stageName, e);
+        }
+    }
+
+    public void reportCardinality(String channelName, long cardinality) {
+        try {
+            this.monitor.reportCardinality(channelName, cardinality);
+        } catch (IOException e) {
+            this.logger.warn("Could not report the cardinality of {}.", channelName, e);
+        }
+    }
+
     @Override
     protected void doExecute() {
         // Make sure that each job is only executed once.
@@ -337,6 +368,13 @@ public class Job extends OneTimeExecutable {
                 this.optimizationRound.stop();
             }
 
+            if (this.adaptiveReoptimizer != null) {
+                this.logger.info("Adaptive re-optimization: {}", this.adaptiveReoptimizer);
+                if (this.experiment != null) {
+                    this.experiment.addMeasurement(this.adaptiveReoptimizer.toMeasurement("adaptive-reoptimization"));
+                }
+            }
+
             this.stopWatch.start("Post-processing");
             if (this.configuration.getBooleanProperty("wayang.core.log.enabled")) {
                 this.logExecution();
@@ -524,13 +562,18 @@ public class Job extends OneTimeExecutable {
         // Ensure existence of the #crossPlatformExecutor.
         if (this.crossPlatformExecutor == null) {
             final InstrumentationStrategy instrumentation = this.configuration.getInstrumentationStrategyProvider().provide();
+            if (this.adaptiveReoptimizer != null && instrumentation instanceof NoInstrumentationStrategy) {
+                this.logger.warn("Adaptive re-optimization cannot observe any cardinalities with {}.", instrumentation);
+            }
             this.crossPlatformExecutor = new CrossPlatformExecutor(this, instrumentation);
         }
 
         if (this.configuration.getOptionalBooleanProperty("wayang.core.debug.skipexecution").orElse(false)) {
             return true;
         }
-        if (this.configuration.getBooleanProperty("wayang.core.optimizer.reoptimize")) {
+        if (this.adaptiveReoptimizer != null) {
+            this.setUpStageBoundaryBreakpoint(executionPlan, currentExecutionRound);
+        } else if (this.configuration.getBooleanProperty("wayang.core.optimizer.reoptimize")) {
             this.setUpBreakpoint(executionPlan, currentExecutionRound);
         }
 
@@ -558,6 +601,39 @@ public class Job extends OneTimeExecutable {
 
         // Set up appropriate Breakpoints.
         final TimeMeasurement breakpointRound = round.start("Configure Breakpoint");
+        this.crossPlatformExecutor.setBreakpoint(new ConjunctiveBreakpoint(
+                this.createImmediateBreakpoint(executionPlan),
+                this.cardinalityBreakpoint,
+                new NoIterationBreakpoint() // Avoid re-optimization inside of loops.
+        ));
+        breakpointRound.stop();
+    }
+
+    /**
+     * Sets up a {@link Breakpoint} for an {@link ExecutionPlan} that suspends the execution at the next
+     * {@link ExecutionStage} boundary regardless of the {@link CardinalityEstimate}s, so that the
+     * {@link #adaptiveReoptimizer} can inspect the outputs of every {@link ExecutionStage}.
+     *
+     * @param executionPlan for that the {@link Breakpoint} should be set
+     * @param round         {@link TimeMeasurement} to be extended for any interesting time measurements
+     */
+    private void setUpStageBoundaryBreakpoint(ExecutionPlan executionPlan, TimeMeasurement round) {
+        final TimeMeasurement breakpointRound = round.start("Configure Breakpoint");
+        this.crossPlatformExecutor.setBreakpoint(new ConjunctiveBreakpoint(
+                this.createImmediateBreakpoint(executionPlan),
+                new NoIterationBreakpoint() // Avoid re-optimization inside of loops.
+        ));
+        breakpointRound.stop();
+    }
+
+    /**
+     * Creates a {@link FixBreakpoint} that permits only the {@link ExecutionStage}s that directly follow the
+     * already completed ones.
+     *
+     * @param executionPlan for that the {@link FixBreakpoint} should be created
+     * @return the {@link FixBreakpoint}
+     */
+    private FixBreakpoint createImmediateBreakpoint(ExecutionPlan executionPlan) {
         FixBreakpoint immediateBreakpoint = new FixBreakpoint();
         final Set<ExecutionStage> completedStages = this.crossPlatformExecutor.getCompletedStages();
         if (completedStages.isEmpty()) {
@@ -568,12 +644,7 @@ public class Job extends OneTimeExecutable {
                     .filter(stage -> !completedStages.contains(stage))
                     .forEach(immediateBreakpoint::breakAfter);
         }
-        this.crossPlatformExecutor.setBreakpoint(new ConjunctiveBreakpoint(
-                immediateBreakpoint,
-                this.cardinalityBreakpoint,
-                new NoIterationBreakpoint() // Avoid re-optimization inside of loops.
-        ));
-        breakpointRound.stop();
+        return immediateBreakpoint;
     }
 
     private void logStages(ExecutionPlan executionPlan) {
@@ -610,15 +681,27 @@ public class Job extends OneTimeExecutable {
         final TimeMeasurement round = this.optimizationRound.start(String.format("Post-processing %d", executionId));
 
         round.start("Reestimate Cardinalities&Time");
-        boolean isCardinalitiesUpdated = this.reestimateCardinalities(this.crossPlatformExecutor);
+        boolean isCardinalitiesUpdated;
+        if (this.adaptiveReoptimizer != null) {
+            // Only bother to re-plan if the cardinalities deviate significantly from their estimates.
+            isCardinalitiesUpdated = this.adaptiveReoptimizer.observe(this.crossPlatformExecutor)
+                    && this.reestimateCardinalities(this.crossPlatformExecutor);
+        } else {
+            isCardinalitiesUpdated = this.reestimateCardinalities(this.crossPlatformExecutor);
+        }
         round.stop("Reestimate Cardinalities&Time");
 
         round.start("Update Execution Plan");
         if (isCardinalitiesUpdated) {
             this.logger.info("Re-optimizing execution plan.");
+            final TimeEstimate abandonedPlanEstimate = this.planImplementation.getTimeEstimate();
             this.updateExecutionPlan(executionPlan);
+            if (this.adaptiveReoptimizer != null) {
+                this.adaptiveReoptimizer.noteReoptimization(abandonedPlanEstimate, this.planImplementation.getTimeEstimate());
+            }
         } else {
             this.logger.info("Skipping re-optimization: no new insights on cardinalities.");
+            if (this.adaptiveReoptimizer != null) this.adaptiveReoptimizer.noteSkippedReoptimization();
             this.timeEstimates.add(this.timeEstimates.get(this.timeEstimates.size() - 1));
             this.costEstimates.add(this.costEstimates.get(this.costEstimates.size() - 1));
 
@@ -677,6 +760,11 @@ public class Job extends OneTimeExecutable {
     private void releaseResources() {
         this.wayangContext.getCardinalityRepository().sleep();
         if (this.crossPlatformExecutor != null) this.crossPlatformExecutor.shutdown();
+        try {
+            this.monitor.close();
+        } catch (IOException e) {
+            this.logger.warn("Could not close {}.", this.monitor, e);
+        }
     }
 
     private void logExecution() {
@@ -730,6 +818,17 @@ public class Job extends OneTimeExecutable {
         } catch (Exception e) {
             this.logger.error("Storing partial executions failed.", e);
         }
+
+        // Feed the observed cardinalities and runtimes back to the optimizer.
+        FeedbackStore.open(this.configuration).ifPresent(feedbackStore -> {
+            try {
+                feedbackStore.storeCardinalities(this.crossPlatformExecutor);
+                feedbackStore.storeRuntimes(partialExecutions);
+                feedbackStore.flush();
+            } catch (Exception e) {
+                this.logger.error("Storing feedback failed.", e);
+            }
+        });
         this.optimizationRound.stop("Post-processing", "Log measurements");
 
         // Log the execution time.
@@ -848,6 +947,15 @@ public class Job extends OneTimeExecutable {
         return this.crossPlatformExecutor;
     }
 
+    /**
+     * Provide the {@link AdaptiveReoptimizer} of this instance.
+     *
+     * @return the {@link AdaptiveReoptimizer} or {@code null} if adaptive re-optimization is disabled
+     */
+    public AdaptiveReoptimizer getAdaptiveReoptimizer() {
+        return this.adaptiveReoptimizer;
+    }
+
     public DefaultOptimizationContext getOptimizationContext() {
         return this.optimizationContext;
     }
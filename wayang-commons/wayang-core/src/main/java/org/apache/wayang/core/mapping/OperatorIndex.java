@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.wayang.core.mapping;
+
+import org.apache.wayang.core.plan.wayangplan.CompositeOperator;
+import org.apache.wayang.core.plan.wayangplan.Operator;
+import org.apache.wayang.core.plan.wayangplan.OperatorContainer;
+import org.apache.wayang.core.plan.wayangplan.PlanTraversal;
+import org.apache.wayang.core.plan.wayangplan.WayangPlan;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Indexes the elementary {@link Operator}s of a {@link WayangPlan} by their {@link Class}, so that
+ * {@link SubplanPattern}s need to attempt matches only from {@link Operator}s that their output
+ * {@link OperatorPattern} can match at all rather than from every {@link Operator} in the plan.
+ * <p>The index is kept up to date while {@link PlanTransformation}s are applied, so that a single traversal of the
+ * plan per epoch suffices.</p>
+ *
+ * @see WayangPlan#applyTransformations(Collection)
+ */
+public class OperatorIndex {
+
+    /**
+     * Indexed {@link Operator}s by their {@link Class}; the {@link Operator}s of each {@link Class} are in the order
+     * in which they were added.
+     */
+    private final Map<Class<?>, List<Operator>> operatorsByClass = new LinkedHashMap<>();
+
+    /**
+     * Assigns each indexed {@link Operator} its position in the order in which they were added.
+     */
+    private final Map<Operator, Integer> positions = new HashMap<>();
+
+    /**
+     * The position of the next added {@link Operator}.
+     */
+    private int nextPosition = 0;
+
+    /**
+     * Caches which indexed {@link Class}es are assignable to a given {@link Class}.
+     */
+    private final Map<Class<?>, List<Class<?>>> subclassCache = new HashMap<>();
+
+    /**
+     * Creates a new instance for all {@link Operator}s that a {@link SubplanPattern} would consider in the given
+     * {@link WayangPlan}, i.e., those that are upstream-reachable from its sinks, including those that are
+     * nested in {@link CompositeOperator}s.
+     *
+     * @param plan the {@link WayangPlan} to index
+     */
+    public OperatorIndex(WayangPlan plan) {
+        PlanTraversal.upstream().traversingHierarchically()
+                .withCallback((operator, fromInputSlot, fromOutputSlot) -> this.addElementary(operator))
+                .traverse(plan.getSinks());
+    }
+
+    /**
+     * Add the elementary {@link Operator}s of a new plan part, e.g., a replacement {@link Operator} of a
+     * {@link PlanTransformation}.
+     *
+     * @param operator an elementary {@link Operator} or a {@link CompositeOperator}, whose encased {@link Operator}s
+     *                 are then added
+     */
+    public void add(Operator operator) {
+        if (operator.isElementary()) {
+            this.addElementary(operator);
+        } else {
+            for (OperatorContainer container : ((CompositeOperator) operator).getContainers()) {
+                container.getContainedOperators().forEach(this::add);
+            }
+        }
+    }
+
+    private void addElementary(Operator operator) {
+        if (this.positions.putIfAbsent(operator, this.nextPosition) != null) return;
+        this.nextPosition++;
+        final List<Operator> operators = this.operatorsByClass.get(operator.getClass());
+        if (operators == null) {
+            final List<Operator> newOperators = new ArrayList<>();
+            newOperators.add(operator);
+            this.operatorsByClass.put(operator.getClass(), newOperators);
+            this.subclassCache.clear();
+        } else {
+            operators.add(operator);
+        }
+    }
+
+    /**
+     * Remove an elementary {@link Operator}, e.g., because it has been replaced in the plan.
+     *
+     * @param operator the {@link Operator} to remove
+     */
+    public void remove(Operator operator) {
+        if (this.positions.remove(operator) == null) return;
+        this.operatorsByClass.get(operator.getClass()).remove(operator);
+    }
+
+    /**
+     * Retrieve the indexed {@link Operator}s that a given {@link OperatorPattern} could match.
+     *
+     * @param pattern  the {@link OperatorPattern}
+     * @param minEpoch the (inclusive) minimum {@link Operator#getEpoch()} of the {@link Operator}s to retrieve
+     * @return the {@link Operator}s in the order in which they were added
+     */
+    public List<Operator> getCandidates(OperatorPattern<?> pattern, int minEpoch) {
+        final List<Class<?>> operatorClasses = pattern.isMatchSubclasses() ?
+                this.subclassCache.computeIfAbsent(pattern.getOperatorClass(), this::findSubclasses) :
+                List.of(pattern.getOperatorClass());
+
+        final List<Operator> candidates = new ArrayList<>();
+        for (Class<?> operatorClass : operatorClasses) {
+            for (Operator operator : this.operatorsByClass.getOrDefault(operatorClass, List.of())) {
+                if (operator.getEpoch() >= minEpoch) {
+                    candidates.add(operator);
+                }
+            }
+        }
+        if (operatorClasses.size() > 1) {
+            candidates.sort(Comparator.comparing(this.positions::get));
+        }
+        return candidates;
+    }
+
+    private List<Class<?>> findSubclasses(Class<?> superclass) {
+        final List<Class<?>> subclasses = new ArrayList<>();
+        for (Class<?> operatorClass : this.operatorsByClass.keySet()) {
+            if (superclass.isAssignableFrom(operatorClass)) {
+                subclasses.add(operatorClass);
+            }
+        }
+        return subclasses;
+    }
+
+    /**
+     * @return the number of indexed {@link Operator}s
+     */
+    public int size() {
+        return this.positions.size();
+    }
+}
@@ -193,6 +193,20 @@ public class OperatorPattern<T extends Operator> extends OperatorBase {
         return this.name;
     }
 
+    /**
+     * @return the {@link Operator} {@link Class} matched by this instance
+     */
+    public Class<?> getOperatorClass() {
+        return this.operatorClass;
+    }
+
+    /**
+     * @return whether subclasses of the {@link #getOperatorClass()} also match
+     */
+    public boolean isMatchSubclasses() {
+        return this.isMatchSubclasses;
+    }
+
     @Override
     public <Payload, Return> Return accept(TopDownPlanVisitor<Payload, Return> visitor, OutputSlot<?> outputSlot, Payload payload) {
         throw new RuntimeException("Pattern does not accept visitors.");
@@ -76,8 +76,27 @@ public class PlanTransformation {
      * @see Operator#getEpoch()
      */
     public int transform(WayangPlan plan, int epoch) {
+        return this.transform(plan, epoch, this.pattern.match(plan, epoch - 1), null);
+    }
+
+    /**
+     * Apply this transformation exhaustively on the current plan, thereby looking up the operators to match in an
+     * {@link OperatorIndex} rather than traversing the plan. The {@link OperatorIndex} is updated with the changes
+     * made to the plan.
+     *
+     * @param plan          the plan to which the transformation should be applied
+     * @param epoch         (i) the epoch for new plan parts and (ii) match only operators whose epoch is equal to or
+     *                      greater than {@code epoch-1}
+     * @param operatorIndex indexes the operators of the {@code plan}
+     * @return the number of applied transformations
+     * @see Operator#getEpoch()
+     */
+    public int transform(WayangPlan plan, int epoch, OperatorIndex operatorIndex) {
+        return this.transform(plan, epoch, this.pattern.match(operatorIndex, epoch - 1), operatorIndex);
+    }
+
+    private int transform(WayangPlan plan, int epoch, List<SubplanMatch> matches, OperatorIndex operatorIndex) {
         int numTransformations = 0;
-        List<SubplanMatch> matches = this.pattern.match(plan, epoch - 1);
         for (SubplanMatch match : matches) {
 
             if (!this.meetsPlatformRestrictions(match)) {
@@ -99,6 +118,13 @@ public class PlanTransformation {
                         epoch);
             }
 
+            if (operatorIndex != null) {
+                // Index the replacement before it is unpacked into the plan.
+                operatorIndex.add(replacement);
+                if (this.isReplacing) {
+                    match.getOperatorMatches().values().forEach(operatorMatch -> operatorIndex.remove(operatorMatch.getOperator()));
+                }
+            }
             if (this.isReplacing) {
                 this.replace(plan, match, replacement);
             } else {
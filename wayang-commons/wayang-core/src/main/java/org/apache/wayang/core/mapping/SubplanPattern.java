@@ -29,6 +29,7 @@ import org.apache.wayang.core.plan.wayangplan.WayangPlan;
 import org.apache.wayang.core.plan.wayangplan.TopDownPlanVisitor;
 
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -89,6 +90,22 @@ public class SubplanPattern extends OperatorBase {
         return new Matcher(minEpoch).match(plan);
     }
 
+    /**
+     * Match this pattern against the {@link Operator}s in an {@link OperatorIndex}. Other than
+     * {@link #match(WayangPlan, int)}, this method attempts matches only from such {@link Operator}s that the
+     * {@link #getOutputPattern() output pattern} can match by their {@link Class}. Singleton patterns furthermore
+     * skip {@link Operator}s whose epoch is below {@code minEpoch} right away.
+     *
+     * @param operatorIndex indexes the {@link Operator}s of the plan to match against
+     * @param minEpoch      the (inclusive) minimum epoch value for matched subplans
+     * @return all matches
+     */
+    public List<SubplanMatch> match(OperatorIndex operatorIndex, int minEpoch) {
+        // Subplans that span several operators might involve a recent operator further upstream.
+        final int minCandidateEpoch = this.inputPattern == this.outputPattern ? minEpoch : Integer.MIN_VALUE;
+        return new Matcher(minEpoch).match(operatorIndex.getCandidates(this.outputPattern, minCandidateEpoch));
+    }
+
     public OperatorPattern getInputPattern() {
         return this.inputPattern;
     }
@@ -150,6 +167,18 @@ public class SubplanPattern extends OperatorBase {
             return this.matches;
         }
 
+        /**
+         * Run this instance from the given {@link Operator}s only.
+         *
+         * @return a {@link List} of all {@link SubplanMatch}es established by the run
+         */
+        public List<SubplanMatch> match(Collection<Operator> candidates) {
+            for (Operator candidate : candidates) {
+                this.attemptMatchFrom(candidate, null, null);
+            }
+            return this.matches;
+        }
+
         /**
          * Try to match the given operator pattern..
          *
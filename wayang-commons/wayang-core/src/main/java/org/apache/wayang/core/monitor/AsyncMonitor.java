@@ -0,0 +1,211 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.wayang.core.monitor;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.wayang.core.api.Configuration;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * {@link Monitor} that decouples the monitoring from the execution: reported events are put into an
+ * {@link EventRingBuffer} without blocking, and a background thread periodically drains them, merges the progress
+ * updates for the wrapped {@link Monitor}, and passes the complete batch to {@link MonitorExporter}s. Events are
+ * dropped rather than slowing down the execution when the buffer is full.
+ */
+public class AsyncMonitor extends Monitor {
+
+    public static final String ASYNC_PROPERTY_KEY = "wayang.core.monitor.async";
+    public static final String CAPACITY_PROPERTY_KEY = "wayang.core.monitor.async.capacity";
+    public static final String FLUSH_INTERVAL_PROPERTY_KEY = "wayang.core.monitor.async.flushinterval";
+    public static final String PROMETHEUS_PORT_PROPERTY_KEY = "wayang.core.monitor.prometheus.port";
+
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
+    /**
+     * Receives the merged progress updates.
+     */
+    private final Monitor delegate;
+
+    private final List<MonitorExporter> exporters = new CopyOnWriteArrayList<>();
+
+    private final EventRingBuffer<MonitorEvent> buffer;
+
+    private final long flushIntervalNanos;
+
+    private final MemoryMXBean memoryMXBean = ManagementFactory.getMemoryMXBean();
+
+    /**
+     * Drains the {@link #buffer} periodically.
+     */
+    private Thread flusher;
+
+    private volatile boolean isClosed = false;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param delegate      receives the merged progress updates
+     * @param configuration provides the buffer capacity and flush interval
+     */
+    public AsyncMonitor(Monitor delegate, Configuration configuration) {
+        this.delegate = delegate;
+        this.buffer = new EventRingBuffer<>((int) configuration.getLongProperty(CAPACITY_PROPERTY_KEY, 8192));
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(
+                configuration.getLongProperty(FLUSH_INTERVAL_PROPERTY_KEY, 500)
+        );
+    }
+
+    public static boolean isAsync(Configuration configuration) {
+        return configuration.getBooleanProperty(ASYNC_PROPERTY_KEY, false);
+    }
+
+    /**
+     * Register a further {@link MonitorExporter}.
+     *
+     * @param exporter the {@link MonitorExporter}
+     */
+    public void addExporter(MonitorExporter exporter) {
+        this.exporters.add(exporter);
+    }
+
+    @Override
+    public void initialize(Configuration config, String runId, List<Map> initialExecutionPlan) throws IOException {
+        this.runId = runId;
+        this.initialExecutionPlan = initialExecutionPlan;
+
+        // Start the flusher first, so that events are processed even if the delegate or an exporter fail.
+        this.flusher = new Thread(this::runFlusher, "wayang-monitor-" + runId);
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+
+        final long prometheusPort = config.getLongProperty(PROMETHEUS_PORT_PROPERTY_KEY, -1);
+        if (prometheusPort >= 0) {
+            try {
+                this.addExporter(PrometheusExporter.acquire((int) prometheusPort));
+            } catch (IOException e) {
+                this.logger.error("Could not serve monitoring events on port {}.", prometheusPort, e);
+            }
+        }
+
+        // The initialization writes the execution plan only once, so we do it right away.
+        this.delegate.initialize(config, runId, initialExecutionPlan);
+    }
+
+    @Override
+    public void updateProgress(HashMap<String, Integer> partialProgress) {
+        for (Map.Entry<String, Integer> entry : partialProgress.entrySet()) {
+            this.buffer.offer(new MonitorEvent(MonitorEvent.Type.PROGRESS, entry.getKey(), entry.getValue()));
+        }
+    }
+
+    @Override
+    public void reportStageTiming(String stageName, long millis) {
+        this.buffer.offer(new MonitorEvent(MonitorEvent.Type.STAGE_TIMING, stageName, millis));
+    }
+
+    @Override
+    public void reportCardinality(String channelName, long cardinality) {
+        this.buffer.offer(new MonitorEvent(MonitorEvent.Type.CARDINALITY, channelName, cardinality));
+    }
+
+    private void runFlusher() {
+        while (!this.isClosed) {
+            LockSupport.parkNanos(this, this.flushIntervalNanos);
+            this.flush();
+        }
+        // Pick up any events that came in during the last flush.
+        this.flush();
+    }
+
+    /**
+     * Drains the {@link #buffer} and hands the events to the {@link #delegate} and {@link #exporters}. Must only be
+     * called by the {@link #flusher}.
+     */
+    private void flush() {
+        final List<MonitorEvent> events = new ArrayList<>();
+        this.buffer.drainTo(events);
+        final MemoryUsage heapUsage = this.memoryMXBean.getHeapMemoryUsage();
+        events.add(new MonitorEvent(MonitorEvent.Type.MEMORY, "heap.used", heapUsage.getUsed()));
+        events.add(new MonitorEvent(MonitorEvent.Type.MEMORY, "heap.committed", heapUsage.getCommitted()));
+
+        // Merge the progress updates, thereby keeping the latest update per operator.
+        HashMap<String, Integer> mergedProgress = new HashMap<>();
+        for (MonitorEvent event : events) {
+            if (event.getType() == MonitorEvent.Type.PROGRESS) {
+                mergedProgress.put(event.getName(), (int) event.getValue());
+            }
+        }
+        if (!mergedProgress.isEmpty()) {
+            try {
+                this.delegate.updateProgress(mergedProgress);
+            } catch (Throwable t) {
+                this.logger.warn("Could not update the progress of {}.", this.delegate, t);
+            }
+        }
+
+        for (MonitorExporter exporter : this.exporters) {
+            try {
+                exporter.export(events);
+            } catch (Throwable t) {
+                this.logger.warn("Could not export monitoring events via {}.", exporter, t);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (this.isClosed) return;
+        this.isClosed = true;
+        if (this.flusher != null) {
+            LockSupport.unpark(this.flusher);
+            try {
+                this.flusher.join(TimeUnit.NANOSECONDS.toMillis(this.flushIntervalNanos) + 1000L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (this.buffer.getNumRejected() > 0) {
+            this.logger.warn("Dropped {} monitoring events because the buffer was full.", this.buffer.getNumRejected());
+        }
+        for (MonitorExporter exporter : this.exporters) {
+            try {
+                exporter.close();
+            } catch (Throwable t) {
+                this.logger.warn("Could not close {}.", exporter, t);
+            }
+        }
+        this.delegate.close();
+    }
+
+    public Monitor getDelegate() {
+        return this.delegate;
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.wayang.core.monitor;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded, lock-free ring buffer for any number of producers and a single consumer. Producers never block: if the
+ * buffer is full, {@link #offer(Object)} rejects the element.
+ *
+ * @param <T> the type of the buffered elements
+ */
+public class EventRingBuffer<T> {
+
+    /**
+     * Holds the elements. A {@code null} slot has not been published yet or has been consumed already.
+     */
+    private final AtomicReferenceArray<T> slots;
+
+    /**
+     * {@code capacity - 1}; the capacity is a power of two.
+     */
+    private final int mask;
+
+    /**
+     * Sequence number of the next element to be consumed.
+     */
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * Sequence number of the next element to be produced.
+     */
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * Counts the rejected elements.
+     */
+    private final AtomicLong numRejected = new AtomicLong();
+
+    /**
+     * Creates a new instance.
+     *
+     * @param minCapacity the minimum capacity; it will be rounded up to the next power of two
+     */
+    public EventRingBuffer(int minCapacity) {
+        if (minCapacity <= 0) {
+            throw new IllegalArgumentException(String.format("Illegal capacity: %d.", minCapacity));
+        }
+        final int capacity = minCapacity == 1 ? 1 : Integer.highestOneBit(minCapacity - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Adds an element unless this instance is full. May be called by any thread.
+     *
+     * @param element the element to add
+     * @return whether the element was added
+     */
+    public boolean offer(T element) {
+        assert element != null;
+        while (true) {
+            final long sequence = this.tail.get();
+            if (sequence - this.head.get() > this.mask) {
+                this.numRejected.incrementAndGet();
+                return false;
+            }
+            if (this.tail.compareAndSet(sequence, sequence + 1)) {
+                this.slots.set((int) (sequence & this.mask), element);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Removes the next element. Must only be called by a single consumer thread.
+     *
+     * @return the next element or {@code null} if there is no published element
+     */
+    public T poll() {
+        final long sequence = this.head.get();
+        final int index = (int) (sequence & this.mask);
+        final T element = this.slots.get(index);
+        if (element == null) return null;
+        this.slots.set(index, null);
+        this.head.lazySet(sequence + 1);
+        return element;
+    }
+
+    /**
+     * Moves all published elements to the given {@link Collection}. Must only be called by a single consumer thread.
+     *
+     * @param sink that should receive the elements
+     * @return the number of moved elements
+     */
+    public int drainTo(Collection<? super T> sink) {
+        int numDrained = 0;
+        T element;
+        while ((element = this.poll()) != null) {
+            sink.add(element);
+            numDrained++;
+        }
+        return numDrained;
+    }
+
+    public int getCapacity() {
+        return this.mask + 1;
+    }
+
+    public long getNumRejected() {
+        return this.numRejected.get();
+    }
+}
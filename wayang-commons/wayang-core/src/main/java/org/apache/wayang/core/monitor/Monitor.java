@@ -40,6 +40,28 @@ public abstract class Monitor {
 
     public abstract void updateProgress(HashMap<String, Integer> partialProgress) throws IOException;
 
+    /**
+     * Report the execution time of a stage. Ignored by default.
+     *
+     * @param stageName a bounded name for the stage, e.g., the name of its platform
+     */
+    public void reportStageTiming(String stageName, long millis) throws IOException {
+    }
+
+    /**
+     * Report the measured cardinality of a channel. Ignored by default.
+     *
+     * @param channelName a bounded name for the channel, e.g., the class of its producer
+     */
+    public void reportCardinality(String channelName, long cardinality) throws IOException {
+    }
+
+    /**
+     * Release any resources held by this instance.
+     */
+    public void close() throws IOException {
+    }
+
     public static final String DEFAULT_MONITOR_BASE_URL = "file:///var/tmp/wayang/runs";
     public static final String DEFAULT_MONITOR_BASE_URL_PROPERTY_KEY = "wayang.core.monitor.baseurl";
     public static final String MONITOR_ENABLED_PROPERTY_KEY = "wayang.core.monitor.enabled";
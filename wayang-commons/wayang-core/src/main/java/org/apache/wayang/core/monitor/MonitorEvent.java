@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.wayang.core.monitor;
+
+/**
+ * An immutable event that is passed through the {@link AsyncMonitor}.
+ */
+public class MonitorEvent {
+
+    /**
+     * Describes what a {@link MonitorEvent} reports.
+     */
+    public enum Type {
+
+        /**
+         * Progress of an operator in percent.
+         */
+        PROGRESS,
+
+        /**
+         * Execution time of a stage in milliseconds.
+         */
+        STAGE_TIMING,
+
+        /**
+         * Measured cardinality of a channel.
+         */
+        CARDINALITY,
+
+        /**
+         * Memory usage of the JVM in bytes.
+         */
+        MEMORY
+
+    }
+
+    private final Type type;
+
+    /**
+     * Names the subject of this instance, e.g., an operator or a stage.
+     */
+    private final String name;
+
+    private final long value;
+
+    /**
+     * Creation time of this instance in milliseconds since the epoch.
+     */
+    private final long timestamp;
+
+    public MonitorEvent(Type type, String name, long value) {
+        this(type, name, value, System.currentTimeMillis());
+    }
+
+    public MonitorEvent(Type type, String name, long value, long timestamp) {
+        this.type = type;
+        this.name = name;
+        this.value = value;
+        this.timestamp = timestamp;
+    }
+
+    public Type getType() {
+        return this.type;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public long getValue() {
+        return this.value;
+    }
+
+    public long getTimestamp() {
+        return this.timestamp;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s[%s: %s=%d]", this.getClass().getSimpleName(), this.type, this.name, this.value);
+    }
+}
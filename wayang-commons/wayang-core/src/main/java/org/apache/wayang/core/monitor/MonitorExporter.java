@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.wayang.core.monitor;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Receives batches of {@link MonitorEvent}s from an {@link AsyncMonitor}. Implementations are called from the
+ * flusher thread of the {@link AsyncMonitor}; instances that are shared among {@link AsyncMonitor}s must be
+ * thread-safe.
+ */
+public interface MonitorExporter {
+
+    /**
+     * Export a batch of {@link MonitorEvent}s.
+     *
+     * @param events the {@link MonitorEvent}s in the order of their creation
+     * @throws IOException if the export failed
+     */
+    void export(List<MonitorEvent> events) throws IOException;
+
+    /**
+     * Release any resources held by this instance.
+     *
+     * @throws IOException if the release failed
+     */
+    default void close() throws IOException {
+    }
+
+}
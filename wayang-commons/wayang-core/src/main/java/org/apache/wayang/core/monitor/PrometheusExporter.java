@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.wayang.core.monitor;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * {@link MonitorExporter} that keeps the latest value of each monitored subject and serves them in the Prometheus
+ * text exposition format under {@code /metrics} via an embedded HTTP server.
+ * <p>There is one shared instance per port in the JVM (see {@link #acquire(int)}), so that concurrent jobs report to
+ * the same endpoint. It may thus be called by several {@link AsyncMonitor}s concurrently. To keep the number of time
+ * series bounded, each metric admits at most {@link #MAX_SERIES_PER_METRIC} distinct label values.</p>
+ */
+public class PrometheusExporter implements MonitorExporter {
+
+    private static final Logger logger = LogManager.getLogger(PrometheusExporter.class);
+
+    /**
+     * Path under which the metrics are served.
+     */
+    public static final String METRICS_PATH = "/metrics";
+
+    /**
+     * Maximum number of label values per metric; values for further labels are dropped.
+     */
+    public static final int MAX_SERIES_PER_METRIC = 1000;
+
+    /**
+     * Prometheus metric name, help text, and label name for each {@link MonitorEvent.Type}.
+     */
+    private static final Map<MonitorEvent.Type, String[]> METRIC_DESCRIPTORS = new EnumMap<>(MonitorEvent.Type.class);
+
+    static {
+        METRIC_DESCRIPTORS.put(MonitorEvent.Type.PROGRESS,
+                new String[]{"wayang_operator_progress_percent", "Progress of the operator.", "operator"});
+        METRIC_DESCRIPTORS.put(MonitorEvent.Type.STAGE_TIMING,
+                new String[]{"wayang_stage_execution_millis", "Execution time of the latest stage on the platform.", "platform"});
+        METRIC_DESCRIPTORS.put(MonitorEvent.Type.CARDINALITY,
+                new String[]{"wayang_channel_cardinality", "Latest measured cardinality of the output of the operator.", "operator"});
+        METRIC_DESCRIPTORS.put(MonitorEvent.Type.MEMORY,
+                new String[]{"wayang_jvm_memory_bytes", "Memory usage of the JVM.", "area"});
+    }
+
+    /**
+     * Shared instances by their port along with their number of users.
+     */
+    private static final Map<Integer, PrometheusExporter> sharedInstances = new HashMap<>();
+
+    /**
+     * Latest values per {@link MonitorEvent.Type} and subject name.
+     */
+    private final Map<MonitorEvent.Type, Map<String, Long>> values = new EnumMap<>(MonitorEvent.Type.class);
+
+    private final HttpServer server;
+
+    /**
+     * The number of {@link #acquire(int)} calls that have not been matched by a {@link #close()} yet.
+     */
+    private int numUsers = 0;
+
+    /**
+     * Whether a label value has been dropped due to {@link #MAX_SERIES_PER_METRIC}.
+     */
+    private volatile boolean isDroppedLabels = false;
+
+    /**
+     * Creates a new instance and starts the HTTP server. Consider {@link #acquire(int)} instead.
+     *
+     * @param port the port to listen on; {@code 0} picks an ephemeral port
+     * @throws IOException if the HTTP server could not be started
+     */
+    public PrometheusExporter(int port) throws IOException {
+        for (MonitorEvent.Type type : MonitorEvent.Type.values()) {
+            this.values.put(type, new ConcurrentSkipListMap<>());
+        }
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        this.server.createContext(METRICS_PATH, this::handle);
+        this.server.start();
+    }
+
+    /**
+     * Provide the shared instance for a port, starting it if necessary. Every call must be matched by a
+     * {@link #close()} call; the HTTP server stops once the last user has closed it.
+     *
+     * @param port the port to listen on; {@code 0} picks an ephemeral port, which is not shared
+     * @return the shared instance
+     * @throws IOException if the HTTP server could not be started
+     */
+    public static PrometheusExporter acquire(int port) throws IOException {
+        synchronized (sharedInstances) {
+            PrometheusExporter instance = port == 0 ? null : sharedInstances.get(port);
+            if (instance == null) {
+                instance = new PrometheusExporter(port);
+                if (port != 0) sharedInstances.put(port, instance);
+            }
+            instance.numUsers++;
+            return instance;
+        }
+    }
+
+    @Override
+    public void export(List<MonitorEvent> events) {
+        for (MonitorEvent event : events) {
+            final Map<String, Long> typeValues = this.values.get(event.getType());
+            if (typeValues.size() >= MAX_SERIES_PER_METRIC && !typeValues.containsKey(event.getName())) {
+                if (!this.isDroppedLabels) {
+                    this.isDroppedLabels = true;
+                    logger.warn("Dropping {} values for {}, as there are more than {} label values.",
+                            event.getType(), event.getName(), MAX_SERIES_PER_METRIC);
+                }
+                continue;
+            }
+            typeValues.put(event.getName(), event.getValue());
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        final byte[] body = this.render().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /**
+     * Renders the current values in the Prometheus text exposition format.
+     *
+     * @return the rendered values
+     */
+    public String render() {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<MonitorEvent.Type, Map<String, Long>> typeEntry : this.values.entrySet()) {
+            if (typeEntry.getValue().isEmpty()) continue;
+            final String[] descriptor = METRIC_DESCRIPTORS.get(typeEntry.getKey());
+            sb.append("# HELP ").append(descriptor[0]).append(' ').append(descriptor[1]).append('\n');
+            sb.append("# TYPE ").append(descriptor[0]).append(" gauge\n");
+            for (Map.Entry<String, Long> valueEntry : typeEntry.getValue().entrySet()) {
+                sb.append(descriptor[0]).append('{').append(descriptor[2]).append("=\"")
+                        .append(escapeLabelValue(valueEntry.getKey())).append("\"} ")
+                        .append(valueEntry.getValue()).append('\n');
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String escapeLabelValue(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    /**
+     * Provides the port of the HTTP server.
+     *
+     * @return the port
+     */
+    public int getPort() {
+        return this.server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        synchronized (sharedInstances) {
+            if (--this.numUsers > 0) return;
+            sharedInstances.remove(this.getPort(), this);
+        }
+        this.server.stop(0);
+    }
+}
@@ -0,0 +1,297 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.wayang.core.optimizer;
+
+import org.apache.commons.lang3.Validate;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.wayang.core.api.Configuration;
+import org.apache.wayang.core.optimizer.cardinality.CardinalityEstimate;
+import org.apache.wayang.core.optimizer.costs.TimeEstimate;
+import org.apache.wayang.core.plan.executionplan.Channel;
+import org.apache.wayang.core.plan.executionplan.ExecutionStage;
+import org.apache.wayang.core.plan.wayangplan.OutputSlot;
+import org.apache.wayang.core.platform.ChannelInstance;
+import org.apache.wayang.core.platform.ExecutionState;
+import org.apache.wayang.core.profiling.AdaptiveReoptimizationMeasurement;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+
+/**
+ * Drives adaptive re-optimization: After every {@link ExecutionStage} boundary, it compares the measured cardinalities
+ * of the produced {@link ChannelInstance}s with the {@link CardinalityEstimate}s that the current plan is based on.
+ * Only if the estimation error exceeds a configurable threshold, re-planning of the unexecuted part of the plan
+ * is requested.
+ * <p>Besides, this instance keeps track of how often re-planning was fired and of the estimated savings.</p>
+ */
+public class AdaptiveReoptimizer {
+
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
+    /**
+     * Estimation errors (as q-errors) greater than this value trigger re-planning.
+     */
+    private final double threshold;
+
+    /**
+     * {@link ChannelInstance}s whose measurements have already been observed.
+     */
+    private final Set<ChannelInstance> observedChannelInstances = new HashSet<>();
+
+    /**
+     * Collects the {@link StageStatistics} of all completed {@link ExecutionStage}s.
+     */
+    private final Map<ExecutionStage, StageStatistics> stageStatistics = new LinkedHashMap<>();
+
+    /**
+     * Counters for the {@link ExecutionStage} boundaries and the (skipped) re-optimizations.
+     */
+    private int numStageBoundaries = 0, numReoptimizations = 0, numSkippedReoptimizations = 0;
+
+    /**
+     * Accumulated difference between the estimated execution time of the abandoned plans and their replacements.
+     */
+    private long estimatedSavedMillis = 0L;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param configuration provides the estimation error threshold
+     */
+    public AdaptiveReoptimizer(Configuration configuration) {
+        this(configuration.getDoubleProperty("wayang.core.optimizer.reoptimize.adaptive.threshold", 2d));
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param threshold the maximum tolerated q-error of {@link CardinalityEstimate}s
+     */
+    public AdaptiveReoptimizer(double threshold) {
+        Validate.isTrue(threshold >= 1d, "The threshold must be at least 1 (got %f).", threshold);
+        this.threshold = threshold;
+    }
+
+    /**
+     * Observe the measured cardinalities of all yet unobserved {@link ChannelInstance}s in the given
+     * {@link ExecutionState}. This must happen before the measurements are injected into the plan.
+     *
+     * @param executionState contains the cardinality measurements
+     * @return whether any {@link CardinalityEstimate} is off by more than the threshold
+     */
+    public boolean observe(ExecutionState executionState) {
+        this.numStageBoundaries++;
+        boolean isExceedingThreshold = false;
+        for (ChannelInstance channelInstance : executionState.getCardinalityMeasurements()) {
+            if (!this.observedChannelInstances.add(channelInstance)) continue;
+            final OptionalLong measuredCardinality = channelInstance.getMeasuredCardinality();
+            if (!measuredCardinality.isPresent()) continue;
+
+            final Channel channel = channelInstance.getChannel();
+            final ExecutionStage stage = channel.getProducer().getStage();
+            final StageStatistics statistics = this.stageStatistics.computeIfAbsent(stage, StageStatistics::new);
+            statistics.addOutput(measuredCardinality.getAsLong(), channelInstance.getMeasuredByteSize());
+
+            final CardinalityEstimate estimate = this.findEstimate(channelInstance);
+            if (estimate == null) continue;
+            final double estimationError = calculateEstimationError(estimate, measuredCardinality.getAsLong());
+            statistics.maxEstimationError = Math.max(statistics.maxEstimationError, estimationError);
+            if (estimationError > this.threshold) {
+                this.logger.info("Measured {} items for {}, but estimated {} (q-error {}).",
+                        measuredCardinality.getAsLong(), channel, estimate, String.format("%.2f", estimationError)
+                );
+                isExceedingThreshold = true;
+            }
+        }
+        return isExceedingThreshold;
+    }
+
+    /**
+     * Retrieves the {@link CardinalityEstimate} that has been used to plan the given {@link ChannelInstance}.
+     *
+     * @param channelInstance whose {@link CardinalityEstimate} is requested
+     * @return the {@link CardinalityEstimate} or {@code null} if none could be found
+     */
+    private CardinalityEstimate findEstimate(ChannelInstance channelInstance) {
+        final OptimizationContext.OperatorContext producerOperatorContext = channelInstance.getProducerOperatorContext();
+        if (producerOperatorContext == null) return null;
+        final OutputSlot<?> output = OptimizationUtils.findWayangPlanOutputSlotFor(channelInstance.getChannel());
+        final OptimizationContext.OperatorContext operatorContext =
+                producerOperatorContext.getOptimizationContext().getOperatorContext(output.getOwner());
+        return operatorContext == null ? null : operatorContext.getOutputCardinality(output.getIndex());
+    }
+
+    /**
+     * Calculates the q-error of a {@link CardinalityEstimate} w.r.t. a measured cardinality, i.e., the factor by
+     * which the measured cardinality lies outside of the estimated interval.
+     *
+     * @param estimate            the {@link CardinalityEstimate}
+     * @param measuredCardinality the actual cardinality
+     * @return the q-error, which is {@code 1} if the {@code measuredCardinality} lies within the {@code estimate}
+     */
+    public static double calculateEstimationError(CardinalityEstimate estimate, long measuredCardinality) {
+        final double measured = measuredCardinality + 1d;
+        return Math.max(1d, Math.max(
+                measured / (estimate.getUpperEstimate() + 1d),
+                (estimate.getLowerEstimate() + 1d) / measured
+        ));
+    }
+
+    /**
+     * Notes that re-planning has been performed.
+     *
+     * @param abandonedPlanEstimate the {@link TimeEstimate} of the abandoned plan, based on the updated cardinalities
+     * @param newPlanEstimate       the {@link TimeEstimate} of the newly picked plan
+     */
+    public void noteReoptimization(TimeEstimate abandonedPlanEstimate, TimeEstimate newPlanEstimate) {
+        this.numReoptimizations++;
+        this.estimatedSavedMillis += Math.max(
+                0L,
+                abandonedPlanEstimate.getGeometricMeanEstimate() - newPlanEstimate.getGeometricMeanEstimate()
+        );
+    }
+
+    /**
+     * Notes that re-planning has been skipped because all estimates were sufficiently accurate.
+     */
+    public void noteSkippedReoptimization() {
+        this.numSkippedReoptimizations++;
+    }
+
+    /**
+     * Summarizes this instance as an {@link AdaptiveReoptimizationMeasurement}.
+     *
+     * @param id the ID of the measurement
+     * @return the {@link AdaptiveReoptimizationMeasurement}
+     */
+    public AdaptiveReoptimizationMeasurement toMeasurement(String id) {
+        long measuredBytes = 0L;
+        for (StageStatistics statistics : this.stageStatistics.values()) {
+            if (statistics.outputBytes > 0) measuredBytes += statistics.outputBytes;
+        }
+        return new AdaptiveReoptimizationMeasurement(
+                id,
+                this.numStageBoundaries,
+                this.numReoptimizations,
+                this.numSkippedReoptimizations,
+                this.estimatedSavedMillis,
+                measuredBytes
+        );
+    }
+
+    public double getThreshold() {
+        return this.threshold;
+    }
+
+    public int getNumStageBoundaries() {
+        return this.numStageBoundaries;
+    }
+
+    public int getNumReoptimizations() {
+        return this.numReoptimizations;
+    }
+
+    public int getNumSkippedReoptimizations() {
+        return this.numSkippedReoptimizations;
+    }
+
+    public long getEstimatedSavedMillis() {
+        return this.estimatedSavedMillis;
+    }
+
+    /**
+     * Provides the {@link StageStatistics} of all observed {@link ExecutionStage}s.
+     *
+     * @return the {@link StageStatistics} in order of their observation
+     */
+    public Collection<StageStatistics> getStageStatistics() {
+        return Collections.unmodifiableCollection(this.stageStatistics.values());
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s[%d boundaries, %d re-optimizations, %d skipped, ~%d ms saved]",
+                this.getClass().getSimpleName(),
+                this.numStageBoundaries,
+                this.numReoptimizations,
+                this.numSkippedReoptimizations,
+                this.estimatedSavedMillis
+        );
+    }
+
+    /**
+     * Observed output statistics of an executed {@link ExecutionStage}.
+     */
+    public static class StageStatistics {
+
+        private final ExecutionStage stage;
+
+        private long outputCardinality = 0L;
+
+        /**
+         * The measured size of the outputs in bytes or {@code -1} if it is not known for all outputs.
+         */
+        private long outputBytes = 0L;
+
+        private double maxEstimationError = 1d;
+
+        private StageStatistics(ExecutionStage stage) {
+            this.stage = stage;
+        }
+
+        private void addOutput(long cardinality, OptionalLong byteSize) {
+            this.outputCardinality += cardinality;
+            if (byteSize.isPresent() && this.outputBytes >= 0) {
+                this.outputBytes += byteSize.getAsLong();
+            } else {
+                this.outputBytes = -1L;
+            }
+        }
+
+        public ExecutionStage getStage() {
+            return this.stage;
+        }
+
+        public long getOutputCardinality() {
+            return this.outputCardinality;
+        }
+
+        public OptionalLong getOutputBytes() {
+            return this.outputBytes < 0 ? OptionalLong.empty() : OptionalLong.of(this.outputBytes);
+        }
+
+        public double getMaxEstimationError() {
+            return this.maxEstimationError;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s[%s: %d items, q-error %.2f]",
+                    this.getClass().getSimpleName(), this.stage, this.outputCardinality, this.maxEstimationError
+            );
+        }
+    }
+
+}
@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.wayang.core.optimizer.cardinality;
+
+import org.apache.wayang.core.optimizer.OptimizationContext;
+import org.apache.wayang.core.plan.wayangplan.OutputSlot;
+import org.apache.wayang.core.profiling.FeedbackStore;
+
+/**
+ * {@link CardinalityEstimator} implementation that prefers cardinalities observed in previous executions as
+ * provided by a {@link FeedbackStore} and resorts to another {@link CardinalityEstimator} otherwise.
+ */
+public class FeedbackCardinalityEstimator implements CardinalityEstimator {
+
+    /**
+     * The {@link OutputSlot} whose cardinality is estimated.
+     */
+    private final transient OutputSlot<?> output;
+
+    /**
+     * Provides the observed cardinalities.
+     */
+    private final transient FeedbackStore feedbackStore;
+
+    /**
+     * Estimates cardinalities when the {@link #feedbackStore} has not enough observations.
+     */
+    private final CardinalityEstimator delegate;
+
+    public FeedbackCardinalityEstimator(OutputSlot<?> output, FeedbackStore feedbackStore, CardinalityEstimator delegate) {
+        this.output = output;
+        this.feedbackStore = feedbackStore;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public CardinalityEstimate estimate(OptimizationContext optimizationContext, CardinalityEstimate... inputEstimates) {
+        if (this.feedbackStore != null) {
+            final CardinalityEstimate estimate =
+                    this.feedbackStore.estimateCardinality(this.output, inputEstimates).orElse(null);
+            if (estimate != null) return estimate;
+        }
+        return this.delegate.estimate(optimizationContext, inputEstimates);
+    }
+}
@@ -25,6 +25,7 @@ import org.apache.wayang.core.optimizer.cardinality.CardinalityEstimate;
 import org.apache.wayang.core.plan.executionplan.Channel;
 import org.apache.wayang.core.plan.wayangplan.Operator;
 import org.apache.wayang.core.platform.ChannelDescriptor;
+import org.apache.wayang.core.types.DataSetType;
 
 import java.util.Collection;
 import java.util.Collections;
@@ -114,6 +115,17 @@ public abstract class ChannelConversion {
                                        int numExecutions,
                                        OptimizationContext optimizationContext);
 
+    /**
+     * Determine whether this instance can convert {@link Channel}s that carry data quanta of a certain type.
+     * By default, any type is supported.
+     *
+     * @param dataSetType the {@link DataSetType} of the data quanta
+     * @return whether this instance supports the {@code dataSetType}
+     */
+    public boolean isSupporting(DataSetType<?> dataSetType) {
+        return true;
+    }
+
     @Override
     public String toString() {
         return String.format("%s[%s->%s]",
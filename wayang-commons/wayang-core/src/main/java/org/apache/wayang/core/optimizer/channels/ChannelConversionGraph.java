@@ -307,6 +307,14 @@ public class ChannelConversionGraph {
          */
         private final boolean isRequestBreakpoint;
 
+        /**
+         * Whether the {@link #sourceOutput} or any of the {@link #destInputs} belongs to an order-sensitive
+         * {@link ExecutionOperator}, so that only order-preserving {@link Channel}s may be used.
+         *
+         * @see ExecutionOperator#isOrderSensitive()
+         */
+        private final boolean isOrderSensitive;
+
         /**
          * Maps kernelized {@link Set}s of possible input {@link ChannelDescriptor}s to destination {@link InputSlot}s via
          * their respective indices in {@link #destInputs}.
@@ -363,6 +371,9 @@ public class ChannelConversionGraph {
             assert operatorContext != null : String.format("Optimization info for %s missing.", outputOperator);
             this.cardinality = operatorContext.getOutputCardinality(this.sourceOutput.getIndex());
             this.numExecutions = operatorContext.getNumExecutions();
+            this.isOrderSensitive = outputOperator.isOrderSensitive() || destInputs.stream()
+                    .map(InputSlot::getOwner)
+                    .anyMatch(owner -> owner.isExecutionOperator() && ((ExecutionOperator) owner).isOrderSensitive());
 
             // Figure out, if a part of the conversion is already in place and initialize accordingly.
 
@@ -675,6 +686,16 @@ public class ChannelConversionGraph {
                     continue;
                 }
 
+                // Skip if the channelConversion would lose an order of the data quanta that matters.
+                if (this.isOrderSensitive && !targetChannelDescriptor.isOrderPreserving()) {
+                    continue;
+                }
+
+                // Skip if the channelConversion cannot handle the type of the data quanta.
+                if (!channelConversion.isSupporting(this.sourceOutput.getType())) {
+                    continue;
+                }
+
                 // Check if the channelConversion can be filtered.
                 if (successorChannelDescriptors == null && this.isFiltered(channelConversion)) {
                     logger.info("Filtering conversion {} between {} and {}.", channelConversion, this.sourceOutput, this.destInputs);
@@ -0,0 +1,461 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.wayang.core.optimizer.costs;
+
+import org.apache.wayang.core.util.mathex.Expression;
+import org.apache.wayang.core.util.mathex.ExpressionBuilder;
+import org.apache.wayang.core.util.mathex.exceptions.EvaluationException;
+import org.apache.wayang.core.util.mathex.exceptions.MathExException;
+import org.apache.wayang.core.util.mathex.exceptions.ParseException;
+import org.apache.wayang.core.util.mathex.model.BinaryOperation;
+import org.apache.wayang.core.util.mathex.model.CompiledFunction;
+import org.apache.wayang.core.util.mathex.model.Constant;
+import org.apache.wayang.core.util.mathex.model.NamedFunction;
+import org.apache.wayang.core.util.mathex.model.UnaryOperation;
+import org.apache.wayang.core.util.mathex.model.Variable;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compiles load and resource usage expressions, as found in the {@code wayang-*-defaults.properties}, into trees of
+ * lambdas. As opposed to interpreting them, variables are bound to array positions and functions are resolved
+ * only once, so that evaluating an expression does not involve any name lookups.
+ */
+public class LoadExpressionCompiler {
+
+    /**
+     * An evaluable, compiled expression.
+     */
+    @FunctionalInterface
+    public interface CompiledExpression extends Serializable {
+
+        /**
+         * Evaluate this instance.
+         *
+         * @param context             provides properties of the estimated artifact
+         * @param inputCardinalities  bound to the variables {@code in0}, {@code in1}, ...
+         * @param outputCardinalities bound to the variables {@code out0}, {@code out1}, ...
+         * @return the result of the evaluation
+         */
+        double evaluate(EstimationContext context, long[] inputCardinalities, long[] outputCardinalities);
+
+    }
+
+    /**
+     * Matches the variables that represent input and output cardinalities.
+     */
+    private static final Pattern CARDINALITY_VARIABLE_PATTERN = Pattern.compile("(in|out)(0|[1-9]\\d*)");
+
+    /**
+     * Matches JUEL expressions and extracts their bodies.
+     */
+    private static final Pattern JUEL_PATTERN = Pattern.compile("\\s*\\$\\{(.*)}\\s*", Pattern.DOTALL);
+
+    /**
+     * Caches the parsed and specified {@link Expression}s by their (MathEx) specification.
+     */
+    private static final Map<String, Expression> expressionCache = new ConcurrentHashMap<>();
+
+    /**
+     * Caches the parsed {@link Expression}s by their JUEL specification.
+     */
+    private static final Map<String, Expression> juelExpressionCache = new ConcurrentHashMap<>();
+
+    /**
+     * Prevent instantiation of this class.
+     */
+    private LoadExpressionCompiler() {
+    }
+
+    /**
+     * Compiles a MathEx expression. Variables other than the input and output cardinalities are requested from the
+     * {@link EstimationContext} and default to {@link Double#NaN}.
+     *
+     * @param specification the MathEx expression
+     * @return the {@link CompiledExpression}
+     * @throws MathExException if the expression could not be parsed
+     */
+    public static CompiledExpression compile(String specification) throws MathExException {
+        return compile(parse(specification), Double.NaN, name -> null);
+    }
+
+    /**
+     * Compiles a MathEx expression. Variables other than the input and output cardinalities are bound via the
+     * {@code variableBinder} or, if it yields {@code null}, requested from the {@link EstimationContext} and default
+     * to {@link Double#NaN}.
+     *
+     * @param specification  the MathEx expression
+     * @param variableBinder provides {@link CompiledExpression}s for variable names or {@code null}
+     * @return the {@link CompiledExpression}
+     * @throws MathExException if the expression could not be parsed
+     */
+    public static CompiledExpression compile(String specification,
+                                             Function<String, CompiledExpression> variableBinder) throws MathExException {
+        return compile(parse(specification), Double.NaN, variableBinder);
+    }
+
+    /**
+     * Tries to compile a JUEL expression. This succeeds only for JUEL expressions that are plain arithmetics over
+     * the input and output cardinalities, the given {@code properties}, and the {@code math:sqrt} and
+     * {@code wayang:logGrowth} functions. Other expressions, e.g., with comparisons, are left to JUEL. Note that JUEL calculates with {@code long}s where possible, while the
+     * compiled expression calculates with {@code double}s.
+     *
+     * @param juel       the JUEL expression
+     * @param numInputs  the number of input cardinalities
+     * @param numOutputs the number of output cardinalities
+     * @param properties the properties that may appear in the expression and default to {@code 0}
+     * @return the {@link CompiledExpression} or an empty {@link Optional} if the expression is not supported
+     */
+    public static Optional<CompiledExpression> compileJuel(String juel,
+                                                           int numInputs,
+                                                           int numOutputs,
+                                                           Collection<String> properties) {
+        Expression expression = juelExpressionCache.get(juel);
+        if (expression == null) {
+            final Matcher matcher = JUEL_PATTERN.matcher(juel);
+            if (!matcher.matches()) return Optional.empty();
+            try {
+                expression = new JuelArithmeticsParser(matcher.group(1)).parse();
+            } catch (MathExException e) {
+                return Optional.empty();
+            }
+            juelExpressionCache.put(juel, expression);
+        }
+        if (!isBound(expression, numInputs, numOutputs, properties)) return Optional.empty();
+        return Optional.of(compile(expression, 0d, name -> null));
+    }
+
+    /**
+     * Parses a MathEx specification and incorporates the {@link LoadProfileEstimators#baseContext}, thereby
+     * resolving constants and functions.
+     *
+     * @param specification the MathEx expression
+     * @return the specified {@link Expression}
+     */
+    private static Expression parse(String specification) {
+        Expression expression = expressionCache.get(specification);
+        if (expression == null) {
+            expression = ExpressionBuilder.parse(specification).specify(LoadProfileEstimators.baseContext);
+            expressionCache.put(specification, expression);
+        }
+        return expression;
+    }
+
+    /**
+     * Checks that all variables and functions in the {@code expression} can be served.
+     *
+     * @return whether the {@code expression} can be evaluated
+     */
+    private static boolean isBound(Expression expression, int numInputs, int numOutputs, Collection<String> properties) {
+        if (expression instanceof Variable) {
+            final String name = ((Variable) expression).getName();
+            final Matcher matcher = CARDINALITY_VARIABLE_PATTERN.matcher(name);
+            if (matcher.matches()) {
+                final int index = Integer.parseInt(matcher.group(2));
+                return index < ("in".equals(matcher.group(1)) ? numInputs : numOutputs);
+            }
+            return properties.contains(name);
+        } else if (expression instanceof BinaryOperation) {
+            final BinaryOperation operation = (BinaryOperation) expression;
+            return isBound(operation.getOperand0(), numInputs, numOutputs, properties)
+                    && isBound(operation.getOperand1(), numInputs, numOutputs, properties);
+        } else if (expression instanceof UnaryOperation) {
+            return isBound(((UnaryOperation) expression).getOperand(), numInputs, numOutputs, properties);
+        } else if (expression instanceof CompiledFunction) {
+            return ((CompiledFunction) expression).getArguments().stream()
+                    .allMatch(argument -> isBound(argument, numInputs, numOutputs, properties));
+        }
+        return expression instanceof Constant;
+    }
+
+    /**
+     * Compiles a specified {@link Expression}.
+     *
+     * @param expression           the {@link Expression}
+     * @param missingPropertyValue the value for properties that the {@link EstimationContext} cannot serve
+     * @param variableBinder       binds variables other than cardinalities or yields {@code null}
+     * @return the {@link CompiledExpression}
+     */
+    private static CompiledExpression compile(Expression expression,
+                                              double missingPropertyValue,
+                                              Function<String, CompiledExpression> variableBinder) {
+        if (expression instanceof Constant) {
+            final double value = ((Constant) expression).getValue();
+            return (ctx, in, out) -> value;
+
+        } else if (expression instanceof Variable) {
+            final String name = ((Variable) expression).getName();
+            final Matcher matcher = CARDINALITY_VARIABLE_PATTERN.matcher(name);
+            if (matcher.matches()) {
+                final int index = Integer.parseInt(matcher.group(2));
+                return "in".equals(matcher.group(1)) ?
+                        (ctx, in, out) -> in[index] :
+                        (ctx, in, out) -> out[index];
+            }
+            final CompiledExpression boundVariable = variableBinder.apply(name);
+            if (boundVariable != null) return boundVariable;
+            return (ctx, in, out) -> ctx.getDoubleProperty(name, missingPropertyValue);
+
+        } else if (expression instanceof BinaryOperation) {
+            final BinaryOperation operation = (BinaryOperation) expression;
+            final CompiledExpression operand0 = compile(operation.getOperand0(), missingPropertyValue, variableBinder);
+            final CompiledExpression operand1 = compile(operation.getOperand1(), missingPropertyValue, variableBinder);
+            switch (operation.getOperator()) {
+                case '+':
+                    return (ctx, in, out) -> operand0.evaluate(ctx, in, out) + operand1.evaluate(ctx, in, out);
+                case '-':
+                    return (ctx, in, out) -> operand0.evaluate(ctx, in, out) - operand1.evaluate(ctx, in, out);
+                case '*':
+                    return (ctx, in, out) -> operand0.evaluate(ctx, in, out) * operand1.evaluate(ctx, in, out);
+                case '/':
+                    return (ctx, in, out) -> operand0.evaluate(ctx, in, out) / operand1.evaluate(ctx, in, out);
+                case '%':
+                    return (ctx, in, out) -> operand0.evaluate(ctx, in, out) % operand1.evaluate(ctx, in, out);
+                case '^':
+                    return (ctx, in, out) -> Math.pow(operand0.evaluate(ctx, in, out), operand1.evaluate(ctx, in, out));
+                default:
+                    throw new EvaluationException(String.format("Unknown operator: \"%s\"", operation.getOperator()));
+            }
+
+        } else if (expression instanceof UnaryOperation) {
+            final UnaryOperation operation = (UnaryOperation) expression;
+            final CompiledExpression operand = compile(operation.getOperand(), missingPropertyValue, variableBinder);
+            switch (operation.getOperator()) {
+                case '+':
+                    return operand;
+                case '-':
+                    return (ctx, in, out) -> -operand.evaluate(ctx, in, out);
+                default:
+                    throw new EvaluationException(String.format("Unknown operator: \"%s\"", operation.getOperator()));
+            }
+
+        } else if (expression instanceof CompiledFunction) {
+            final CompiledFunction function = (CompiledFunction) expression;
+            final ToDoubleFunction<double[]> implementation = function.getImplementation();
+            final List<Expression> arguments = function.getArguments();
+            final CompiledExpression[] compiledArguments = new CompiledExpression[arguments.size()];
+            for (int i = 0; i < compiledArguments.length; i++) {
+                compiledArguments[i] = compile(arguments.get(i), missingPropertyValue, variableBinder);
+            }
+            switch (compiledArguments.length) {
+                case 1: {
+                    final CompiledExpression arg0 = compiledArguments[0];
+                    return (ctx, in, out) -> implementation.applyAsDouble(new double[]{arg0.evaluate(ctx, in, out)});
+                }
+                case 2: {
+                    final CompiledExpression arg0 = compiledArguments[0], arg1 = compiledArguments[1];
+                    return (ctx, in, out) -> implementation.applyAsDouble(new double[]{
+                            arg0.evaluate(ctx, in, out), arg1.evaluate(ctx, in, out)
+                    });
+                }
+                default:
+                    return (ctx, in, out) -> {
+                        final double[] args = new double[compiledArguments.length];
+                        for (int i = 0; i < args.length; i++) {
+                            args[i] = compiledArguments[i].evaluate(ctx, in, out);
+                        }
+                        return implementation.applyAsDouble(args);
+                    };
+            }
+
+        } else if (expression instanceof NamedFunction) {
+            // The function is not known, so we fail just like the interpreted expression would.
+            return (ctx, in, out) -> {
+                throw new EvaluationException(String.format("Cannot evaluate %s.", expression));
+            };
+        }
+
+        throw new EvaluationException(String.format("Cannot compile %s.", expression));
+    }
+
+    /**
+     * Parses the arithmetic subset of JUEL into {@link Expression}s. We do not use the {@link ExpressionBuilder}
+     * here: JUEL has different syntax for functions and JUEL expressions should not depend on the ANTLR runtime.
+     */
+    private static class JuelArithmeticsParser {
+
+        /**
+         * The body of the JUEL expression.
+         */
+        private final String input;
+
+        /**
+         * The current position in the {@link #input}.
+         */
+        private int pos = 0;
+
+        private JuelArithmeticsParser(String input) {
+            this.input = input;
+        }
+
+        /**
+         * Parse the complete {@link #input}.
+         *
+         * @return the {@link Expression}
+         * @throws ParseException if the {@link #input} is not supported
+         */
+        private Expression parse() throws ParseException {
+            final Expression expression = this.parseSum();
+            if (this.peek() != -1) throw this.fail();
+            return expression;
+        }
+
+        private Expression parseSum() {
+            Expression expression = this.parseProduct();
+            for (int c = this.peek(); c == '+' || c == '-'; c = this.peek()) {
+                this.pos++;
+                expression = new BinaryOperation(expression, (char) c, this.parseProduct());
+            }
+            return expression;
+        }
+
+        private Expression parseProduct() {
+            Expression expression = this.parseUnary();
+            for (int c = this.peek(); c == '*' || c == '/' || c == '%'; c = this.peek()) {
+                this.pos++;
+                expression = new BinaryOperation(expression, (char) c, this.parseUnary());
+            }
+            return expression;
+        }
+
+        private Expression parseUnary() {
+            final int c = this.peek();
+            if (c == '-' || c == '+') {
+                this.pos++;
+                return new UnaryOperation((char) c, this.parseUnary());
+            }
+            return this.parsePrimary();
+        }
+
+        private Expression parsePrimary() {
+            final int c = this.peek();
+            if (c == '(') {
+                this.pos++;
+                final Expression expression = this.parseSum();
+                this.expect(')');
+                return expression;
+            } else if (Character.isDigit(c) || c == '.') {
+                return this.parseNumber();
+            } else if (Character.isJavaIdentifierStart(c)) {
+                String identifier = this.parseIdentifier();
+                if (this.peek() == ':') {
+                    this.pos++;
+                    identifier = identifier + ':' + this.parseIdentifier();
+                    return this.parseFunction(identifier);
+                }
+                return new Variable(identifier);
+            }
+            throw this.fail();
+        }
+
+        private Expression parseNumber() {
+            final int start = this.pos;
+            while (this.pos < this.input.length() && Character.isDigit(this.input.charAt(this.pos))) this.pos++;
+            if (this.pos < this.input.length() && this.input.charAt(this.pos) == '.') {
+                this.pos++;
+                while (this.pos < this.input.length() && Character.isDigit(this.input.charAt(this.pos))) this.pos++;
+            }
+            if (this.pos < this.input.length() && (this.input.charAt(this.pos) == 'e' || this.input.charAt(this.pos) == 'E')) {
+                this.pos++;
+                if (this.pos < this.input.length() && (this.input.charAt(this.pos) == '+' || this.input.charAt(this.pos) == '-')) {
+                    this.pos++;
+                }
+                while (this.pos < this.input.length() && Character.isDigit(this.input.charAt(this.pos))) this.pos++;
+            }
+            try {
+                return new Constant(Double.parseDouble(this.input.substring(start, this.pos)));
+            } catch (NumberFormatException e) {
+                throw this.fail();
+            }
+        }
+
+        private String parseIdentifier() {
+            this.peek();
+            final int start = this.pos;
+            if (this.pos >= this.input.length() || !Character.isJavaIdentifierStart(this.input.charAt(this.pos))) {
+                throw this.fail();
+            }
+            do {
+                this.pos++;
+            } while (this.pos < this.input.length() && Character.isJavaIdentifierPart(this.input.charAt(this.pos)));
+            return this.input.substring(start, this.pos);
+        }
+
+        private Expression parseFunction(String name) {
+            final String functionName;
+            switch (name) {
+                case "wayang:logGrowth":
+                    functionName = "logGrowth";
+                    break;
+                case "math:sqrt":
+                    functionName = "sqrt";
+                    break;
+                default:
+                    throw this.fail();
+            }
+            this.expect('(');
+            final List<Expression> arguments = new ArrayList<>();
+            if (this.peek() != ')') {
+                do {
+                    arguments.add(this.parseSum());
+                } while (this.tryConsume(','));
+            }
+            this.expect(')');
+            return new CompiledFunction(
+                    functionName, LoadProfileEstimators.baseContext.getFunction(functionName), arguments
+            );
+        }
+
+        /**
+         * Skips whitespace and provides the next character without consuming it.
+         *
+         * @return the next character or {@code -1} if there is none
+         */
+        private int peek() {
+            while (this.pos < this.input.length() && Character.isWhitespace(this.input.charAt(this.pos))) this.pos++;
+            return this.pos < this.input.length() ? this.input.charAt(this.pos) : -1;
+        }
+
+        private boolean tryConsume(char c) {
+            if (this.peek() != c) return false;
+            this.pos++;
+            return true;
+        }
+
+        private void expect(char c) {
+            if (!this.tryConsume(c)) throw this.fail();
+        }
+
+        private ParseException fail() {
+            return new ParseException(String.format("Unsupported JUEL expression at position %d: %s", this.pos, this.input));
+        }
+
+    }
+
+}
@@ -171,6 +171,30 @@ public class LoadProfile implements JsonSerializable, Serializable {
         return product;
     }
 
+    /**
+     * Multiplies the values of this instance and nested instances except for the RAM usage, which will not be altered.
+     * In contrast to {@link #timesSequential(int)}, this is to scale this instance by an arbitrary {@code factor}.
+     *
+     * @param factor the factor to multiply with
+     * @return the product
+     */
+    public LoadProfile timesSequential(double factor) {
+        if (factor == 1d) return this;
+
+        LoadProfile product = new LoadProfile(
+                this.cpuUsage.times(factor),
+                this.ramUsage,
+                this.networkUsage != null ? this.networkUsage.times(factor) : null,
+                this.diskUsage != null ? this.diskUsage.times(factor) : null,
+                this.resourceUtilization,
+                this.overheadMillis
+        );
+        for (LoadProfile subprofile : this.getSubprofiles()) {
+            product.nest(subprofile.timesSequential(factor));
+        }
+        return product;
+    }
+
     /**
      * Adds a this and the given instance.
      *
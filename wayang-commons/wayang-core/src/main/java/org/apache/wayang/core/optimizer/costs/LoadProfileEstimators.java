@@ -26,13 +26,11 @@ import org.apache.wayang.core.optimizer.OptimizationUtils;
 import org.apache.wayang.core.optimizer.cardinality.CardinalityEstimate;
 import org.apache.wayang.core.optimizer.costs.LoadEstimator.SinglePointEstimationFunction;
 import org.apache.wayang.core.plan.wayangplan.ExecutionOperator;
+import org.apache.wayang.core.profiling.FeedbackStore;
 import org.apache.wayang.core.util.JuelUtils;
 import org.apache.wayang.core.util.json.WayangJsonObj;
 import org.apache.wayang.core.util.mathex.Context;
 import org.apache.wayang.core.util.mathex.DefaultContext;
-import org.apache.wayang.core.util.mathex.Expression;
-import org.apache.wayang.core.util.mathex.ExpressionBuilder;
-import org.apache.wayang.core.util.mathex.exceptions.EvaluationException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -42,6 +40,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalDouble;
 import java.util.function.ToDoubleBiFunction;
 import java.util.function.ToDoubleFunction;
 import java.util.function.ToLongBiFunction;
@@ -66,6 +65,7 @@ public class LoadProfileEstimators {
                 "logGrowth",
                 vals -> OptimizationUtils.logisticGrowth(vals[0], vals[1], vals[2], vals[3])
         );
+        ctx.setFunction("sqrt", vals -> Math.sqrt(vals[0]));
         baseContext = ctx;
     }
 
@@ -301,6 +301,14 @@ public class LoadProfileEstimators {
                                                                int numInputs,
                                                                int numOutputs,
                                                                List<String> additionalProperties) {
+        final Optional<LoadExpressionCompiler.CompiledExpression> compiledExpression =
+                LoadExpressionCompiler.compileJuel(juel, numInputs, numOutputs, additionalProperties);
+        if (compiledExpression.isPresent()) {
+            final LoadExpressionCompiler.CompiledExpression expr = compiledExpression.get();
+            // Coerce to long just like JUEL does.
+            return (estimationContext, inCards, outCards) -> (long) expr.evaluate(estimationContext, inCards, outCards);
+        }
+
         final Map<String, Class<?>> parameterClasses = createJuelParameterClasses(
                 numInputs,
                 numOutputs,
@@ -319,6 +327,13 @@ public class LoadProfileEstimators {
      * @return a {@link ToLongBiFunction} wrapping the JUEL expression
      */
     private static FunctionDescriptor.SerializableToDoubleBiFunction<long[], long[]> parseResourceUsageJuel(String juel, int numInputs, int numOutputs) {
+        final Optional<LoadExpressionCompiler.CompiledExpression> compiledExpression =
+                LoadExpressionCompiler.compileJuel(juel, numInputs, numOutputs, Collections.emptyList());
+        if (compiledExpression.isPresent()) {
+            final LoadExpressionCompiler.CompiledExpression expr = compiledExpression.get();
+            return (inCards, outCards) -> expr.evaluate(null, inCards, outCards);
+        }
+
         final Map<String, Class<?>> parameterClasses = createJuelParameterClasses(numInputs, numOutputs);
         final JuelUtils.JuelFunction<Double> juelFunction = new JuelUtils.JuelFunction<>(juel, Double.class, parameterClasses);
         return (inCards, outCards) -> applyJuelFunction(juelFunction, null, inCards, outCards, Collections.emptyList());
@@ -378,11 +393,8 @@ public class LoadProfileEstimators {
      * @return the {@link SinglePointEstimationFunction}
      */
     private static SinglePointEstimationFunction compile(String expression) {
-        final Expression expr = ExpressionBuilder.parse(expression).specify(baseContext);
-        return (context, inCards, outCards) -> {
-            Context mathContext = createMathContext(context, inCards, outCards);
-            return Math.round(expr.evaluate(mathContext));
-        };
+        final LoadExpressionCompiler.CompiledExpression expr = LoadExpressionCompiler.compile(expression);
+        return (context, inCards, outCards) -> Math.round(expr.evaluate(context, inCards, outCards));
     }
 
     /**
@@ -392,58 +404,8 @@ public class LoadProfileEstimators {
      * @return a {@link ToLongBiFunction} wrapping the expression
      */
     private static FunctionDescriptor.SerializableToDoubleBiFunction<long[], long[]> compileResourceUsage(String expression) {
-        final Expression expr = ExpressionBuilder.parse(expression).specify(baseContext);
-        return (inCards, outCards) -> {
-            Context mathContext = createMathContext(null, inCards, outCards);
-            return expr.evaluate(mathContext);
-        };
-    }
-
-
-    /**
-     * Create a mathematical {@link Context} from the parameters.
-     *
-     * @param context             provides miscellaneous variables
-     * @param inputCardinalities  provides input {@link CardinalityEstimate}s (`in***`)
-     * @param outputCardinalities provides output {@link CardinalityEstimate}s (`out***`)
-     * @return the {@link Context}
-     */
-    private static Context createMathContext(final EstimationContext context,
-                                             final long[] inputCardinalities,
-                                             final long[] outputCardinalities) {
-        return new Context() {
-            @Override
-            public double getVariable(String variableName) throws EvaluationException {
-                // Serve "in999" and "out999" variables directly from the cardinality arrays.
-                if (variableName.startsWith("in") && variableName.length() > 2) {
-                    int accu = 0;
-                    int i;
-                    for (i = 2; i < variableName.length(); i++) {
-                        char c = variableName.charAt(i);
-                        if (!Character.isDigit(c)) break;
-                        accu = 10 * accu + (c - '0');
-                    }
-                    if (i == variableName.length()) return inputCardinalities[accu];
-                } else if (variableName.startsWith("out") && variableName.length() > 3) {
-                    int accu = 0;
-                    int i;
-                    for (i = 3; i < variableName.length(); i++) {
-                        char c = variableName.charAt(i);
-                        if (!Character.isDigit(c)) break;
-                        accu = 10 * accu + (c - '0');
-                    }
-                    if (i == variableName.length()) return outputCardinalities[accu];
-                }
-
-                // Otherwise, ask the context for the property.
-                return context.getDoubleProperty(variableName, Double.NaN);
-            }
-
-            @Override
-            public ToDoubleFunction<double[]> getFunction(String functionName) throws EvaluationException {
-                throw new EvaluationException("This context does not provide any functions.");
-            }
-        };
+        final LoadExpressionCompiler.CompiledExpression expr = LoadExpressionCompiler.compile(expression);
+        return (inCards, outCards) -> expr.evaluate(null, inCards, outCards);
     }
 
     /**
@@ -460,7 +422,18 @@ public class LoadProfileEstimators {
             LoadProfileEstimator estimator) {
 
         // Estimate the LoadProfile for that single execution.
-        final LoadProfile baseProfile = estimator.estimate(operatorContext.getNormalizedEstimationContext());
+        LoadProfile baseProfile = estimator.estimate(operatorContext.getNormalizedEstimationContext());
+
+        // Correct the estimate with the runtimes observed in previous executions, if any.
+        final Optional<FeedbackStore> feedbackStore =
+                FeedbackStore.open(operatorContext.getOptimizationContext().getConfiguration());
+        if (feedbackStore.isPresent() && operatorContext.getOperator() instanceof ExecutionOperator) {
+            final OptionalDouble correction = feedbackStore.get().getRuntimeCorrection(
+                    (ExecutionOperator) operatorContext.getOperator(), operatorContext.getInputCardinalities()
+            );
+            if (correction.isPresent()) baseProfile = baseProfile.timesSequential(correction.getAsDouble());
+        }
+
         return baseProfile.timesSequential(operatorContext.getNumExecutions());
     }
 
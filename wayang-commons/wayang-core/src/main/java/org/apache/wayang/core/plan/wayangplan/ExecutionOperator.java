@@ -128,6 +128,18 @@ public interface ExecutionOperator extends ElementaryOperator {
         return null;
     }
 
+    /**
+     * Tells whether the order of the data quanta that this instance consumes or produces matters, e.g., because it
+     * sorts them or assigns positions to them. If so, the data quanta are only passed through {@link Channel}s that
+     * preserve their order.
+     *
+     * @return whether this instance is sensitive to the order of its data quanta
+     * @see ChannelDescriptor#isOrderPreserving()
+     */
+    default boolean isOrderSensitive() {
+        return false;
+    }
+
     /**
      * Tells whether this instance should not be executed on the face of the given
      * {@link OptimizationContext.OperatorContext}. For instance, when this instance
@@ -280,6 +292,27 @@ public interface ExecutionOperator extends ElementaryOperator {
         return executionLineageNode.collectAndMark();
     }
 
+    /**
+     * Models eager execution by marking all {@link LazyExecutionLineageNode}s as executed. However, neither the
+     * executed {@link ExecutionLineageNode}s nor the produced {@link ChannelInstance}s are reported, so that they are
+     * not measured. This is meant for {@link ExecutionOperator}s that keep working after their evaluation, e.g., on a
+     * background thread, as the measured execution time and cardinalities would not cover that work.
+     *
+     * @param inputs          the input {@link ChannelInstance}s
+     * @param outputs         the output {@link ChannelInstance}s
+     * @param operatorContext the executed {@link OptimizationContext.OperatorContext}
+     * @return empty collections of executed {@link OptimizationContext.OperatorContext}s and produced
+     * {@link ChannelInstance}s
+     */
+    static Tuple<Collection<ExecutionLineageNode>, Collection<ChannelInstance>> modelUnmeasuredExecution(
+            ChannelInstance[] inputs,
+            ChannelInstance[] outputs,
+            OptimizationContext.OperatorContext operatorContext) {
+
+        modelEagerExecution(inputs, outputs, operatorContext);
+        return new Tuple<>(Collections.emptyList(), Collections.emptyList());
+    }
+
     /**
      * Models lazy execution by not marking any {@link LazyExecutionLineageNode}s.
      *
@@ -50,13 +50,33 @@ public class OperatorAlternative extends OperatorBase implements CompositeOperat
      */
     private List<Alternative> alternatives = new LinkedList<>();
 
+    /**
+     * Wraps the {@link Operator}s from {@code startOperator} to {@code endOperator}. If these are different, they
+     * are first wrapped in a {@link Subplan}, which then becomes the first alternative.
+     *
+     * @param startOperator the input {@link Operator} to wrap
+     * @param endOperator   the output {@link Operator} to wrap
+     * @see #wrap(Operator)
+     */
     public static OperatorAlternative wrap(Operator startOperator, Operator endOperator) {
-        if (startOperator != endOperator) {
-            // TODO
-            throw new UnsupportedOperationException("Different operators in a match currently not supported.");
+        if (startOperator == endOperator) {
+            return wrap(startOperator);
         }
 
-        return wrap(startOperator);
+        final Subplan subplan = (Subplan) Subplan.wrap(startOperator, endOperator);
+        final OperatorContainer container = subplan.getContainer();
+        OperatorAlternative operatorAlternative = new OperatorAlternative(subplan);
+        InputSlot.mock(subplan, operatorAlternative);
+        OutputSlot.mock(subplan, operatorAlternative);
+        InputSlot.stealConnections(subplan, operatorAlternative);
+        OutputSlot.stealConnections(subplan, operatorAlternative);
+
+        Alternative alternative = operatorAlternative.addAlternative(subplan);
+        if (container != null) {
+            operatorAlternative.setContainer(container);
+            container.noteReplaced(subplan, alternative);
+        }
+        return operatorAlternative;
     }
 
     /**
@@ -20,6 +20,7 @@ package org.apache.wayang.core.plan.wayangplan;
 
 import org.apache.commons.lang3.Validate;
 import org.apache.wayang.core.api.exception.WayangException;
+import org.apache.wayang.core.mapping.OperatorIndex;
 import org.apache.wayang.core.mapping.PlanTransformation;
 import org.apache.wayang.core.optimizer.SanityChecker;
 import org.apache.wayang.core.util.WayangCollections;
@@ -190,8 +191,10 @@ public class WayangPlan {
      * @return the number of applied transformations
      */
     private int applyAndCountTransformations(Collection<PlanTransformation> transformations, int epoch) {
+        // Traverse the plan only once rather than once per transformation.
+        final OperatorIndex operatorIndex = new OperatorIndex(this);
         return transformations.stream()
-                .mapToInt(transformation -> transformation.transform(this, epoch))
+                .mapToInt(transformation -> transformation.transform(this, epoch, operatorIndex))
                 .sum();
     }
 
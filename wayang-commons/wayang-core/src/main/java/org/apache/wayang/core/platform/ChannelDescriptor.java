@@ -21,6 +21,7 @@ package org.apache.wayang.core.platform;
 import org.apache.wayang.core.api.Configuration;
 import org.apache.wayang.core.plan.executionplan.Channel;
 import org.apache.wayang.core.plan.executionplan.ExecutionStage;
+import org.apache.wayang.core.plan.wayangplan.ExecutionOperator;
 import org.apache.wayang.core.plan.wayangplan.OutputSlot;
 
 import java.lang.reflect.Constructor;
@@ -44,12 +45,25 @@ public class ChannelDescriptor {
      */
     private final boolean isSuitableForBreakpoint;
 
+    /**
+     * Tells whether corresponding {@link Channel}s hand over the data quanta in the order in which they are produced.
+     */
+    private final boolean isOrderPreserving;
+
     public ChannelDescriptor(Class<? extends Channel> channelClass,
                              boolean isReusable,
                              boolean isSuitableForBreakpoint) {
+        this(channelClass, isReusable, isSuitableForBreakpoint, true);
+    }
+
+    public ChannelDescriptor(Class<? extends Channel> channelClass,
+                             boolean isReusable,
+                             boolean isSuitableForBreakpoint,
+                             boolean isOrderPreserving) {
         this.channelClass = channelClass;
         this.isReusable = isReusable;
         this.isSuitableForBreakpoint = isSuitableForBreakpoint;
+        this.isOrderPreserving = isOrderPreserving;
     }
 
     public Class<? extends Channel> getChannelClass() {
@@ -63,12 +77,13 @@ public class ChannelDescriptor {
         ChannelDescriptor that = (ChannelDescriptor) o;
         return this.isReusable == that.isReusable &&
                 this.isSuitableForBreakpoint == that.isSuitableForBreakpoint &&
+                this.isOrderPreserving == that.isOrderPreserving &&
                 Objects.equals(this.channelClass, that.channelClass);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(this.channelClass, this.isReusable, this.isSuitableForBreakpoint);
+        return Objects.hash(this.channelClass, this.isReusable, this.isSuitableForBreakpoint, this.isOrderPreserving);
     }
 
     @Override
@@ -101,6 +116,16 @@ public class ChannelDescriptor {
         return this.isSuitableForBreakpoint;
     }
 
+    /**
+     * Tells whether corresponding {@link Channel}s hand over the data quanta in the order in which they are produced.
+     *
+     * @return whether corresponding {@link Channel}s preserve the order of the data quanta
+     * @see ExecutionOperator#isOrderSensitive()
+     */
+    public boolean isOrderPreserving() {
+        return this.isOrderPreserving;
+    }
+
     /**
      * Creates a new {@link Channel} as described by this instance.
      *
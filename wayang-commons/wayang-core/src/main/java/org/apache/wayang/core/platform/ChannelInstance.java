@@ -49,6 +49,16 @@ public interface ChannelInstance extends ExecutionResource {
      */
     void setMeasuredCardinality(long cardinality);
 
+    /**
+     * Optionally provides the size of this instance in bytes. Such a size is usually only available for
+     * instances that are backed by some storage, e.g., files.
+     *
+     * @return the measured size in bytes if available
+     */
+    default OptionalLong getMeasuredByteSize() {
+        return OptionalLong.empty();
+    }
+
     /**
      * Tells whether this instance should be instrumented
      */
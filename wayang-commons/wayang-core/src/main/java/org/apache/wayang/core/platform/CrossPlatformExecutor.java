@@ -26,6 +26,7 @@ import org.apache.wayang.core.plan.executionplan.ExecutionPlan;
 import org.apache.wayang.core.plan.executionplan.ExecutionStage;
 import org.apache.wayang.core.plan.executionplan.ExecutionStageLoop;
 import org.apache.wayang.core.plan.executionplan.ExecutionTask;
+import org.apache.wayang.core.plan.wayangplan.ExecutionOperator;
 import org.apache.wayang.core.plan.wayangplan.InputSlot;
 import org.apache.wayang.core.plan.wayangplan.LoopHeadOperator;
 import org.apache.wayang.core.plan.wayangplan.LoopSubplan;
@@ -378,6 +379,7 @@ public class CrossPlatformExecutor implements ExecutionState {
         executor.execute(stage, optimizationContext, this);
         long finishTime = System.currentTimeMillis();
         CrossPlatformExecutor.this.logger.info("Executed {} in {}.", stage, Formats.formatDuration(finishTime - startTime, true));
+        this.job.reportStageTiming(stage.getPlatformExecution().getPlatform().getName(), finishTime - startTime);
 
         // Remember that we have executed the stage.
         this.completedStages.add(stage);
@@ -567,6 +569,14 @@ public class CrossPlatformExecutor implements ExecutionState {
     @Override
     public void addCardinalityMeasurement(ChannelInstance channelInstance) {
         this.cardinalityMeasurements.add(channelInstance);
+        // Report by producer class rather than by channel, so that monitoring labels stay bounded across jobs.
+        final ExecutionOperator producer = channelInstance.getChannel().getProducerOperator();
+        final String channelName = producer == null ?
+                channelInstance.getChannel().getClass().getSimpleName() :
+                producer.getClass().getSimpleName();
+        channelInstance.getMeasuredCardinality().ifPresent(
+                cardinality -> this.job.reportCardinality(channelName, cardinality)
+        );
     }
 
     @Override
@@ -1113,6 +1123,7 @@ public class CrossPlatformExecutor implements ExecutionState {
                     long finishTime = System.currentTimeMillis();
 
                     CrossPlatformExecutor.this.logger.info("Executed {} in {}.", stage, Formats.formatDuration(finishTime - startTime, true));
+                    this.crossPlatformExecutor.job.reportStageTiming(stage.getPlatformExecution().getPlatform().getName(), finishTime - startTime);
 
                     // Remember that we have executed the stage.
                     this.crossPlatformExecutor.completedStages.add(stage);
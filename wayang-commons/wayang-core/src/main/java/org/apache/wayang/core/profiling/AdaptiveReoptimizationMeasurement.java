@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.wayang.core.profiling;
+
+import org.apache.wayang.commons.util.profiledb.model.Measurement;
+import org.apache.wayang.commons.util.profiledb.model.Type;
+import org.apache.wayang.core.optimizer.AdaptiveReoptimizer;
+
+/**
+ * This measurement captures the counters of an {@link AdaptiveReoptimizer}.
+ */
+@Type("adaptive-reoptimization")
+public class AdaptiveReoptimizationMeasurement extends Measurement {
+
+    /**
+     * Number of observed stage boundaries as well as fired and skipped re-optimizations.
+     */
+    private int numStageBoundaries, numReoptimizations, numSkippedReoptimizations;
+
+    /**
+     * Estimated execution time saved by the re-optimizations.
+     */
+    private long estimatedSavedMillis;
+
+    /**
+     * Measured bytes of all observed stage outputs.
+     */
+    private long measuredBytes;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param id                        the ID of the instance
+     * @param numStageBoundaries        number of observed stage boundaries
+     * @param numReoptimizations        number of fired re-optimizations
+     * @param numSkippedReoptimizations number of skipped re-optimizations
+     * @param estimatedSavedMillis      estimated execution time saved by the re-optimizations
+     * @param measuredBytes             measured bytes of all observed stage outputs
+     */
+    public AdaptiveReoptimizationMeasurement(String id,
+                                             int numStageBoundaries,
+                                             int numReoptimizations,
+                                             int numSkippedReoptimizations,
+                                             long estimatedSavedMillis,
+                                             long measuredBytes) {
+        super(id);
+        this.numStageBoundaries = numStageBoundaries;
+        this.numReoptimizations = numReoptimizations;
+        this.numSkippedReoptimizations = numSkippedReoptimizations;
+        this.estimatedSavedMillis = estimatedSavedMillis;
+        this.measuredBytes = measuredBytes;
+    }
+
+    /**
+     * Deserialization constructor.
+     */
+    protected AdaptiveReoptimizationMeasurement() {
+    }
+
+    public int getNumStageBoundaries() {
+        return this.numStageBoundaries;
+    }
+
+    public int getNumReoptimizations() {
+        return this.numReoptimizations;
+    }
+
+    public int getNumSkippedReoptimizations() {
+        return this.numSkippedReoptimizations;
+    }
+
+    public long getEstimatedSavedMillis() {
+        return this.estimatedSavedMillis;
+    }
+
+    public long getMeasuredBytes() {
+        return this.measuredBytes;
+    }
+}
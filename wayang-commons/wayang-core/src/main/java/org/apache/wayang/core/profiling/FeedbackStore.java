@@ -0,0 +1,500 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.wayang.core.profiling;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.wayang.core.api.Configuration;
+import org.apache.wayang.core.api.exception.WayangException;
+import org.apache.wayang.core.function.FunctionDescriptor;
+import org.apache.wayang.core.optimizer.OptimizationContext;
+import org.apache.wayang.core.optimizer.OptimizationUtils;
+import org.apache.wayang.core.optimizer.cardinality.CardinalityEstimate;
+import org.apache.wayang.core.optimizer.costs.EstimationContext;
+import org.apache.wayang.core.optimizer.costs.TimeEstimate;
+import org.apache.wayang.core.plan.wayangplan.ExecutionOperator;
+import org.apache.wayang.core.plan.wayangplan.Operator;
+import org.apache.wayang.core.plan.wayangplan.OutputSlot;
+import org.apache.wayang.core.platform.AtomicExecutionGroup;
+import org.apache.wayang.core.platform.ChannelInstance;
+import org.apache.wayang.core.platform.ExecutionState;
+import org.apache.wayang.core.platform.PartialExecution;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.lang.invoke.SerializedLambda;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Indexes cardinalities and runtimes that have been observed in previous executions, so that the optimizer can
+ * prefer them over its default estimates. Observations are keyed by an operator signature (i.e., the
+ * {@link Operator} class along with its UDFs), the {@link org.apache.wayang.core.platform.Platform} (for runtimes),
+ * and logarithmically bucketed input cardinalities.
+ * <p>The entries are kept in a compact binary log file: Updated entries are appended on {@link #flush()}, later
+ * records supersede earlier ones, and the file is compacted once it contains too many superseded records.</p>
+ */
+public class FeedbackStore {
+
+    private static final Logger logger = LogManager.getLogger(FeedbackStore.class);
+
+    /**
+     * Magic number and version of the file format.
+     */
+    private static final int MAGIC_NUMBER = 0x57464253, VERSION = 1;
+
+    /**
+     * Key prefixes to distinguish cardinality and runtime entries.
+     */
+    private static final String CARDINALITY_PREFIX = "card", RUNTIME_PREFIX = "time";
+
+    /**
+     * Bucket placeholder to aggregate over all input cardinalities.
+     */
+    private static final String ANY_BUCKET = "*";
+
+    /**
+     * Keeps track of opened instances, so that all {@link Configuration}s pointing to the same file share an instance.
+     */
+    private static final Map<String, FeedbackStore> openedInstances = new ConcurrentHashMap<>();
+
+    /**
+     * Caches the signatures of {@link Operator}s.
+     */
+    private static final Map<Operator, String> signatureCache = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * Path to the store file.
+     */
+    private final String path;
+
+    /**
+     * The minimum number of observations for an entry to be used.
+     */
+    private final long minObservations;
+
+    /**
+     * The entries of this instance.
+     */
+    private final Map<String, Statistics> entries = new HashMap<>();
+
+    /**
+     * Keys of the {@link #entries} that have not been persisted yet.
+     */
+    private final Set<String> dirtyKeys = new LinkedHashSet<>();
+
+    /**
+     * Number of records in the store file, including superseded ones.
+     */
+    private long numStoredRecords = 0L;
+
+    /**
+     * Provides the instance that is configured in the given {@link Configuration}.
+     *
+     * @param configuration describes the instance
+     * @return the instance or an empty {@link Optional} if the feedback store is disabled
+     */
+    public static Optional<FeedbackStore> open(Configuration configuration) {
+        if (!configuration.getBooleanProperty("wayang.core.feedback.enabled", false)) {
+            return Optional.empty();
+        }
+        final String path = configuration.getStringProperty("wayang.core.log.feedback");
+        final long minObservations = configuration.getLongProperty("wayang.core.feedback.minobservations", 1L);
+        return Optional.of(openedInstances.computeIfAbsent(path, key -> new FeedbackStore(key, minObservations)));
+    }
+
+    /**
+     * Creates a new instance and loads the contents of the given file if it exists.
+     *
+     * @param path            of the store file
+     * @param minObservations the minimum number of observations for an entry to be used
+     */
+    public FeedbackStore(String path, long minObservations) {
+        this.path = path;
+        this.minObservations = minObservations;
+        this.load();
+    }
+
+    /**
+     * Estimates the cardinality of an {@link OutputSlot} from previous observations.
+     *
+     * @param output         the {@link OutputSlot}
+     * @param inputEstimates {@link CardinalityEstimate}s for the {@link OutputSlot} owner's inputs
+     * @return the {@link CardinalityEstimate} or an empty {@link Optional} if there are not enough observations
+     */
+    public synchronized Optional<CardinalityEstimate> estimateCardinality(OutputSlot<?> output,
+                                                                         CardinalityEstimate... inputEstimates) {
+        for (CardinalityEstimate inputEstimate : inputEstimates) {
+            if (inputEstimate == null) return Optional.empty();
+        }
+        final String keyPrefix = createCardinalityKeyPrefix(output);
+        final Statistics statistics = this.lookUp(keyPrefix, inputEstimates);
+        if (statistics == null) return Optional.empty();
+
+        // Observations are stored as selectivities w.r.t. the product of the input cardinalities.
+        double lowerInput = 1d, upperInput = 1d;
+        for (CardinalityEstimate inputEstimate : inputEstimates) {
+            lowerInput *= inputEstimate.getLowerEstimate();
+            upperInput *= inputEstimate.getUpperEstimate();
+        }
+        return Optional.of(new CardinalityEstimate(
+                Math.round(lowerInput * statistics.min),
+                Math.round(upperInput * statistics.max),
+                statistics.getConfidence()
+        ));
+    }
+
+    /**
+     * Provides a correction factor for the runtime estimates of an {@link ExecutionOperator}, i.e., the ratio of
+     * measured and estimated execution time in previous executions.
+     *
+     * @param operator       the {@link ExecutionOperator}
+     * @param inputEstimates {@link CardinalityEstimate}s for the {@code operator}'s inputs
+     * @return the correction factor or an empty {@link OptionalDouble} if there are not enough observations
+     */
+    public synchronized OptionalDouble getRuntimeCorrection(ExecutionOperator operator,
+                                                            CardinalityEstimate... inputEstimates) {
+        for (CardinalityEstimate inputEstimate : inputEstimates) {
+            if (inputEstimate == null) return OptionalDouble.empty();
+        }
+        final Statistics statistics = this.lookUp(createRuntimeKeyPrefix(operator), inputEstimates);
+        return statistics == null ? OptionalDouble.empty() : OptionalDouble.of(statistics.getMean());
+    }
+
+    /**
+     * Look up the {@link Statistics} for a key prefix, preferring the matching input cardinality buckets.
+     */
+    private Statistics lookUp(String keyPrefix, CardinalityEstimate[] inputEstimates) {
+        Statistics statistics = this.entries.get(keyPrefix + bucketize(inputEstimates));
+        if (statistics == null || statistics.count < this.minObservations) {
+            statistics = this.entries.get(keyPrefix + ANY_BUCKET);
+        }
+        return statistics == null || statistics.count < this.minObservations ? null : statistics;
+    }
+
+    /**
+     * Store the measured cardinalities of an {@link ExecutionState}. Those measurements should already be injected
+     * into the {@link OptimizationContext}s, so that the input cardinalities of the measured {@link Operator}s are
+     * as accurate as possible.
+     *
+     * @param executionState contains the cardinality measurements
+     */
+    public synchronized void storeCardinalities(ExecutionState executionState) {
+        for (ChannelInstance channelInstance : executionState.getCardinalityMeasurements()) {
+            if (!channelInstance.getMeasuredCardinality().isPresent()) continue;
+            final OptimizationContext.OperatorContext producerOperatorContext = channelInstance.getProducerOperatorContext();
+            if (producerOperatorContext == null) continue;
+            final OutputSlot<?> output = OptimizationUtils.findWayangPlanOutputSlotFor(channelInstance.getChannel());
+            final Operator operator = output.getOwner();
+            if (!operator.isElementary() || operator.getInnermostLoop() != null) continue;
+            final OptimizationContext.OperatorContext operatorContext =
+                    producerOperatorContext.getOptimizationContext().getOperatorContext(operator);
+            if (operatorContext == null) continue;
+
+            this.addCardinality(
+                    output, operatorContext.getInputCardinalities(), channelInstance.getMeasuredCardinality().getAsLong()
+            );
+        }
+    }
+
+    /**
+     * Store a measured cardinality.
+     *
+     * @param output         whose cardinality has been measured
+     * @param inputEstimates {@link CardinalityEstimate}s for the {@link OutputSlot} owner's inputs
+     * @param cardinality    the measured cardinality
+     */
+    synchronized void addCardinality(OutputSlot<?> output, CardinalityEstimate[] inputEstimates, long cardinality) {
+        double inputCardinality = 1d;
+        for (CardinalityEstimate inputEstimate : inputEstimates) {
+            if (inputEstimate == null) return;
+            inputCardinality *= Math.max(1L, inputEstimate.getGeometricMeanEstimate());
+        }
+
+        final double selectivity = cardinality / inputCardinality;
+        final String keyPrefix = createCardinalityKeyPrefix(output);
+        this.add(keyPrefix + bucketize(inputEstimates), selectivity);
+        this.add(keyPrefix + ANY_BUCKET, selectivity);
+    }
+
+    /**
+     * Store the ratios of measured and estimated execution times of the {@link ExecutionOperator}s in the given
+     * {@link PartialExecution}s.
+     *
+     * @param partialExecutions the {@link PartialExecution}s
+     */
+    public synchronized void storeRuntimes(Collection<PartialExecution> partialExecutions) {
+        for (PartialExecution partialExecution : partialExecutions) {
+            final Collection<AtomicExecutionGroup> groups = partialExecution.getAtomicExecutionGroups();
+            final TimeEstimate estimate = groups.stream()
+                    .map(AtomicExecutionGroup::estimateExecutionTime)
+                    .reduce(TimeEstimate.ZERO, TimeEstimate::plus);
+            final long estimatedMillis = estimate.getGeometricMeanEstimate();
+            if (estimatedMillis <= 0 || partialExecution.getMeasuredExecutionTime() <= 0) continue;
+
+            // We cannot tell apart the individual operators, so we assume that the estimation error is uniform.
+            final double correction = partialExecution.getMeasuredExecutionTime() / (double) estimatedMillis;
+            for (AtomicExecutionGroup group : groups) {
+                final EstimationContext estimationContext = group.getEstimationContext();
+                if (!(estimationContext instanceof OptimizationContext.OperatorContext)) continue;
+                final Operator operator = ((OptimizationContext.OperatorContext) estimationContext).getOperator();
+                if (!(operator instanceof ExecutionOperator)) continue;
+
+                final CardinalityEstimate[] inputEstimates = estimationContext.getInputCardinalities();
+                if (Arrays.stream(inputEstimates).anyMatch(inputEstimate -> inputEstimate == null)) continue;
+                final String keyPrefix = createRuntimeKeyPrefix((ExecutionOperator) operator);
+                this.add(keyPrefix + bucketize(inputEstimates), correction);
+                this.add(keyPrefix + ANY_BUCKET, correction);
+            }
+        }
+    }
+
+    private void add(String key, double value) {
+        this.entries.computeIfAbsent(key, k -> new Statistics()).add(value);
+        this.dirtyKeys.add(key);
+    }
+
+    private static String createCardinalityKeyPrefix(OutputSlot<?> output) {
+        return String.format("%s:%s:%d:", CARDINALITY_PREFIX, getSignature(output.getOwner()), output.getIndex());
+    }
+
+    private static String createRuntimeKeyPrefix(ExecutionOperator operator) {
+        return String.format("%s:%s@%s:", RUNTIME_PREFIX, getSignature(operator), operator.getPlatform().getName());
+    }
+
+    /**
+     * Puts the given {@link CardinalityEstimate}s into buckets of exponentially growing size.
+     *
+     * @param inputEstimates the {@link CardinalityEstimate}s
+     * @return a {@link String} representation of the buckets
+     */
+    static String bucketize(CardinalityEstimate[] inputEstimates) {
+        StringBuilder sb = new StringBuilder();
+        for (CardinalityEstimate inputEstimate : inputEstimates) {
+            if (sb.length() > 0) sb.append(',');
+            final long cardinality = Math.max(0L, inputEstimate.getGeometricMeanEstimate());
+            sb.append((64 - Long.numberOfLeadingZeros(cardinality)) / 2);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Describes an {@link Operator} by means of its class and its UDFs.
+     *
+     * @param operator the {@link Operator}
+     * @return the signature
+     */
+    public static String getSignature(Operator operator) {
+        return signatureCache.computeIfAbsent(operator, FeedbackStore::createSignature);
+    }
+
+    private static String createSignature(Operator operator) {
+        List<String> udfs = new ArrayList<>();
+        for (Class<?> cls = operator.getClass(); cls != null && cls != Object.class; cls = cls.getSuperclass()) {
+            for (Field field : cls.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers())
+                        || !FunctionDescriptor.class.isAssignableFrom(field.getType())) {
+                    continue;
+                }
+                try {
+                    field.setAccessible(true);
+                    final Object functionDescriptor = field.get(operator);
+                    if (functionDescriptor != null) udfs.add(describeUdf(functionDescriptor));
+                } catch (Exception e) {
+                    logger.debug("Could not inspect {} of {}.", field, operator, e);
+                }
+            }
+        }
+        return String.format("%s%s", operator.getClass().getName(), udfs);
+    }
+
+    /**
+     * Describes the implementation of a {@link FunctionDescriptor}. Lambdas are described by their implementation
+     * method, because their class names are not stable across JVMs.
+     */
+    private static String describeUdf(Object functionDescriptor) {
+        Object implementation;
+        try {
+            final Method getter = functionDescriptor.getClass().getMethod("getJavaImplementation");
+            implementation = getter.invoke(functionDescriptor);
+        } catch (Exception e) {
+            return functionDescriptor.getClass().getName();
+        }
+        if (implementation == null) return functionDescriptor.getClass().getName();
+
+        final Class<?> implementationClass = implementation.getClass();
+        if (implementationClass.isSynthetic() && implementation instanceof Serializable) {
+            try {
+                final Method writeReplace = implementationClass.getDeclaredMethod("writeReplace");
+                writeReplace.setAccessible(true);
+                final SerializedLambda lambda = (SerializedLambda) writeReplace.invoke(implementation);
+                return String.format("%s::%s", lambda.getImplClass().replace('/', '.'), lambda.getImplMethodName());
+            } catch (Exception e) {
+                logger.debug("Could not describe lambda {}.", implementation, e);
+            }
+        }
+        return implementationClass.getName();
+    }
+
+    /**
+     * Loads the store file.
+     */
+    private void load() {
+        final File file = new File(this.path);
+        if (!file.exists()) return;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC_NUMBER || in.readInt() != VERSION) {
+                logger.warn("Ignoring {} because of an unknown format.", this.path);
+                return;
+            }
+            while (true) {
+                final String key;
+                try {
+                    key = in.readUTF();
+                } catch (EOFException e) {
+                    break;
+                }
+                this.entries.put(key, Statistics.read(in));
+                this.numStoredRecords++;
+            }
+        } catch (IOException e) {
+            logger.error("Could not load feedback from {}.", this.path, e);
+        }
+        logger.info("Loaded {} feedback entries from {}.", this.entries.size(), this.path);
+    }
+
+    /**
+     * Persists all new observations. If the store file contains too many superseded records, it is compacted.
+     */
+    public synchronized void flush() {
+        if (this.dirtyKeys.isEmpty()) return;
+        final File file = new File(this.path);
+        final File parentFile = file.getAbsoluteFile().getParentFile();
+        if (!parentFile.exists() && !parentFile.mkdirs()) {
+            throw new WayangException("Could not initialize feedback store.");
+        }
+
+        final boolean isCompacting = !file.exists() || this.numStoredRecords + this.dirtyKeys.size() > 2L * this.entries.size();
+        try {
+            if (isCompacting) {
+                final File tempFile = new File(parentFile, file.getName() + ".tmp");
+                try (DataOutputStream out = openForWriting(tempFile, false)) {
+                    out.writeInt(MAGIC_NUMBER);
+                    out.writeInt(VERSION);
+                    for (Map.Entry<String, Statistics> entry : this.entries.entrySet()) {
+                        out.writeUTF(entry.getKey());
+                        entry.getValue().write(out);
+                    }
+                }
+                Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                this.numStoredRecords = this.entries.size();
+            } else {
+                try (DataOutputStream out = openForWriting(file, true)) {
+                    for (String key : this.dirtyKeys) {
+                        out.writeUTF(key);
+                        this.entries.get(key).write(out);
+                    }
+                }
+                this.numStoredRecords += this.dirtyKeys.size();
+            }
+            this.dirtyKeys.clear();
+        } catch (IOException e) {
+            throw new WayangException(String.format("Could not write feedback to %s.", this.path), e);
+        }
+    }
+
+    private static DataOutputStream openForWriting(File file, boolean isAppend) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, isAppend)));
+    }
+
+    /**
+     * @return the number of entries in this instance
+     */
+    public synchronized int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * Aggregated observations.
+     */
+    private static class Statistics {
+
+        private long count = 0L;
+
+        private double min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY, sum = 0d;
+
+        void add(double value) {
+            this.count++;
+            this.min = Math.min(this.min, value);
+            this.max = Math.max(this.max, value);
+            this.sum += value;
+        }
+
+        double getMean() {
+            return this.sum / this.count;
+        }
+
+        /**
+         * The more observations we have, the more confident we are.
+         */
+        double getConfidence() {
+            return Math.min(0.95d, 1d - 1d / (this.count + 1d));
+        }
+
+        void write(DataOutputStream out) throws IOException {
+            out.writeLong(this.count);
+            out.writeDouble(this.min);
+            out.writeDouble(this.max);
+            out.writeDouble(this.sum);
+        }
+
+        static Statistics read(DataInputStream in) throws IOException {
+            final Statistics statistics = new Statistics();
+            statistics.count = in.readLong();
+            statistics.min = in.readDouble();
+            statistics.max = in.readDouble();
+            statistics.sum = in.readDouble();
+            return statistics;
+        }
+    }
+}
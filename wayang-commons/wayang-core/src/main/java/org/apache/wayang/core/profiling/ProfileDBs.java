@@ -51,6 +51,8 @@ public class ProfileDBs {
                         gsonBuilder -> gsonBuilder.registerTypeAdapter(Operator.class, new OperatorBase.GsonSerializer())
                 )
                 .registerMeasurementClass(CostMeasurement.class)
+                .registerMeasurementClass(AdaptiveReoptimizationMeasurement.class)
+                .registerMeasurementClass(UdfProfileMeasurement.class)
                 .registerMeasurementClass(PlanMetrics.class);
     }
 
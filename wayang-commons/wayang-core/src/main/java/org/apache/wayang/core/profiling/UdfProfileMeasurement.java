@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.wayang.core.profiling;
+
+import org.apache.wayang.commons.util.profiledb.model.Measurement;
+import org.apache.wayang.commons.util.profiledb.model.Type;
+
+/**
+ * This measurement captures the runtime profile of a UDF within an operator. The times and allocated bytes are
+ * extrapolated from a sample of the UDF invocations.
+ */
+@Type("udf-profile")
+public class UdfProfileMeasurement extends Measurement {
+
+    /**
+     * Names the operator and the UDF.
+     */
+    private String operator, udf;
+
+    /**
+     * Number of overall and of sampled invocations of the UDF.
+     */
+    private long invocations, sampledInvocations;
+
+    /**
+     * Estimated overall wall time, CPU time, and allocated bytes of the UDF; {@code -1} if not available.
+     */
+    private long wallNanos, cpuNanos, allocatedBytes;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param id                 the ID of the instance
+     * @param operator           names the operator
+     * @param udf                names the UDF
+     * @param invocations        number of invocations of the UDF
+     * @param sampledInvocations number of sampled invocations of the UDF
+     * @param wallNanos          estimated wall time of all invocations
+     * @param cpuNanos           estimated CPU time of all invocations or {@code -1}
+     * @param allocatedBytes     estimated allocated bytes of all invocations or {@code -1}
+     */
+    public UdfProfileMeasurement(String id,
+                                 String operator,
+                                 String udf,
+                                 long invocations,
+                                 long sampledInvocations,
+                                 long wallNanos,
+                                 long cpuNanos,
+                                 long allocatedBytes) {
+        super(id);
+        this.operator = operator;
+        this.udf = udf;
+        this.invocations = invocations;
+        this.sampledInvocations = sampledInvocations;
+        this.wallNanos = wallNanos;
+        this.cpuNanos = cpuNanos;
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    /**
+     * Deserialization constructor.
+     */
+    protected UdfProfileMeasurement() {
+    }
+
+    public String getOperator() {
+        return this.operator;
+    }
+
+    public String getUdf() {
+        return this.udf;
+    }
+
+    public long getInvocations() {
+        return this.invocations;
+    }
+
+    public long getSampledInvocations() {
+        return this.sampledInvocations;
+    }
+
+    public long getWallNanos() {
+        return this.wallNanos;
+    }
+
+    public long getCpuNanos() {
+        return this.cpuNanos;
+    }
+
+    public long getAllocatedBytes() {
+        return this.allocatedBytes;
+    }
+}
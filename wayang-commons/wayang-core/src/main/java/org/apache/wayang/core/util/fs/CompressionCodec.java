@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.wayang.core.util.fs;
+
+import org.apache.commons.compress.compressors.bzip2.BZip2CompressorInputStream;
+import org.apache.commons.compress.compressors.bzip2.BZip2CompressorOutputStream;
+import org.apache.commons.compress.compressors.zstandard.ZstdCompressorInputStream;
+import org.apache.commons.compress.compressors.zstandard.ZstdCompressorOutputStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compression codecs for text files, recognized by their file extensions.
+ */
+public enum CompressionCodec {
+
+    NONE("") {
+        @Override
+        public InputStream decompress(InputStream inputStream) {
+            return inputStream;
+        }
+
+        @Override
+        public OutputStream compress(OutputStream outputStream) {
+            return outputStream;
+        }
+    },
+
+    GZIP(".gz") {
+        @Override
+        public InputStream decompress(InputStream inputStream) throws IOException {
+            // Also reads concatenated members.
+            return new GZIPInputStream(inputStream, BUFFER_SIZE);
+        }
+
+        @Override
+        public OutputStream compress(OutputStream outputStream) throws IOException {
+            return new GZIPOutputStream(outputStream, BUFFER_SIZE);
+        }
+    },
+
+    ZSTD(".zst") {
+        @Override
+        public InputStream decompress(InputStream inputStream) throws IOException {
+            return new ZstdCompressorInputStream(inputStream);
+        }
+
+        @Override
+        public OutputStream compress(OutputStream outputStream) throws IOException {
+            return new ZstdCompressorOutputStream(outputStream);
+        }
+    },
+
+    BZIP2(".bz2") {
+        @Override
+        public InputStream decompress(InputStream inputStream) throws IOException {
+            return new BZip2CompressorInputStream(inputStream, true);
+        }
+
+        @Override
+        public OutputStream compress(OutputStream outputStream) throws IOException {
+            return new BZip2CompressorOutputStream(outputStream);
+        }
+    };
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * The file extension, including the leading dot.
+     */
+    private final String extension;
+
+    CompressionCodec(String extension) {
+        this.extension = extension;
+    }
+
+    public String getExtension() {
+        return this.extension;
+    }
+
+    /**
+     * Wrap an {@link InputStream} to decompress its data.
+     *
+     * @param inputStream provides compressed data
+     * @return an {@link InputStream} providing the decompressed data
+     */
+    public abstract InputStream decompress(InputStream inputStream) throws IOException;
+
+    /**
+     * Wrap an {@link OutputStream} to compress the data written to it.
+     *
+     * @param outputStream receives compressed data
+     * @return an {@link OutputStream} accepting the uncompressed data
+     */
+    public abstract OutputStream compress(OutputStream outputStream) throws IOException;
+
+    /**
+     * Determine the {@link CompressionCodec} of a file from its extension.
+     *
+     * @param fileUrl URL or path of the file
+     * @return the {@link CompressionCodec}; {@link #NONE} if the extension is not recognized
+     */
+    public static CompressionCodec forFile(String fileUrl) {
+        final String lowerCaseUrl = fileUrl.toLowerCase(Locale.ROOT);
+        if (lowerCaseUrl.endsWith(".gz") || lowerCaseUrl.endsWith(".gzip")) return GZIP;
+        if (lowerCaseUrl.endsWith(".zst") || lowerCaseUrl.endsWith(".zstd")) return ZSTD;
+        if (lowerCaseUrl.endsWith(".bz2")) return BZIP2;
+        return NONE;
+    }
+}
@@ -27,6 +27,7 @@ import java.io.FileNotFoundException;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.OptionalLong;
 import java.util.stream.Collectors;
@@ -90,6 +91,30 @@ public class FileSystems {
         return OptionalLong.empty();
     }
 
+    /**
+     * Resolve a URL to the data files to read. Directories are expanded to their children, omitting hidden and meta
+     * files, such as {@code _SUCCESS} or {@code .crc} files.
+     *
+     * @param url URL of a file or directory
+     * @return the URLs of the files, in order
+     */
+    public static List<String> listDataFiles(String url) {
+        final FileSystem fileSystem = requireFileSystem(url);
+        if (!fileSystem.isDirectory(url)) {
+            return Collections.singletonList(url);
+        }
+        return fileSystem.listChildren(url).stream()
+                .filter(child -> {
+                    final String name = child.endsWith("/") ?
+                            "" :
+                            child.substring(child.lastIndexOf('/') + 1);
+                    return !name.isEmpty() && !name.startsWith("_") && !name.startsWith(".") && !name.endsWith(".crc");
+                })
+                .filter(child -> !fileSystem.isDirectory(child))
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
     /**
      * Systems such as Spark do not produce a single output file often times. That method tries to detect such
      * split object files to reassemble them correctly. As of now assumes either a Spark layout or a single file.
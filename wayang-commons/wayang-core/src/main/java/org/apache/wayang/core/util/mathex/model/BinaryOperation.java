@@ -71,6 +71,18 @@ public class BinaryOperation implements Expression {
         return defaultSpecification;
     }
 
+    public char getOperator() {
+        return this.operator;
+    }
+
+    public Expression getOperand0() {
+        return this.operand0;
+    }
+
+    public Expression getOperand1() {
+        return this.operand1;
+    }
+
     @Override
     public String toString() {
         return String.format("(%s)%s(%s)", this.operand0, this.operator, this.operand1);
@@ -83,6 +83,18 @@ public class CompiledFunction implements Expression {
         return specification;
     }
 
+    public String getName() {
+        return this.name;
+    }
+
+    public ToDoubleFunction<double[]> getImplementation() {
+        return this.implementation;
+    }
+
+    public List<Expression> getArguments() {
+        return this.arguments;
+    }
+
     @Override
     public String toString() {
         return this.name + this.arguments.stream().map(Object::toString).collect(Collectors.joining(", ", "(", ")"));
@@ -48,6 +48,14 @@ public class UnaryOperation implements Expression {
         }
     }
 
+    public char getOperator() {
+        return this.operator;
+    }
+
+    public Expression getOperand() {
+        return this.operand;
+    }
+
     @Override
     public String toString() {
         return String.format("%s(%s)", this.operator, this.operand);
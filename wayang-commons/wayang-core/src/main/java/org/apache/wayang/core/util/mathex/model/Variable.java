@@ -38,6 +38,10 @@ public class Variable implements Expression {
         return context.getVariable(this.name);
     }
 
+    public String getName() {
+        return this.name;
+    }
+
     @Override
     public String toString() {
         return this.name;
@@ -130,4 +130,32 @@ class PlanTransformationTest {
         assertEquals(source, replacedSink.getEffectiveOccupant(0).getOwner());
     }
 
+    @Test
+    void testIntroduceAlternativeWithOperatorIndex() {
+        // Build the plan.
+        UnarySource source = new TestSource(DataSetType.createDefault(TestDataUnit.class));
+        UnarySink sink = new TestSink(DataSetType.createDefault(TestDataUnit.class));
+        source.connectTo(0, sink, 0);
+        WayangPlan plan = new WayangPlan();
+        plan.addSink(sink);
+
+        // Build the transformation.
+        OperatorPattern sinkPattern = new OperatorPattern("sink", new TestSink(DataSetType.createDefault(TestDataUnit.class)), false);
+        PlanTransformation planTransformation = new PlanTransformation(
+                SubplanPattern.createSingleton(sinkPattern), new TestSinkToTestSink2Factory()
+        );
+
+        // Apply the transformation in the first epoch and check that the index picks up the replacement.
+        final OperatorIndex operatorIndex = new OperatorIndex(plan);
+        assertEquals(1, planTransformation.transform(plan, Operator.FIRST_EPOCH + 1, operatorIndex));
+        assertEquals(3, operatorIndex.size());
+        OperatorPattern sink2Pattern = new OperatorPattern("sink2", new TestSink2(DataSetType.createDefault(TestDataUnit.class)), false);
+        assertEquals(1, operatorIndex.getCandidates(sink2Pattern, Operator.FIRST_EPOCH + 1).size());
+
+        // The original sink has not changed in the first epoch, so it should not be matched again in the second one.
+        assertEquals(0, planTransformation.transform(plan, Operator.FIRST_EPOCH + 2, new OperatorIndex(plan)));
+        final OperatorAlternative operatorAlternative = (OperatorAlternative) plan.getSinks().iterator().next();
+        assertEquals(2, operatorAlternative.getAlternatives().size());
+    }
+
 }
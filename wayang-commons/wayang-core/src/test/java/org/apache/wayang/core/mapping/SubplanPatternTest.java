@@ -106,4 +106,35 @@ class SubplanPatternTest {
         assertEquals(sink, match.getOperatorMatches().get("sink").getOperator());
     }
 
+    @Test
+    void testMatchChainedPatternWithOperatorIndex() {
+        // Build the plan.
+        UnarySource source = new TestSource(DataSetType.createDefault(TestDataUnit.class));
+        UnarySink sink = new TestSink(DataSetType.createDefault(TestDataUnit.class));
+        source.connectTo(0, sink, 0);
+        WayangPlan plan = new WayangPlan();
+        plan.addSink(sink);
+        source.setEpoch(Operator.FIRST_EPOCH + 1);
+
+        // Build the pattern.
+        OperatorPattern sourcePattern = new OperatorPattern("source", new TestSource(DataSetType.createDefault(TestDataUnit.class)), false);
+        OperatorPattern sinkPattern = new OperatorPattern("sink", new TestSink(DataSetType.createDefault(TestDataUnit.class)), false);
+        sourcePattern.connectTo(0, sinkPattern, 0);
+        SubplanPattern subplanPattern = SubplanPattern.fromOperatorPatterns(sourcePattern, sinkPattern);
+
+        // Match the pattern against the plan: only the source is recent, but it is part of the match.
+        final OperatorIndex operatorIndex = new OperatorIndex(plan);
+        assertEquals(2, operatorIndex.size());
+        final List<SubplanMatch> matches = subplanPattern.match(operatorIndex, Operator.FIRST_EPOCH + 1);
+
+        // Evaluate the matches.
+        assertEquals(1, matches.size());
+        final SubplanMatch match = matches.get(0);
+        assertEquals(source, match.getOperatorMatches().get("source").getOperator());
+        assertEquals(sink, match.getOperatorMatches().get("sink").getOperator());
+
+        // Nothing should match if none of the operators is recent.
+        assertEquals(0, subplanPattern.match(operatorIndex, Operator.FIRST_EPOCH + 2).size());
+    }
+
 }
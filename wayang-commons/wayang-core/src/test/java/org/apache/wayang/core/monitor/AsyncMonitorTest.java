@@ -0,0 +1,189 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.wayang.core.monitor;
+
+import org.apache.wayang.core.api.Configuration;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test suite for the {@link AsyncMonitor} and its components.
+ */
+class AsyncMonitorTest {
+
+    /**
+     * {@link Monitor} that records all progress updates.
+     */
+    private static class RecordingMonitor extends Monitor {
+
+        private final List<Map<String, Integer>> updates = Collections.synchronizedList(new ArrayList<>());
+
+        private boolean isClosed = false;
+
+        @Override
+        public void initialize(Configuration config, String runId, List<Map> initialExecutionPlan) {
+        }
+
+        @Override
+        public void updateProgress(HashMap<String, Integer> partialProgress) {
+            this.updates.add(partialProgress);
+        }
+
+        @Override
+        public void close() {
+            this.isClosed = true;
+        }
+    }
+
+    @Test
+    void testRingBuffer() {
+        final EventRingBuffer<Integer> buffer = new EventRingBuffer<>(3);
+        assertEquals(4, buffer.getCapacity());
+        for (int i = 0; i < 4; i++) assertTrue(buffer.offer(i));
+        assertFalse(buffer.offer(4));
+        assertEquals(1, buffer.getNumRejected());
+
+        assertEquals(0, buffer.poll());
+        assertTrue(buffer.offer(5));
+        final List<Integer> drained = new ArrayList<>();
+        assertEquals(4, buffer.drainTo(drained));
+        assertEquals(Arrays.asList(1, 2, 3, 5), drained);
+        assertNull(buffer.poll());
+    }
+
+    @Test
+    void testBatchingAndExport() throws IOException {
+        final Configuration configuration = new Configuration();
+        configuration.setProperty(AsyncMonitor.FLUSH_INTERVAL_PROPERTY_KEY, "60000");
+        configuration.setProperty(AsyncMonitor.PROMETHEUS_PORT_PROPERTY_KEY, "0");
+        final RecordingMonitor delegate = new RecordingMonitor();
+        final AsyncMonitor monitor = new AsyncMonitor(delegate, configuration);
+        final List<MonitorEvent> exportedEvents = Collections.synchronizedList(new ArrayList<>());
+        monitor.addExporter(exportedEvents::addAll);
+        monitor.initialize(configuration, "test", Collections.emptyList());
+
+        final HashMap<String, Integer> progress = new HashMap<>();
+        progress.put("map", 50);
+        monitor.updateProgress(progress);
+        progress.put("map", 100);
+        progress.put("filter", 100);
+        monitor.updateProgress(progress);
+        monitor.reportStageTiming("stage \"1\"", 42L);
+        monitor.reportCardinality("channel", 1000L);
+        assertTrue(delegate.updates.isEmpty());
+
+        // Closing flushes all pending events.
+        monitor.close();
+        assertTrue(delegate.isClosed);
+        assertEquals(1, delegate.updates.size());
+        assertEquals(100, delegate.updates.get(0).get("map"));
+        assertEquals(100, delegate.updates.get(0).get("filter"));
+        assertTrue(exportedEvents.stream().anyMatch(event -> event.getType() == MonitorEvent.Type.MEMORY));
+        assertEquals(5, exportedEvents.stream().filter(event -> event.getType() != MonitorEvent.Type.MEMORY).count());
+    }
+
+    @Test
+    void testPrometheusEndpoint() throws IOException {
+        final PrometheusExporter exporter = new PrometheusExporter(0);
+        try {
+            exporter.export(Arrays.asList(
+                    new MonitorEvent(MonitorEvent.Type.PROGRESS, "map", 50),
+                    new MonitorEvent(MonitorEvent.Type.PROGRESS, "map", 100),
+                    new MonitorEvent(MonitorEvent.Type.STAGE_TIMING, "stage \"1\"", 42)
+            ));
+            final HttpURLConnection connection = (HttpURLConnection)
+                    new URL("http://localhost:" + exporter.getPort() + PrometheusExporter.METRICS_PATH).openConnection();
+            assertEquals(200, connection.getResponseCode());
+            final String body;
+            try (InputStream in = connection.getInputStream()) {
+                body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+            assertTrue(body.contains("# TYPE wayang_operator_progress_percent gauge\n"));
+            assertTrue(body.contains("wayang_operator_progress_percent{operator=\"map\"} 100\n"));
+            assertTrue(body.contains("wayang_stage_execution_millis{platform=\"stage \\\"1\\\"\"} 42\n"));
+            assertFalse(body.contains("wayang_channel_cardinality"));
+        } finally {
+            exporter.close();
+        }
+    }
+
+    @Test
+    void testSharedPrometheusExporter() throws IOException {
+        final int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        final PrometheusExporter exporter = PrometheusExporter.acquire(port);
+        try {
+            assertSame(exporter, PrometheusExporter.acquire(port));
+            exporter.close();
+            exporter.export(Collections.singletonList(new MonitorEvent(MonitorEvent.Type.PROGRESS, "map", 100)));
+            assertTrue(exporter.render().contains("wayang_operator_progress_percent{operator=\"map\"} 100\n"));
+        } finally {
+            exporter.close();
+        }
+
+        // Ephemeral ports are never shared.
+        final PrometheusExporter ephemeralExporter1 = PrometheusExporter.acquire(0);
+        final PrometheusExporter ephemeralExporter2 = PrometheusExporter.acquire(0);
+        assertNotSame(ephemeralExporter1, ephemeralExporter2);
+        ephemeralExporter1.close();
+        ephemeralExporter2.close();
+    }
+
+    @Test
+    void testUnavailablePrometheusPort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            final Configuration configuration = new Configuration();
+            configuration.setProperty(AsyncMonitor.FLUSH_INTERVAL_PROPERTY_KEY, "60000");
+            configuration.setProperty(AsyncMonitor.PROMETHEUS_PORT_PROPERTY_KEY, String.valueOf(socket.getLocalPort()));
+            final RecordingMonitor delegate = new RecordingMonitor();
+            final AsyncMonitor monitor = new AsyncMonitor(delegate, configuration);
+            monitor.initialize(configuration, "test", Collections.emptyList());
+
+            // The monitor keeps working without the exporter.
+            final HashMap<String, Integer> progress = new HashMap<>();
+            progress.put("map", 100);
+            monitor.updateProgress(progress);
+            monitor.close();
+            assertEquals(1, delegate.updates.size());
+            assertTrue(delegate.isClosed);
+        }
+    }
+
+}
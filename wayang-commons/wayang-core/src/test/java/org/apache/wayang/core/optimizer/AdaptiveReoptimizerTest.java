@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.wayang.core.optimizer;
+
+import org.apache.wayang.core.optimizer.cardinality.CardinalityEstimate;
+import org.apache.wayang.core.optimizer.costs.TimeEstimate;
+import org.apache.wayang.core.plan.executionplan.Channel;
+import org.apache.wayang.core.plan.executionplan.ExecutionStage;
+import org.apache.wayang.core.plan.executionplan.ExecutionTask;
+import org.apache.wayang.core.platform.ChannelInstance;
+import org.apache.wayang.core.platform.ExecutionState;
+import org.apache.wayang.core.profiling.AdaptiveReoptimizationMeasurement;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test suite for {@link AdaptiveReoptimizer}.
+ */
+class AdaptiveReoptimizerTest {
+
+    @Test
+    void testEstimationError() {
+        final CardinalityEstimate estimate = new CardinalityEstimate(99, 199, 0.8);
+        assertEquals(1d, AdaptiveReoptimizer.calculateEstimationError(estimate, 150), 0.0001);
+        assertEquals(1d, AdaptiveReoptimizer.calculateEstimationError(estimate, 99), 0.0001);
+        assertEquals(2d, AdaptiveReoptimizer.calculateEstimationError(estimate, 399), 0.0001);
+        assertEquals(2d, AdaptiveReoptimizer.calculateEstimationError(estimate, 49), 0.0001);
+    }
+
+    @Test
+    void testCounters() {
+        final AdaptiveReoptimizer reoptimizer = new AdaptiveReoptimizer(2d);
+        reoptimizer.noteReoptimization(new TimeEstimate(1000), new TimeEstimate(400));
+        reoptimizer.noteReoptimization(new TimeEstimate(1000), new TimeEstimate(1200));
+        reoptimizer.noteSkippedReoptimization();
+
+        final AdaptiveReoptimizationMeasurement measurement = reoptimizer.toMeasurement("test");
+        assertEquals(2, measurement.getNumReoptimizations());
+        assertEquals(1, measurement.getNumSkippedReoptimizations());
+        assertEquals(600L, measurement.getEstimatedSavedMillis());
+    }
+
+    @Test
+    void testObservationWithoutEstimates() {
+        final ExecutionStage stage = mock(ExecutionStage.class);
+        final ExecutionTask producer = mock(ExecutionTask.class);
+        when(producer.getStage()).thenReturn(stage);
+        final Channel channel = mock(Channel.class);
+        when(channel.getProducer()).thenReturn(producer);
+        final ChannelInstance channelInstance = mock(ChannelInstance.class);
+        when(channelInstance.getChannel()).thenReturn(channel);
+        when(channelInstance.getMeasuredCardinality()).thenReturn(OptionalLong.of(42L));
+        when(channelInstance.getMeasuredByteSize()).thenReturn(OptionalLong.of(1024L));
+        final ExecutionState executionState = mock(ExecutionState.class);
+        when(executionState.getCardinalityMeasurements()).thenReturn(Arrays.asList(channelInstance));
+
+        final AdaptiveReoptimizer reoptimizer = new AdaptiveReoptimizer(2d);
+        assertFalse(reoptimizer.observe(executionState));
+        assertFalse(reoptimizer.observe(executionState));
+
+        assertEquals(2, reoptimizer.getNumStageBoundaries());
+        assertEquals(1, reoptimizer.getStageStatistics().size());
+        final AdaptiveReoptimizer.StageStatistics statistics = reoptimizer.getStageStatistics().iterator().next();
+        assertEquals(42L, statistics.getOutputCardinality());
+        assertEquals(OptionalLong.of(1024L), statistics.getOutputBytes());
+        assertEquals(1024L, reoptimizer.toMeasurement("test").getMeasuredBytes());
+    }
+
+}
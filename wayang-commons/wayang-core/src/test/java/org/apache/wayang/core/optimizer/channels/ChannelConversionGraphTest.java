@@ -27,6 +27,7 @@ import org.apache.wayang.core.optimizer.cardinality.CardinalityEstimate;
 import org.apache.wayang.core.plan.executionplan.Channel;
 import org.apache.wayang.core.plan.executionplan.ExecutionTask;
 import org.apache.wayang.core.plan.wayangplan.ExecutionOperator;
+import org.apache.wayang.core.plan.wayangplan.OutputSlot;
 import org.apache.wayang.core.platform.ChannelDescriptor;
 import org.apache.wayang.core.platform.Junction;
 import org.apache.wayang.core.test.DummyExecutionOperator;
@@ -43,6 +44,8 @@ import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -323,5 +326,51 @@ class ChannelConversionGraphTest {
         assertTrue(junction.getTargetChannel(1).isCopy() && junction.getTargetChannel(1).getOriginal() == nextChannel);
     }
 
+    @Test
+    void avoidUnorderedChannelsForOrderSensitiveOperators() {
+        // Does not preserve the order of the data quanta, but otherwise behaves like a DummyNonReusableChannel.
+        final ChannelDescriptor unorderedDescriptor = new ChannelDescriptor(DummyNonReusableChannel.class, false, false, false) {
+            @Override
+            public Channel createChannel(OutputSlot<?> output, Configuration configuration) {
+                return DummyNonReusableChannel.DESCRIPTOR.createChannel(output, configuration);
+            }
+        };
+        ChannelConversionGraph channelConversionGraph = new ChannelConversionGraph(new Configuration());
+        channelConversionGraph.add(new DefaultChannelConversion(
+                DummyReusableChannel.DESCRIPTOR,
+                unorderedDescriptor,
+                createDummyExecutionOperatorFactory(unorderedDescriptor)
+        ));
+
+        ExecutionOperator sourceOperator = new DummyExecutionOperator(0, 1, false);
+        sourceOperator.getSupportedOutputChannels(0).add(DummyReusableChannel.DESCRIPTOR);
+
+        ExecutionOperator destOperator = new DummyExecutionOperator(1, 1, false);
+        destOperator.getSupportedInputChannels(0).add(unorderedDescriptor);
+
+        ExecutionOperator orderSensitiveDestOperator = new DummyExecutionOperator(1, 1, false) {
+            @Override
+            public boolean isOrderSensitive() {
+                return true;
+            }
+        };
+        orderSensitiveDestOperator.getSupportedInputChannels(0).add(unorderedDescriptor);
+
+        final OptimizationContext optimizationContext = new DefaultOptimizationContext(job);
+        optimizationContext.addOneTimeOperator(sourceOperator).setOutputCardinality(0, new CardinalityEstimate(1000, 10000, 0.8d));
+
+        assertNull(channelConversionGraph.findMinimumCostJunction(
+                sourceOperator.getOutput(0),
+                Arrays.asList(orderSensitiveDestOperator.getInput(0)),
+                optimizationContext,
+                false
+        ));
+        assertNotNull(channelConversionGraph.findMinimumCostJunction(
+                sourceOperator.getOutput(0),
+                Arrays.asList(destOperator.getInput(0)),
+                optimizationContext,
+                false
+        ));
+    }
 
 }
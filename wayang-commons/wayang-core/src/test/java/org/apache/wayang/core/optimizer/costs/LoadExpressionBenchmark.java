@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.wayang.core.optimizer.costs;
+
+import org.apache.wayang.core.optimizer.cardinality.CardinalityEstimate;
+import org.apache.wayang.core.util.JuelUtils;
+import org.apache.wayang.core.util.mathex.Context;
+import org.apache.wayang.core.util.mathex.DefaultContext;
+import org.apache.wayang.core.util.mathex.Expression;
+import org.apache.wayang.core.util.mathex.ExpressionBuilder;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Micro-benchmark that compares the interpreted evaluation of load expressions with the evaluation of
+ * {@link LoadExpressionCompiler.CompiledExpression}s, as happens for every {@link LoadProfileEstimator} call
+ * during plan enumeration. Run it via its {@link #main(String[])} method, optionally passing the number of
+ * iterations.
+ */
+public class LoadExpressionBenchmark {
+
+    private static final String JUEL = "${3*in0 + 2*in1 + wayang:logGrowth(0.1, 0.1, 10000, out0)}";
+
+    private static final String MATHEX = "3*in0 + 2*in1 + logGrowth(0.1, 0.1, 10000, out0)";
+
+    public static void main(String[] args) {
+        final int numIterations = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        final long[] inCards = {1000, 2000}, outCards = {3000};
+
+        // Interpreted JUEL, as in LoadProfileEstimators#applyJuelFunction.
+        final Map<String, Class<?>> parameterClasses = new HashMap<>();
+        parameterClasses.put("in0", Long.class);
+        parameterClasses.put("in1", Long.class);
+        parameterClasses.put("out0", Long.class);
+        final JuelUtils.JuelFunction<Double> juelFunction = new JuelUtils.JuelFunction<>(JUEL, Double.class, parameterClasses);
+        run("JUEL (interpreted)", numIterations / 10, () -> {
+            final Map<String, Object> parameters = new HashMap<>(3);
+            parameters.put("in0", inCards[0]);
+            parameters.put("in1", inCards[1]);
+            parameters.put("out0", outCards[0]);
+            return juelFunction.apply(parameters, true);
+        });
+
+        // Interpreted MathEx.
+        final Expression expression = ExpressionBuilder.parse(MATHEX).specify(LoadProfileEstimators.baseContext);
+        final Context baseContext = new DefaultContext();
+        run("MathEx (interpreted)", numIterations, () -> {
+            final DefaultContext context = new DefaultContext(baseContext);
+            context.setVariable("in0", inCards[0]);
+            context.setVariable("in1", inCards[1]);
+            context.setVariable("out0", outCards[0]);
+            return expression.evaluate(context);
+        });
+
+        // Compiled expressions.
+        final LoadExpressionCompiler.CompiledExpression compiledJuel =
+                LoadExpressionCompiler.compileJuel(JUEL, 2, 1, Collections.emptyList()).get();
+        run("JUEL (compiled)", numIterations, () -> compiledJuel.evaluate(null, inCards, outCards));
+        final LoadExpressionCompiler.CompiledExpression compiledMathEx = LoadExpressionCompiler.compile(MATHEX);
+        run("MathEx (compiled)", numIterations, () -> compiledMathEx.evaluate(null, inCards, outCards));
+
+        // End-to-end estimation.
+        final NestableLoadProfileEstimator estimator = LoadProfileEstimators.createFromSpecification(
+                null,
+                "{\"type\":\"juel\",\"in\":2,\"out\":1,\"p\":0.9,\"cpu\":\"" + JUEL + "\",\"ram\":\"${0}\",\"ru\":\"${0.5}\"}"
+        );
+        final EstimationContext estimationContext = new SimpleEstimationContext(
+                new CardinalityEstimate[]{new CardinalityEstimate(1000, 2000, 0.9), new CardinalityEstimate(2000, 2000, 1d)},
+                new CardinalityEstimate[]{new CardinalityEstimate(3000, 3000, 1d)},
+                new HashMap<>(),
+                1
+        );
+        run("LoadProfileEstimator#estimate", numIterations / 10,
+                () -> estimator.estimate(estimationContext).getCpuUsage().getUpperEstimate());
+    }
+
+    private static void run(String name, int numIterations, DoubleSupplier evaluation) {
+        double blackhole = 0d;
+        for (int i = 0; i < numIterations; i++) blackhole += evaluation.getAsDouble(); // warm-up
+        final long startTime = System.nanoTime();
+        for (int i = 0; i < numIterations; i++) blackhole += evaluation.getAsDouble();
+        final long elapsedNanos = System.nanoTime() - startTime;
+        System.out.printf("%-32s %10.1f ns/op (checksum %s)%n", name, elapsedNanos / (double) numIterations, blackhole);
+    }
+
+}
@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.wayang.core.optimizer.costs;
+
+import org.apache.wayang.core.optimizer.cardinality.CardinalityEstimate;
+import org.apache.wayang.core.util.JuelUtils;
+import org.apache.wayang.core.util.mathex.DefaultContext;
+import org.apache.wayang.core.util.mathex.Expression;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the {@link LoadExpressionCompiler}.
+ */
+class LoadExpressionCompilerTest {
+
+    private static final long[] inputCardinalities = {1234, 56789};
+
+    private static final long[] outputCardinalities = {4321};
+
+    private static final EstimationContext estimationContext;
+
+    static {
+        final HashMap<String, Double> properties = new HashMap<>();
+        properties.put("numIterations", 7d);
+        estimationContext = new SimpleEstimationContext(new CardinalityEstimate[0], new CardinalityEstimate[0], properties, 1);
+    }
+
+    @Test
+    void testJuelEquivalence() {
+        final List<String> expressions = Arrays.asList(
+                "${3*in0 + 2*in1 + 7*out0}",
+                "${in0 / 3 + 1000}",
+                "${(in0 + in1) * numIterations % 17 - out0}",
+                "${-in0 + 5.5 * in1}",
+                "${wayang:logGrowth(0.1, 0.1, 10000, in0+in1)}",
+                "${math:sqrt(in0) * 1.5E2}"
+        );
+        final Map<String, Class<?>> parameterClasses = new HashMap<>();
+        parameterClasses.put("in0", Long.class);
+        parameterClasses.put("in1", Long.class);
+        parameterClasses.put("out0", Long.class);
+        parameterClasses.put("numIterations", Double.class);
+        final Map<String, Object> parameters = new HashMap<>();
+        parameters.put("in0", inputCardinalities[0]);
+        parameters.put("in1", inputCardinalities[1]);
+        parameters.put("out0", outputCardinalities[0]);
+        parameters.put("numIterations", 7d);
+
+        for (String expression : expressions) {
+            final double expected = new JuelUtils.JuelFunction<>(expression, Double.class, parameterClasses)
+                    .apply(parameters);
+            final LoadExpressionCompiler.CompiledExpression compiledExpression = LoadExpressionCompiler.compileJuel(
+                    expression, 2, 1, Collections.singletonList("numIterations")
+            ).orElseThrow(() -> new AssertionError("Could not compile " + expression));
+            assertEquals(expected, compiledExpression.evaluate(estimationContext, inputCardinalities, outputCardinalities),
+                    1e-9 * Math.abs(expected), expression);
+        }
+    }
+
+    @Test
+    void testUnsupportedJuel() {
+        final List<String> properties = Collections.singletonList("numIterations");
+        assertFalse(LoadExpressionCompiler.compileJuel("${in0 > 10 ? in0 : 10}", 1, 1, properties).isPresent());
+        assertFalse(LoadExpressionCompiler.compileJuel("${in0 div 2}", 1, 1, properties).isPresent());
+        assertFalse(LoadExpressionCompiler.compileJuel("${in1 + 2}", 1, 1, properties).isPresent());
+        assertFalse(LoadExpressionCompiler.compileJuel("${max(in0, 2)}", 1, 1, properties).isPresent());
+        assertFalse(LoadExpressionCompiler.compileJuel("${foo:bar(in0)}", 1, 1, properties).isPresent());
+        assertFalse(LoadExpressionCompiler.compileJuel("3*in0", 1, 1, properties).isPresent());
+        assertTrue(LoadExpressionCompiler.compileJuel("${numIterations * in0}", 1, 1, properties).isPresent());
+    }
+
+    @Test
+    void testMathExEquivalence() {
+        final List<String> expressions = Arrays.asList(
+                "3*in0 + 2*in1 + 7*out0",
+                "max(in0, in1) ^ 0.5 - min(in0, out0, in1)",
+                "logGrowth(0.1, 0.1, 10000, in0 + in1) * pi",
+                "-(in0 % 100) / numIterations + ld(in1)"
+        );
+        final DefaultContext context = new DefaultContext(LoadProfileEstimators.baseContext);
+        context.setVariable("in0", inputCardinalities[0]);
+        context.setVariable("in1", inputCardinalities[1]);
+        context.setVariable("out0", outputCardinalities[0]);
+        context.setVariable("numIterations", 7d);
+
+        for (String expression : expressions) {
+            final double expected = Expression.evaluate(expression, context);
+            final double actual = LoadExpressionCompiler.compile(expression)
+                    .evaluate(estimationContext, inputCardinalities, outputCardinalities);
+            assertEquals(expected, actual, 1e-9 * Math.abs(expected), expression);
+        }
+    }
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.wayang.core.profiling;
+
+import org.apache.wayang.core.optimizer.cardinality.CardinalityEstimate;
+import org.apache.wayang.core.plan.wayangplan.test.TestFilterOperator;
+import org.apache.wayang.core.plan.wayangplan.test.TestMapOperator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test suite for the {@link FeedbackStore}.
+ */
+class FeedbackStoreTest {
+
+    @Test
+    void testStoreAndReload(@TempDir File tempDir) {
+        final String path = new File(tempDir, "feedback.bin").getPath();
+        final TestFilterOperator<String> filter = new TestFilterOperator<>(String.class);
+        final CardinalityEstimate[] inputs = {new CardinalityEstimate(1000, 1000, 1d)};
+
+        FeedbackStore store = new FeedbackStore(path, 2);
+        store.addCardinality(filter.getOutput(0), inputs, 100);
+        assertFalse(store.estimateCardinality(filter.getOutput(0), inputs).isPresent());
+        store.addCardinality(filter.getOutput(0), inputs, 300);
+        store.flush();
+
+        store = new FeedbackStore(path, 2);
+        final Optional<CardinalityEstimate> estimate = store.estimateCardinality(
+                filter.getOutput(0), new CardinalityEstimate(2000, 2000, 1d)
+        );
+        assertTrue(estimate.isPresent());
+        assertEquals(200, estimate.get().getLowerEstimate());
+        assertEquals(600, estimate.get().getUpperEstimate());
+    }
+
+    @Test
+    void testAppendAndCompact(@TempDir File tempDir) {
+        final String path = new File(tempDir, "feedback.bin").getPath();
+        final TestFilterOperator<String> filter = new TestFilterOperator<>(String.class);
+        final CardinalityEstimate[] inputs = {new CardinalityEstimate(10, 10, 1d)};
+
+        FeedbackStore store = new FeedbackStore(path, 1);
+        for (int i = 1; i <= 10; i++) {
+            store.addCardinality(filter.getOutput(0), inputs, i);
+            store.flush();
+        }
+        final long fileSize = new File(path).length();
+
+        store = new FeedbackStore(path, 1);
+        assertEquals(2, store.size());
+        final CardinalityEstimate estimate = store.estimateCardinality(filter.getOutput(0), inputs).get();
+        assertEquals(1, estimate.getLowerEstimate());
+        assertEquals(10, estimate.getUpperEstimate());
+        assertTrue(fileSize < 10 * 2 * 100);
+    }
+
+    @Test
+    void testSignatures() {
+        final TestMapOperator<String, String> map = new TestMapOperator<>(String.class, String.class);
+        final TestFilterOperator<String> filter = new TestFilterOperator<>(String.class);
+        assertEquals(FeedbackStore.getSignature(filter), FeedbackStore.getSignature(new TestFilterOperator<>(String.class)));
+        assertNotEquals(FeedbackStore.getSignature(filter), FeedbackStore.getSignature(map));
+    }
+
+}
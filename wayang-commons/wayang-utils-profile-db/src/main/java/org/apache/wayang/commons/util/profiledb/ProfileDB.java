@@ -21,6 +21,7 @@ import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * This class provides facilities to save and load {@link Experiment}s.
@@ -108,6 +109,16 @@ public class ProfileDB {
         return this.storage.load();
     }
 
+    /**
+     * Bring {@link Experiment}s from current Storage one at a time
+     *
+     * @return {@link Stream} of {@link Experiment}s; should be closed after use
+     * @throws IOException
+     */
+    public Stream<Experiment> stream() throws IOException {
+        return this.storage.stream();
+    }
+
     /**
      * Bring {@link Experiment}s from current Storage to local variable
      *
@@ -16,6 +16,7 @@ import java.io.*;
 import java.net.URI;
 import java.util.Collection;
 import java.util.LinkedList;
+import java.util.stream.Stream;
 
 /**
  * Controls how conducted experiments will be persisted and loaded
@@ -49,6 +50,15 @@ public abstract class Storage {
         this.context = context;
     }
 
+    /**
+     * Provides the ProfileDB for this instance.
+     *
+     * @return the {@link ProfileDB}
+     */
+    protected ProfileDB getContext() {
+        return this.context;
+    }
+
     /**
      * Allows to change where future experiments will be persisted and loaded
      * @param uri
@@ -97,6 +107,17 @@ public abstract class Storage {
      */
     public abstract Collection<Experiment> load() throws IOException;
 
+    /**
+     * Bring {@link Experiment}s from current Storage one at a time. Implementations should override this method if
+     * they can avoid loading all {@link Experiment}s at once. The returned {@link Stream} should be closed after use.
+     *
+     * @return {@link Stream} of {@link Experiment}s
+     * @throws IOException
+     */
+    public Stream<Experiment> stream() throws IOException {
+        return this.load().stream();
+    }
+
 
     //TODO The following methods should be moved to file storage implementation
     /**
@@ -0,0 +1,582 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.wayang.commons.util.profiledb.storage;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import org.apache.wayang.commons.util.profiledb.model.Experiment;
+import org.apache.wayang.commons.util.profiledb.model.Measurement;
+import org.apache.wayang.commons.util.profiledb.model.Subject;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * File-based {@link Storage} that persists {@link Experiment}s as length-prefixed, compressed binary records in an
+ * append-only file. Next to the data file, it maintains an index file (with the suffix {@value #INDEX_SUFFIX}) with
+ * the position, ID, and tags of each record, so that single {@link Experiment}s can be looked up without scanning the
+ * data file. {@link #stream()} decodes one record at a time, so that large histories need not fit into memory.
+ * <p>Each record consists of its length followed by the deflated ID, description, start time, tags,
+ * {@link Subject}, and {@link Measurement}s. The latter two are encoded as JSON, as they are polymorphic.</p>
+ */
+public class StreamingFileStorage extends Storage {
+
+    /**
+     * Suffix of the index file.
+     */
+    public static final String INDEX_SUFFIX = ".idx";
+
+    /**
+     * Marks the beginning of data files.
+     */
+    private static final int MAGIC_NUMBER = 0x57504442;
+
+    private static final byte FORMAT_VERSION = 1;
+
+    private static final int HEADER_LENGTH = Integer.BYTES + Byte.BYTES;
+
+    private static final Type MEASUREMENTS_TYPE = new TypeToken<Collection<Measurement>>() {
+    }.getType();
+
+    /**
+     * File where {@link Experiment}s will be written
+     */
+    private File file;
+
+    /**
+     * Lazily loaded index of the {@link #file}.
+     */
+    private List<IndexEntry> index;
+
+    /**
+     * Assigns File where {@link Experiment}s will be written regarding to given URI
+     *
+     * @param uri URI where experiments are persisted
+     */
+    public StreamingFileStorage(URI uri) {
+        super(uri);
+        this.file = new File(uri);
+    }
+
+    @Override
+    public void changeLocation(URI uri) {
+        super.changeLocation(uri);
+        this.file = new File(uri);
+        this.index = null;
+    }
+
+    /**
+     * Write {@link Experiment}s to a {@link File}. Existing file contents will be overwritten.
+     *
+     * @param experiments the {@link Experiment}s
+     * @throws IOException if the writing fails
+     */
+    @Override
+    public void save(Experiment... experiments) throws IOException {
+        this.save(Arrays.asList(experiments));
+    }
+
+    /**
+     * Write {@link Experiment}s to a {@link File}. Existing file contents will be overwritten.
+     *
+     * @param experiments the {@link Experiment}s
+     * @throws IOException if the writing fails
+     */
+    @Override
+    public void save(Collection<Experiment> experiments) throws IOException {
+        this.file.getAbsoluteFile().getParentFile().mkdirs();
+        this.index = new ArrayList<>();
+        this.write(experiments, false);
+    }
+
+    /**
+     * Append {@link Experiment}s to a {@link File}. Existing file contents will be preserved.
+     *
+     * @param experiments the {@link Experiment}s
+     * @throws IOException if the writing fails
+     */
+    @Override
+    public void append(Experiment... experiments) throws IOException {
+        this.append(Arrays.asList(experiments));
+    }
+
+    /**
+     * Append {@link Experiment}s to a {@link File}. Existing file contents will be preserved.
+     *
+     * @param experiments the {@link Experiment}s
+     * @throws IOException if the writing fails
+     */
+    @Override
+    public void append(Collection<Experiment> experiments) throws IOException {
+        this.file.getAbsoluteFile().getParentFile().mkdirs();
+        this.getIndex();
+        this.write(experiments, this.file.length() > 0);
+    }
+
+    /**
+     * Writes the {@link Experiment}s to the {@link #file} and the index file and updates the {@link #index}.
+     *
+     * @param experiments the {@link Experiment}s
+     * @param isAppend    whether to append to the existing files
+     */
+    private void write(Collection<Experiment> experiments, boolean isAppend) throws IOException {
+        long position = isAppend ? this.file.length() : HEADER_LENGTH;
+        final Gson gson = this.getContext().getGson();
+        try (DataOutputStream dataOut = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(this.file, isAppend)));
+             DataOutputStream indexOut = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(this.getIndexFile(), isAppend)))) {
+            if (!isAppend) writeHeader(dataOut);
+            for (Experiment experiment : experiments) {
+                final byte[] record = encode(experiment, gson);
+                dataOut.writeInt(record.length);
+                dataOut.write(record);
+                final IndexEntry indexEntry = new IndexEntry(position, record.length, experiment.getId(), experiment.getTags());
+                indexEntry.write(indexOut);
+                this.index.add(indexEntry);
+                position += Integer.BYTES + record.length;
+            }
+        }
+    }
+
+    /**
+     * Load all {@link Experiment}s from the {@link File}. Prefer {@link #stream()} for large files.
+     *
+     * @return the {@link Experiment}s
+     */
+    @Override
+    public Collection<Experiment> load() throws IOException {
+        return this.load(new FileInputStream(this.file));
+    }
+
+    /**
+     * Load all {@link Experiment}s from an {@link InputStream} in the binary format of this class.
+     *
+     * @param inputStream the {@link InputStream}
+     * @return the {@link Experiment}s
+     */
+    @Override
+    public Collection<Experiment> load(InputStream inputStream) throws IOException {
+        Collection<Experiment> experiments = new LinkedList<>();
+        try (RecordIterator iterator = new RecordIterator(inputStream)) {
+            iterator.forEachRemaining(experiments::add);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return experiments;
+    }
+
+    /**
+     * Write {@link Experiment}s to an {@link OutputStream} in the binary format of this class.
+     *
+     * @param experiments  the {@link Experiment}s
+     * @param outputStream the {@link OutputStream}
+     */
+    @Override
+    public void save(Collection<Experiment> experiments, OutputStream outputStream) throws IOException {
+        final Gson gson = this.getContext().getGson();
+        DataOutputStream dataOut = new DataOutputStream(new BufferedOutputStream(outputStream));
+        writeHeader(dataOut);
+        for (Experiment experiment : experiments) {
+            final byte[] record = encode(experiment, gson);
+            dataOut.writeInt(record.length);
+            dataOut.write(record);
+        }
+        dataOut.flush();
+    }
+
+    /**
+     * Streams the {@link Experiment}s from the {@link File}, thereby decoding only one record at a time.
+     *
+     * @return a {@link Stream} of the {@link Experiment}s that must be closed after use
+     */
+    @Override
+    public Stream<Experiment> stream() throws IOException {
+        if (!this.file.exists()) return Stream.empty();
+        final RecordIterator iterator = new RecordIterator(new FileInputStream(this.file));
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL),
+                false
+        ).onClose(iterator::closeQuietly);
+    }
+
+    /**
+     * Looks up an {@link Experiment} via the index. If several {@link Experiment}s share the ID, the latest one
+     * is returned.
+     *
+     * @param id the ID of the {@link Experiment}
+     * @return the {@link Experiment} or an empty {@link Optional} if there is none with the ID
+     * @throws IOException if the lookup fails
+     */
+    public Optional<Experiment> findById(String id) throws IOException {
+        final List<IndexEntry> index = this.getIndex();
+        for (int i = index.size() - 1; i >= 0; i--) {
+            final IndexEntry indexEntry = index.get(i);
+            if (indexEntry.id.equals(id)) {
+                try (RandomAccessFile randomAccessFile = new RandomAccessFile(this.file, "r")) {
+                    return Optional.of(this.read(randomAccessFile, indexEntry));
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Loads all {@link Experiment}s with a given tag via the index.
+     *
+     * @param tag the tag
+     * @return the {@link Experiment}s in the order of their storage
+     * @throws IOException if the lookup fails
+     */
+    public Collection<Experiment> findByTag(String tag) throws IOException {
+        Collection<Experiment> experiments = new LinkedList<>();
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(this.file, "r")) {
+            for (IndexEntry indexEntry : this.getIndex()) {
+                if (indexEntry.tags.contains(tag)) {
+                    experiments.add(this.read(randomAccessFile, indexEntry));
+                }
+            }
+        }
+        return experiments;
+    }
+
+    private Experiment read(RandomAccessFile randomAccessFile, IndexEntry indexEntry) throws IOException {
+        final byte[] record = new byte[indexEntry.length];
+        randomAccessFile.seek(indexEntry.position + Integer.BYTES);
+        randomAccessFile.readFully(record);
+        return decode(record, this.getContext().getGson());
+    }
+
+    /**
+     * Provides the {@link #index}. It is loaded from the index file or, if that is missing or does not match the data
+     * file (e.g., after a crash), rebuilt by scanning the data file.
+     *
+     * @return the {@link #index}
+     */
+    private List<IndexEntry> getIndex() throws IOException {
+        if (this.index != null) return this.index;
+        if (!this.file.exists() || this.file.length() == 0) {
+            this.getIndexFile().delete();
+            return this.index = new ArrayList<>();
+        }
+        try {
+            this.index = this.readIndex();
+            return this.index;
+        } catch (IOException e) {
+            // Rebuild the index below.
+        }
+        this.index = this.rebuildIndex();
+        return this.index;
+    }
+
+    private List<IndexEntry> readIndex() throws IOException {
+        List<IndexEntry> index = new ArrayList<>();
+        long expectedPosition = HEADER_LENGTH;
+        try (DataInputStream indexIn = new DataInputStream(new BufferedInputStream(new FileInputStream(this.getIndexFile())))) {
+            IndexEntry indexEntry;
+            while ((indexEntry = IndexEntry.read(indexIn)) != null) {
+                if (indexEntry.position != expectedPosition) {
+                    throw new IOException("Index does not match the data file.");
+                }
+                index.add(indexEntry);
+                expectedPosition += Integer.BYTES + indexEntry.length;
+            }
+        }
+        if (expectedPosition != this.file.length()) {
+            throw new IOException("Index does not match the data file.");
+        }
+        return index;
+    }
+
+    private List<IndexEntry> rebuildIndex() throws IOException {
+        List<IndexEntry> index = new ArrayList<>();
+        final Gson gson = this.getContext().getGson();
+        try (DataInputStream dataIn = new DataInputStream(new BufferedInputStream(new FileInputStream(this.file)));
+             DataOutputStream indexOut = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(this.getIndexFile(), false)))) {
+            readHeader(dataIn);
+            long position = HEADER_LENGTH;
+            byte[] record;
+            while ((record = readRecord(dataIn)) != null) {
+                final Experiment experiment = decode(record, gson);
+                final IndexEntry indexEntry = new IndexEntry(position, record.length, experiment.getId(), experiment.getTags());
+                indexEntry.write(indexOut);
+                index.add(indexEntry);
+                position += Integer.BYTES + record.length;
+            }
+        }
+        return index;
+    }
+
+    private File getIndexFile() {
+        return new File(this.file.getPath() + INDEX_SUFFIX);
+    }
+
+    private static void writeHeader(DataOutputStream dataOut) throws IOException {
+        dataOut.writeInt(MAGIC_NUMBER);
+        dataOut.writeByte(FORMAT_VERSION);
+    }
+
+    private static void readHeader(DataInputStream dataIn) throws IOException {
+        if (dataIn.readInt() != MAGIC_NUMBER) {
+            throw new IOException("Not a streaming ProfileDB file.");
+        }
+        final byte version = dataIn.readByte();
+        if (version != FORMAT_VERSION) {
+            throw new IOException(String.format("Unsupported format version %d.", version));
+        }
+    }
+
+    /**
+     * Reads the next record.
+     *
+     * @return the (still compressed) record or {@code null} if there is none
+     */
+    private static byte[] readRecord(DataInputStream dataIn) throws IOException {
+        final int length;
+        try {
+            length = dataIn.readInt();
+        } catch (EOFException e) {
+            return null;
+        }
+        final byte[] record = new byte[length];
+        dataIn.readFully(record);
+        return record;
+    }
+
+    private static byte[] encode(Experiment experiment, Gson gson) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bos, deflater))) {
+            writeString(out, experiment.getId());
+            writeString(out, experiment.getDescription());
+            out.writeLong(experiment.getStartTime());
+            final Collection<String> tags = experiment.getTags() == null ? Collections.emptyList() : experiment.getTags();
+            out.writeInt(tags.size());
+            for (String tag : tags) {
+                writeString(out, tag);
+            }
+            writeString(out, gson.toJson(experiment.getSubject()));
+            writeString(out, gson.toJson(experiment.getMeasurements(), MEASUREMENTS_TYPE));
+        } finally {
+            deflater.end();
+        }
+        return bos.toByteArray();
+    }
+
+    private static Experiment decode(byte[] record, Gson gson) throws IOException {
+        final Inflater inflater = new Inflater(true);
+        try (DataInputStream in = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(record), inflater))) {
+            final String id = readString(in);
+            final String description = readString(in);
+            final long startTime = in.readLong();
+            final String[] tags = new String[in.readInt()];
+            for (int i = 0; i < tags.length; i++) {
+                tags[i] = readString(in);
+            }
+            final Subject subject = gson.fromJson(readString(in), Subject.class);
+            final Collection<Measurement> measurements = gson.fromJson(readString(in), MEASUREMENTS_TYPE);
+
+            final Experiment experiment = new Experiment(id, subject, startTime, tags);
+            experiment.setDescription(description);
+            measurements.forEach(experiment::addMeasurement);
+            return experiment;
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Writes a nullable {@link String}. Unlike {@link DataOutputStream#writeUTF(String)}, this works for arbitrarily
+     * long {@link String}s.
+     */
+    private static void writeString(DataOutputStream out, String str) throws IOException {
+        if (str == null) {
+            out.writeInt(-1);
+            return;
+        }
+        final byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        final int length = in.readInt();
+        if (length == -1) return null;
+        final byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Describes a record in the data file.
+     */
+    private static class IndexEntry {
+
+        /**
+         * Position of the record's length prefix in the data file.
+         */
+        private final long position;
+
+        /**
+         * Length of the record without its length prefix.
+         */
+        private final int length;
+
+        private final String id;
+
+        private final Collection<String> tags;
+
+        private IndexEntry(long position, int length, String id, Collection<String> tags) {
+            this.position = position;
+            this.length = length;
+            this.id = id;
+            this.tags = tags == null ? Collections.emptyList() : tags;
+        }
+
+        private void write(DataOutputStream out) throws IOException {
+            out.writeLong(this.position);
+            out.writeInt(this.length);
+            writeString(out, this.id);
+            out.writeInt(this.tags.size());
+            for (String tag : this.tags) {
+                writeString(out, tag);
+            }
+        }
+
+        /**
+         * Reads the next instance.
+         *
+         * @return the instance or {@code null} if there is none
+         */
+        private static IndexEntry read(DataInputStream in) throws IOException {
+            final long position;
+            try {
+                position = in.readLong();
+            } catch (EOFException e) {
+                return null;
+            }
+            final int length = in.readInt();
+            final String id = readString(in);
+            final int numTags = in.readInt();
+            List<String> tags = new ArrayList<>(numTags);
+            for (int i = 0; i < numTags; i++) {
+                tags.add(readString(in));
+            }
+            return new IndexEntry(position, length, id, tags);
+        }
+    }
+
+    /**
+     * Decodes the records of a data file one after another.
+     */
+    private class RecordIterator implements Iterator<Experiment>, Closeable {
+
+        private final DataInputStream dataIn;
+
+        private final Gson gson = StreamingFileStorage.this.getContext().getGson();
+
+        private Experiment next;
+
+        private boolean isExhausted = false;
+
+        private RecordIterator(InputStream inputStream) throws IOException {
+            this.dataIn = new DataInputStream(new BufferedInputStream(inputStream));
+            try {
+                readHeader(this.dataIn);
+            } catch (EOFException e) {
+                this.isExhausted = true;
+            } catch (IOException e) {
+                this.closeQuietly();
+                throw e;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (this.next == null && !this.isExhausted) {
+                try {
+                    final byte[] record = readRecord(this.dataIn);
+                    if (record == null) {
+                        this.isExhausted = true;
+                        this.close();
+                    } else {
+                        this.next = decode(record, this.gson);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return this.next != null;
+        }
+
+        @Override
+        public Experiment next() {
+            if (!this.hasNext()) throw new NoSuchElementException();
+            final Experiment next = this.next;
+            this.next = null;
+            return next;
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.dataIn.close();
+        }
+
+        private void closeQuietly() {
+            try {
+                this.close();
+            } catch (IOException e) {
+                // Nothing we can do about it.
+            }
+        }
+    }
+
+}
@@ -14,6 +14,7 @@ import org.apache.wayang.commons.util.profiledb.model.Experiment;
 import org.apache.wayang.commons.util.profiledb.model.Measurement;
 import org.apache.wayang.commons.util.profiledb.model.Subject;
 import org.apache.wayang.commons.util.profiledb.storage.FileStorage;
+import org.apache.wayang.commons.util.profiledb.storage.StreamingFileStorage;
 import org.junit.jupiter.api.Test;
 
 import java.io.ByteArrayInputStream;
@@ -22,8 +23,11 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class ProfileDBTest {
@@ -177,4 +181,76 @@ class ProfileDBTest {
         assertEquals(new HashSet<>(expectedExperiments), new HashSet<>(loadedExperiments));
     }
 
+    @Test
+    void testStreamingFileOperations() throws IOException {
+        File tempDir = Files.createTempDirectory("profiledb").toFile();
+        File file = new File(tempDir, "profiledb.bin");
+        StreamingFileStorage store = new StreamingFileStorage(file.toURI());
+
+        ProfileDB profileDB = new ProfileDB(store)
+                .registerMeasurementClass(TestMemoryMeasurement.class)
+                .registerMeasurementClass(TestTimeMeasurement.class);
+
+        // Create example experiments.
+        final Experiment experiment1 = new Experiment("xp1", new Subject("PageRank", "1.0"), "tag-a")
+                .withDescription("first experiment");
+        TestTimeMeasurement topLevelMeasurement = new TestTimeMeasurement("exec-time", 1L);
+        topLevelMeasurement.addSubmeasurements(new TestTimeMeasurement("sub-exec-time", 2L));
+        experiment1.addMeasurement(topLevelMeasurement);
+        final Experiment experiment2 = new Experiment("xp2", new Subject("KMeans", "1.1"), "tag-a", "tag-b");
+        experiment2.addMeasurement(new TestTimeMeasurement("exec-time", 2L));
+        final Experiment experiment3 = new Experiment("xp3", new Subject("Apriori", "2.0"), "tag-b");
+        experiment3.addMeasurement(new TestMemoryMeasurement("ram", System.currentTimeMillis(), 3L));
+
+        // Save the experiments.
+        profileDB.save(experiment1);
+        profileDB.append(experiment2, experiment3);
+
+        // Stream and compare.
+        final List<Experiment> expectedExperiments = Arrays.asList(experiment1, experiment2, experiment3);
+        try (Stream<Experiment> stream = profileDB.stream()) {
+            final List<Experiment> streamedExperiments = stream.collect(Collectors.toList());
+            assertEquals(expectedExperiments, streamedExperiments);
+            assertEquals(experiment1.getMeasurements(), streamedExperiments.get(0).getMeasurements());
+            assertEquals(experiment3.getMeasurements(), streamedExperiments.get(2).getMeasurements());
+        }
+        assertEquals(expectedExperiments, new ArrayList<>(profileDB.load()));
+
+        // Look up via the index.
+        assertEquals(experiment2, store.findById("xp2").get());
+        assertFalse(store.findById("xp4").isPresent());
+        assertEquals(Arrays.asList(experiment2, experiment3), new ArrayList<>(store.findByTag("tag-b")));
+
+        // Rebuild a missing index when appending with a fresh instance.
+        assertTrue(new File(file.getPath() + StreamingFileStorage.INDEX_SUFFIX).delete());
+        StreamingFileStorage newStore = new StreamingFileStorage(file.toURI());
+        new ProfileDB(newStore)
+                .registerMeasurementClass(TestMemoryMeasurement.class)
+                .registerMeasurementClass(TestTimeMeasurement.class);
+        final Experiment experiment4 = new Experiment("xp4", new Subject("WordCount", "1.0"), "tag-a");
+        newStore.append(experiment4);
+        assertEquals(Arrays.asList(experiment1, experiment2, experiment4), new ArrayList<>(newStore.findByTag("tag-a")));
+    }
+
+    @Test
+    void testStreamingSaveAndLoad() throws IOException {
+        File tempDir = Files.createTempDirectory("profiledb").toFile();
+        StreamingFileStorage store = new StreamingFileStorage(new File(tempDir, "profiledb.bin").toURI());
+        ProfileDB profileDB = new ProfileDB(store)
+                .registerMeasurementClass(TestMemoryMeasurement.class)
+                .registerMeasurementClass(TestTimeMeasurement.class);
+
+        final Experiment experiment = new Experiment("test-xp", new Subject("PageRank", "1.0"), "test experiment");
+        experiment.addMeasurement(new TestTimeMeasurement("exec-time", 12345L));
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        profileDB.save(Collections.singleton(experiment), bos);
+        Collection<Experiment> loadedExperiments = profileDB.load(new ByteArrayInputStream(bos.toByteArray()));
+
+        assertEquals(1, loadedExperiments.size());
+        final Experiment loadedExperiment = loadedExperiments.iterator().next();
+        assertEquals(experiment, loadedExperiment);
+        assertEquals(experiment.getMeasurements(), loadedExperiment.getMeasurements());
+    }
+
 }
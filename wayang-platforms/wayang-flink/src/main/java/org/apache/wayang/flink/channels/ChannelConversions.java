@@ -18,11 +18,15 @@
 
 package org.apache.wayang.flink.channels;
 
+import org.apache.wayang.basic.channels.ArrowChannel;
 import org.apache.wayang.basic.channels.FileChannel;
+import org.apache.wayang.basic.channels.RecordChannelConversion;
 import org.apache.wayang.basic.data.Tuple2;
 import org.apache.wayang.core.optimizer.channels.ChannelConversion;
 import org.apache.wayang.core.optimizer.channels.DefaultChannelConversion;
 import org.apache.wayang.core.types.DataSetType;
+import org.apache.wayang.flink.operators.FlinkArrowSink;
+import org.apache.wayang.flink.operators.FlinkArrowSource;
 import org.apache.wayang.flink.operators.FlinkCollectionSink;
 import org.apache.wayang.flink.operators.FlinkCollectionSource;
 import org.apache.wayang.flink.operators.FlinkObjectFileSink;
@@ -68,11 +72,25 @@ public class ChannelConversions {
                 () -> new FlinkTsvFileSink<>(DataSetType.createDefaultUnchecked(Tuple2.class))
         );
 
+        public static final ChannelConversion DATASET_TO_ARROW = new RecordChannelConversion(
+                DataSetChannel.DESCRIPTOR,
+                ArrowChannel.DESCRIPTOR,
+                FlinkArrowSink::new
+        );
+
+        public static final ChannelConversion ARROW_TO_DATASET = new RecordChannelConversion(
+                ArrowChannel.DESCRIPTOR,
+                DataSetChannel.DESCRIPTOR,
+                FlinkArrowSource::new
+        );
+
         public static Collection<ChannelConversion> ALL = Arrays.asList(
             COLLECTION_TO_DATASET,
             DATASET_TO_COLLECTION,
             OBJECT_FILE_TO_DATASET,
             DATASET_TO_OBJECT_FILE,
-            DATASET_TO_HDFS_TSV
+            DATASET_TO_HDFS_TSV,
+            DATASET_TO_ARROW,
+            ARROW_TO_DATASET
         );
 }
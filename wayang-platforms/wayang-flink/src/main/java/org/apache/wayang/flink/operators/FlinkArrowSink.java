@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.wayang.flink.operators;
+
+import org.apache.commons.lang3.Validate;
+import org.apache.flink.api.common.functions.MapPartitionFunction;
+import org.apache.flink.api.common.typeinfo.PrimitiveArrayTypeInfo;
+import org.apache.flink.api.java.DataSet;
+import org.apache.flink.util.Collector;
+import org.apache.wayang.basic.channels.ArrowChannel;
+import org.apache.wayang.basic.channels.ArrowRecordCodec;
+import org.apache.wayang.basic.data.Record;
+import org.apache.wayang.core.api.Configuration;
+import org.apache.wayang.core.optimizer.OptimizationContext;
+import org.apache.wayang.core.optimizer.cardinality.CardinalityEstimator;
+import org.apache.wayang.core.optimizer.cardinality.DefaultCardinalityEstimator;
+import org.apache.wayang.core.plan.wayangplan.ExecutionOperator;
+import org.apache.wayang.core.plan.wayangplan.UnaryToUnaryOperator;
+import org.apache.wayang.core.platform.ChannelDescriptor;
+import org.apache.wayang.core.platform.ChannelInstance;
+import org.apache.wayang.core.platform.lineage.ExecutionLineageNode;
+import org.apache.wayang.core.types.DataSetType;
+import org.apache.wayang.core.util.Tuple;
+import org.apache.wayang.flink.channels.DataSetChannel;
+import org.apache.wayang.flink.execution.FlinkExecutor;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Converts a {@link DataSetChannel} of {@link Record}s into an {@link ArrowChannel}. The partitions are encoded
+ * into columnar batches in parallel, so that only the compact batches are shipped to the client.
+ */
+public class FlinkArrowSink extends UnaryToUnaryOperator<Record, Record>
+        implements FlinkExecutionOperator {
+
+    public FlinkArrowSink() {
+        this(DataSetType.createDefault(Record.class));
+    }
+
+    public FlinkArrowSink(DataSetType<Record> type) {
+        super(type, type, false);
+    }
+
+    @Override
+    public Tuple<Collection<ExecutionLineageNode>, Collection<ChannelInstance>> evaluate(
+            ChannelInstance[] inputs,
+            ChannelInstance[] outputs,
+            FlinkExecutor flinkExecutor,
+            OptimizationContext.OperatorContext operatorContext) throws Exception {
+        assert inputs.length == this.getNumInputs();
+        assert outputs.length == this.getNumOutputs();
+
+        final DataSetChannel.Instance input = (DataSetChannel.Instance) inputs[0];
+        final ArrowChannel.Instance output = (ArrowChannel.Instance) outputs[0];
+
+        final int batchSize = (int) flinkExecutor.getConfiguration().getLongProperty(
+                ArrowRecordCodec.BATCH_SIZE_PROPERTY_KEY, ArrowRecordCodec.DEFAULT_BATCH_SIZE
+        );
+        final DataSet<Record> dataSetInput = input.provideDataSet();
+        final List<byte[]> batches = dataSetInput
+                .mapPartition(new Encoder(batchSize))
+                .returns(PrimitiveArrayTypeInfo.BYTE_PRIMITIVE_ARRAY_TYPE_INFO)
+                .collect();
+        output.accept(batches, -1);
+
+        return ExecutionOperator.modelEagerExecution(inputs, outputs, operatorContext);
+    }
+
+    @Override
+    public boolean containsAction() {
+        return true;
+    }
+
+    @Override
+    public List<ChannelDescriptor> getSupportedInputChannels(int index) {
+        return Collections.singletonList(DataSetChannel.DESCRIPTOR);
+    }
+
+    @Override
+    public List<ChannelDescriptor> getSupportedOutputChannels(int index) {
+        return Collections.singletonList(ArrowChannel.DESCRIPTOR);
+    }
+
+    @Override
+    public Optional<CardinalityEstimator> createCardinalityEstimator(
+            final int outputIndex,
+            final Configuration configuration) {
+        Validate.inclusiveBetween(0, 0, outputIndex);
+        return Optional.of(new DefaultCardinalityEstimator(1d, 1, this.isSupportingBroadcastInputs(),
+                inputCards -> inputCards[0]));
+    }
+
+    @Override
+    public String getLoadProfileEstimatorConfigurationKey() {
+        return "wayang.flink.arrowsink.load";
+    }
+
+    @Override
+    public boolean isConversion() {
+        return true;
+    }
+
+    /**
+     * Encodes a partition of {@link Record}s into Arrow batches.
+     */
+    private static class Encoder implements MapPartitionFunction<Record, byte[]> {
+
+        private final int batchSize;
+
+        private Encoder(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        public void mapPartition(Iterable<Record> records, Collector<byte[]> collector) {
+            final Iterator<byte[]> batches = ArrowRecordCodec.encode(records.iterator(), this.batchSize);
+            while (batches.hasNext()) {
+                collector.collect(batches.next());
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.wayang.flink.operators;
+
+import org.apache.commons.lang3.Validate;
+import org.apache.flink.api.common.functions.FlatMapFunction;
+import org.apache.flink.api.common.typeinfo.PrimitiveArrayTypeInfo;
+import org.apache.flink.api.java.DataSet;
+import org.apache.flink.util.Collector;
+import org.apache.wayang.basic.channels.ArrowChannel;
+import org.apache.wayang.basic.channels.ArrowRecordCodec;
+import org.apache.wayang.basic.data.Record;
+import org.apache.wayang.core.api.Configuration;
+import org.apache.wayang.core.optimizer.OptimizationContext;
+import org.apache.wayang.core.optimizer.cardinality.CardinalityEstimator;
+import org.apache.wayang.core.optimizer.cardinality.DefaultCardinalityEstimator;
+import org.apache.wayang.core.plan.wayangplan.ExecutionOperator;
+import org.apache.wayang.core.plan.wayangplan.UnaryToUnaryOperator;
+import org.apache.wayang.core.platform.ChannelDescriptor;
+import org.apache.wayang.core.platform.ChannelInstance;
+import org.apache.wayang.core.platform.lineage.ExecutionLineageNode;
+import org.apache.wayang.core.types.DataSetType;
+import org.apache.wayang.core.util.Tuple;
+import org.apache.wayang.flink.channels.DataSetChannel;
+import org.apache.wayang.flink.execution.FlinkExecutor;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Converts an {@link ArrowChannel} into a {@link DataSetChannel} of {@link Record}s. The columnar batches are
+ * distributed as they are and decoded in parallel.
+ */
+public class FlinkArrowSource extends UnaryToUnaryOperator<Record, Record>
+        implements FlinkExecutionOperator {
+
+    public FlinkArrowSource() {
+        this(DataSetType.createDefault(Record.class));
+    }
+
+    public FlinkArrowSource(DataSetType<Record> type) {
+        super(type, type, false);
+    }
+
+    @Override
+    public Tuple<Collection<ExecutionLineageNode>, Collection<ChannelInstance>> evaluate(
+            ChannelInstance[] inputs,
+            ChannelInstance[] outputs,
+            FlinkExecutor flinkExecutor,
+            OptimizationContext.OperatorContext operatorContext) {
+        final ArrowChannel.Instance input = (ArrowChannel.Instance) inputs[0];
+        final DataSetChannel.Instance output = (DataSetChannel.Instance) outputs[0];
+
+        final List<byte[]> batches = input.provideBatches();
+        final DataSet<Record> dataSetOutput = flinkExecutor.fee
+                .fromCollection(batches, PrimitiveArrayTypeInfo.BYTE_PRIMITIVE_ARRAY_TYPE_INFO)
+                .rebalance()
+                .flatMap(new Decoder())
+                .returns(Record.class)
+                .setParallelism(flinkExecutor.getNumDefaultPartitions());
+        output.accept(dataSetOutput, flinkExecutor);
+
+        return ExecutionOperator.modelLazyExecution(inputs, outputs, operatorContext);
+    }
+
+    @Override
+    public boolean containsAction() {
+        return false;
+    }
+
+    @Override
+    public List<ChannelDescriptor> getSupportedInputChannels(int index) {
+        return Collections.singletonList(ArrowChannel.DESCRIPTOR);
+    }
+
+    @Override
+    public List<ChannelDescriptor> getSupportedOutputChannels(int index) {
+        return Collections.singletonList(DataSetChannel.DESCRIPTOR);
+    }
+
+    @Override
+    public Optional<CardinalityEstimator> createCardinalityEstimator(
+            final int outputIndex,
+            final Configuration configuration) {
+        Validate.inclusiveBetween(0, 0, outputIndex);
+        return Optional.of(new DefaultCardinalityEstimator(1d, 1, this.isSupportingBroadcastInputs(),
+                inputCards -> inputCards[0]));
+    }
+
+    @Override
+    public String getLoadProfileEstimatorConfigurationKey() {
+        return "wayang.flink.arrowsource.load";
+    }
+
+    @Override
+    public boolean isConversion() {
+        return true;
+    }
+
+    /**
+     * Decodes Arrow batches into {@link Record}s.
+     */
+    private static class Decoder implements FlatMapFunction<byte[], Record> {
+
+        @Override
+        public void flatMap(byte[] batch, Collector<Record> collector) {
+            for (Record record : ArrowRecordCodec.decodeBatch(batch)) {
+                collector.collect(record);
+            }
+        }
+    }
+}
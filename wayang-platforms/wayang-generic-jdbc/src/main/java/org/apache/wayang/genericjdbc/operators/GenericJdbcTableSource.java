@@ -26,9 +26,9 @@ import org.apache.wayang.core.optimizer.cardinality.CardinalityEstimate;
 import org.apache.wayang.core.optimizer.cardinality.CardinalityEstimator;
 import org.apache.wayang.core.platform.ChannelDescriptor;
 import org.apache.wayang.genericjdbc.platform.GenericJdbcPlatform;
+import org.apache.wayang.jdbc.execution.JdbcConnectionPool;
 import org.apache.wayang.jdbc.operators.JdbcTableSource;
 
-import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.List;
@@ -77,18 +77,23 @@ public class GenericJdbcTableSource extends JdbcTableSource implements GenericJd
                 );
 
                 // Establish a DB connection.
-                try (Connection connection = GenericJdbcPlatform.getInstance()
-                        .createDatabaseDescriptor(optimizationContext.getConfiguration(),jdbcName)
-                        .createJdbcConnection()) {
+                final GenericJdbcPlatform platform = GenericJdbcPlatform.getInstance();
+                try (JdbcConnectionPool.PooledConnection connection = platform
+                        .getConnectionPool(
+                                platform.createDatabaseDescriptor(optimizationContext.getConfiguration(), jdbcName),
+                                optimizationContext.getConfiguration()
+                        )
+                        .borrow()) {
 
                     // Query the table cardinality.
                     final String sql = String.format("SELECT count(*) FROM %s;", GenericJdbcTableSource.this.getTableName());
-                    final ResultSet resultSet = connection.createStatement().executeQuery(sql);
-                    if (!resultSet.next()) {
-                        throw new SQLException("No query result for \"" + sql + "\".");
+                    try (ResultSet resultSet = connection.prepareStatement(sql).executeQuery()) {
+                        if (!resultSet.next()) {
+                            throw new SQLException("No query result for \"" + sql + "\".");
+                        }
+                        long cardinality = resultSet.getLong(1);
+                        return new CardinalityEstimate(cardinality, cardinality, 1d);
                     }
-                    long cardinality = resultSet.getLong(1);
-                    return new CardinalityEstimate(cardinality, cardinality, 1d);
 
                 } catch (Exception e) {
                     LogManager.getLogger(this.getClass()).error(
@@ -18,10 +18,8 @@
 
 package org.apache.wayang.genericjdbc.operators;
 
-import org.apache.logging.log4j.LogManager;
 import org.apache.wayang.basic.data.Record;
 import org.apache.wayang.basic.types.RecordType;
-import org.apache.wayang.core.api.exception.WayangException;
 import org.apache.wayang.core.optimizer.OptimizationContext;
 import org.apache.wayang.core.optimizer.costs.LoadProfileEstimators;
 import org.apache.wayang.core.plan.wayangplan.Operator;
@@ -39,11 +37,9 @@ import org.apache.wayang.java.channels.StreamChannel;
 import org.apache.wayang.java.execution.JavaExecutor;
 import org.apache.wayang.java.operators.JavaExecutionOperator;
 import org.apache.wayang.jdbc.channels.SqlQueryChannel;
+import org.apache.wayang.jdbc.execution.JdbcConnectionPool;
+import org.apache.wayang.jdbc.operators.SqlToStreamOperator.ResultSetIterator;
 
-import java.sql.Connection;
-import java.sql.ResultSet;
-import java.sql.SQLException;
-import java.sql.Statement;
 import java.util.*;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -91,13 +87,17 @@ public class GenericSqlToStreamOperator extends UnaryToUnaryOperator<Record, Rec
         final StreamChannel.Instance output = (StreamChannel.Instance) outputs[0];
 
         GenericJdbcPlatform producerPlatform = (GenericJdbcPlatform) input.getChannel().getProducer().getPlatform();
-        final Connection connection = producerPlatform
-                .createDatabaseDescriptor(executor.getConfiguration(),input.getJdbcName())
-                .createJdbcConnection();
+        final JdbcConnectionPool.PooledConnection connection = producerPlatform
+                .getConnectionPool(
+                        producerPlatform.createDatabaseDescriptor(executor.getConfiguration(), input.getJdbcName()),
+                        executor.getConfiguration()
+                )
+                .borrow();
 
-        Iterator<Record> resultSetIterator = new ResultSetIterator(connection, input.getSqlQuery());
+        ResultSetIterator resultSetIterator = new ResultSetIterator(connection, input.getSqlQuery());
         Spliterator<Record> resultSetSpliterator = Spliterators.spliteratorUnknownSize(resultSetIterator, 0);
-        Stream<Record> resultSetStream = StreamSupport.stream(resultSetSpliterator, false);
+        Stream<Record> resultSetStream = StreamSupport.stream(resultSetSpliterator, false)
+                .onClose(resultSetIterator::close);
 
         output.accept(resultSetStream);
 
@@ -135,89 +135,6 @@ public class GenericSqlToStreamOperator extends UnaryToUnaryOperator<Record, Rec
         );
     }
 
-    /**
-     * Exposes a {@link ResultSet} as an {@link Iterator}.
-     */
-    private static class ResultSetIterator implements Iterator<Record>, AutoCloseable {
-
-        /**
-         * Keeps around the {@link ResultSet} of the SQL query.
-         */
-        private ResultSet resultSet;
-
-        /**
-         * The next {@link Record} to be delivered via {@link #next()}.
-         */
-        private Record next;
-
-        /**
-         * Creates a new instance.
-         *
-         * @param connection the JDBC connection on which to execute a SQL query
-         * @param sqlQuery   the SQL query
-         */
-        ResultSetIterator(Connection connection, String sqlQuery) {
-            try {
-                //connection.setAutoCommit(false);
-                Statement st = connection.createStatement();
-                //st.setFetchSize(100000000);
-                this.resultSet = st.executeQuery(sqlQuery);
-            } catch (SQLException e) {
-                this.close();
-                throw new WayangException("Could not execute SQL.", e);
-            }
-            this.moveToNext();
-        }
-
-        /**
-         * Moves this instance to the next {@link Record}.
-         */
-        private void moveToNext() {
-            try {
-                if (this.resultSet == null || !this.resultSet.next()) {
-                    this.next = null;
-                    this.close();
-                } else {
-                    final int recordWidth = this.resultSet.getMetaData().getColumnCount();
-                    Object[] values = new Object[recordWidth];
-                    for (int i = 0; i < recordWidth; i++) {
-                        values[i] = this.resultSet.getObject(i + 1);
-                    }
-                    this.next = new Record(values);
-                }
-            } catch (SQLException e) {
-                this.next = null;
-                this.close();
-                throw new WayangException("Exception while iterating the result set.", e);
-            }
-        }
-
-        @Override
-        public boolean hasNext() {
-            return this.next != null;
-        }
-
-        @Override
-        public Record next() {
-            Record curNext = this.next;
-            this.moveToNext();
-            return curNext;
-        }
-
-        @Override
-        public void close() {
-            if (this.resultSet != null) {
-                try {
-                    this.resultSet.close();
-                } catch (Throwable t) {
-                    LogManager.getLogger(this.getClass()).error("Could not close result set.", t);
-                } finally {
-                    this.resultSet = null;
-                }
-            }
-        }
-    }
-
     @Override
     public WayangJsonObj toJson() {
         return new WayangJsonObj().put("platform", this.jdbcPlatform.getClass().getCanonicalName());
@@ -18,14 +18,22 @@
 
 package org.apache.wayang.java.channels;
 
+import org.apache.wayang.basic.channels.ArrowChannel;
 import org.apache.wayang.basic.channels.FileChannel;
+import org.apache.wayang.basic.channels.PipeChannel;
+import org.apache.wayang.basic.channels.RecordChannelConversion;
 import org.apache.wayang.basic.data.Tuple2;
 import org.apache.wayang.core.optimizer.channels.ChannelConversion;
 import org.apache.wayang.core.optimizer.channels.DefaultChannelConversion;
 import org.apache.wayang.core.types.DataSetType;
+import org.apache.wayang.java.operators.JavaArrowSink;
+import org.apache.wayang.java.operators.JavaArrowSource;
 import org.apache.wayang.java.operators.JavaCollectOperator;
 import org.apache.wayang.java.operators.JavaObjectFileSink;
 import org.apache.wayang.java.operators.JavaObjectFileSource;
+import org.apache.wayang.java.operators.JavaPipeSink;
+import org.apache.wayang.java.operators.JavaPipeSource;
+import org.apache.wayang.java.operators.JavaSegmentFileSink;
 import org.apache.wayang.java.operators.JavaTsvFileSink;
 import org.apache.wayang.java.operators.JavaTsvFileSource;
 import org.apache.wayang.java.platform.JavaPlatform;
@@ -82,6 +90,54 @@ public class ChannelConversions {
             () -> new JavaObjectFileSource<>(DataSetType.createDefault(Void.class))
     );
 
+    public static final ChannelConversion STREAM_TO_ARROW = new RecordChannelConversion(
+            StreamChannel.DESCRIPTOR,
+            ArrowChannel.DESCRIPTOR,
+            JavaArrowSink::new
+    );
+
+    public static final ChannelConversion COLLECTION_TO_ARROW = new RecordChannelConversion(
+            CollectionChannel.DESCRIPTOR,
+            ArrowChannel.DESCRIPTOR,
+            JavaArrowSink::new
+    );
+
+    public static final ChannelConversion ARROW_TO_STREAM = new RecordChannelConversion(
+            ArrowChannel.DESCRIPTOR,
+            StreamChannel.DESCRIPTOR,
+            JavaArrowSource::new
+    );
+
+    public static final ChannelConversion STREAM_TO_LOCAL_SEGMENT_FILE = new DefaultChannelConversion(
+            StreamChannel.DESCRIPTOR,
+            FileChannel.LOCAL_SEGMENT_FILE_DESCRIPTOR,
+            () -> new JavaSegmentFileSink<>(DataSetType.createDefault(Void.class))
+    );
+
+    public static final ChannelConversion COLLECTION_TO_LOCAL_SEGMENT_FILE = new DefaultChannelConversion(
+            CollectionChannel.DESCRIPTOR,
+            FileChannel.LOCAL_SEGMENT_FILE_DESCRIPTOR,
+            () -> new JavaSegmentFileSink<>(DataSetType.createDefault(Void.class))
+    );
+
+    public static final ChannelConversion STREAM_TO_PIPE = new DefaultChannelConversion(
+            StreamChannel.DESCRIPTOR,
+            PipeChannel.DESCRIPTOR,
+            () -> new JavaPipeSink<>(DataSetType.createDefault(Void.class))
+    );
+
+    public static final ChannelConversion COLLECTION_TO_PIPE = new DefaultChannelConversion(
+            CollectionChannel.DESCRIPTOR,
+            PipeChannel.DESCRIPTOR,
+            () -> new JavaPipeSink<>(DataSetType.createDefault(Void.class))
+    );
+
+    public static final ChannelConversion PIPE_TO_STREAM = new DefaultChannelConversion(
+            PipeChannel.DESCRIPTOR,
+            StreamChannel.DESCRIPTOR,
+            () -> new JavaPipeSource<>(DataSetType.createDefault(Void.class))
+    );
+
     public static Collection<ChannelConversion> ALL = Arrays.asList(
             STREAM_TO_COLLECTION,
             STREAM_TO_HDFS_OBJECT_FILE,
@@ -89,6 +145,14 @@ public class ChannelConversions {
             HDFS_OBJECT_FILE_TO_STREAM,
 //            HDFS_TSV_TO_STREAM,
             STREAM_TO_HDFS_TSV,
-            COLLECTION_TO_HDFS_TSV
+            COLLECTION_TO_HDFS_TSV,
+            STREAM_TO_ARROW,
+            COLLECTION_TO_ARROW,
+            ARROW_TO_STREAM,
+            STREAM_TO_LOCAL_SEGMENT_FILE,
+            COLLECTION_TO_LOCAL_SEGMENT_FILE,
+            STREAM_TO_PIPE,
+            COLLECTION_TO_PIPE,
+            PIPE_TO_STREAM
     );
 }
@@ -25,6 +25,7 @@ import org.apache.wayang.core.plan.wayangplan.OutputSlot;
 import org.apache.wayang.core.platform.AbstractChannelInstance;
 import org.apache.wayang.core.platform.ChannelDescriptor;
 import org.apache.wayang.core.platform.Executor;
+import org.apache.wayang.java.execution.FusedPipeline;
 import org.apache.wayang.java.operators.JavaExecutionOperator;
 
 import java.util.Collection;
@@ -112,6 +113,11 @@ public class StreamChannel extends Channel {
 
         private Stream<?> stream;
 
+        /**
+         * Operations that have been fused but not yet applied to a {@link Stream} or {@code null}.
+         */
+        private FusedPipeline pipeline;
+
         // In principle, we could use Stream#onClose() to make sure that we really counted the cardinality (so as to
         // detect, when the cardinality is 0 because the #stream has not been fully executed for whatever reason).
         // However, this would require to call Stream#close() on all methods.
@@ -133,8 +139,23 @@ public class StreamChannel extends Channel {
             }
         }
 
+        /**
+         * Accept a {@link FusedPipeline}, which is applied only when its {@link Stream} is requested. Until then,
+         * consumers may fuse further operations into it via {@link #providePipeline()}.
+         */
+        public void accept(FusedPipeline pipeline) {
+            assert this.stream == null && this.pipeline == null;
+            this.pipeline = pipeline;
+            if (this.isMarkedForInstrumentation()) {
+                this.pipeline = this.pipeline.then(FusedPipeline.filter(dataQuantum -> {
+                    this.cardinality += 1;
+                    return true;
+                }));
+            }
+        }
+
         public void accept(Collection<?> collection) {
-            assert this.stream == null;
+            assert this.stream == null && this.pipeline == null;
             this.stream = collection.stream();
             this.setMeasuredCardinality(collection.size());
         }
@@ -142,9 +163,26 @@ public class StreamChannel extends Channel {
         @Override
         @SuppressWarnings("unchecked")
         public <T> Stream<T> provideStream() {
+            if (this.pipeline != null) {
+                this.stream = this.pipeline.toStream();
+                this.pipeline = null;
+            }
             return (Stream<T>) this.stream;
         }
 
+        /**
+         * Provide the producer's result as a {@link FusedPipeline}, so that the consumer can fuse its operations into
+         * it. The result can be provided only once in this way.
+         *
+         * @return the producer's result
+         */
+        public FusedPipeline providePipeline() {
+            final FusedPipeline pipeline = this.pipeline == null ? FusedPipeline.of(this.stream) : this.pipeline;
+            this.pipeline = null;
+            this.stream = null;
+            return pipeline;
+        }
+
         @Override
         public Channel getChannel() {
             return StreamChannel.this;
@@ -158,6 +196,7 @@ public class StreamChannel extends Channel {
         @Override
         protected void doDispose() throws WayangException {
             this.stream = null;
+            this.pipeline = null;
         }
     }
 
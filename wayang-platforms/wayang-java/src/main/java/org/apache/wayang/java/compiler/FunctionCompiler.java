@@ -24,6 +24,7 @@ import org.apache.wayang.core.function.MapPartitionsDescriptor;
 import org.apache.wayang.core.function.PredicateDescriptor;
 import org.apache.wayang.core.function.ReduceDescriptor;
 import org.apache.wayang.core.function.TransformationDescriptor;
+import org.apache.wayang.core.plan.wayangplan.ExecutionOperator;
 
 import java.util.function.BinaryOperator;
 import java.util.function.Function;
@@ -36,8 +37,21 @@ public class FunctionCompiler {
 
     private final Configuration configuration;
 
+    /**
+     * Profiles the compiled functions or is {@code null} if profiling is not enabled.
+     */
+    private final UdfProfiler profiler;
+
+    /**
+     * The {@link ExecutionOperator} whose functions are currently being compiled.
+     */
+    private ExecutionOperator currentOperator;
+
     public FunctionCompiler(Configuration configuration) {
         this.configuration = configuration;
+        this.profiler = configuration.getBooleanProperty(UdfProfiler.ENABLED_PROPERTY_KEY, false) ?
+                new UdfProfiler((int) configuration.getLongProperty(UdfProfiler.SAMPLING_PROPERTY_KEY, 1024)) :
+                null;
     }
 
     /**
@@ -50,7 +64,8 @@ public class FunctionCompiler {
      */
     public <I, O> Function<I, O> compile(TransformationDescriptor<I, O> descriptor) {
         // This is a dummy method but shows the intention of having something compilable in the descriptors.
-        return descriptor.getJavaImplementation();
+        final Function<I, O> function = descriptor.getJavaImplementation();
+        return this.profiler == null ? function : this.profiler.wrap(this.currentOperator, descriptor, function);
     }
 
     /**
@@ -63,7 +78,8 @@ public class FunctionCompiler {
      */
     public <I, O> Function<Iterable<I>, Iterable<O>> compile(MapPartitionsDescriptor<I, O> descriptor) {
         // This is a dummy method but shows the intention of having something compilable in the descriptors.
-        return descriptor.getJavaImplementation();
+        final Function<Iterable<I>, Iterable<O>> function = descriptor.getJavaImplementation();
+        return this.profiler == null ? function : this.profiler.wrap(this.currentOperator, descriptor, function);
     }
 
     /**
@@ -75,7 +91,8 @@ public class FunctionCompiler {
      * @return a compiled function
      */
     public <I, O> Function<I, Iterable<O>> compile(FlatMapDescriptor<I, O> descriptor) {
-        return descriptor.getJavaImplementation();
+        final Function<I, Iterable<O>> function = descriptor.getJavaImplementation();
+        return this.profiler == null ? function : this.profiler.wrap(this.currentOperator, descriptor, function);
     }
 
     /**
@@ -87,11 +104,32 @@ public class FunctionCompiler {
      */
     public <Type> BinaryOperator<Type> compile(ReduceDescriptor<Type> descriptor) {
         // This is a dummy method but shows the intention of having something compilable in the descriptors.
-        return descriptor.getJavaImplementation();
+        final BinaryOperator<Type> function = descriptor.getJavaImplementation();
+        return this.profiler == null ? function : this.profiler.wrap(this.currentOperator, descriptor, function);
     }
 
     public <Type> Predicate<Type> compile(PredicateDescriptor<Type> predicateDescriptor) {
-        return predicateDescriptor.getJavaImplementation();
+        final Predicate<Type> predicate = predicateDescriptor.getJavaImplementation();
+        return this.profiler == null ? predicate : this.profiler.wrap(this.currentOperator, predicateDescriptor, predicate);
+    }
+
+    /**
+     * Declare the {@link ExecutionOperator} whose functions are about to be compiled, so as to attribute their
+     * profiles.
+     *
+     * @param operator the {@link ExecutionOperator} or {@code null}
+     */
+    public void setCurrentOperator(ExecutionOperator operator) {
+        this.currentOperator = operator;
+    }
+
+    /**
+     * Provide the {@link UdfProfiler} of this instance.
+     *
+     * @return the {@link UdfProfiler} or {@code null} if profiling is not enabled
+     */
+    public UdfProfiler getProfiler() {
+        return this.profiler;
     }
 
     public Configuration getConfiguration() {
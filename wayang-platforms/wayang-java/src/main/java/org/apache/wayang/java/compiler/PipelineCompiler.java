@@ -0,0 +1,171 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.wayang.java.compiler;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.wayang.java.execution.FusedPipeline;
+import org.codehaus.commons.compiler.CompileException;
+import org.codehaus.janino.ClassBodyEvaluator;
+
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generates a {@link FusedPipeline.Chain} for a chain of {@link FusedPipeline.Step}s and compiles it with Janino. The
+ * generated loop applies the functions of the steps one after another without any intermediate {@link java.util.stream.Stream}
+ * stages. Each generated class has call sites of its own for the functions, so that they remain monomorphic
+ * (and can be inlined) even if many different chains are executed in the same JVM.
+ * <p>Compiled classes are cached by the kinds of the steps and the classes of their functions, so that repeatedly
+ * executed plans are compiled only once.</p>
+ */
+public class PipelineCompiler {
+
+    private static final Logger logger = LogManager.getLogger(PipelineCompiler.class);
+
+    /**
+     * Maximum number of compiled classes to cache.
+     */
+    private static final int MAX_CACHED_CLASSES = 256;
+
+    /**
+     * Caches the constructors of compiled classes; a {@code null} value signals that the compilation failed.
+     */
+    private static final Map<List<Object>, Constructor<?>> compiledClasses =
+            new LinkedHashMap<List<Object>, Constructor<?>>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<List<Object>, Constructor<?>> eldest) {
+                    return this.size() > MAX_CACHED_CLASSES;
+                }
+            };
+
+    private PipelineCompiler() {
+    }
+
+    /**
+     * Compile a chain of {@link FusedPipeline.Step}s.
+     *
+     * @param steps the {@link FusedPipeline.Step}s
+     * @return the compiled chain or {@code null} if it could not be compiled
+     */
+    public static FusedPipeline.Chain compile(List<FusedPipeline.Step> steps) {
+        final List<Object> key = new ArrayList<>(2 * steps.size());
+        final Object[] functions = new Object[steps.size()];
+        for (int i = 0; i < steps.size(); i++) {
+            key.add(steps.get(i).getKind());
+            key.add(steps.get(i).getFunction().getClass());
+            functions[i] = steps.get(i).getFunction();
+        }
+
+        final Constructor<?> constructor;
+        synchronized (compiledClasses) {
+            if (compiledClasses.containsKey(key)) {
+                constructor = compiledClasses.get(key);
+            } else {
+                constructor = compileClass(generate(steps));
+                compiledClasses.put(key, constructor);
+            }
+        }
+        if (constructor == null) return null;
+        try {
+            return (FusedPipeline.Chain) constructor.newInstance((Object) functions);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not instantiate " + constructor.getDeclaringClass(), e);
+        }
+    }
+
+    /**
+     * Generate the body of a class that implements {@link FusedPipeline.Chain} for the given {@code steps}.
+     */
+    static String generate(List<FusedPipeline.Step> steps) {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < steps.size(); i++) {
+            sb.append("private final ").append(getFunctionType(steps.get(i).getKind())).append(" f").append(i).append(";\n");
+        }
+        sb.append("\npublic FusedChain(Object[] functions) {\n");
+        for (int i = 0; i < steps.size(); i++) {
+            sb.append("    this.f").append(i).append(" = (").append(getFunctionType(steps.get(i).getKind()))
+                    .append(") functions[").append(i).append("];\n");
+        }
+        sb.append("}\n\npublic void accept(Object v, Object downstream) {\n");
+        sb.append("    final Consumer out = (Consumer) downstream;\n");
+
+        String indent = "    ";
+        String value = "v";
+        int numBlocks = 0;
+        for (int i = 0; i < steps.size(); i++) {
+            final String next = "v" + i;
+            switch (steps.get(i).getKind()) {
+                case MAP:
+                    sb.append(indent).append("final Object ").append(next).append(" = this.f").append(i)
+                            .append(".apply(").append(value).append(");\n");
+                    break;
+                case FILTER:
+                    sb.append(indent).append("if (this.f").append(i).append(".test(").append(value).append(")) {\n");
+                    sb.append(indent).append("    final Object ").append(next).append(" = ").append(value).append(";\n");
+                    indent += "    ";
+                    numBlocks++;
+                    break;
+                case FLAT_MAP:
+                    sb.append(indent).append("final Iterator it").append(i).append(" = ((Iterable) this.f").append(i)
+                            .append(".apply(").append(value).append(")).iterator();\n");
+                    sb.append(indent).append("while (it").append(i).append(".hasNext()) {\n");
+                    sb.append(indent).append("    final Object ").append(next).append(" = it").append(i).append(".next();\n");
+                    indent += "    ";
+                    numBlocks++;
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown kind: " + steps.get(i).getKind());
+            }
+            value = next;
+        }
+        sb.append(indent).append("out.accept(").append(value).append(");\n");
+        for (int i = 0; i < numBlocks; i++) {
+            indent = indent.substring(4);
+            sb.append(indent).append("}\n");
+        }
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    private static String getFunctionType(FusedPipeline.Kind kind) {
+        return kind == FusedPipeline.Kind.FILTER ? "Predicate" : "Function";
+    }
+
+    private static Constructor<?> compileClass(String classBody) {
+        final ClassBodyEvaluator evaluator = new ClassBodyEvaluator();
+        evaluator.setParentClassLoader(PipelineCompiler.class.getClassLoader());
+        evaluator.setClassName("FusedChain");
+        evaluator.setDefaultImports(
+                "java.util.Iterator", "java.util.function.Consumer", "java.util.function.Function",
+                "java.util.function.Predicate"
+        );
+        evaluator.setImplementedInterfaces(new Class[]{FusedPipeline.Chain.class});
+        try {
+            evaluator.cook(classBody);
+            return evaluator.getClazz().getConstructor(Object[].class);
+        } catch (CompileException | NoSuchMethodException e) {
+            logger.warn("Could not compile fused pipeline; applying its steps one by one instead:\n{}", classBody, e);
+            return null;
+        }
+    }
+}
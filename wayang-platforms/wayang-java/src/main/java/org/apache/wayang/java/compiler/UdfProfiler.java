@@ -0,0 +1,203 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.wayang.java.compiler;
+
+import org.apache.wayang.core.function.FunctionDescriptor;
+import org.apache.wayang.core.plan.wayangplan.ExecutionOperator;
+import org.apache.wayang.core.profiling.UdfProfileMeasurement;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Wraps compiled UDFs to profile their wall time, CPU time, and allocated bytes. To keep the overhead low, only a
+ * random sample of the invocations is measured and the overall figures are extrapolated from it.
+ * <p>Note that UDFs that return lazy results, e.g., {@link Iterable}s of flat map operators, are measured only for
+ * the time to create those results.</p>
+ */
+public class UdfProfiler {
+
+    public static final String ENABLED_PROPERTY_KEY = "wayang.java.instrumentation.udf";
+
+    public static final String SAMPLING_PROPERTY_KEY = "wayang.java.instrumentation.udf.sampling";
+
+    /**
+     * Every {@code samplingInterval}-th invocation is measured (on average).
+     */
+    private final int samplingInterval;
+
+    private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+
+    /**
+     * Provides per-thread allocation counters if the JVM supports them; otherwise {@code null}.
+     */
+    private final com.sun.management.ThreadMXBean allocationMXBean;
+
+    private final boolean isCpuTimeEnabled;
+
+    /**
+     * Collects the {@link UdfStatistics} per {@link FunctionDescriptor}.
+     */
+    private final Map<FunctionDescriptor, UdfStatistics> statistics = new ConcurrentHashMap<>();
+
+    public UdfProfiler(int samplingInterval) {
+        if (samplingInterval < 1) {
+            throw new IllegalArgumentException(String.format("Illegal sampling interval: %d.", samplingInterval));
+        }
+        this.samplingInterval = samplingInterval;
+        this.isCpuTimeEnabled = this.threadMXBean.isCurrentThreadCpuTimeSupported()
+                && this.threadMXBean.isThreadCpuTimeEnabled();
+        com.sun.management.ThreadMXBean allocationMXBean = null;
+        if (this.threadMXBean instanceof com.sun.management.ThreadMXBean) {
+            allocationMXBean = (com.sun.management.ThreadMXBean) this.threadMXBean;
+            if (!allocationMXBean.isThreadAllocatedMemorySupported() || !allocationMXBean.isThreadAllocatedMemoryEnabled()) {
+                allocationMXBean = null;
+            }
+        }
+        this.allocationMXBean = allocationMXBean;
+    }
+
+    public <I, O> Function<I, O> wrap(ExecutionOperator operator, FunctionDescriptor descriptor, Function<I, O> function) {
+        final UdfStatistics udfStatistics = this.getStatistics(operator, descriptor);
+        return input -> udfStatistics.shouldSample() ?
+                this.measure(udfStatistics, () -> function.apply(input)) :
+                function.apply(input);
+    }
+
+    public <T> BinaryOperator<T> wrap(ExecutionOperator operator, FunctionDescriptor descriptor, BinaryOperator<T> function) {
+        final UdfStatistics udfStatistics = this.getStatistics(operator, descriptor);
+        return (input0, input1) -> udfStatistics.shouldSample() ?
+                this.measure(udfStatistics, () -> function.apply(input0, input1)) :
+                function.apply(input0, input1);
+    }
+
+    public <T> Predicate<T> wrap(ExecutionOperator operator, FunctionDescriptor descriptor, Predicate<T> predicate) {
+        final UdfStatistics udfStatistics = this.getStatistics(operator, descriptor);
+        return input -> udfStatistics.shouldSample() ?
+                this.measure(udfStatistics, () -> predicate.test(input)) :
+                predicate.test(input);
+    }
+
+    private UdfStatistics getStatistics(ExecutionOperator operator, FunctionDescriptor descriptor) {
+        return this.statistics.computeIfAbsent(
+                descriptor,
+                key -> new UdfStatistics(operator == null ? "(unknown)" : operator.toString(), descriptor.toString())
+        );
+    }
+
+    private <T> T measure(UdfStatistics udfStatistics, Supplier<T> invocation) {
+        final long startAllocatedBytes = this.allocationMXBean == null ? 0L : this.allocationMXBean.getCurrentThreadAllocatedBytes();
+        final long startCpuNanos = this.isCpuTimeEnabled ? this.threadMXBean.getCurrentThreadCpuTime() : 0L;
+        final long startWallNanos = System.nanoTime();
+        try {
+            return invocation.get();
+        } finally {
+            udfStatistics.sampledWallNanos.add(System.nanoTime() - startWallNanos);
+            if (this.isCpuTimeEnabled) {
+                udfStatistics.sampledCpuNanos.add(this.threadMXBean.getCurrentThreadCpuTime() - startCpuNanos);
+            }
+            if (this.allocationMXBean != null) {
+                udfStatistics.sampledAllocatedBytes.add(this.allocationMXBean.getCurrentThreadAllocatedBytes() - startAllocatedBytes);
+            }
+            udfStatistics.sampledInvocations.increment();
+        }
+    }
+
+    /**
+     * Provides the {@link UdfProfileMeasurement}s for all profiled UDFs.
+     *
+     * @return the {@link UdfProfileMeasurement}s
+     */
+    public Collection<UdfProfileMeasurement> toMeasurements() {
+        Collection<UdfProfileMeasurement> measurements = new ArrayList<>(this.statistics.size());
+        int id = 0;
+        for (UdfStatistics udfStatistics : this.statistics.values()) {
+            measurements.add(udfStatistics.toMeasurement(String.format("udf-profile-%d", id++)));
+        }
+        return measurements;
+    }
+
+    /**
+     * Clears all collected statistics.
+     */
+    public void reset() {
+        this.statistics.clear();
+    }
+
+    /**
+     * Collects the measurements for a single UDF.
+     */
+    private class UdfStatistics {
+
+        private final String operator, udf;
+
+        private final LongAdder invocations = new LongAdder(), sampledInvocations = new LongAdder(),
+                sampledWallNanos = new LongAdder(), sampledCpuNanos = new LongAdder(),
+                sampledAllocatedBytes = new LongAdder();
+
+        private UdfStatistics(String operator, String udf) {
+            this.operator = operator;
+            this.udf = udf;
+        }
+
+        /**
+         * Registers an invocation and decides whether it should be measured.
+         *
+         * @return whether to measure the invocation
+         */
+        private boolean shouldSample() {
+            this.invocations.increment();
+            return UdfProfiler.this.samplingInterval == 1
+                    || ThreadLocalRandom.current().nextInt(UdfProfiler.this.samplingInterval) == 0;
+        }
+
+        private UdfProfileMeasurement toMeasurement(String id) {
+            final long invocations = this.invocations.sum(), sampledInvocations = this.sampledInvocations.sum();
+            return new UdfProfileMeasurement(
+                    id,
+                    this.operator,
+                    this.udf,
+                    invocations,
+                    sampledInvocations,
+                    this.extrapolate(this.sampledWallNanos.sum(), invocations, sampledInvocations),
+                    UdfProfiler.this.isCpuTimeEnabled ?
+                            this.extrapolate(this.sampledCpuNanos.sum(), invocations, sampledInvocations) :
+                            -1L,
+                    UdfProfiler.this.allocationMXBean != null ?
+                            this.extrapolate(this.sampledAllocatedBytes.sum(), invocations, sampledInvocations) :
+                            -1L
+            );
+        }
+
+        private long extrapolate(long sampledValue, long invocations, long sampledInvocations) {
+            if (sampledInvocations == 0) return 0L;
+            return Math.round(sampledValue * (invocations / (double) sampledInvocations));
+        }
+    }
+}
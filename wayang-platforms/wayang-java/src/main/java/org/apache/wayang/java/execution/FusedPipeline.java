@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.wayang.java.execution;
+
+import org.apache.wayang.java.compiler.PipelineCompiler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A {@link Stream} along with a linear chain of stateless operations (maps, filters, and flat maps) that have not yet
+ * been applied to it. When the chain is finally turned into a {@link Stream} via {@link #toStream()}, it is applied
+ * as a single fused loop that the {@link PipelineCompiler} generates for the chain, rather than as one {@link Stream}
+ * stage per operation.
+ */
+public class FusedPipeline {
+
+    /**
+     * Kinds of operations that can be fused.
+     */
+    public enum Kind {
+        MAP, FILTER, FLAT_MAP
+    }
+
+    /**
+     * An operation of a {@link FusedPipeline}.
+     */
+    public static class Step {
+
+        private final Kind kind;
+
+        private final Object function;
+
+        private Step(Kind kind, Object function) {
+            this.kind = kind;
+            this.function = function;
+        }
+
+        public Kind getKind() {
+            return this.kind;
+        }
+
+        public Object getFunction() {
+            return this.function;
+        }
+
+        /**
+         * Apply this instance to a {@link Stream} as a {@link Stream} stage of its own.
+         */
+        @SuppressWarnings("unchecked")
+        Stream<Object> applyTo(Stream<Object> stream) {
+            switch (this.kind) {
+                case MAP:
+                    return stream.map((Function<Object, Object>) this.function);
+                case FILTER:
+                    return stream.filter((Predicate<Object>) this.function);
+                case FLAT_MAP:
+                    final Function<Object, Iterable<Object>> flatmapFunction = (Function<Object, Iterable<Object>>) this.function;
+                    return stream.flatMap(dataQuantum ->
+                            StreamSupport.stream(
+                                    Spliterators.spliteratorUnknownSize(
+                                            flatmapFunction.apply(dataQuantum).iterator(),
+                                            Spliterator.ORDERED),
+                                    false
+                            )
+                    );
+                default:
+                    throw new IllegalStateException("Unknown kind: " + this.kind);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return this.kind.toString();
+        }
+    }
+
+    /**
+     * Fused loop over a chain of {@link Step}s: it applies the chain to a data quantum and passes on the resulting data
+     * quanta to a {@link Consumer}.
+     */
+    public interface Chain extends BiConsumer<Object, Consumer<Object>> {
+    }
+
+    public static <I, O> Step map(Function<I, O> function) {
+        return new Step(Kind.MAP, function);
+    }
+
+    public static <T> Step filter(Predicate<T> predicate) {
+        return new Step(Kind.FILTER, predicate);
+    }
+
+    public static <I, O> Step flatMap(Function<I, Iterable<O>> function) {
+        return new Step(Kind.FLAT_MAP, function);
+    }
+
+    private final Stream<Object> source;
+
+    private final List<Step> steps;
+
+    private FusedPipeline(Stream<Object> source, List<Step> steps) {
+        this.source = source;
+        this.steps = steps;
+    }
+
+    /**
+     * Create a new instance without any {@link Step}s.
+     */
+    @SuppressWarnings("unchecked")
+    public static FusedPipeline of(Stream<?> source) {
+        return new FusedPipeline((Stream<Object>) source, Collections.emptyList());
+    }
+
+    /**
+     * Append a {@link Step}.
+     *
+     * @return a new instance
+     */
+    public FusedPipeline then(Step step) {
+        final List<Step> steps = new ArrayList<>(this.steps.size() + 1);
+        steps.addAll(this.steps);
+        steps.add(step);
+        return new FusedPipeline(this.source, steps);
+    }
+
+    public List<Step> getSteps() {
+        return Collections.unmodifiableList(this.steps);
+    }
+
+    /**
+     * Apply the {@link Step}s to the source {@link Stream}.
+     *
+     * @return the resulting {@link Stream}
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Stream<T> toStream() {
+        if (this.steps.size() > 1) {
+            final Chain chain = PipelineCompiler.compile(this.steps);
+            if (chain != null) return (Stream<T>) this.source.mapMulti(chain);
+        }
+        Stream<Object> stream = this.source;
+        for (Step step : this.steps) {
+            stream = step.applyTo(stream);
+        }
+        return (Stream<T>) stream;
+    }
+}
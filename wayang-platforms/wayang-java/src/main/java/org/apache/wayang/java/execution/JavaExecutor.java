@@ -18,6 +18,7 @@
 
 package org.apache.wayang.java.execution;
 
+import org.apache.wayang.commons.util.profiledb.model.Experiment;
 import org.apache.wayang.core.api.Job;
 import org.apache.wayang.core.api.exception.WayangException;
 import org.apache.wayang.core.function.ExtendedFunction;
@@ -29,9 +30,13 @@ import org.apache.wayang.core.platform.Executor;
 import org.apache.wayang.core.platform.PartialExecution;
 import org.apache.wayang.core.platform.PushExecutorTemplate;
 import org.apache.wayang.core.platform.lineage.ExecutionLineageNode;
+import org.apache.wayang.core.profiling.UdfProfileMeasurement;
 import org.apache.wayang.core.util.Formats;
 import org.apache.wayang.core.util.Tuple;
+import org.apache.wayang.java.channels.JavaChannelInstance;
+import org.apache.wayang.java.channels.StreamChannel;
 import org.apache.wayang.java.compiler.FunctionCompiler;
+import org.apache.wayang.java.compiler.UdfProfiler;
 import org.apache.wayang.java.operators.JavaExecutionOperator;
 import org.apache.wayang.java.platform.JavaPlatform;
 
@@ -46,12 +51,20 @@ public class JavaExecutor extends PushExecutorTemplate {
 
     private final JavaPlatform platform;
 
+    /**
+     * Whether to fuse chains of stateless operators into single loops.
+     */
+    public static final String FUSION_PROPERTY_KEY = "wayang.java.fusion";
+
     private final FunctionCompiler compiler;
 
+    private final boolean isFusion;
+
     public JavaExecutor(JavaPlatform javaPlatform, Job job) {
         super(job);
         this.platform = javaPlatform;
         this.compiler = new FunctionCompiler(job.getConfiguration());
+        this.isFusion = job.getConfiguration().getBooleanProperty(FUSION_PROPERTY_KEY, true);
     }
 
     @Override
@@ -77,6 +90,7 @@ public class JavaExecutor extends PushExecutorTemplate {
         // TODO: Use proper progress estimator.
         this.job.reportProgress(task.getOperator().getName(), 50);
         long startTime = System.currentTimeMillis();
+        this.compiler.setCurrentOperator(task.getOperator());
         try {
             final Tuple<Collection<ExecutionLineageNode>, Collection<ChannelInstance>> results =
                     cast(task.getOperator()).evaluate(
@@ -90,6 +104,8 @@ public class JavaExecutor extends PushExecutorTemplate {
             producedChannelInstances = results.getField1();
         } catch (Exception e) {
             throw new WayangException(String.format("Executing %s failed.", task), e);
+        } finally {
+            this.compiler.setCurrentOperator(null);
         }
         long endTime = System.currentTimeMillis();
         long executionDuration = endTime - startTime;
@@ -115,6 +131,33 @@ public class JavaExecutor extends PushExecutorTemplate {
     }
 
 
+    @Override
+    public void dispose() {
+        super.dispose();
+        this.publishUdfProfiles();
+    }
+
+    /**
+     * Logs the profiles of the {@link UdfProfiler} and adds them to the {@link Experiment} of the {@link #job}.
+     */
+    private void publishUdfProfiles() {
+        final UdfProfiler profiler = this.compiler.getProfiler();
+        if (profiler == null) return;
+        for (UdfProfileMeasurement measurement : profiler.toMeasurements()) {
+            this.logger.info(
+                    "Profiled {} of {}: {} invocations ({} sampled), ~{} wall time, ~{} CPU time, ~{} bytes allocated.",
+                    measurement.getUdf(), measurement.getOperator(),
+                    measurement.getInvocations(), measurement.getSampledInvocations(),
+                    Formats.formatDuration(measurement.getWallNanos() / 1_000_000L, true),
+                    measurement.getCpuNanos() < 0 ? "n/a" : Formats.formatDuration(measurement.getCpuNanos() / 1_000_000L, true),
+                    measurement.getAllocatedBytes() < 0 ? "n/a" : measurement.getAllocatedBytes()
+            );
+            final Experiment experiment = this.job.getExperiment();
+            if (experiment != null) experiment.addMeasurement(measurement);
+        }
+        profiler.reset();
+    }
+
     private static JavaExecutionOperator cast(ExecutionOperator executionOperator) {
         return (JavaExecutionOperator) executionOperator;
     }
@@ -143,6 +186,27 @@ public class JavaExecutor extends PushExecutorTemplate {
         }
     }
 
+    /**
+     * Apply a stateless operation to the data quanta of a {@link ChannelInstance}. If fusion is enabled, the operation
+     * is fused with the preceding ones, so that linear chains of stateless operators in an
+     * {@link org.apache.wayang.core.plan.executionplan.ExecutionStage} are executed as a single loop (see
+     * {@link FusedPipeline}).
+     *
+     * @param input  provides the data quanta
+     * @param output a {@link StreamChannel.Instance} that accepts the transformed data quanta
+     * @param step   the operation
+     */
+    public void pipe(ChannelInstance input, ChannelInstance output, FusedPipeline.Step step) {
+        final StreamChannel.Instance streamOutput = (StreamChannel.Instance) output;
+        if (!this.isFusion) {
+            streamOutput.accept(step.applyTo(((JavaChannelInstance) input).provideStream()));
+        } else if (input instanceof StreamChannel.Instance) {
+            streamOutput.accept(((StreamChannel.Instance) input).providePipeline().then(step));
+        } else {
+            streamOutput.accept(FusedPipeline.of(((JavaChannelInstance) input).provideStream()).then(step));
+        }
+    }
+
     public FunctionCompiler getCompiler() {
         return this.compiler;
     }
@@ -0,0 +1,330 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.wayang.java.io;
+
+import org.apache.wayang.core.api.Configuration;
+import org.apache.wayang.core.util.fs.CompressionCodec;
+import org.apache.wayang.core.util.fs.FileSystem;
+import org.apache.wayang.core.util.fs.FileSystems;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Writes data quanta as lines of text files. The data quanta are formatted, encoded, and compressed in chunks,
+ * optionally on several threads, while the chunks are still written in order. As each chunk is compressed
+ * independently, a compressed file consists of several concatenated gzip members, zstd frames, or bzip2 streams, which
+ * the common decompressors (and {@link CompressionCodec#decompress(java.io.InputStream)}) read transparently.
+ * <p>Local files are written via a {@link FileChannel} with a large direct buffer. Optionally, collections are
+ * written as a directory of part files, one per thread, as is common for distributed data processing systems.</p>
+ */
+public class ParallelTextFileWriter {
+
+    public static final String PARALLELISM_PROPERTY_KEY = "wayang.java.textfilesink.parallelism";
+
+    public static final String PARTS_PROPERTY_KEY = "wayang.java.textfilesink.parts";
+
+    public static final String COMPRESSION_PROPERTY_KEY = "wayang.java.textfilesink.compression";
+
+    /**
+     * Number of data quanta that are formatted at once.
+     */
+    private static final int CHUNK_SIZE = 8192;
+
+    /**
+     * Size of the direct buffer to write local files.
+     */
+    private static final int WRITE_BUFFER_SIZE = 4 * 1024 * 1024;
+
+    /**
+     * Marks a directory of part files as complete.
+     */
+    static final String SUCCESS_FILE_NAME = "_SUCCESS";
+
+    private final int parallelism;
+
+    private final int numParts;
+
+    /**
+     * The {@link CompressionCodec} to apply or {@code null} to determine it from the file extension.
+     */
+    private final CompressionCodec compressionCodec;
+
+    public ParallelTextFileWriter(int parallelism, int numParts, CompressionCodec compressionCodec) {
+        if (parallelism < 1) throw new IllegalArgumentException(String.format("Illegal parallelism: %d.", parallelism));
+        if (numParts < 1) throw new IllegalArgumentException(String.format("Illegal number of parts: %d.", numParts));
+        this.parallelism = parallelism;
+        this.numParts = numParts;
+        this.compressionCodec = compressionCodec;
+    }
+
+    /**
+     * Creates a new instance as specified in the {@code configuration}.
+     *
+     * @param configuration provides the parallelism, number of parts, and compression
+     * @return the new instance
+     */
+    public static ParallelTextFileWriter create(Configuration configuration) {
+        final String compression = configuration.getStringProperty(COMPRESSION_PROPERTY_KEY, "auto");
+        return new ParallelTextFileWriter(
+                (int) configuration.getLongProperty(PARALLELISM_PROPERTY_KEY, 1),
+                (int) configuration.getLongProperty(PARTS_PROPERTY_KEY, 1),
+                "auto".equalsIgnoreCase(compression) ?
+                        null :
+                        CompressionCodec.valueOf(compression.toUpperCase(Locale.ROOT))
+        );
+    }
+
+    /**
+     * Write data quanta to a single file. The {@code stream} is consumed on the calling thread, but the
+     * {@code formatter} is applied concurrently.
+     *
+     * @param stream    provides the data quanta
+     * @param formatter formats each data quantum as a line; must be thread-safe
+     * @param url       URL of the file
+     */
+    public <T> void write(Stream<T> stream, Function<T, String> formatter, String url) throws IOException {
+        final CompressionCodec codec = this.compressionCodec == null ? CompressionCodec.forFile(url) : this.compressionCodec;
+        try (ChunkWriter chunkWriter = openChunkWriter(url)) {
+            this.writeChunks(stream.iterator(), formatter, codec, chunkWriter);
+        }
+    }
+
+    /**
+     * Write data quanta to a single file or, if multiple parts are configured, to a directory of part files.
+     *
+     * @param collection provides the data quanta
+     * @param formatter  formats each data quantum as a line; must be thread-safe
+     * @param url        URL of the file or directory
+     */
+    public <T> void write(Collection<T> collection, Function<T, String> formatter, String url) throws IOException {
+        if (this.numParts == 1) {
+            this.write(collection.stream(), formatter, url);
+            return;
+        }
+
+        final CompressionCodec codec = this.compressionCodec == null ? CompressionCodec.forFile(url) : this.compressionCodec;
+        final String directoryUrl = url.endsWith("/") ? url : url + "/";
+        final List<T> list = collection instanceof List ? (List<T>) collection : new ArrayList<>(collection);
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(this.numParts, this.parallelism));
+        try {
+            List<CompletableFuture<Void>> parts = new ArrayList<>(this.numParts);
+            for (int part = 0; part < this.numParts; part++) {
+                // Assign contiguous ranges to the parts, so that reading the parts in order yields the original order.
+                final List<T> partList = list.subList(
+                        (int) ((long) list.size() * part / this.numParts),
+                        (int) ((long) list.size() * (part + 1) / this.numParts)
+                );
+                final String partUrl = String.format("%spart-%05d%s", directoryUrl, part, codec.getExtension());
+                parts.add(CompletableFuture.runAsync(() -> {
+                    try (ChunkWriter chunkWriter = openChunkWriter(partUrl)) {
+                        for (int start = 0; start < partList.size(); start += CHUNK_SIZE) {
+                            chunkWriter.write(encode(partList.subList(start, Math.min(start + CHUNK_SIZE, partList.size())), formatter, codec));
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }, executor));
+            }
+            for (CompletableFuture<Void> part : parts) {
+                join(part);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        FileSystems.requireFileSystem(directoryUrl).create(directoryUrl + SUCCESS_FILE_NAME, true).close();
+    }
+
+    /**
+     * Encode the data quanta from an {@link Iterator} in chunks. Up to twice as many chunks as the
+     * {@link #parallelism} are encoded at the same time.
+     */
+    private <T> void writeChunks(Iterator<T> iterator,
+                                 Function<T, String> formatter,
+                                 CompressionCodec codec,
+                                 ChunkWriter chunkWriter) throws IOException {
+        final Deque<CompletableFuture<byte[]>> pendingChunks = new ArrayDeque<>();
+        while (iterator.hasNext()) {
+            List<T> chunk = new ArrayList<>(CHUNK_SIZE);
+            while (iterator.hasNext() && chunk.size() < CHUNK_SIZE) {
+                chunk.add(iterator.next());
+            }
+            if (this.parallelism == 1) {
+                chunkWriter.write(encode(chunk, formatter, codec));
+                continue;
+            }
+            pendingChunks.addLast(CompletableFuture.supplyAsync(() -> encode(chunk, formatter, codec), ForkJoinPool.commonPool()));
+            while (pendingChunks.size() >= 2 * this.parallelism) {
+                chunkWriter.write(join(pendingChunks.removeFirst()));
+            }
+        }
+        while (!pendingChunks.isEmpty()) {
+            chunkWriter.write(join(pendingChunks.removeFirst()));
+        }
+    }
+
+    /**
+     * Format, encode, and compress a chunk of data quanta.
+     *
+     * @return the bytes to write
+     */
+    private static <T> byte[] encode(List<T> chunk, Function<T, String> formatter, CompressionCodec codec) {
+        StringBuilder sb = new StringBuilder(chunk.size() * 32);
+        for (T dataQuantum : chunk) {
+            sb.append(formatter.apply(dataQuantum)).append('\n');
+        }
+        final byte[] bytes = sb.toString().getBytes(StandardCharsets.UTF_8);
+        if (codec == CompressionCodec.NONE) {
+            return bytes;
+        }
+        ByteArrayOutputStream compressedBytes = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        try (OutputStream compressingStream = codec.compress(compressedBytes)) {
+            compressingStream.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressedBytes.toByteArray();
+    }
+
+    private static <T> T join(CompletableFuture<T> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException) throw ((UncheckedIOException) e.getCause()).getCause();
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw e;
+        }
+    }
+
+    /**
+     * Open a {@link ChunkWriter} for the file at the given URL, which is (over-)written.
+     */
+    static ChunkWriter openChunkWriter(String url) throws IOException {
+        final Path localPath = SplittingTextFileReader.toLocalPath(url);
+        if (localPath != null) {
+            return new LocalChunkWriter(localPath);
+        }
+        final FileSystem fileSystem = FileSystems.requireFileSystem(url);
+        return new StreamChunkWriter(fileSystem.create(url, true));
+    }
+
+    /**
+     * Writes encoded chunks to a file.
+     */
+    interface ChunkWriter extends Closeable {
+
+        void write(byte[] bytes) throws IOException;
+
+    }
+
+    /**
+     * {@link ChunkWriter} for local files that collects the chunks in a large direct buffer and writes it via a
+     * {@link FileChannel}, thereby issuing few large writes.
+     */
+    private static class LocalChunkWriter implements ChunkWriter {
+
+        private final FileChannel fileChannel;
+
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+
+        private LocalChunkWriter(Path path) throws IOException {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            this.fileChannel = FileChannel.open(
+                    path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING
+            );
+        }
+
+        @Override
+        public void write(byte[] bytes) throws IOException {
+            int offset = 0;
+            while (offset < bytes.length) {
+                final int length = Math.min(this.buffer.remaining(), bytes.length - offset);
+                this.buffer.put(bytes, offset, length);
+                offset += length;
+                if (!this.buffer.hasRemaining()) {
+                    this.flush();
+                }
+            }
+        }
+
+        private void flush() throws IOException {
+            this.buffer.flip();
+            while (this.buffer.hasRemaining()) {
+                this.fileChannel.write(this.buffer);
+            }
+            this.buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                this.flush();
+            } finally {
+                this.fileChannel.close();
+            }
+        }
+    }
+
+    /**
+     * {@link ChunkWriter} for any {@link FileSystem}.
+     */
+    private static class StreamChunkWriter implements ChunkWriter {
+
+        private final OutputStream outputStream;
+
+        private StreamChunkWriter(OutputStream outputStream) {
+            this.outputStream = outputStream;
+        }
+
+        @Override
+        public void write(byte[] bytes) throws IOException {
+            this.outputStream.write(bytes);
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.outputStream.close();
+        }
+    }
+}
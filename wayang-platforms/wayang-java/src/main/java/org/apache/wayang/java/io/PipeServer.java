@@ -0,0 +1,210 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.wayang.java.io;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.wayang.basic.channels.DataPipe;
+import org.apache.wayang.core.api.exception.WayangException;
+import org.apache.wayang.core.platform.ExecutionResourceTemplate;
+import org.apache.wayang.core.util.fs.CompressionCodec;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serves the data quanta of a {@link DataPipe} via TCP, so that the workers of a distributed platform can consume
+ * them while they are still being produced. Each connection requests a partition and receives blocks from the pipe
+ * until it is exhausted, in the block format of {@link SegmentFiles}, terminated by an end or a failure block. As the
+ * connections compete for the blocks, each data quantum is sent to exactly one connection.
+ * <p>As the pipe can be consumed only once, data quanta are lost if a connection breaks or a partition is requested
+ * again, e.g., by a retried task. In that case, this instance serves only failure blocks from then on, so that the
+ * consumers fail rather than silently miss data quanta.</p>
+ * <p>The server accepts connections until it is disposed, so that late connections still learn that the pipe is
+ * exhausted. Disposing the server also closes the pipe.</p>
+ */
+public class PipeServer extends ExecutionResourceTemplate {
+
+    private static final Logger logger = LogManager.getLogger(PipeServer.class);
+
+    private final DataPipe<?> pipe;
+
+    private final ServerSocket serverSocket;
+
+    private final String host;
+
+    /**
+     * The partitions that have been requested so far.
+     */
+    private final Set<Integer> requestedPartitions = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Describes why the data quanta cannot be served completely anymore or is {@code null}.
+     */
+    private volatile String failure;
+
+    private PipeServer(DataPipe<?> pipe, String host) throws IOException {
+        super(null);
+        this.pipe = pipe;
+        this.host = host;
+        this.serverSocket = new ServerSocket();
+        this.serverSocket.bind(new InetSocketAddress(InetAddress.getByName(host), 0));
+        this.pipe.onClose(this::closeServerSocket);
+    }
+
+    /**
+     * Start serving a {@link DataPipe}.
+     *
+     * @param pipe the {@link DataPipe}
+     * @param host the host name or address to bind to; must be reachable by the consumers
+     * @return the started instance
+     */
+    public static PipeServer serve(DataPipe<?> pipe, String host) throws IOException {
+        final PipeServer server = new PipeServer(pipe, host);
+        final Thread acceptor = new Thread(server::acceptConnections, "pipe-server-" + server.getPort());
+        acceptor.setDaemon(true);
+        acceptor.start();
+        return server;
+    }
+
+    /**
+     * Consume the data quanta served by a {@link PipeServer}.
+     *
+     * @param host      the host of the {@link PipeServer}
+     * @param port      the port of the {@link PipeServer}
+     * @param partition the partition to be served; must be requested only once
+     * @return a lazy {@link Iterator} over the data quanta that this connection receives
+     */
+    public static <T> Iterator<T> connect(String host, int port, int partition) throws IOException {
+        final Socket socket = new Socket(host, port);
+        final DataOutputStream outputStream = new DataOutputStream(socket.getOutputStream());
+        outputStream.writeInt(partition);
+        outputStream.flush();
+        return SegmentFiles.read(socket.getInputStream(), String.format("pipe at %s:%d", host, port));
+    }
+
+    private void acceptConnections() {
+        while (!this.serverSocket.isClosed()) {
+            final Socket socket;
+            try {
+                socket = this.serverSocket.accept();
+            } catch (IOException e) {
+                if (!this.serverSocket.isClosed()) {
+                    logger.error("Accepting connections for {} failed.", this.pipe, e);
+                }
+                return;
+            }
+            final Thread sender = new Thread(() -> this.send(socket), "pipe-sender-" + socket.getPort());
+            sender.setDaemon(true);
+            sender.start();
+        }
+    }
+
+    /**
+     * Send blocks from the {@link #pipe} via a connection until the former is exhausted.
+     */
+    private void send(Socket socket) {
+        final int partition;
+        try {
+            partition = new DataInputStream(socket.getInputStream()).readInt();
+        } catch (IOException e) {
+            logger.warn("Could not receive the partition requested by {} for {}.", socket.getRemoteSocketAddress(), this.pipe, e);
+            this.closeSocket(socket);
+            return;
+        }
+        if (!this.requestedPartitions.add(partition)) {
+            this.fail(String.format("Partition %d of %s has been requested again, e.g., by a retried or speculative " +
+                    "task, but the data quanta of a pipe can be served only once.", partition, this.pipe));
+        }
+
+        try (OutputStream outputStream = new BufferedOutputStream(socket.getOutputStream(), 64 * 1024)) {
+            try {
+                List<?> block;
+                while (this.failure == null && (block = this.pipe.takeBlock()) != null) {
+                    outputStream.write(SegmentFiles.encodeBlock(block, CompressionCodec.NONE));
+                }
+                outputStream.write(this.failure == null ?
+                        SegmentFiles.encodeEndBlock() :
+                        SegmentFiles.encodeFailureBlock(this.failure));
+            } catch (WayangException e) {
+                outputStream.write(SegmentFiles.encodeFailureBlock(String.valueOf(e.getCause() == null ? e : e.getCause())));
+            }
+        } catch (IOException e) {
+            if (this.pipe.isClosed()) {
+                logger.debug("Connection to {} for {} was closed.", socket.getRemoteSocketAddress(), this.pipe, e);
+                return;
+            }
+            // The data quanta sent via the connection might not have been received.
+            logger.error("Sending data quanta of {} to {} failed.", this.pipe, socket.getRemoteSocketAddress(), e);
+            this.fail(String.format("The connection for partition %d of %s broke, so that data quanta were lost.",
+                    partition, this.pipe));
+        }
+    }
+
+    private void fail(String failure) {
+        if (this.failure == null) this.failure = failure;
+        logger.error(failure);
+    }
+
+    private void closeSocket(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            logger.debug("Could not close {}.", socket, e);
+        }
+    }
+
+    public String getHost() {
+        return this.host;
+    }
+
+    public int getPort() {
+        return this.serverSocket.getLocalPort();
+    }
+
+    private void closeServerSocket() {
+        try {
+            this.serverSocket.close();
+        } catch (IOException e) {
+            logger.warn("Could not close {}.", this.serverSocket, e);
+        }
+    }
+
+    @Override
+    protected void doDispose() {
+        this.pipe.close();
+        this.closeServerSocket();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s[%s:%d]", this.getClass().getSimpleName(), this.host, this.getPort());
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.wayang.java.io;
+
+import org.apache.wayang.core.api.Configuration;
+import org.apache.wayang.core.util.fs.CompressionCodec;
+import org.apache.wayang.core.util.fs.FileSystems;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+/**
+ * Writes data quanta as a directory of segment files (see {@link SegmentFiles}). Collections are split into
+ * contiguous segments that are written in parallel; streams are consumed on the calling thread while their blocks are
+ * encoded and compressed in parallel, starting a new segment every {@link #segmentSize} data quanta. Either way,
+ * reading the segments in order yields the data quanta in their original order.
+ */
+public class SegmentFileWriter {
+
+    public static final String SEGMENTS_PROPERTY_KEY = "wayang.java.segmentfilesink.segments";
+
+    public static final String SEGMENT_SIZE_PROPERTY_KEY = "wayang.java.segmentfilesink.segment-size";
+
+    public static final String COMPRESSION_PROPERTY_KEY = "wayang.java.segmentfilesink.compression";
+
+    /**
+     * Number of data quanta per block.
+     */
+    private static final int BLOCK_SIZE = 8192;
+
+    /**
+     * Maximum number of segments, i.e., parallel writers, for collections.
+     */
+    private final int numSegments;
+
+    /**
+     * Maximum number of data quanta per segment for streams.
+     */
+    private final long segmentSize;
+
+    private final CompressionCodec compressionCodec;
+
+    public SegmentFileWriter(int numSegments, long segmentSize, CompressionCodec compressionCodec) {
+        if (numSegments < 1) throw new IllegalArgumentException(String.format("Illegal number of segments: %d.", numSegments));
+        if (segmentSize < 1) throw new IllegalArgumentException(String.format("Illegal segment size: %d.", segmentSize));
+        this.numSegments = numSegments;
+        this.segmentSize = segmentSize;
+        this.compressionCodec = compressionCodec;
+    }
+
+    /**
+     * Creates a new instance as specified in the {@code configuration}.
+     *
+     * @param configuration provides the number of segments, segment size, and compression
+     * @return the new instance
+     */
+    public static SegmentFileWriter create(Configuration configuration) {
+        return new SegmentFileWriter(
+                (int) configuration.getLongProperty(SEGMENTS_PROPERTY_KEY, Runtime.getRuntime().availableProcessors()),
+                configuration.getLongProperty(SEGMENT_SIZE_PROPERTY_KEY, 262144L),
+                CompressionCodec.valueOf(
+                        configuration.getStringProperty(COMPRESSION_PROPERTY_KEY, "zstd").toUpperCase(Locale.ROOT)
+                )
+        );
+    }
+
+    /**
+     * Write data quanta from a {@link Collection}.
+     *
+     * @param collection   provides the data quanta
+     * @param directoryUrl URL of the directory to create
+     * @return the number of written segments
+     */
+    public <T> int write(Collection<T> collection, String directoryUrl) throws IOException {
+        final List<T> list = collection instanceof List ? (List<T>) collection : new ArrayList<>(collection);
+        final int numSegments = (int) Math.min(this.numSegments, (list.size() + BLOCK_SIZE - 1) / BLOCK_SIZE);
+        if (numSegments <= 1) {
+            return this.write(list.stream(), directoryUrl);
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(numSegments);
+        try {
+            List<CompletableFuture<Void>> segments = new ArrayList<>(numSegments);
+            for (int segment = 0; segment < numSegments; segment++) {
+                final List<T> segmentList = list.subList(
+                        (int) ((long) list.size() * segment / numSegments),
+                        (int) ((long) list.size() * (segment + 1) / numSegments)
+                );
+                final String segmentUrl = SegmentFiles.getSegmentUrl(directoryUrl, segment, this.compressionCodec);
+                segments.add(CompletableFuture.runAsync(() -> {
+                    try (ParallelTextFileWriter.ChunkWriter chunkWriter = ParallelTextFileWriter.openChunkWriter(segmentUrl)) {
+                        for (int start = 0; start < segmentList.size(); start += BLOCK_SIZE) {
+                            chunkWriter.write(SegmentFiles.encodeBlock(
+                                    segmentList.subList(start, Math.min(start + BLOCK_SIZE, segmentList.size())),
+                                    this.compressionCodec
+                            ));
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }, executor));
+            }
+            for (CompletableFuture<Void> segment : segments) {
+                join(segment);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        this.markSuccess(directoryUrl);
+        return numSegments;
+    }
+
+    /**
+     * Write data quanta from a {@link Stream}.
+     *
+     * @param stream       provides the data quanta
+     * @param directoryUrl URL of the directory to create
+     * @return the number of written segments
+     */
+    public <T> int write(Stream<T> stream, String directoryUrl) throws IOException {
+        final int parallelism = Math.max(1, Math.min(this.numSegments, ForkJoinPool.getCommonPoolParallelism()));
+        final Iterator<T> iterator = stream.iterator();
+        final Deque<Block> pendingBlocks = new ArrayDeque<>();
+        final SegmentSwitcher segmentSwitcher = new SegmentSwitcher(directoryUrl);
+        try {
+            int segment = 0;
+            long numSegmentDataQuanta = 0L;
+            while (iterator.hasNext()) {
+                List<T> block = new ArrayList<>(BLOCK_SIZE);
+                while (iterator.hasNext() && block.size() < BLOCK_SIZE) {
+                    block.add(iterator.next());
+                }
+                if (numSegmentDataQuanta >= this.segmentSize) {
+                    segment++;
+                    numSegmentDataQuanta = 0L;
+                }
+                numSegmentDataQuanta += block.size();
+                pendingBlocks.addLast(new Block(segment, CompletableFuture.supplyAsync(
+                        () -> SegmentFiles.encodeBlock(block, this.compressionCodec), ForkJoinPool.commonPool()
+                )));
+                while (pendingBlocks.size() >= 2 * parallelism) {
+                    segmentSwitcher.write(pendingBlocks.removeFirst());
+                }
+            }
+            while (!pendingBlocks.isEmpty()) {
+                segmentSwitcher.write(pendingBlocks.removeFirst());
+            }
+        } finally {
+            segmentSwitcher.close();
+        }
+        this.markSuccess(directoryUrl);
+        return segmentSwitcher.numSegments;
+    }
+
+    /**
+     * Create a marker file, which also makes sure that the directory exists in the absence of segment files.
+     */
+    private void markSuccess(String directoryUrl) throws IOException {
+        final String url = (directoryUrl.endsWith("/") ? directoryUrl : directoryUrl + "/")
+                + ParallelTextFileWriter.SUCCESS_FILE_NAME;
+        FileSystems.requireFileSystem(url).create(url, true).close();
+    }
+
+    private static <T> T join(CompletableFuture<T> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException) throw ((UncheckedIOException) e.getCause()).getCause();
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw e;
+        }
+    }
+
+    /**
+     * A block that is being encoded for a certain segment.
+     */
+    private static class Block {
+
+        private final int segment;
+
+        private final CompletableFuture<byte[]> bytes;
+
+        private Block(int segment, CompletableFuture<byte[]> bytes) {
+            this.segment = segment;
+            this.bytes = bytes;
+        }
+    }
+
+    /**
+     * Writes {@link Block}s to their segment files, which must be requested in order.
+     */
+    private class SegmentSwitcher {
+
+        private final String directoryUrl;
+
+        private ParallelTextFileWriter.ChunkWriter currentWriter;
+
+        private int numSegments = 0;
+
+        private SegmentSwitcher(String directoryUrl) {
+            this.directoryUrl = directoryUrl;
+        }
+
+        private void write(Block block) throws IOException {
+            final byte[] bytes = join(block.bytes);
+            if (block.segment >= this.numSegments) {
+                this.close();
+                this.currentWriter = ParallelTextFileWriter.openChunkWriter(
+                        SegmentFiles.getSegmentUrl(this.directoryUrl, block.segment, SegmentFileWriter.this.compressionCodec)
+                );
+                this.numSegments = block.segment + 1;
+            }
+            this.currentWriter.write(bytes);
+        }
+
+        private void close() throws IOException {
+            if (this.currentWriter != null) {
+                this.currentWriter.close();
+                this.currentWriter = null;
+            }
+        }
+    }
+}
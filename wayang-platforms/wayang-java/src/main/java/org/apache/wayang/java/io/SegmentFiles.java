@@ -0,0 +1,319 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.wayang.java.io;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.wayang.basic.channels.ArrowRecordCodec;
+import org.apache.wayang.basic.data.Record;
+import org.apache.wayang.core.api.exception.WayangException;
+import org.apache.wayang.core.util.fs.CompressionCodec;
+import org.apache.wayang.core.util.fs.FileSystem;
+import org.apache.wayang.core.util.fs.FileSystems;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+
+/**
+ * Describes the format of segment files, which are used to hand over data quanta from one platform to another via a
+ * local or shared disk. A dataset is stored as a directory of segment files that can be read independently, e.g., one
+ * per partition of a distributed platform.
+ * <p>Each segment file consists of blocks of data quanta. A block of {@link Record}s of the same width is encoded
+ * with the {@link ArrowRecordCodec}, any other block with Java serialization. Each block is compressed
+ * independently, so that blocks can be encoded concurrently; the {@link CompressionCodec} is reflected in the file
+ * extension.</p>
+ */
+public class SegmentFiles {
+
+    /**
+     * Block kinds. Segment files end without an {@link #END_BLOCK}, while streams, e.g., via sockets, should end
+     * with an {@link #END_BLOCK} or a {@link #FAILURE_BLOCK}, so that a broken connection can be detected.
+     */
+    private static final byte END_BLOCK = 0, RECORD_BLOCK = 1, OBJECT_BLOCK = 2, FAILURE_BLOCK = 3;
+
+    private static final String SEGMENT_FILE_PREFIX = "segment-";
+
+    private static final String SEGMENT_FILE_EXTENSION = ".seg";
+
+    private SegmentFiles() {
+    }
+
+    /**
+     * Create the URL of a segment file.
+     *
+     * @param directoryUrl URL of the directory of the dataset
+     * @param index        index of the segment
+     * @param codec        {@link CompressionCodec} of the segment
+     * @return the URL
+     */
+    public static String getSegmentUrl(String directoryUrl, int index, CompressionCodec codec) {
+        return String.format("%s%s%05d%s%s",
+                directoryUrl.endsWith("/") ? directoryUrl : directoryUrl + "/",
+                SEGMENT_FILE_PREFIX, index, SEGMENT_FILE_EXTENSION, codec.getExtension()
+        );
+    }
+
+    /**
+     * List the segment files of a dataset.
+     *
+     * @param directoryUrl URL of the directory of the dataset
+     * @return the URLs of the segment files in order
+     */
+    public static List<String> listSegments(String directoryUrl) {
+        final FileSystem fileSystem = FileSystems.requireFileSystem(directoryUrl);
+        if (!fileSystem.isDirectory(directoryUrl)) {
+            throw new WayangException(String.format("%s is not a directory of segment files.", directoryUrl));
+        }
+        return fileSystem.listChildren(directoryUrl).stream()
+                .filter(url -> getFileName(url).startsWith(SEGMENT_FILE_PREFIX))
+                .sorted((url1, url2) -> getFileName(url1).compareTo(getFileName(url2)))
+                .collect(Collectors.toList());
+    }
+
+    private static String getFileName(String url) {
+        return url.substring(url.lastIndexOf('/') + 1);
+    }
+
+    /**
+     * Encode and compress a block of data quanta.
+     *
+     * @param block the data quanta
+     * @param codec the {@link CompressionCodec} to apply
+     * @return the bytes to append to a segment file
+     */
+    public static byte[] encodeBlock(List<?> block, CompressionCodec codec) {
+        final boolean isRecordBlock = isRecordBlock(block);
+        final byte[] payload;
+        if (isRecordBlock) {
+            @SuppressWarnings("unchecked") final List<Record> records = (List<Record>) block;
+            payload = ArrowRecordCodec.encodeBatch(records);
+        } else {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream oos = new ObjectOutputStream(bytes)) {
+                oos.writeObject(block.toArray());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not serialize block.", e);
+            }
+            payload = bytes.toByteArray();
+        }
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(
+                codec == CompressionCodec.NONE ? payload.length + 5 : payload.length / 4 + 64
+        );
+        try (DataOutputStream dos = new DataOutputStream(codec.compress(bytes))) {
+            dos.writeByte(isRecordBlock ? RECORD_BLOCK : OBJECT_BLOCK);
+            dos.writeInt(payload.length);
+            dos.write(payload);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not compress block.", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Encode the end of a stream of blocks.
+     *
+     * @return the bytes to append to a stream of blocks
+     */
+    public static byte[] encodeEndBlock() {
+        return new byte[]{END_BLOCK};
+    }
+
+    /**
+     * Encode a failure that terminates a stream of blocks.
+     *
+     * @param message describes the failure
+     * @return the bytes to append to a stream of blocks
+     */
+    public static byte[] encodeFailureBlock(String message) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream dos = new DataOutputStream(bytes)) {
+            dos.writeByte(FAILURE_BLOCK);
+            dos.writeUTF(String.valueOf(message));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Tells whether the block consists of {@link Record}s of the same width only.
+     */
+    private static boolean isRecordBlock(List<?> block) {
+        if (block.isEmpty()) return false;
+        int width = -1;
+        for (Object dataQuantum : block) {
+            if (!(dataQuantum instanceof Record)) return false;
+            final int size = ((Record) dataQuantum).size();
+            if (width != -1 && width != size) return false;
+            width = size;
+        }
+        return true;
+    }
+
+    /**
+     * Read a segment file lazily.
+     *
+     * @param segmentUrl URL of the segment file
+     * @return an {@link Iterator} of the data quanta in the segment file
+     */
+    public static <T> Iterator<T> read(String segmentUrl) {
+        try {
+            final InputStream inputStream = FileSystems.requireFileSystem(segmentUrl).open(segmentUrl);
+            return new SegmentIterator<>(new DataInputStream(
+                    CompressionCodec.forFile(segmentUrl).decompress(new BufferedInputStream(inputStream, 64 * 1024))
+            ), segmentUrl, false);
+        } catch (IOException e) {
+            throw new WayangException(String.format("Could not open %s.", segmentUrl), e);
+        }
+    }
+
+    /**
+     * Read an uncompressed stream of blocks lazily, which must be terminated by an end block.
+     *
+     * @param inputStream provides the blocks; will be closed eventually
+     * @param description describes the {@code inputStream}
+     * @return an {@link Iterator} of the data quanta in the stream
+     */
+    public static <T> Iterator<T> read(InputStream inputStream, String description) {
+        return new SegmentIterator<>(
+                new DataInputStream(new BufferedInputStream(inputStream, 64 * 1024)), description, true
+        );
+    }
+
+    /**
+     * Decodes a segment file block by block.
+     */
+    private static class SegmentIterator<T> implements Iterator<T> {
+
+        private final DataInputStream dataInputStream;
+
+        private final String segmentUrl;
+
+        private final boolean isRequiringEndBlock;
+
+        private Iterator<?> currentBlock = Collections.emptyIterator();
+
+        private boolean isExhausted = false;
+
+        private SegmentIterator(DataInputStream dataInputStream, String segmentUrl, boolean isRequiringEndBlock) {
+            this.dataInputStream = dataInputStream;
+            this.segmentUrl = segmentUrl;
+            this.isRequiringEndBlock = isRequiringEndBlock;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!this.currentBlock.hasNext()) {
+                if (this.isExhausted) return false;
+                this.currentBlock = this.readBlock();
+            }
+            return true;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T next() {
+            if (!this.hasNext()) throw new NoSuchElementException();
+            return (T) this.currentBlock.next();
+        }
+
+        private Iterator<?> readBlock() {
+            try {
+                final int kind = this.dataInputStream.read();
+                if (kind == -1 && this.isRequiringEndBlock) {
+                    throw new EOFException();
+                } else if (kind == -1 || kind == END_BLOCK) {
+                    this.close();
+                    return Collections.emptyIterator();
+                } else if (kind == FAILURE_BLOCK) {
+                    final String message = this.dataInputStream.readUTF();
+                    this.close();
+                    throw new WayangException(String.format("%s reports a failure: %s", this.segmentUrl, message));
+                }
+                final byte[] payload = new byte[this.dataInputStream.readInt()];
+                this.dataInputStream.readFully(payload);
+                switch (kind) {
+                    case RECORD_BLOCK:
+                        return ArrowRecordCodec.decodeBatch(payload).iterator();
+                    case OBJECT_BLOCK:
+                        try (ObjectInputStream ois = new ContextClassLoaderObjectInputStream(new ByteArrayInputStream(payload))) {
+                            return Arrays.asList((Object[]) ois.readObject()).iterator();
+                        }
+                    default:
+                        throw new WayangException(String.format("Unknown block kind %d in %s.", kind, this.segmentUrl));
+                }
+            } catch (IOException | ClassNotFoundException e) {
+                this.close();
+                if (e instanceof EOFException) {
+                    throw new WayangException(String.format("%s is truncated.", this.segmentUrl), e);
+                }
+                throw new WayangException(String.format("Could not read %s.", this.segmentUrl), e);
+            }
+        }
+
+        private void close() {
+            this.isExhausted = true;
+            try {
+                this.dataInputStream.close();
+            } catch (IOException e) {
+                LogManager.getLogger(this.getClass()).error("Could not close {}.", this.segmentUrl, e);
+            }
+        }
+    }
+
+    /**
+     * {@link ObjectInputStream} that resolves classes via the context {@link ClassLoader}, which is where distributed
+     * platforms usually provide user classes.
+     */
+    private static class ContextClassLoaderObjectInputStream extends ObjectInputStream {
+
+        private ContextClassLoaderObjectInputStream(InputStream in) throws IOException {
+            super(in);
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+            if (classLoader != null) {
+                try {
+                    return Class.forName(desc.getName(), false, classLoader);
+                } catch (ClassNotFoundException e) {
+                    // Fall back to the default resolution.
+                }
+            }
+            return super.resolveClass(desc);
+        }
+    }
+}
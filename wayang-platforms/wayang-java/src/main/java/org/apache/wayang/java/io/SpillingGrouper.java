@@ -0,0 +1,619 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.wayang.java.io;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.wayang.core.api.Configuration;
+import org.apache.wayang.core.api.exception.WayangException;
+import org.apache.wayang.core.util.fs.CompressionCodec;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.lang.ref.Cleaner;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Groups data quanta by key within a budget of data quanta to hold in memory. Beyond this budget, the data quanta are
+ * partitioned by the hash of their keys into files, which are grouped one after another and re-partitioned if they
+ * still exceed the budget. The groups are then handed out as {@link Iterable}s that read their data quanta lazily
+ * from the files, so that a dataset can be grouped and its groups processed even if it does not fit into memory.
+ * <p>The files are written in the block format of {@link SegmentFiles}, so spilled data quanta must be
+ * {@link Serializable}. They are deleted as soon as the groups that read them are no longer referenced.</p>
+ *
+ * @param <T> the type of the data quanta
+ * @param <K> the type of the keys
+ */
+public class SpillingGrouper<T, K> {
+
+    /**
+     * Maximum number of data quanta to group in memory.
+     */
+    public static final String THRESHOLD_PROPERTY_KEY = "wayang.java.groupby.spill.threshold";
+
+    /**
+     * Number of files to partition spilled data quanta into.
+     */
+    public static final String PARTITIONS_PROPERTY_KEY = "wayang.java.groupby.spill.partitions";
+
+    /**
+     * Directory for the files of spilled data quanta; defaults to the temporary directory.
+     */
+    public static final String DIRECTORY_PROPERTY_KEY = "wayang.java.groupby.spill.directory";
+
+    /**
+     * Number of times that spilled data quanta are re-partitioned at most.
+     */
+    private static final int MAX_DEPTH = 4;
+
+    private static final int MAX_BLOCK_SIZE = 1024;
+
+    /**
+     * Regions of files up to this size are read at once rather than streamed.
+     */
+    private static final int MAX_BUFFERED_REGION_SIZE = 1024 * 1024;
+
+    private static final Logger logger = LogManager.getLogger(SpillingGrouper.class);
+
+    private static final Cleaner cleaner = Cleaner.create();
+
+    private final Function<T, K> keyExtractor;
+
+    private final long threshold;
+
+    private final int numPartitions;
+
+    private final Path directory;
+
+    private final int blockSize;
+
+    public SpillingGrouper(Function<T, K> keyExtractor, long threshold, int numPartitions, Path directory) {
+        if (threshold < 1) throw new IllegalArgumentException(String.format("Illegal threshold: %d.", threshold));
+        if (numPartitions < 2) throw new IllegalArgumentException(String.format("Illegal number of partitions: %d.", numPartitions));
+        this.keyExtractor = keyExtractor;
+        this.threshold = threshold;
+        this.numPartitions = numPartitions;
+        this.directory = directory;
+        this.blockSize = (int) Math.max(1, Math.min(MAX_BLOCK_SIZE, threshold / numPartitions));
+    }
+
+    /**
+     * Creates a new instance as specified in the {@code configuration}.
+     *
+     * @param keyExtractor  extracts the keys to group by
+     * @param configuration provides the threshold, number of partitions, and directory
+     * @return the new instance
+     */
+    public static <T, K> SpillingGrouper<T, K> create(Function<T, K> keyExtractor, Configuration configuration) {
+        return new SpillingGrouper<>(
+                keyExtractor,
+                configuration.getLongProperty(THRESHOLD_PROPERTY_KEY, 1_000_000),
+                (int) configuration.getLongProperty(PARTITIONS_PROPERTY_KEY, 16),
+                Paths.get(configuration.getStringProperty(DIRECTORY_PROPERTY_KEY, System.getProperty("java.io.tmpdir")))
+        );
+    }
+
+    /**
+     * Group data quanta by key.
+     *
+     * @param dataQuanta the data quanta; consumed
+     * @return the groups; if nothing has been spilled, these are {@link List}s
+     */
+    public Collection<Iterable<T>> group(Iterator<T> dataQuanta) {
+        Map<K, List<T>> groups = new HashMap<>();
+        long count = 0;
+        while (dataQuanta.hasNext()) {
+            final T dataQuantum = dataQuanta.next();
+            groups.computeIfAbsent(this.keyExtractor.apply(dataQuantum), key -> new ArrayList<>()).add(dataQuantum);
+            if (++count == this.threshold && dataQuanta.hasNext() && this.isSpillable(dataQuantum)) {
+                return this.spill(groups, dataQuanta);
+            }
+        }
+        return new ArrayList<>(groups.values());
+    }
+
+    /**
+     * Collect all data quanta into a single group.
+     *
+     * @param dataQuanta the data quanta; consumed
+     * @return the group; if nothing has been spilled, this is a {@link List}
+     */
+    public Iterable<T> groupAll(Iterator<T> dataQuanta) {
+        final List<T> group = new ArrayList<>();
+        while (dataQuanta.hasNext()) {
+            final T dataQuantum = dataQuanta.next();
+            group.add(dataQuantum);
+            if (group.size() == this.threshold && dataQuanta.hasNext() && this.isSpillable(dataQuantum)) {
+                final SpillStore store = this.createStore();
+                final SpillFile<T> file = store.createFile();
+                file.append(group, this.blockSize);
+                file.append(dataQuanta, this.blockSize);
+                return file.finish();
+            }
+        }
+        return group;
+    }
+
+    private boolean isSpillable(T dataQuantum) {
+        if (dataQuantum instanceof Serializable) return true;
+        logger.warn("Cannot spill data quanta of {}, because they are not serializable. Grouping them in memory.",
+                dataQuantum == null ? null : dataQuantum.getClass());
+        return false;
+    }
+
+    private Collection<Iterable<T>> spill(Map<K, List<T>> groups, Iterator<T> dataQuanta) {
+        logger.info("Spilling groups beyond {} data quanta to {}.", this.threshold, this.directory);
+        final SpillStore store = this.createStore();
+        final PartitionWriter writer = new PartitionWriter(store, 0);
+        for (Map.Entry<K, List<T>> group : groups.entrySet()) {
+            for (T dataQuantum : group.getValue()) {
+                writer.add(group.getKey(), dataQuantum);
+            }
+        }
+        groups.clear();
+        while (dataQuanta.hasNext()) {
+            final T dataQuantum = dataQuanta.next();
+            writer.add(this.keyExtractor.apply(dataQuantum), dataQuantum);
+        }
+
+        final List<Iterable<T>> result = new ArrayList<>();
+        final SpillFile<T> groupFile = store.createFile();
+        for (SpillFile<T> partition : writer.finish()) {
+            this.groupPartition(partition, 1, groupFile, result);
+        }
+        groupFile.finishGroups();
+        return result;
+    }
+
+    /**
+     * Group a partition in memory and append the groups to the {@code groupFile}, or re-partition it if it exceeds
+     * the {@link #threshold}.
+     */
+    private void groupPartition(SpillFile<T> partition, int depth, SpillFile<T> groupFile, List<Iterable<T>> result) {
+        final Map<K, List<T>> groups = new HashMap<>();
+        long count = 0;
+        boolean isFitting = true;
+        final Iterator<T> dataQuanta = partition.read();
+        while (dataQuanta.hasNext()) {
+            final T dataQuantum = dataQuanta.next();
+            groups.computeIfAbsent(this.keyExtractor.apply(dataQuantum), key -> new ArrayList<>()).add(dataQuantum);
+            if (++count > this.threshold && depth < MAX_DEPTH) {
+                isFitting = false;
+                break;
+            }
+        }
+
+        if (isFitting) {
+            if (depth == MAX_DEPTH && count > this.threshold) {
+                logger.warn("Grouped {} data quanta in memory, because they could not be partitioned further.", count);
+            }
+            for (List<T> group : groups.values()) {
+                result.add(groupFile.appendGroup(group, this.blockSize));
+            }
+            partition.delete();
+            return;
+        }
+        groups.clear();
+
+        if (this.isSingleKey(partition)) {
+            // The partition is a group of its own, which can be read as is.
+            partition.release();
+            result.add(partition.asGroup());
+            return;
+        }
+        final PartitionWriter writer = new PartitionWriter(partition.store, depth);
+        partition.read().forEachRemaining(dataQuantum -> writer.add(this.keyExtractor.apply(dataQuantum), dataQuantum));
+        partition.delete();
+        for (SpillFile<T> subpartition : writer.finish()) {
+            this.groupPartition(subpartition, depth + 1, groupFile, result);
+        }
+    }
+
+    private boolean isSingleKey(SpillFile<T> partition) {
+        final Iterator<T> dataQuanta = partition.read();
+        if (!dataQuanta.hasNext()) return true;
+        final K key = this.keyExtractor.apply(dataQuanta.next());
+        while (dataQuanta.hasNext()) {
+            if (!Objects.equals(key, this.keyExtractor.apply(dataQuanta.next()))) return false;
+        }
+        return true;
+    }
+
+    private SpillStore createStore() {
+        try {
+            Files.createDirectories(this.directory);
+            return new SpillStore(Files.createTempDirectory(this.directory, "wayang-groupby-"));
+        } catch (IOException e) {
+            throw new WayangException(String.format("Could not create a spill directory in %s.", this.directory), e);
+        }
+    }
+
+    /**
+     * Assign a key to a partition; the assignment differs for each {@code depth}.
+     */
+    private int getPartition(K key, int depth) {
+        int hash = (key == null ? 0 : key.hashCode()) ^ (depth * 0x9e3779b9);
+        // Mix the bits as in MurmurHash3.
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return Math.floorMod(hash, this.numPartitions);
+    }
+
+    /**
+     * Distributes data quanta over the files of the partitions of a certain depth.
+     */
+    private class PartitionWriter {
+
+        private final int depth;
+
+        private final List<SpillFile<T>> files = new ArrayList<>();
+
+        private final List<List<T>> buffers = new ArrayList<>();
+
+        private PartitionWriter(SpillStore store, int depth) {
+            this.depth = depth;
+            for (int partition = 0; partition < SpillingGrouper.this.numPartitions; partition++) {
+                this.files.add(store.createFile());
+                this.buffers.add(new ArrayList<>(SpillingGrouper.this.blockSize));
+            }
+        }
+
+        private void add(K key, T dataQuantum) {
+            final int partition = SpillingGrouper.this.getPartition(key, this.depth);
+            final List<T> buffer = this.buffers.get(partition);
+            buffer.add(dataQuantum);
+            if (buffer.size() == SpillingGrouper.this.blockSize) {
+                this.files.get(partition).appendBlock(buffer);
+                buffer.clear();
+            }
+        }
+
+        /**
+         * @return the non-empty files of the partitions
+         */
+        private List<SpillFile<T>> finish() {
+            final List<SpillFile<T>> nonEmptyFiles = new ArrayList<>();
+            for (int partition = 0; partition < this.files.size(); partition++) {
+                final SpillFile<T> file = this.files.get(partition);
+                final List<T> buffer = this.buffers.get(partition);
+                if (!buffer.isEmpty()) file.appendBlock(buffer);
+                if (file.isEmpty()) {
+                    file.delete();
+                } else {
+                    file.finish();
+                    nonEmptyFiles.add(file);
+                }
+            }
+            return nonEmptyFiles;
+        }
+    }
+
+    /**
+     * An append-only file in a {@link SpillStore}. Regions of it are terminated by an end block each, so that they can
+     * be read via {@link SegmentFiles#read(InputStream, String)}. The file is kept open only while it is written or
+     * grouped, so that the many files of a spill do not hold file descriptors until they are deleted.
+     */
+    private static class SpillFile<T> {
+
+        private final SpillStore store;
+
+        private final Path path;
+
+        /**
+         * The open channel to the file or {@code null} if it has been {@link #release() released}.
+         */
+        private FileChannel channel;
+
+        private long size = 0;
+
+        private SpillFile(SpillStore store, Path path) {
+            this.store = store;
+            this.path = path;
+            this.channel = store.create(path);
+        }
+
+        private void appendBlock(List<?> block) {
+            this.write(SegmentFiles.encodeBlock(block, CompressionCodec.NONE));
+        }
+
+        private void append(Iterable<T> dataQuanta, int blockSize) {
+            this.append(dataQuanta.iterator(), blockSize);
+        }
+
+        private void append(Iterator<T> dataQuanta, int blockSize) {
+            List<T> block = new ArrayList<>(blockSize);
+            while (dataQuanta.hasNext()) {
+                block.add(dataQuanta.next());
+                if (block.size() == blockSize) {
+                    this.appendBlock(block);
+                    block.clear();
+                }
+            }
+            if (!block.isEmpty()) this.appendBlock(block);
+        }
+
+        /**
+         * Terminate the data quanta appended so far.
+         *
+         * @return a group of all data quanta in this instance
+         */
+        private Iterable<T> finish() {
+            this.write(SegmentFiles.encodeEndBlock());
+            this.release();
+            return this.asGroup();
+        }
+
+        /**
+         * Append a group.
+         *
+         * @return the group backed by this instance
+         */
+        private Iterable<T> appendGroup(List<T> group, int blockSize) {
+            final long offset = this.size;
+            this.append(group, blockSize);
+            this.write(SegmentFiles.encodeEndBlock());
+            return new SpilledGroup<>(this.store, this.path, offset, this.size - offset);
+        }
+
+        /**
+         * Signal that no more groups will be appended.
+         */
+        private void finishGroups() {
+            if (this.isEmpty()) this.delete();
+            else this.release();
+        }
+
+        private Iterable<T> asGroup() {
+            return new SpilledGroup<>(this.store, this.path, 0, this.size);
+        }
+
+        private Iterator<T> read() {
+            return SegmentFiles.read(new RegionInputStream(this.getChannel(), 0, this.size, false), this.path.toString());
+        }
+
+        private boolean isEmpty() {
+            return this.size == 0;
+        }
+
+        private void write(byte[] bytes) {
+            final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            try {
+                while (buffer.hasRemaining()) {
+                    this.size += this.getChannel().write(buffer, this.size);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(String.format("Could not write to %s.", this.path), e);
+            }
+        }
+
+        private FileChannel getChannel() {
+            if (this.channel == null) this.channel = this.store.open(this.path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            return this.channel;
+        }
+
+        /**
+         * Close the channel to the file until the file is accessed again.
+         */
+        private void release() {
+            Cleanup.close(this.channel);
+            this.channel = null;
+        }
+
+        private void delete() {
+            this.release();
+            this.store.delete(this.path);
+        }
+    }
+
+    /**
+     * A directory of {@link SpillFile}s. It is deleted once the instance is no longer referenced, i.e., when the groups
+     * reading from it have been discarded.
+     */
+    private static class SpillStore {
+
+        private final Path directory;
+
+        private final Set<Path> paths = ConcurrentHashMap.newKeySet();
+
+        private int numFiles = 0;
+
+        private SpillStore(Path directory) {
+            this.directory = directory;
+            cleaner.register(this, new Cleanup(directory));
+        }
+
+        private <T> SpillFile<T> createFile() {
+            return new SpillFile<>(this, this.directory.resolve(String.format("spill-%05d", this.numFiles++)));
+        }
+
+        private FileChannel create(Path path) {
+            final FileChannel channel = this.open(
+                    path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE
+            );
+            this.paths.add(path);
+            return channel;
+        }
+
+        private FileChannel open(Path path, OpenOption... options) {
+            try {
+                return FileChannel.open(path, options);
+            } catch (IOException e) {
+                throw new UncheckedIOException(String.format("Could not open %s.", path), e);
+            }
+        }
+
+        private FileChannel openForReading(Path path) {
+            if (!this.paths.contains(path)) throw new WayangException(String.format("%s has been deleted.", path));
+            return this.open(path, StandardOpenOption.READ);
+        }
+
+        private void delete(Path path) {
+            this.paths.remove(path);
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                logger.warn("Could not delete {}.", path, e);
+            }
+        }
+    }
+
+    /**
+     * Deletes the directory of a {@link SpillStore}; must not reference the latter.
+     */
+    private static class Cleanup implements Runnable {
+
+        private final Path directory;
+
+        private Cleanup(Path directory) {
+            this.directory = directory;
+        }
+
+        @Override
+        public void run() {
+            try (Stream<Path> paths = Files.walk(this.directory)) {
+                paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            } catch (IOException e) {
+                logger.warn("Could not delete {}.", this.directory, e);
+            }
+        }
+
+        private static void close(FileChannel channel) {
+            if (channel == null) return;
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.warn("Could not close {}.", channel, e);
+            }
+        }
+    }
+
+    /**
+     * A group whose data quanta are stored in a region of a {@link SpillFile}.
+     */
+    private static class SpilledGroup<T> implements Iterable<T> {
+
+        /**
+         * Keeps the files alive.
+         */
+        private final SpillStore store;
+
+        private final Path path;
+
+        private final long offset, length;
+
+        private SpilledGroup(SpillStore store, Path path, long offset, long length) {
+            this.store = store;
+            this.path = path;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            final FileChannel channel = this.store.openForReading(this.path);
+            final String description = String.format("%s[%d..%d]", this.path, this.offset, this.offset + this.length);
+            if (this.length <= MAX_BUFFERED_REGION_SIZE) {
+                final ByteBuffer buffer = ByteBuffer.allocate((int) this.length);
+                try (channel) {
+                    while (buffer.hasRemaining()) {
+                        if (channel.read(buffer, this.offset + buffer.position()) < 0) break;
+                    }
+                } catch (IOException e) {
+                    throw new WayangException(String.format("Could not read %s.", description), e);
+                }
+                return SegmentFiles.read(new ByteArrayInputStream(buffer.array(), 0, buffer.position()), description);
+            }
+            // The channel is closed once the data quanta have been read.
+            return SegmentFiles.read(new RegionInputStream(channel, this.offset, this.length, true), description);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s[%s@%d]", this.getClass().getSimpleName(), this.path.getFileName(), this.offset);
+        }
+    }
+
+    /**
+     * Reads a region of a {@link FileChannel} via positional reads, so that several instances can share the latter.
+     */
+    private static class RegionInputStream extends InputStream {
+
+        private final FileChannel channel;
+
+        private long position;
+
+        private final long end;
+
+        /**
+         * Whether to close the {@link #channel} along with this instance.
+         */
+        private final boolean isOwningChannel;
+
+        private RegionInputStream(FileChannel channel, long offset, long length, boolean isOwningChannel) {
+            this.channel = channel;
+            this.position = offset;
+            this.end = offset + length;
+            this.isOwningChannel = isOwningChannel;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (this.isOwningChannel) this.channel.close();
+        }
+
+        @Override
+        public int read() throws IOException {
+            final byte[] bytes = new byte[1];
+            return this.read(bytes, 0, 1) == 1 ? bytes[0] & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            if (this.position >= this.end) return -1;
+            final int numBytes = (int) Math.min(length, this.end - this.position);
+            final int numReadBytes = this.channel.read(ByteBuffer.wrap(bytes, offset, numBytes), this.position);
+            if (numReadBytes > 0) this.position += numReadBytes;
+            return numReadBytes;
+        }
+    }
+}
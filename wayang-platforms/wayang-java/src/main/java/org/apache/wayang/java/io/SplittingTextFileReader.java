@@ -0,0 +1,422 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.wayang.java.io;
+
+import org.apache.wayang.core.api.Configuration;
+import org.apache.wayang.core.api.exception.WayangException;
+import org.apache.wayang.core.util.fs.CompressionCodec;
+import org.apache.wayang.core.util.fs.FileSystem;
+import org.apache.wayang.core.util.fs.FileSystems;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads the lines of text files in parallel while still emitting them in order. The input can be a single file or a
+ * directory of part files; files are decompressed according to their {@link CompressionCodec}. Large, uncompressed
+ * local files are memory-mapped and cut into splits that are aligned to line boundaries. Several splits (or files)
+ * are read ahead concurrently, each into a bounded buffer, so that the memory footprint stays bounded.
+ */
+public class SplittingTextFileReader {
+
+    public static final String SPLIT_SIZE_PROPERTY_KEY = "wayang.java.textfilesource.split-size";
+
+    public static final String PARALLELISM_PROPERTY_KEY = "wayang.java.textfilesource.parallelism";
+
+    public static final long DEFAULT_SPLIT_SIZE = 64L * 1024 * 1024;
+
+    /**
+     * Number of lines that are passed at once from a reading thread to the consumer.
+     */
+    private static final int BATCH_SIZE = 4096;
+
+    /**
+     * Number of line batches that can be buffered per split.
+     */
+    private static final int BUFFERED_BATCHES = 4;
+
+    /**
+     * Size of the memory-mapped windows over files.
+     */
+    private static final long MAPPING_WINDOW_SIZE = 64L * 1024 * 1024;
+
+    /**
+     * Marks the end of a split in its buffer.
+     */
+    private static final List<String> END_OF_SPLIT = Collections.emptyList();
+
+    private final long splitSize;
+
+    private final int parallelism;
+
+    public SplittingTextFileReader(long splitSize, int parallelism) {
+        if (splitSize < 1) throw new IllegalArgumentException(String.format("Illegal split size: %d.", splitSize));
+        if (parallelism < 1) throw new IllegalArgumentException(String.format("Illegal parallelism: %d.", parallelism));
+        this.splitSize = splitSize;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Creates a new instance as specified in the {@code configuration}.
+     *
+     * @param configuration provides the split size and parallelism
+     * @return the new instance
+     */
+    public static SplittingTextFileReader create(Configuration configuration) {
+        return new SplittingTextFileReader(
+                configuration.getLongProperty(SPLIT_SIZE_PROPERTY_KEY, DEFAULT_SPLIT_SIZE),
+                (int) configuration.getLongProperty(PARALLELISM_PROPERTY_KEY, Runtime.getRuntime().availableProcessors())
+        );
+    }
+
+    /**
+     * Read the lines of a file or directory of part files.
+     *
+     * @param url URL of the file or directory
+     * @return a {@link Stream} of the lines; should be closed to release resources if not fully consumed
+     */
+    public Stream<String> lines(String url) {
+        final List<Split> splits = new ArrayList<>();
+        for (String fileUrl : FileSystems.listDataFiles(url)) {
+            this.createSplits(fileUrl, splits);
+        }
+        final LineIterator lineIterator = new LineIterator(splits);
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(lineIterator, Spliterator.ORDERED | Spliterator.NONNULL),
+                false
+        ).onClose(lineIterator::close);
+    }
+
+    private void createSplits(String fileUrl, List<Split> splits) {
+        final CompressionCodec codec = CompressionCodec.forFile(fileUrl);
+        final Path localPath = toLocalPath(fileUrl);
+        if (codec == CompressionCodec.NONE && localPath != null) {
+            final long fileSize = localPath.toFile().length();
+            if (fileSize > this.splitSize) {
+                for (long start = 0; start < fileSize; start += this.splitSize) {
+                    splits.add(new MappedSplit(localPath, start, Math.min(start + this.splitSize, fileSize)));
+                }
+                return;
+            }
+        }
+        splits.add(new StreamedSplit(fileUrl, codec));
+    }
+
+    /**
+     * Resolve a {@code file:} URL to a {@link Path}.
+     *
+     * @param fileUrl the URL
+     * @return the {@link Path} or {@code null} if the URL does not denote a local file
+     */
+    static Path toLocalPath(String fileUrl) {
+        try {
+            final URI uri = URI.create(fileUrl);
+            if (!"file".equals(uri.getScheme())) return null;
+            return Path.of(uri);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * A part of the input that can be read independently.
+     */
+    private interface Split {
+
+        /**
+         * Read the lines of this instance.
+         *
+         * @param lineConsumer accepts the lines
+         */
+        void read(Consumer<String> lineConsumer) throws IOException;
+
+    }
+
+    /**
+     * A whole file that is read via its {@link FileSystem} and decompressed with a {@link CompressionCodec}.
+     */
+    private static class StreamedSplit implements Split {
+
+        private final String fileUrl;
+
+        private final CompressionCodec codec;
+
+        private StreamedSplit(String fileUrl, CompressionCodec codec) {
+            this.fileUrl = fileUrl;
+            this.codec = codec;
+        }
+
+        @Override
+        public void read(Consumer<String> lineConsumer) throws IOException {
+            final FileSystem fileSystem = FileSystems.requireFileSystem(this.fileUrl);
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                    this.codec.decompress(fileSystem.open(this.fileUrl)), StandardCharsets.UTF_8
+            ))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    lineConsumer.accept(line);
+                }
+            }
+        }
+    }
+
+    /**
+     * A byte range of a local file that is memory-mapped. It comprises all lines that start within the range. As with
+     * {@link BufferedReader#readLine()}, lines are terminated by {@code \n}, {@code \r}, or {@code \r\n}.
+     */
+    private static class MappedSplit implements Split {
+
+        private final Path path;
+
+        private final long start, end;
+
+        private MappedSplit(Path path, long start, long end) {
+            this.path = path;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public void read(Consumer<String> lineConsumer) throws IOException {
+            try (FileChannel channel = FileChannel.open(this.path, StandardOpenOption.READ)) {
+                final MappedFile file = new MappedFile(channel);
+                long position = this.start;
+                // Skip the line that started in the previous split, including the "\n" of a "\r\n" that straddles
+                // the split boundary.
+                if (position > 0 && !isLineStart(file, position)) {
+                    while (position < file.size && !isLineBreak(file.get(position))) position++;
+                    position = skipLineBreak(file, position);
+                }
+
+                byte[] lineBuffer = new byte[256];
+                while (position < this.end) {
+                    int lineLength = 0;
+                    byte b;
+                    while (position < file.size && !isLineBreak(b = file.get(position))) {
+                        if (lineLength == lineBuffer.length) lineBuffer = Arrays.copyOf(lineBuffer, 2 * lineLength);
+                        lineBuffer[lineLength++] = b;
+                        position++;
+                    }
+                    position = skipLineBreak(file, position);
+                    lineConsumer.accept(new String(lineBuffer, 0, lineLength, StandardCharsets.UTF_8));
+                }
+            }
+        }
+
+        private static boolean isLineStart(MappedFile file, long position) throws IOException {
+            final byte previous = file.get(position - 1);
+            return previous == '\n' || (previous == '\r' && file.get(position) != '\n');
+        }
+
+        private static boolean isLineBreak(byte b) {
+            return b == '\n' || b == '\r';
+        }
+
+        /**
+         * Skip the line break at the given position.
+         *
+         * @return the position after the line break
+         */
+        private static long skipLineBreak(MappedFile file, long position) throws IOException {
+            if (position < file.size && file.get(position) == '\r') position++;
+            if (position < file.size && file.get(position) == '\n') position++;
+            return position;
+        }
+    }
+
+    /**
+     * Provides random access to a file via a sliding memory-mapped window.
+     */
+    private static class MappedFile {
+
+        private final FileChannel channel;
+
+        private final long size;
+
+        private MappedByteBuffer window;
+
+        private long windowStart = 0, windowEnd = 0;
+
+        private MappedFile(FileChannel channel) throws IOException {
+            this.channel = channel;
+            this.size = channel.size();
+        }
+
+        private byte get(long position) throws IOException {
+            if (position < this.windowStart || position >= this.windowEnd) {
+                this.windowStart = position;
+                this.windowEnd = Math.min(position + MAPPING_WINDOW_SIZE, this.size);
+                this.window = this.channel.map(FileChannel.MapMode.READ_ONLY, this.windowStart, this.windowEnd - this.windowStart);
+            }
+            return this.window.get((int) (position - this.windowStart));
+        }
+    }
+
+    /**
+     * Reads ahead up to {@link #parallelism} {@link Split}s concurrently and emits their lines in order.
+     */
+    private class LineIterator implements Iterator<String>, AutoCloseable {
+
+        private final Iterator<Split> pendingSplits;
+
+        private final Deque<SplitBuffer> activeSplits = new ArrayDeque<>();
+
+        private final ExecutorService executorService;
+
+        private Iterator<String> currentBatch = Collections.emptyIterator();
+
+        private boolean isClosed = false;
+
+        private LineIterator(Collection<Split> splits) {
+            this.pendingSplits = splits.iterator();
+            this.executorService = Executors.newFixedThreadPool(
+                    Math.max(1, Math.min(SplittingTextFileReader.this.parallelism, splits.size())),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "wayang-text-file-reader");
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+            );
+            while (this.activeSplits.size() < SplittingTextFileReader.this.parallelism && this.pendingSplits.hasNext()) {
+                this.activate(this.pendingSplits.next());
+            }
+        }
+
+        private void activate(Split split) {
+            final SplitBuffer splitBuffer = new SplitBuffer();
+            this.activeSplits.addLast(splitBuffer);
+            this.executorService.execute(() -> splitBuffer.fill(split));
+            // Let the reading threads terminate once they are done.
+            if (!this.pendingSplits.hasNext()) this.executorService.shutdown();
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                while (!this.currentBatch.hasNext()) {
+                    if (this.isClosed || this.activeSplits.isEmpty()) {
+                        this.close();
+                        return false;
+                    }
+                    final SplitBuffer splitBuffer = this.activeSplits.peekFirst();
+                    final List<String> batch = splitBuffer.take();
+                    if (batch == END_OF_SPLIT) {
+                        this.activeSplits.removeFirst();
+                        if (this.pendingSplits.hasNext()) this.activate(this.pendingSplits.next());
+                    } else {
+                        this.currentBatch = batch.iterator();
+                    }
+                }
+                return true;
+            } catch (RuntimeException e) {
+                this.close();
+                throw e;
+            }
+        }
+
+        @Override
+        public String next() {
+            if (!this.hasNext()) throw new NoSuchElementException();
+            return this.currentBatch.next();
+        }
+
+        @Override
+        public void close() {
+            if (!this.isClosed) {
+                this.isClosed = true;
+                this.executorService.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * Buffers the lines of a {@link Split} that is being read.
+     */
+    private static class SplitBuffer {
+
+        private final BlockingQueue<List<String>> batches = new ArrayBlockingQueue<>(BUFFERED_BATCHES);
+
+        private volatile Throwable failure;
+
+        private void fill(Split split) {
+            try {
+                final List<String>[] batch = new List[]{new ArrayList<>(BATCH_SIZE)};
+                split.read(line -> {
+                    batch[0].add(line);
+                    if (batch[0].size() == BATCH_SIZE) {
+                        this.put(batch[0]);
+                        batch[0] = new ArrayList<>(BATCH_SIZE);
+                    }
+                });
+                if (!batch[0].isEmpty()) this.put(batch[0]);
+            } catch (Throwable t) {
+                this.failure = t;
+            }
+            this.put(END_OF_SPLIT);
+        }
+
+        private void put(List<String> batch) {
+            try {
+                this.batches.put(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new WayangException("Reading text file was interrupted.", e);
+            }
+        }
+
+        private List<String> take() {
+            final List<String> batch;
+            try {
+                batch = this.batches.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new WayangException("Reading text file was interrupted.", e);
+            }
+            if (batch == END_OF_SPLIT && this.failure != null) {
+                throw new WayangException("Could not read text file.", this.failure);
+            }
+            return batch;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.wayang.java.mapping;
+
+import org.apache.wayang.basic.data.Tuple2;
+import org.apache.wayang.basic.operators.CartesianOperator;
+import org.apache.wayang.basic.operators.FilterOperator;
+import org.apache.wayang.core.function.PredicateDescriptor;
+import org.apache.wayang.core.mapping.Mapping;
+import org.apache.wayang.core.mapping.OperatorPattern;
+import org.apache.wayang.core.mapping.PlanTransformation;
+import org.apache.wayang.core.mapping.ReplacementSubplanFactory;
+import org.apache.wayang.core.mapping.SubplanMatch;
+import org.apache.wayang.core.mapping.SubplanPattern;
+import org.apache.wayang.core.plan.wayangplan.Operator;
+import org.apache.wayang.core.plan.wayangplan.OperatorAlternative;
+import org.apache.wayang.core.plan.wayangplan.OutputSlot;
+import org.apache.wayang.core.types.DataSetType;
+import org.apache.wayang.java.operators.JavaCartesianOperator;
+import org.apache.wayang.java.platform.JavaPlatform;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Mapping from a {@link CartesianOperator} followed by a {@link FilterOperator} to a {@link JavaCartesianOperator}
+ * with a fused filter.
+ * <p>Only a {@link CartesianOperator} whose sole consumer is the {@link FilterOperator} is matched. Furthermore,
+ * this mapping needs to be applied before the operators are wrapped by single-operator mappings, e.g., the
+ * {@link CartesianMapping} and the {@link FilterMapping}.</p>
+ */
+@SuppressWarnings("unchecked")
+public class FilteredCartesianMapping implements Mapping {
+
+    @Override
+    public Collection<PlanTransformation> getTransformations() {
+        return Collections.singleton(new PlanTransformation(
+                this.createSubplanPattern(),
+                new ReplacementFactory(),
+                JavaPlatform.getInstance()
+        ));
+    }
+
+    private SubplanPattern createSubplanPattern() {
+        final OperatorPattern<CartesianOperator<?, ?>> cartesianPattern = new OperatorPattern<CartesianOperator<?, ?>>(
+                "cartesian", new CartesianOperator<>(DataSetType.none(), DataSetType.none()), false
+        ).withAdditionalTest(cartesian -> cartesian.getNumInputs() == cartesian.getNumRegularInputs());
+        final OperatorPattern<FilterOperator<?>> filterPattern = new OperatorPattern<FilterOperator<?>>(
+                "filter", new FilterOperator<>((PredicateDescriptor) null, DataSetType.createDefaultUnchecked(Tuple2.class)), false
+        ).withAdditionalTest(FilteredCartesianMapping::isFusable);
+        cartesianPattern.connectTo(0, filterPattern, 0);
+        return SubplanPattern.fromOperatorPatterns(cartesianPattern, filterPattern);
+    }
+
+    /**
+     * Tells whether the given {@link FilterOperator} can be fused into its input {@link CartesianOperator}.
+     */
+    private static boolean isFusable(FilterOperator<?> filter) {
+        if (filter.getNumInputs() != filter.getNumRegularInputs() || filter.getParent() instanceof OperatorAlternative) {
+            return false;
+        }
+        final OutputSlot<?> occupant = filter.getInput(0).getOccupant();
+        return occupant != null
+                && occupant.getOwner() instanceof CartesianOperator
+                && occupant.getOccupiedSlots().size() == 1;
+    }
+
+    private static class ReplacementFactory extends ReplacementSubplanFactory {
+
+        @Override
+        protected Operator translate(SubplanMatch subplanMatch, int epoch) {
+            final CartesianOperator<Object, Object> cartesian =
+                    (CartesianOperator<Object, Object>) subplanMatch.getMatch("cartesian").getOperator();
+            final FilterOperator<Tuple2<Object, Object>> filter =
+                    (FilterOperator<Tuple2<Object, Object>>) subplanMatch.getMatch("filter").getOperator();
+            return new JavaCartesianOperator<>(cartesian, filter.getPredicateDescriptor()).at(epoch);
+        }
+    }
+}
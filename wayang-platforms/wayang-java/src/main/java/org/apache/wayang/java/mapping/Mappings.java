@@ -47,6 +47,7 @@ public class Mappings {
             new CountMapping(),
             new DistinctMapping(),
             new SortMapping(),
+            new FilteredCartesianMapping(), // must precede the FilterMapping and the CartesianMapping
             new FilterMapping(),
             new UnionAllMapping(),
             new IntersectMapping(),
@@ -26,6 +26,7 @@ import org.apache.wayang.core.mapping.PlanTransformation;
 import org.apache.wayang.core.mapping.ReplacementSubplanFactory;
 import org.apache.wayang.core.mapping.SubplanPattern;
 import org.apache.wayang.core.types.DataSetType;
+import org.apache.wayang.java.operators.JavaBernoulliSampleOperator;
 import org.apache.wayang.java.operators.JavaRandomSampleOperator;
 import org.apache.wayang.java.operators.JavaReservoirSampleOperator;
 import org.apache.wayang.java.platform.JavaPlatform;
@@ -34,7 +35,8 @@ import java.util.Collection;
 import java.util.Collections;
 
 /**
- * Mapping from {@link SampleOperator} to {@link JavaRandomSampleOperator}.
+ * Mapping from {@link SampleOperator} to {@link JavaRandomSampleOperator}, {@link JavaReservoirSampleOperator}, and
+ * {@link JavaBernoulliSampleOperator}.
  */
 @SuppressWarnings("unchecked")
 public class SampleMapping implements Mapping {
@@ -54,6 +56,7 @@ public class SampleMapping implements Mapping {
         ).withAdditionalTest(op ->
                 op.getSampleMethod() == SampleOperator.Methods.RANDOM
                         || op.getSampleMethod() == SampleOperator.Methods.RESERVOIR
+                        || op.getSampleMethod() == SampleOperator.Methods.BERNOULLI
                         || op.getSampleMethod() == SampleOperator.Methods.ANY
         );
         return SubplanPattern.createSingleton(operatorPattern);
@@ -63,11 +66,13 @@ public class SampleMapping implements Mapping {
         return new ReplacementSubplanFactory.OfSingleOperators<SampleOperator>(
                 (matchedOperator, epoch) -> {
                     switch (matchedOperator.getSampleMethod()) {
-                        case ANY:
                         case RANDOM:
                             return new JavaRandomSampleOperator<>(matchedOperator).at(epoch);
+                        case ANY: // Reservoir sampling needs neither the dataset size nor a full scan of random-access inputs.
                         case RESERVOIR:
                             return new JavaReservoirSampleOperator<>(matchedOperator).at(epoch);
+                        case BERNOULLI:
+                            return new JavaBernoulliSampleOperator<>(matchedOperator).at(epoch);
                         default:
                             throw new WayangException(String.format(
                                     "%s sample method is not yet supported in Java platform.",
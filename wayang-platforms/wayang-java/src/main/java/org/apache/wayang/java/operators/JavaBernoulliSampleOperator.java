@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.wayang.java.operators;
+
+import org.apache.wayang.basic.operators.SampleOperator;
+import org.apache.wayang.core.function.FunctionDescriptor;
+import org.apache.wayang.core.optimizer.OptimizationContext;
+import org.apache.wayang.core.plan.wayangplan.ExecutionOperator;
+import org.apache.wayang.core.platform.ChannelDescriptor;
+import org.apache.wayang.core.platform.ChannelInstance;
+import org.apache.wayang.core.platform.lineage.ExecutionLineageNode;
+import org.apache.wayang.core.types.DataSetType;
+import org.apache.wayang.core.util.Tuple;
+import org.apache.wayang.java.channels.CollectionChannel;
+import org.apache.wayang.java.channels.JavaChannelInstance;
+import org.apache.wayang.java.channels.StreamChannel;
+import org.apache.wayang.java.execution.JavaExecutor;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Java implementation of the {@link SampleOperator} with Bernoulli sampling: each data quantum enters the sample
+ * independently with the probability of the sample size over the dataset size, so the sample size is only met in
+ * expectation. The input is streamed through and never materialized.
+ */
+public class JavaBernoulliSampleOperator<Type>
+        extends SampleOperator<Type>
+        implements JavaExecutionOperator {
+
+    /**
+     * Creates a new instance.
+     *
+     * @param sampleSizeFunction udf-based size of sample
+     */
+    public JavaBernoulliSampleOperator(FunctionDescriptor.SerializableIntUnaryOperator sampleSizeFunction, DataSetType<Type> type, FunctionDescriptor.SerializableLongUnaryOperator seedFunction) {
+        super(sampleSizeFunction, type, Methods.BERNOULLI, seedFunction);
+    }
+
+    /**
+     * Copies an instance (exclusive of broadcasts).
+     *
+     * @param that that should be copied
+     */
+    public JavaBernoulliSampleOperator(SampleOperator<Type> that) {
+        super(that);
+    }
+
+    @Override
+    public Tuple<Collection<ExecutionLineageNode>, Collection<ChannelInstance>> evaluate(
+            ChannelInstance[] inputs,
+            ChannelInstance[] outputs,
+            JavaExecutor javaExecutor,
+            OptimizationContext.OperatorContext operatorContext) {
+        assert inputs.length == this.getNumInputs();
+        assert outputs.length == this.getNumOutputs();
+
+        int sampleSize = this.getSampleSize(operatorContext);
+        long datasetSize = this.isDataSetSizeKnown() ? this.getDatasetSize() :
+                ((CollectionChannel.Instance) inputs[0]).provideCollection().size();
+
+        if (sampleSize >= datasetSize) { //return all
+            ((StreamChannel.Instance) outputs[0]).accept(((JavaChannelInstance) inputs[0]).provideStream());
+        } else if (sampleSize <= 0) {
+            ((StreamChannel.Instance) outputs[0]).accept(Stream.empty());
+        } else {
+            final double fraction = (double) sampleSize / datasetSize;
+            final Random random = new Random(this.getSeed(operatorContext));
+            ((StreamChannel.Instance) outputs[0]).accept(
+                    ((JavaChannelInstance) inputs[0]).<Type>provideStream().filter(new GapSampler<>(fraction, random))
+            );
+        }
+
+        return ExecutionOperator.modelLazyExecution(inputs, outputs, operatorContext);
+    }
+
+    /**
+     * Selects data quanta with a fixed probability. Rather than drawing a random number per data quantum, it draws the
+     * geometrically distributed number of data quanta to skip until the next selected one.
+     */
+    private static class GapSampler<T> implements Predicate<T> {
+
+        private final double logComplement;
+
+        private final Random random;
+
+        /**
+         * Number of data quanta to skip before the next selected one.
+         */
+        private long numSkipped;
+
+        private GapSampler(double fraction, Random random) {
+            this.logComplement = Math.log1p(-fraction);
+            this.random = random;
+            this.scheduleNext();
+        }
+
+        @Override
+        public boolean test(T dataQuantum) {
+            if (this.numSkipped > 0) {
+                this.numSkipped--;
+                return false;
+            }
+            this.scheduleNext();
+            return true;
+        }
+
+        private void scheduleNext() {
+            final double gap = Math.floor(Math.log(1d - this.random.nextDouble()) / this.logComplement);
+            this.numSkipped = gap >= Long.MAX_VALUE ? Long.MAX_VALUE : (long) gap;
+        }
+    }
+
+    @Override
+    public Collection<String> getLoadProfileEstimatorConfigurationKeys() {
+        return Collections.singletonList("wayang.java.bernoulli-sample.load");
+    }
+
+    @Override
+    protected ExecutionOperator createCopy() {
+        return new JavaBernoulliSampleOperator<>(this);
+    }
+
+    @Override
+    public List<ChannelDescriptor> getSupportedInputChannels(int index) {
+        assert index <= this.getNumInputs() || (index == 0 && this.getNumInputs() == 0);
+        return this.isDataSetSizeKnown() ?
+                Arrays.asList(CollectionChannel.DESCRIPTOR, StreamChannel.DESCRIPTOR) :
+                Collections.singletonList(CollectionChannel.DESCRIPTOR);
+    }
+
+    @Override
+    public List<ChannelDescriptor> getSupportedOutputChannels(int index) {
+        assert index <= this.getNumOutputs() || (index == 0 && this.getNumOutputs() == 0);
+        return Collections.singletonList(StreamChannel.DESCRIPTOR);
+    }
+
+}
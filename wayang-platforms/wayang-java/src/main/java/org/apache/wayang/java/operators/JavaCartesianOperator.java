@@ -20,7 +20,13 @@ package org.apache.wayang.java.operators;
 
 import org.apache.wayang.basic.data.Tuple2;
 import org.apache.wayang.basic.operators.CartesianOperator;
+import org.apache.wayang.basic.operators.FilterOperator;
+import org.apache.wayang.core.api.Configuration;
+import org.apache.wayang.core.function.PredicateDescriptor;
 import org.apache.wayang.core.optimizer.OptimizationContext;
+import org.apache.wayang.core.optimizer.ProbabilisticDoubleInterval;
+import org.apache.wayang.core.optimizer.cardinality.CardinalityEstimate;
+import org.apache.wayang.core.optimizer.cardinality.CardinalityEstimator;
 import org.apache.wayang.core.optimizer.costs.LoadProfileEstimators;
 import org.apache.wayang.core.plan.wayangplan.ExecutionOperator;
 import org.apache.wayang.core.platform.ChannelDescriptor;
@@ -33,26 +39,56 @@ import org.apache.wayang.java.channels.JavaChannelInstance;
 import org.apache.wayang.java.channels.StreamChannel;
 import org.apache.wayang.java.execution.JavaExecutor;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
 
 /**
  * Java implementation of the {@link CartesianOperator}.
+ * <p>One input is materialized, while the other one is consumed in blocks. Each block is split into tiles that are
+ * joined with tiles of the materialized input. Optionally, the predicate of a downstream
+ * {@link FilterOperator} can be fused into this instance, so that only qualifying pairs are ever allocated.</p>
+ * <p>The tiles are processed in parallel only if {@value #PARALLEL_PROPERTY_KEY} is set, as the fused predicate is
+ * then invoked concurrently and must be thread-safe.</p>
  */
 public class JavaCartesianOperator<InputType0, InputType1>
         extends CartesianOperator<InputType0, InputType1>
         implements JavaExecutionOperator {
 
+    public static final String TILE_SIZE_PROPERTY_KEY = "wayang.java.cartesian.tile-size";
+
+    public static final String PARALLEL_PROPERTY_KEY = "wayang.java.cartesian.parallel";
+
+    /**
+     * Upper bound for the number of pairs that are tested per block, so as to bound the number of buffered output
+     * pairs.
+     */
+    private static final long MAX_PAIRS_PER_BLOCK = 1L << 20;
+
+    /**
+     * Optional fused filter on the output pairs; can be {@code null}.
+     */
+    private final PredicateDescriptor<Tuple2<InputType0, InputType1>> filterDescriptor;
+
     /**
      * Creates a new instance.
      */
     public JavaCartesianOperator(DataSetType<InputType0> inputType0, DataSetType<InputType1> inputType1) {
         super(inputType0, inputType1);
+        this.filterDescriptor = null;
     }
 
     /**
@@ -61,7 +97,25 @@ public class JavaCartesianOperator<InputType0, InputType1>
      * @param that that should be copied
      */
     public JavaCartesianOperator(CartesianOperator<InputType0, InputType1> that) {
+        this(that, that instanceof JavaCartesianOperator ?
+                ((JavaCartesianOperator<InputType0, InputType1>) that).getFilterDescriptor() :
+                null);
+    }
+
+    /**
+     * Copies an instance (exclusive of broadcasts) and fuses a filter on its output pairs into it.
+     *
+     * @param that             that should be copied
+     * @param filterDescriptor the fused filter or {@code null}
+     */
+    public JavaCartesianOperator(CartesianOperator<InputType0, InputType1> that,
+                                 PredicateDescriptor<Tuple2<InputType0, InputType1>> filterDescriptor) {
         super(that);
+        this.filterDescriptor = filterDescriptor;
+    }
+
+    public PredicateDescriptor<Tuple2<InputType0, InputType1>> getFilterDescriptor() {
+        return this.filterDescriptor;
     }
 
     @Override
@@ -86,65 +140,80 @@ public class JavaCartesianOperator<InputType0, InputType1>
                 "wayang.java.cartesian.load.indexing", javaExecutor.getConfiguration()
         ));
 
-        StreamChannel.Instance output = (StreamChannel.Instance) outputs[0];
-        ChannelInstance materializedInput, probingInput;
+        // Decide which input to materialize: Prefer inputs that are already materialized, then the smaller input.
+        final boolean isMaterialize0;
+        final boolean isAlreadyMaterialized;
         if (inputs[0] instanceof CollectionChannel.Instance) {
-            final Collection<InputType0> collection = ((CollectionChannel.Instance) inputs[0]).provideCollection();
-            final Stream<InputType1> stream = ((JavaChannelInstance) inputs[1]).provideStream();
-            output.<Tuple2<InputType0, InputType1>>accept(
-                    stream.flatMap(e1 -> collection.stream().map(
-                            e0 -> new Tuple2<>(e0, e1)
-                    ))
-            );
-            materializedInput = inputs[0];
-            probingInput = inputs[1];
-            probingExecutionLineageNode.addPredecessor(materializedInput.getLineage());
-
+            isMaterialize0 = true;
+            isAlreadyMaterialized = true;
         } else if (inputs[1] instanceof CollectionChannel.Instance) {
-            final Stream<InputType0> stream = ((JavaChannelInstance) inputs[0]).provideStream();
-            final Collection<InputType1> collection = ((CollectionChannel.Instance) inputs[1]).provideCollection();
-            output.<Tuple2<InputType0, InputType1>>accept(
-                    stream.flatMap(e0 -> collection.stream().map(
-                            e1 -> new Tuple2<>(e0, e1)
-                    ))
-            );
-            materializedInput = inputs[1];
-            probingInput = inputs[0];
-            probingExecutionLineageNode.addPredecessor(materializedInput.getLineage());
+            isMaterialize0 = false;
+            isAlreadyMaterialized = true;
+        } else {
+            isMaterialize0 = operatorContext.getInputCardinality(0).getGeometricMeanEstimate() <=
+                    operatorContext.getInputCardinality(1).getGeometricMeanEstimate();
+            isAlreadyMaterialized = false;
+        }
+        final ChannelInstance materializedInput = inputs[isMaterialize0 ? 0 : 1];
+        final ChannelInstance probingInput = inputs[isMaterialize0 ? 1 : 0];
+        final List<Object> materializedElements = isAlreadyMaterialized ?
+                asList(((CollectionChannel.Instance) materializedInput).provideCollection()) :
+                ((JavaChannelInstance) materializedInput).provideStream().collect(Collectors.toList());
+        final Iterator<Object> probingElements = ((JavaChannelInstance) probingInput).provideStream().iterator();
 
-        } else if (operatorContext.getInputCardinality(0).getGeometricMeanEstimate() <= operatorContext.getInputCardinality(1).getGeometricMeanEstimate()) {
-            // Fallback: Materialize one side.
-            final Collection<InputType0> collection = (Collection<InputType0>) ((JavaChannelInstance) inputs[0]).provideStream().collect(Collectors.toList());
-            final Stream<InputType1> stream = ((JavaChannelInstance) inputs[1]).provideStream();
-            output.<Tuple2<InputType0, InputType1>>accept(
-                    stream.flatMap(e1 -> collection.stream().map(
-                            e0 -> new Tuple2<>(e0, e1)
-                    ))
-            );
-            materializedInput = inputs[0];
-            probingInput = inputs[1];
-            indexingExecutionLineageNode.addPredecessor(materializedInput.getLineage());
-            indexingExecutionLineageNode.collectAndMark(executionLineageNodes, producedChannelInstances);
+        final Configuration configuration = javaExecutor.getConfiguration();
+        final Predicate<Tuple2<InputType0, InputType1>> filter = this.filterDescriptor == null ?
+                null :
+                javaExecutor.getCompiler().compile(this.filterDescriptor);
+        final BlockIterator<InputType0, InputType1> pairIterator = new BlockIterator<>(
+                probingElements,
+                materializedElements,
+                isMaterialize0,
+                filter,
+                (int) Math.max(1L, configuration.getLongProperty(TILE_SIZE_PROPERTY_KEY, 1024)),
+                configuration.getBooleanProperty(PARALLEL_PROPERTY_KEY, false)
+        );
+        ((StreamChannel.Instance) outputs[0]).<Tuple2<InputType0, InputType1>>accept(StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(pairIterator, Spliterator.NONNULL),
+                false
+        ));
 
+        if (isAlreadyMaterialized) {
+            probingExecutionLineageNode.addPredecessor(materializedInput.getLineage());
         } else {
-            final Collection<InputType1> collection = (Collection<InputType1>) ((JavaChannelInstance) inputs[1]).provideStream().collect(Collectors.toList());
-            final Stream<InputType0> stream = ((JavaChannelInstance) inputs[0]).provideStream();
-            output.<Tuple2<InputType0, InputType1>>accept(
-                    stream.flatMap(e0 -> collection.stream().map(
-                            e1 -> new Tuple2<>(e0, e1)
-                    ))
-            );
-            materializedInput = inputs[1];
-            probingInput = inputs[0];
             indexingExecutionLineageNode.addPredecessor(materializedInput.getLineage());
             indexingExecutionLineageNode.collectAndMark(executionLineageNodes, producedChannelInstances);
         }
-
         probingExecutionLineageNode.addPredecessor(probingInput.getLineage());
-        output.getLineage().addPredecessor(probingExecutionLineageNode);
+        outputs[0].getLineage().addPredecessor(probingExecutionLineageNode);
         return new Tuple<>(executionLineageNodes, producedChannelInstances);
     }
 
+    @SuppressWarnings("unchecked")
+    private static List<Object> asList(Collection<?> collection) {
+        return collection instanceof List ? (List<Object>) collection : new ArrayList<>(collection);
+    }
+
+    @Override
+    public Optional<CardinalityEstimator> createCardinalityEstimator(int outputIndex, Configuration configuration) {
+        final Optional<CardinalityEstimator> optEstimator = super.createCardinalityEstimator(outputIndex, configuration);
+        if (this.filterDescriptor == null || !optEstimator.isPresent()) {
+            return optEstimator;
+        }
+        // Apply the selectivity of the fused filter.
+        final CardinalityEstimator cartesianEstimator = optEstimator.get();
+        final ProbabilisticDoubleInterval selectivity =
+                configuration.getUdfSelectivityProvider().provideFor(this.filterDescriptor);
+        return Optional.of((optimizationContext, inputEstimates) -> {
+            final CardinalityEstimate cartesianEstimate = cartesianEstimator.estimate(optimizationContext, inputEstimates);
+            return new CardinalityEstimate(
+                    (long) (cartesianEstimate.getLowerEstimate() * selectivity.getLowerEstimate()),
+                    (long) (cartesianEstimate.getUpperEstimate() * selectivity.getUpperEstimate()),
+                    cartesianEstimate.getCorrectnessProbability() * selectivity.getCorrectnessProbability()
+            );
+        });
+    }
+
     @Override
     public Collection<String> getLoadProfileEstimatorConfigurationKeys() {
         return Arrays.asList("wayang.java.cartesian.load.indexing", "wayang.java.cartesian.load.probing");
@@ -152,7 +221,9 @@ public class JavaCartesianOperator<InputType0, InputType1>
 
     @Override
     protected ExecutionOperator createCopy() {
-        return new JavaCartesianOperator<>(this.getInputType0(), this.getInputType1());
+        return new JavaCartesianOperator<>(
+                new CartesianOperator<>(this.getInputType0(), this.getInputType1()), this.getFilterDescriptor()
+        );
     }
 
     @Override
@@ -167,4 +238,119 @@ public class JavaCartesianOperator<InputType0, InputType1>
         return Collections.singletonList(StreamChannel.DESCRIPTOR);
     }
 
+    /**
+     * Emits the (qualifying) pairs of a streamed and a materialized input. The streamed input is consumed in blocks
+     * and each block is joined with the materialized input tile by tile.
+     */
+    private static class BlockIterator<InputType0, InputType1> implements Iterator<Tuple2<InputType0, InputType1>> {
+
+        private final Iterator<Object> probingElements;
+
+        private final List<Object> materializedElements;
+
+        /**
+         * Tells whether the {@link #materializedElements} stem from input {@code 0}.
+         */
+        private final boolean isMaterialized0;
+
+        private final Predicate<Tuple2<InputType0, InputType1>> filter;
+
+        private final int tileSize;
+
+        private final boolean isParallel;
+
+        /**
+         * Maximum number of probing elements per block.
+         */
+        private final int blockSize;
+
+        private Iterator<Tuple2<InputType0, InputType1>> currentBlock = Collections.emptyIterator();
+
+        private BlockIterator(Iterator<Object> probingElements,
+                              List<Object> materializedElements,
+                              boolean isMaterialized0,
+                              Predicate<Tuple2<InputType0, InputType1>> filter,
+                              int tileSize,
+                              boolean isParallel) {
+            this.probingElements = probingElements;
+            this.materializedElements = materializedElements;
+            this.isMaterialized0 = isMaterialized0;
+            this.filter = filter;
+            this.tileSize = tileSize;
+            this.isParallel = isParallel;
+            final int numWorkers = isParallel ? ForkJoinPool.getCommonPoolParallelism() : 1;
+            final long maxBlockSize = Math.max(1L, MAX_PAIRS_PER_BLOCK / Math.max(1, materializedElements.size()));
+            this.blockSize = (int) Math.min((long) tileSize * numWorkers, maxBlockSize);
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!this.currentBlock.hasNext() && this.probingElements.hasNext()) {
+                this.currentBlock = this.processNextBlock();
+            }
+            return this.currentBlock.hasNext();
+        }
+
+        @Override
+        public Tuple2<InputType0, InputType1> next() {
+            if (!this.hasNext()) throw new NoSuchElementException();
+            return this.currentBlock.next();
+        }
+
+        private Iterator<Tuple2<InputType0, InputType1>> processNextBlock() {
+            List<Object> block = new ArrayList<>(this.blockSize);
+            while (block.size() < this.blockSize && this.probingElements.hasNext()) {
+                block.add(this.probingElements.next());
+            }
+            if (this.materializedElements.isEmpty()) {
+                return Collections.emptyIterator();
+            }
+
+            final int numBlockTiles = (block.size() + this.tileSize - 1) / this.tileSize;
+            final int numMaterializedTiles = (this.materializedElements.size() + this.tileSize - 1) / this.tileSize;
+            IntStream tileIds = IntStream.range(0, numBlockTiles * numMaterializedTiles);
+            if (this.isParallel && numBlockTiles * numMaterializedTiles > 1) {
+                tileIds = tileIds.parallel();
+            }
+            return tileIds
+                    .mapToObj(tileId -> this.processTile(
+                            block, tileId / numMaterializedTiles, tileId % numMaterializedTiles
+                    ))
+                    .collect(Collectors.toList())
+                    .stream()
+                    .flatMap(List::stream)
+                    .iterator();
+        }
+
+        /**
+         * Pairs a tile of the {@code block} with a tile of the {@link #materializedElements}.
+         */
+        @SuppressWarnings("unchecked")
+        private List<Tuple2<InputType0, InputType1>> processTile(List<Object> block, int blockTile, int materializedTile) {
+            final int blockStart = blockTile * this.tileSize;
+            final int blockEnd = Math.min(blockStart + this.tileSize, block.size());
+            final int materializedStart = materializedTile * this.tileSize;
+            final int materializedEnd = Math.min(materializedStart + this.tileSize, this.materializedElements.size());
+
+            List<Tuple2<InputType0, InputType1>> pairs = new ArrayList<>();
+            // Only qualifying pairs are allocated; the filter is evaluated on a reused probe.
+            final Tuple2<Object, Object> probe = new Tuple2<>();
+            for (int i = blockStart; i < blockEnd; i++) {
+                final Object probingElement = block.get(i);
+                for (int j = materializedStart; j < materializedEnd; j++) {
+                    final Object materializedElement = this.materializedElements.get(j);
+                    final Object element0 = this.isMaterialized0 ? materializedElement : probingElement;
+                    final Object element1 = this.isMaterialized0 ? probingElement : materializedElement;
+                    if (this.filter != null) {
+                        probe.field0 = element0;
+                        probe.field1 = element1;
+                        if (!this.filter.test((Tuple2<InputType0, InputType1>) (Tuple2<?, ?>) probe)) continue;
+                    }
+                    pairs.add(new Tuple2<>((InputType0) element0, (InputType1) element1));
+                }
+            }
+            return pairs;
+        }
+    }
+
 }
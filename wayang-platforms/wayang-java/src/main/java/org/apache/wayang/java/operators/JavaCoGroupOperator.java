@@ -42,11 +42,16 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.LinkedList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Java implementation of the {@link CoGroupOperator}.
@@ -86,54 +91,63 @@ public class JavaCoGroupOperator<InputType0, InputType1, KeyType>
 
         final Function<InputType0, KeyType> keyExtractor0 = javaExecutor.getCompiler().compile(this.keyDescriptor0);
         final Function<InputType1, KeyType> keyExtractor1 = javaExecutor.getCompiler().compile(this.keyDescriptor1);
+        final Stream<InputType0> stream0 = ((JavaChannelInstance) inputs[0]).provideStream();
+        final Stream<InputType1> stream1 = ((JavaChannelInstance) inputs[1]).provideStream();
 
-        // Group input 0.
-        final CardinalityEstimate cardinalityEstimate0 = operatorContext.getInputCardinality(0);
-        int expectedNumElements0 = (int) cardinalityEstimate0.getGeometricMeanEstimate();
-        Map<KeyType, Collection<InputType0>> groups0 = new HashMap<>(expectedNumElements0);
-        ((JavaChannelInstance) inputs[0]).<InputType0>provideStream().forEach(dataQuantum0 ->
-                groups0.compute(keyExtractor0.apply(dataQuantum0),
-                        (key, value) -> {
-                            value = value == null ? new LinkedList<>() : value;
-                            value.add(dataQuantum0);
-                            return value;
-                        }
-                )
-        );
+        if (this.isInputsSorted()) {
+            // Merge the sorted inputs lazily, so that only one co-group at a time needs to be in memory.
+            final Iterator<Tuple2<Iterable<InputType0>, Iterable<InputType1>>> coGroupIterator =
+                    new MergingIterator<>(stream0.iterator(), keyExtractor0, stream1.iterator(), keyExtractor1);
+            ((StreamChannel.Instance) outputs[0]).accept(StreamSupport.stream(
+                    Spliterators.spliteratorUnknownSize(coGroupIterator, Spliterator.ORDERED | Spliterator.NONNULL),
+                    false
+            ));
+            return ExecutionOperator.modelLazyExecution(inputs, outputs, operatorContext);
+        }
 
-        // Group input 1.
+        // Otherwise, group both inputs into a single hash table whose entries are already the co-groups. The table is
+        // sized for the smaller input and then extended while streaming the greater input.
+        final CardinalityEstimate cardinalityEstimate0 = operatorContext.getInputCardinality(0);
         final CardinalityEstimate cardinalityEstimate1 = operatorContext.getInputCardinality(1);
-        int expectedNumElements1 = (int) cardinalityEstimate1.getGeometricMeanEstimate();
-        Map<KeyType, Collection<InputType1>> groups1 = new HashMap<>(expectedNumElements1);
-        ((JavaChannelInstance) inputs[1]).<InputType1>provideStream().forEach(dataQuantum1 ->
-                groups1.compute(keyExtractor1.apply(dataQuantum1),
-                        (key, value) -> {
-                            value = value == null ? new LinkedList<>() : value;
-                            value.add(dataQuantum1);
-                            return value;
-                        }
-                )
-        );
-
-        // Create the co-groups.
-        Collection<Tuple2<Iterable<InputType0>, Iterable<InputType1>>> coGroups =
-                new ArrayList<>(expectedNumElements0 + expectedNumElements1);
-        for (Map.Entry<KeyType, Collection<InputType0>> entry : groups0.entrySet()) {
-            Collection<InputType0> group0 = entry.getValue();
-            Collection<InputType1> group1 = groups1.remove(entry.getKey());
-            coGroups.add(new Tuple2<>(
-                    group0,
-                    group1 == null ? Collections.emptyList() : group1
-            ));
+        final boolean isBuild0 = cardinalityEstimate0 == null || cardinalityEstimate1 == null ||
+                cardinalityEstimate0.getGeometricMeanEstimate() <= cardinalityEstimate1.getGeometricMeanEstimate();
+        final CardinalityEstimate buildCardinalityEstimate = isBuild0 ? cardinalityEstimate0 : cardinalityEstimate1;
+        final int expectedNumGroups = buildCardinalityEstimate == null ?
+                16 :
+                (int) Math.min(buildCardinalityEstimate.getGeometricMeanEstimate(), 1 << 24);
+        final Map<KeyType, Tuple2<Iterable<InputType0>, Iterable<InputType1>>> coGroups = new HashMap<>(expectedNumGroups);
+        if (isBuild0) {
+            stream0.forEach(dataQuantum0 -> addToGroup0(coGroups, keyExtractor0.apply(dataQuantum0), dataQuantum0));
+            stream1.forEach(dataQuantum1 -> addToGroup1(coGroups, keyExtractor1.apply(dataQuantum1), dataQuantum1));
+        } else {
+            stream1.forEach(dataQuantum1 -> addToGroup1(coGroups, keyExtractor1.apply(dataQuantum1), dataQuantum1));
+            stream0.forEach(dataQuantum0 -> addToGroup0(coGroups, keyExtractor0.apply(dataQuantum0), dataQuantum0));
         }
-        for (Collection<InputType1> group1 : groups1.values()) {
-            coGroups.add(new Tuple2<>(Collections.emptyList(), group1));
+
+        // Fill in the groups for keys that appear in only one input.
+        for (Tuple2<Iterable<InputType0>, Iterable<InputType1>> coGroup : coGroups.values()) {
+            if (coGroup.field0 == null) coGroup.field0 = Collections.emptyList();
+            if (coGroup.field1 == null) coGroup.field1 = Collections.emptyList();
         }
-        ((CollectionChannel.Instance) outputs[0]).accept(coGroups);
+        ((CollectionChannel.Instance) outputs[0]).accept(coGroups.values());
 
         return ExecutionOperator.modelEagerExecution(inputs, outputs, operatorContext);
     }
 
+    @SuppressWarnings("unchecked")
+    private static <T0, T1, K> void addToGroup0(Map<K, Tuple2<Iterable<T0>, Iterable<T1>>> coGroups, K key, T0 dataQuantum) {
+        final Tuple2<Iterable<T0>, Iterable<T1>> coGroup = coGroups.computeIfAbsent(key, k -> new Tuple2<>(null, null));
+        if (coGroup.field0 == null) coGroup.field0 = new ArrayList<>(2);
+        ((List<T0>) coGroup.field0).add(dataQuantum);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T0, T1, K> void addToGroup1(Map<K, Tuple2<Iterable<T0>, Iterable<T1>>> coGroups, K key, T1 dataQuantum) {
+        final Tuple2<Iterable<T0>, Iterable<T1>> coGroup = coGroups.computeIfAbsent(key, k -> new Tuple2<>(null, null));
+        if (coGroup.field1 == null) coGroup.field1 = new ArrayList<>(2);
+        ((List<T1>) coGroup.field1).add(dataQuantum);
+    }
+
     @Override
     public Collection<String> getLoadProfileEstimatorConfigurationKeys() {
         return Collections.singletonList("wayang.java.cogroup.load");
@@ -150,8 +164,11 @@ public class JavaCoGroupOperator<InputType0, InputType1, KeyType>
 
     @Override
     protected ExecutionOperator createCopy() {
-        return new JavaCoGroupOperator<>(this.getInputType0(), this.getInputType1(),
-                this.getKeyDescriptor0(), this.getKeyDescriptor1());
+        final JavaCoGroupOperator<InputType0, InputType1, KeyType> copy = new JavaCoGroupOperator<>(
+                this.getInputType0(), this.getInputType1(), this.getKeyDescriptor0(), this.getKeyDescriptor1()
+        );
+        copy.withSortedInputs(this.isInputsSorted());
+        return copy;
     }
 
     @Override
@@ -163,7 +180,101 @@ public class JavaCoGroupOperator<InputType0, InputType1, KeyType>
     @Override
     public List<ChannelDescriptor> getSupportedOutputChannels(int index) {
         assert index <= this.getNumOutputs() || (index == 0 && this.getNumOutputs() == 0);
-        return Collections.singletonList(CollectionChannel.DESCRIPTOR);
+        return Collections.singletonList(this.isInputsSorted() ? StreamChannel.DESCRIPTOR : CollectionChannel.DESCRIPTOR);
+    }
+
+    /**
+     * Co-groups two inputs that are sorted by their keys.
+     */
+    private static class MergingIterator<InputType0, InputType1, KeyType>
+            implements Iterator<Tuple2<Iterable<InputType0>, Iterable<InputType1>>> {
+
+        private final SortedGroupIterator<InputType0, KeyType> groups0;
+
+        private final SortedGroupIterator<InputType1, KeyType> groups1;
+
+        private MergingIterator(Iterator<InputType0> input0, Function<InputType0, KeyType> keyExtractor0,
+                                Iterator<InputType1> input1, Function<InputType1, KeyType> keyExtractor1) {
+            this.groups0 = new SortedGroupIterator<>(input0, keyExtractor0);
+            this.groups1 = new SortedGroupIterator<>(input1, keyExtractor1);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.groups0.hasNext() || this.groups1.hasNext();
+        }
+
+        @Override
+        public Tuple2<Iterable<InputType0>, Iterable<InputType1>> next() {
+            if (!this.hasNext()) throw new NoSuchElementException();
+            final int comparison;
+            if (!this.groups0.hasNext()) comparison = 1;
+            else if (!this.groups1.hasNext()) comparison = -1;
+            else comparison = SortedGroupIterator.compare(this.groups0.peekKey(), this.groups1.peekKey());
+            return new Tuple2<>(
+                    comparison <= 0 ? this.groups0.next() : Collections.emptyList(),
+                    comparison >= 0 ? this.groups1.next() : Collections.emptyList()
+            );
+        }
+    }
+
+    /**
+     * Groups consecutive elements with equal keys of a sorted input.
+     */
+    private static class SortedGroupIterator<Type, KeyType> implements Iterator<List<Type>> {
+
+        private final Iterator<Type> input;
+
+        private final Function<Type, KeyType> keyExtractor;
+
+        private Type head;
+
+        private KeyType headKey;
+
+        private boolean hasHead;
+
+        private SortedGroupIterator(Iterator<Type> input, Function<Type, KeyType> keyExtractor) {
+            this.input = input;
+            this.keyExtractor = keyExtractor;
+            this.advance();
+        }
+
+        private void advance() {
+            this.hasHead = this.input.hasNext();
+            if (this.hasHead) {
+                this.head = this.input.next();
+                this.headKey = this.keyExtractor.apply(this.head);
+            } else {
+                this.head = null;
+                this.headKey = null;
+            }
+        }
+
+        private KeyType peekKey() {
+            return this.headKey;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.hasHead;
+        }
+
+        @Override
+        public List<Type> next() {
+            if (!this.hasHead) throw new NoSuchElementException();
+            final KeyType key = this.headKey;
+            List<Type> group = new ArrayList<>(2);
+            do {
+                group.add(this.head);
+                this.advance();
+            } while (this.hasHead && compare(key, this.headKey) == 0);
+            return group;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static int compare(Object key0, Object key1) {
+            return ((Comparable<Object>) key0).compareTo(key1);
+        }
     }
 
 }
@@ -31,8 +31,8 @@ import org.apache.wayang.core.platform.lineage.ExecutionLineageNode;
 import org.apache.wayang.core.types.DataSetType;
 import org.apache.wayang.core.util.Tuple;
 import org.apache.wayang.java.channels.CollectionChannel;
-import org.apache.wayang.java.channels.JavaChannelInstance;
 import org.apache.wayang.java.channels.StreamChannel;
+import org.apache.wayang.java.execution.FusedPipeline;
 import org.apache.wayang.java.execution.JavaExecutor;
 
 import java.util.Arrays;
@@ -84,7 +84,7 @@ public class JavaFilterOperator<Type>
 
         final Predicate<Type> filterFunction = javaExecutor.getCompiler().compile(this.predicateDescriptor);
         JavaExecutor.openFunction(this, filterFunction, inputs, operatorContext);
-        ((StreamChannel.Instance) outputs[0]).accept(((JavaChannelInstance) inputs[0]).<Type>provideStream().filter(filterFunction));
+        javaExecutor.pipe(inputs[0], outputs[0], FusedPipeline.filter(filterFunction));
 
         return ExecutionOperator.modelLazyExecution(inputs, outputs, operatorContext);
     }
@@ -31,8 +31,8 @@ import org.apache.wayang.core.platform.lineage.ExecutionLineageNode;
 import org.apache.wayang.core.types.DataSetType;
 import org.apache.wayang.core.util.Tuple;
 import org.apache.wayang.java.channels.CollectionChannel;
-import org.apache.wayang.java.channels.JavaChannelInstance;
 import org.apache.wayang.java.channels.StreamChannel;
+import org.apache.wayang.java.execution.FusedPipeline;
 import org.apache.wayang.java.execution.JavaExecutor;
 
 import java.util.Arrays;
@@ -40,10 +40,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
-import java.util.Spliterator;
-import java.util.Spliterators;
 import java.util.function.Function;
-import java.util.stream.StreamSupport;
 
 /**
  * Java implementation of the {@link FlatMapOperator}.
@@ -84,16 +81,7 @@ public class JavaFlatMapOperator<InputType, OutputType>
                 javaExecutor.getCompiler().compile(this.functionDescriptor);
         JavaExecutor.openFunction(this, flatmapFunction, inputs, operatorContext);
 
-        ((StreamChannel.Instance) outputs[0]).accept(
-                ((JavaChannelInstance) inputs[0]).<InputType>provideStream().flatMap(dataQuantum ->
-                        StreamSupport.stream(
-                                Spliterators.spliteratorUnknownSize(
-                                        flatmapFunction.apply(dataQuantum).iterator(),
-                                        Spliterator.ORDERED),
-                                false
-                        )
-                )
-        );
+        javaExecutor.pipe(inputs[0], outputs[0], FusedPipeline.flatMap(flatmapFunction));
 
         return ExecutionOperator.modelLazyExecution(inputs, outputs, operatorContext);
     }
@@ -27,11 +27,16 @@ import org.apache.wayang.core.platform.lineage.ExecutionLineageNode;
 import org.apache.wayang.core.types.DataSetType;
 import org.apache.wayang.core.util.Tuple;
 import org.apache.wayang.java.channels.CollectionChannel;
+import org.apache.wayang.java.channels.JavaChannelInstance;
+import org.apache.wayang.java.channels.StreamChannel;
 import org.apache.wayang.java.execution.JavaExecutor;
+import org.apache.wayang.java.io.SpillingGrouper;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -67,10 +72,15 @@ public class JavaGlobalMaterializedGroupOperator<Type>
         assert inputs.length == 1;
         assert outputs.length == 1;
 
-        CollectionChannel.Instance inputChannelInstance = (CollectionChannel.Instance) inputs[0];
-        final Collection<?> dataQuanta = inputChannelInstance.provideCollection();
         Collection<Iterable<?>> dataQuantaGroup = new ArrayList<>(1);
-        dataQuantaGroup.add(dataQuanta);
+        if (inputs[0] instanceof CollectionChannel.Instance) {
+            dataQuantaGroup.add(((CollectionChannel.Instance) inputs[0]).provideCollection());
+        } else {
+            // Materialize the stream, but spill it to a file if it is too large.
+            final Iterator<Type> dataQuanta = ((JavaChannelInstance) inputs[0]).<Type>provideStream().iterator();
+            dataQuantaGroup.add(SpillingGrouper.<Type, Void>create(dataQuantum -> null, javaExecutor.getConfiguration())
+                    .groupAll(dataQuanta));
+        }
 
         CollectionChannel.Instance outputChannelInstance = (CollectionChannel.Instance) outputs[0];
         outputChannelInstance.accept(dataQuantaGroup);
@@ -80,7 +90,7 @@ public class JavaGlobalMaterializedGroupOperator<Type>
 
     @Override
     public List<ChannelDescriptor> getSupportedInputChannels(int index) {
-        return Collections.singletonList(CollectionChannel.DESCRIPTOR);
+        return Arrays.asList(CollectionChannel.DESCRIPTOR, StreamChannel.DESCRIPTOR);
     }
 
     @Override
@@ -36,11 +36,19 @@ import org.apache.wayang.java.execution.JavaExecutor;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Java implementation of the {@link IntersectOperator}.
@@ -75,12 +83,26 @@ public class JavaIntersectOperator<Type>
         assert inputs.length == this.getNumInputs();
         assert outputs.length == this.getNumOutputs();
 
+        if (this.isInputsSorted()) {
+            // Merge the sorted inputs lazily without any probing table.
+            final Iterator<Type> intersectIterator = new MergingIterator<>(
+                    ((JavaChannelInstance) inputs[0]).<Type>provideStream().iterator(),
+                    ((JavaChannelInstance) inputs[1]).<Type>provideStream().iterator()
+            );
+            ((StreamChannel.Instance) outputs[0]).accept(StreamSupport.stream(
+                    Spliterators.spliteratorUnknownSize(intersectIterator, Spliterator.ORDERED | Spliterator.DISTINCT),
+                    false
+            ));
+            return ExecutionOperator.modelLazyExecution(inputs, outputs, operatorContext);
+        }
+
         // Strategy:
         // 1) Create a probing table for the smaller input. This must be a set to deal with duplicates there.
         // 2) Probe the greater input against the table. Remove on probing to deal with duplicates there.
+        // In either case, the intersection follows the order of the first input.
 
         final CardinalityEstimate cardinalityEstimate0 = operatorContext.getInputCardinality(0);
-        final CardinalityEstimate cardinalityEstimate1 = operatorContext.getOutputCardinality(0);
+        final CardinalityEstimate cardinalityEstimate1 = operatorContext.getInputCardinality(1);
 
         ExecutionLineageNode indexingExecutionLineageNode = new ExecutionLineageNode(operatorContext);
         indexingExecutionLineageNode.add(LoadProfileEstimators.createFromSpecification(
@@ -97,21 +119,30 @@ public class JavaIntersectOperator<Type>
 
         final Collection<ExecutionLineageNode> executionLineageNodes = new LinkedList<>();
         final Collection<ChannelInstance> producedChannelInstances = new LinkedList<>();
-        final Stream<Type> candidateStream;
-        final Set<Type> probingTable;
+        final Stream<Type> intersectStream;
         if (isMaterialize0) {
-            candidateStream = ((JavaChannelInstance) inputs[0]).provideStream();
-            probingTable = this.createProbingTable(((JavaChannelInstance) inputs[1]).provideStream());
+            // Mark matches in the probing table itself, so that it retains the first input's order without any
+            // further set of matches.
+            final Map<Type, Boolean> probingTable = this.createMarkingProbingTable(
+                    ((JavaChannelInstance) inputs[0]).provideStream(), cardinalityEstimate0
+            );
+            final Stream<Type> candidateStream = ((JavaChannelInstance) inputs[1]).provideStream();
+            // Probe lazily and then emit the matched part of the probing table.
+            intersectStream = Stream.of(probingTable).flatMap(table -> {
+                candidateStream.forEach(candidate -> table.replace(candidate, Boolean.TRUE));
+                table.values().removeIf(isMatched -> !isMatched);
+                return table.keySet().stream();
+            });
             indexingExecutionLineageNode.addPredecessor(inputs[0].getLineage());
             probingExecutionLineageNode.addPredecessor(inputs[1].getLineage());
         } else {
-            candidateStream = ((JavaChannelInstance) inputs[1]).provideStream();
-            probingTable = this.createProbingTable(((JavaChannelInstance) inputs[0]).provideStream());
+            final Set<Type> probingTable = this.createProbingTable(((JavaChannelInstance) inputs[1]).provideStream(), cardinalityEstimate1);
+            final Stream<Type> candidateStream = ((JavaChannelInstance) inputs[0]).provideStream();
+            intersectStream = candidateStream.filter(probingTable::remove);
             indexingExecutionLineageNode.addPredecessor(inputs[1].getLineage());
             probingExecutionLineageNode.addPredecessor(inputs[0].getLineage());
         }
 
-        Stream<Type> intersectStream = candidateStream.filter(probingTable::remove);
         ((StreamChannel.Instance) outputs[0]).accept(intersectStream);
         outputs[0].getLineage().addPredecessor(probingExecutionLineageNode);
 
@@ -122,11 +153,33 @@ public class JavaIntersectOperator<Type>
     /**
      * Creates a new probing table. The can be altered then.
      *
-     * @param stream for that the probing table should be created
+     * @param stream              for that the probing table should be created
+     * @param cardinalityEstimate estimates the size of the {@code stream} or {@code null}
      * @return the probing table
      */
-    private Set<Type> createProbingTable(Stream<Type> stream) {
-        return stream.collect(Collectors.toSet());
+    private Set<Type> createProbingTable(Stream<Type> stream, CardinalityEstimate cardinalityEstimate) {
+        final int expectedSize = getExpectedSize(cardinalityEstimate);
+        return stream.collect(Collectors.toCollection(() -> new HashSet<>(expectedSize)));
+    }
+
+    /**
+     * Creates a new probing table that retains the order of the {@code stream} and marks each of its elements as not
+     * matched yet.
+     *
+     * @param stream              for that the probing table should be created
+     * @param cardinalityEstimate estimates the size of the {@code stream} or {@code null}
+     * @return the probing table
+     */
+    private Map<Type, Boolean> createMarkingProbingTable(Stream<Type> stream, CardinalityEstimate cardinalityEstimate) {
+        final Map<Type, Boolean> probingTable = new LinkedHashMap<>(getExpectedSize(cardinalityEstimate));
+        stream.forEach(element -> probingTable.putIfAbsent(element, Boolean.FALSE));
+        return probingTable;
+    }
+
+    private static int getExpectedSize(CardinalityEstimate cardinalityEstimate) {
+        return cardinalityEstimate == null ?
+                16 :
+                (int) Math.min(cardinalityEstimate.getGeometricMeanEstimate(), 1 << 24);
     }
 
     @Override
@@ -136,7 +189,9 @@ public class JavaIntersectOperator<Type>
 
     @Override
     protected ExecutionOperator createCopy() {
-        return new JavaIntersectOperator<>(this.getType());
+        final JavaIntersectOperator<Type> copy = new JavaIntersectOperator<>(this.getType());
+        copy.withSortedInputs(this.isInputsSorted());
+        return copy;
     }
 
     @Override
@@ -151,4 +206,59 @@ public class JavaIntersectOperator<Type>
         return Collections.singletonList(StreamChannel.DESCRIPTOR);
     }
 
+    /**
+     * Intersects two inputs that are sorted by the natural order of their elements.
+     */
+    private static class MergingIterator<Type> implements Iterator<Type> {
+
+        private final Iterator<Type> input0, input1;
+
+        private Type next;
+
+        private boolean hasNext;
+
+        private MergingIterator(Iterator<Type> input0, Iterator<Type> input1) {
+            this.input0 = input0;
+            this.input1 = input1;
+            this.advance();
+        }
+
+        @SuppressWarnings("unchecked")
+        private void advance() {
+            final Type last = this.next;
+            final boolean hasLast = this.hasNext;
+            this.hasNext = false;
+            if (!this.input0.hasNext() || !this.input1.hasNext()) return;
+            Type element0 = this.input0.next(), element1 = this.input1.next();
+            while (true) {
+                final int comparison = ((Comparable<Type>) element0).compareTo(element1);
+                if (comparison == 0 && !(hasLast && ((Comparable<Type>) last).compareTo(element0) == 0)) {
+                    this.next = element0;
+                    this.hasNext = true;
+                    return;
+                }
+                if (comparison <= 0) {
+                    if (!this.input0.hasNext()) return;
+                    element0 = this.input0.next();
+                } else {
+                    if (!this.input1.hasNext()) return;
+                    element1 = this.input1.next();
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.hasNext;
+        }
+
+        @Override
+        public Type next() {
+            if (!this.hasNext) throw new NoSuchElementException();
+            final Type next = this.next;
+            this.advance();
+            return next;
+        }
+    }
+
 }
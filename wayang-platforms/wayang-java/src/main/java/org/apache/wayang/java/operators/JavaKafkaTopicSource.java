@@ -39,6 +39,7 @@ import java.util.stream.StreamSupport;
 
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.logging.log4j.LogManager;
 
 public class JavaKafkaTopicSource extends KafkaTopicSource implements JavaExecutionOperator {
 
@@ -62,7 +63,9 @@ public class JavaKafkaTopicSource extends KafkaTopicSource implements JavaExecut
     
     @Override
     public JavaKafkaTopicSource copy() {
-        return new JavaKafkaTopicSource(this.getTopicName(), this.getEncoding());
+        final JavaKafkaTopicSource copy = new JavaKafkaTopicSource(this.getTopicName(), this.getEncoding());
+        copy.withMicroBatchSession(this.getMicroBatchSession());
+        return copy;
     }
 
     @Override
@@ -88,22 +91,21 @@ public class JavaKafkaTopicSource extends KafkaTopicSource implements JavaExecut
 
         try {
 
-            // Poll messages from the topic
-            System.out.println("### 7 ... ");
-
-            this.initConsumer( (KafkaTopicSource) this );
-
-            ConsumerRecords<String, String> records = getConsumer().poll(Duration.ofMillis(15000));
-
-            System.out.println("### 8 ... ");
-
-            // Convert the records into a Stream<String>
-            Stream<String> messageStream = StreamSupport.stream(records.spliterator(), false)
-                    .map(ConsumerRecord::value); // Extract the message value
-
-            // Use the message stream as needed
-            // For example, you can print each message
-            // => messageStream.forEach(System.out::println);
+            final Stream<String> messageStream;
+            if (this.getMicroBatchSession() != null) {
+                // In micro-batch mode, the session has already polled the batch.
+                messageStream = this.getMicroBatchSession().getCurrentBatch().stream();
+            } else {
+                // Poll messages from the topic
+                this.initConsumer( (KafkaTopicSource) this );
+
+                ConsumerRecords<String, String> records = getConsumer().poll(Duration.ofMillis(15000));
+                LogManager.getLogger(this.getClass()).debug("Polled {} records from {}.", records.count(), this.getTopicName());
+
+                // Convert the records into a Stream<String>
+                messageStream = StreamSupport.stream(records.spliterator(), false)
+                        .map(ConsumerRecord::value); // Extract the message value
+            }
 
             ((StreamChannel.Instance) outputs[0]).accept(messageStream);
 
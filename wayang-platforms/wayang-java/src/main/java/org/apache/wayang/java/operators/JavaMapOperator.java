@@ -31,8 +31,8 @@ import org.apache.wayang.core.platform.lineage.ExecutionLineageNode;
 import org.apache.wayang.core.types.DataSetType;
 import org.apache.wayang.core.util.Tuple;
 import org.apache.wayang.java.channels.CollectionChannel;
-import org.apache.wayang.java.channels.JavaChannelInstance;
 import org.apache.wayang.java.channels.StreamChannel;
+import org.apache.wayang.java.execution.FusedPipeline;
 import org.apache.wayang.java.execution.JavaExecutor;
 
 import java.util.Arrays;
@@ -75,12 +75,10 @@ public class JavaMapOperator<InputType, OutputType>
             OptimizationContext.OperatorContext operatorContext) {
         assert inputs.length == this.getNumInputs();
         assert outputs.length == this.getNumOutputs();
-        final JavaChannelInstance input = (JavaChannelInstance) inputs[0];
-        final StreamChannel.Instance output = (StreamChannel.Instance) outputs[0];
 
         final Function<InputType, OutputType> function = javaExecutor.getCompiler().compile(this.functionDescriptor);
         JavaExecutor.openFunction(this, function, inputs, operatorContext);
-        output.accept(input.<InputType>provideStream().map(function));
+        javaExecutor.pipe(inputs[0], outputs[0], FusedPipeline.map(function));
 
         return ExecutionOperator.modelLazyExecution(inputs, outputs, operatorContext);
     }
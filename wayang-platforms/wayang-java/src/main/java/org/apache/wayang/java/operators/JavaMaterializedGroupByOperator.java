@@ -34,15 +34,14 @@ import org.apache.wayang.java.channels.CollectionChannel;
 import org.apache.wayang.java.channels.JavaChannelInstance;
 import org.apache.wayang.java.channels.StreamChannel;
 import org.apache.wayang.java.execution.JavaExecutor;
+import org.apache.wayang.java.io.SpillingGrouper;
 
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 
 /**
  * Java implementation of the {@link MaterializedGroupByOperator}.
@@ -77,12 +76,10 @@ public class JavaMaterializedGroupByOperator<Type, KeyType>
         assert outputs.length == this.getNumOutputs();
 
         final Function<Type, KeyType> keyExtractor = javaExecutor.getCompiler().compile(this.keyDescriptor);
-        final Map<KeyType, List<Type>> collocation = ((JavaChannelInstance) inputs[0]).<Type>provideStream().collect(
-                Collectors.groupingBy(
-                        keyExtractor,
-                        Collectors.toList())); // Not sure if this is thread-safe... Will we use #parallelStream()?
+        final Collection<Iterable<Type>> groups = SpillingGrouper.create(keyExtractor, javaExecutor.getConfiguration())
+                .group(((JavaChannelInstance) inputs[0]).<Type>provideStream().iterator());
 
-        ((CollectionChannel.Instance) outputs[0]).accept(collocation.values());
+        ((CollectionChannel.Instance) outputs[0]).accept(groups);
 
         return ExecutionOperator.modelEagerExecution(inputs, outputs, operatorContext);
     }
@@ -99,9 +99,6 @@ public class JavaObjectFileSink<T> extends ObjectFileSink<T> implements JavaExec
             // Chunk the stream of data quanta and write the chunks into the sequence file.
             StreamChunker streamChunker = new StreamChunker(10, (chunk, size) -> {
                 if (chunk.length != size) {
-                    System.out.println("heer");
-                    System.out.println(chunk.length);
-                    System.out.println(size);
                     chunk = Arrays.copyOfRange(chunk, 0, size);
                 }
                 try {
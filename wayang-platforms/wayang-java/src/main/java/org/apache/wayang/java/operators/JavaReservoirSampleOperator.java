@@ -36,12 +36,15 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Random;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.IntUnaryOperator;
 import java.util.function.LongUnaryOperator;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * Java implementation of the {@link JavaReservoirSampleOperator}.
@@ -50,7 +53,15 @@ public class JavaReservoirSampleOperator<Type>
         extends SampleOperator<Type>
         implements JavaExecutionOperator {
 
-    private Random rand;
+    /**
+     * Whether to sample large {@link Collection}s in parallel.
+     */
+    public static final String PARALLEL_PROPERTY_KEY = "wayang.java.sample.parallel";
+
+    /**
+     * Minimum size of {@link Collection}s to sample in parallel.
+     */
+    private static final int MIN_PARALLEL_SIZE = 1 << 16;
 
     /**
      * Creates a new instance.
@@ -80,34 +91,87 @@ public class JavaReservoirSampleOperator<Type>
         assert outputs.length == this.getNumOutputs();
 
         int sampleSize = this.getSampleSize(operatorContext);
-
-        if (sampleSize >= datasetSize) { //return all
-            ((CollectionChannel.Instance) outputs[0]).accept(((JavaChannelInstance) inputs[0]).provideStream().collect(Collectors.toList()));
+        long seed = this.getSeed(operatorContext);
+
+        final List<Type> sample;
+        if (inputs[0] instanceof CollectionChannel.Instance) {
+            final boolean isParallel = javaExecutor.getConfiguration().getBooleanProperty(PARALLEL_PROPERTY_KEY, true);
+            sample = reservoirSample(((CollectionChannel.Instance) inputs[0]).provideCollection(), sampleSize, seed, isParallel);
+        } else {
+            final ReservoirSampler<Type> sampler = new ReservoirSampler<>(sampleSize, new Random(seed));
+            sampler.addAll(((JavaChannelInstance) inputs[0]).<Type>provideStream().iterator());
+            sample = sampler.getSample();
         }
-        else {
-            long seed = this.getSeed(operatorContext);
-            rand = new Random(seed);
+        ((CollectionChannel.Instance) outputs[0]).accept(sample);
 
-            ((CollectionChannel.Instance) outputs[0]).accept(reservoirSample(rand, ((JavaChannelInstance) inputs[0]).<Type>provideStream().iterator(), sampleSize));
-        }
         return ExecutionOperator.modelEagerExecution(inputs, outputs, operatorContext);
     }
 
-    private static <T> List<T> reservoirSample(Random rand, Iterator<T> items, long m) {
-        ArrayList<T> res = new ArrayList<T>(Math.toIntExact(m));
-        int count = 0;
-        while (items.hasNext()) {
-            T item = items.next();
-            count++;
-            if (count <= m)
-                res.add(item);
-            else {
-                int r = rand.nextInt(count);
-                if (r < m)
-                    res.set(r, item);
+    /**
+     * Sample a {@link Collection}. Large ones are split into parts that are sampled in parallel, and the samples of
+     * the parts are then merged. Random-access {@link List}s are split by index, so that only the data quanta that
+     * enter the samples are read; other {@link Collection}s are split via their {@link Spliterator}.
+     */
+    private static <T> List<T> reservoirSample(Collection<T> collection, int sampleSize, long seed, boolean isParallel) {
+        final int numParts = isParallel && collection.size() >= MIN_PARALLEL_SIZE ?
+                Math.max(1, ForkJoinPool.getCommonPoolParallelism()) :
+                1;
+        final List<ReservoirSampler<T>> samplers;
+        if (collection instanceof List && collection instanceof RandomAccess) {
+            final List<T> list = (List<T>) collection;
+            samplers = parts(numParts)
+                    .mapToObj(part -> {
+                        final ReservoirSampler<T> sampler = new ReservoirSampler<>(sampleSize, createRandom(seed, part));
+                        sampler.addAll(list, getPartStart(list.size(), part, numParts), getPartStart(list.size(), part + 1, numParts));
+                        return sampler;
+                    })
+                    .collect(Collectors.toList());
+        } else {
+            final List<Spliterator<T>> splits = split(collection.spliterator(), numParts);
+            samplers = parts(splits.size())
+                    .mapToObj(part -> {
+                        final ReservoirSampler<T> sampler = new ReservoirSampler<>(sampleSize, createRandom(seed, part));
+                        splits.get(part).forEachRemaining(sampler::add);
+                        return sampler;
+                    })
+                    .collect(Collectors.toList());
+        }
+        return ReservoirSampler.merge(samplers, sampleSize, new Random(seed));
+    }
+
+    private static IntStream parts(int numParts) {
+        return numParts > 1 ? IntStream.range(0, numParts).parallel() : IntStream.range(0, numParts);
+    }
+
+    private static int getPartStart(int size, int part, int numParts) {
+        return (int) ((long) size * part / numParts);
+    }
+
+    /**
+     * Create the {@link Random} for a part, so that samples are reproducible for a given seed and number of parts.
+     */
+    private static Random createRandom(long seed, int part) {
+        return new Random(seed + part * 0x9E3779B97F4A7C15L);
+    }
+
+    /**
+     * Split a {@link Spliterator} into up to {@code numParts} parts of about equal size, if it can be split.
+     */
+    private static <T> List<Spliterator<T>> split(Spliterator<T> spliterator, int numParts) {
+        final List<Spliterator<T>> splits = new ArrayList<>(numParts);
+        splits.add(spliterator);
+        boolean isSplit = true;
+        while (isSplit && splits.size() < numParts) {
+            isSplit = false;
+            for (int i = splits.size() - 1; i >= 0 && splits.size() < numParts; i--) {
+                final Spliterator<T> prefix = splits.get(i).trySplit();
+                if (prefix != null) {
+                    splits.add(prefix);
+                    isSplit = true;
+                }
             }
         }
-        return res;
+        return splits;
     }
 
     @Override
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.wayang.java.operators;
+
+import org.apache.commons.lang3.Validate;
+import org.apache.logging.log4j.LogManager;
+import org.apache.wayang.basic.channels.FileChannel;
+import org.apache.wayang.core.api.Configuration;
+import org.apache.wayang.core.api.exception.WayangException;
+import org.apache.wayang.core.optimizer.OptimizationContext;
+import org.apache.wayang.core.optimizer.cardinality.CardinalityEstimator;
+import org.apache.wayang.core.optimizer.cardinality.DefaultCardinalityEstimator;
+import org.apache.wayang.core.plan.wayangplan.ExecutionOperator;
+import org.apache.wayang.core.plan.wayangplan.UnaryToUnaryOperator;
+import org.apache.wayang.core.platform.ChannelDescriptor;
+import org.apache.wayang.core.platform.ChannelInstance;
+import org.apache.wayang.core.platform.lineage.ExecutionLineageNode;
+import org.apache.wayang.core.types.DataSetType;
+import org.apache.wayang.core.util.Tuple;
+import org.apache.wayang.java.channels.CollectionChannel;
+import org.apache.wayang.java.channels.JavaChannelInstance;
+import org.apache.wayang.java.channels.StreamChannel;
+import org.apache.wayang.java.execution.JavaExecutor;
+import org.apache.wayang.java.io.SegmentFileWriter;
+import org.apache.wayang.java.io.SegmentFiles;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Converts a {@link StreamChannel} or {@link CollectionChannel} into a directory of segment files (see
+ * {@link SegmentFiles}) on a local or shared disk, so that another platform can read the segments in parallel.
+ */
+public class JavaSegmentFileSink<T> extends UnaryToUnaryOperator<T, T> implements JavaExecutionOperator {
+
+    public JavaSegmentFileSink(DataSetType<T> type) {
+        super(type, type, false);
+    }
+
+    @Override
+    public Tuple<Collection<ExecutionLineageNode>, Collection<ChannelInstance>> evaluate(
+            ChannelInstance[] inputs,
+            ChannelInstance[] outputs,
+            JavaExecutor javaExecutor,
+            OptimizationContext.OperatorContext operatorContext) {
+        final JavaChannelInstance input = (JavaChannelInstance) inputs[0];
+        final FileChannel.Instance output = (FileChannel.Instance) outputs[0];
+
+        final Configuration configuration = javaExecutor.getConfiguration();
+        final String path = output.addGivenOrTempPath(null, configuration);
+        final SegmentFileWriter writer = SegmentFileWriter.create(configuration);
+        try {
+            final int numSegments;
+            if (input instanceof CollectionChannel.Instance) {
+                final Collection<T> collection = ((CollectionChannel.Instance) input).provideCollection();
+                numSegments = writer.write(collection, path);
+                output.setMeasuredCardinality(collection.size());
+            } else {
+                final AtomicLong numDataQuanta = new AtomicLong();
+                numSegments = writer.write(input.<T>provideStream().peek(dataQuantum -> numDataQuanta.incrementAndGet()), path);
+                output.setMeasuredCardinality(numDataQuanta.get());
+            }
+            LogManager.getLogger(this.getClass()).info("Wrote {} segments to {}.", numSegments, path);
+        } catch (IOException e) {
+            throw new WayangException(String.format("Could not write segment files to %s.", path), e);
+        }
+
+        return ExecutionOperator.modelEagerExecution(inputs, outputs, operatorContext);
+    }
+
+    @Override
+    public List<ChannelDescriptor> getSupportedInputChannels(int index) {
+        return Arrays.asList(CollectionChannel.DESCRIPTOR, StreamChannel.DESCRIPTOR);
+    }
+
+    @Override
+    public List<ChannelDescriptor> getSupportedOutputChannels(int index) {
+        return Collections.singletonList(FileChannel.LOCAL_SEGMENT_FILE_DESCRIPTOR);
+    }
+
+    @Override
+    public Optional<CardinalityEstimator> createCardinalityEstimator(
+            final int outputIndex,
+            final Configuration configuration) {
+        Validate.inclusiveBetween(0, 0, outputIndex);
+        return Optional.of(new DefaultCardinalityEstimator(1d, 1, this.isSupportingBroadcastInputs(),
+                inputCards -> inputCards[0]));
+    }
+
+    @Override
+    public String getLoadProfileEstimatorConfigurationKey() {
+        return "wayang.java.segmentfilesink.load";
+    }
+
+}
@@ -86,6 +86,11 @@ public class JavaSortOperator<Type, Key>
         return "wayang.java.sort.load";
     }
 
+    @Override
+    public boolean isOrderSensitive() {
+        return true;
+    }
+
     @Override
     protected ExecutionOperator createCopy() {
         return new JavaSortOperator<>(this.getKeyDescriptor(), this.getInputType());
@@ -30,18 +30,14 @@ import org.apache.wayang.core.platform.ChannelDescriptor;
 import org.apache.wayang.core.platform.ChannelInstance;
 import org.apache.wayang.core.platform.lineage.ExecutionLineageNode;
 import org.apache.wayang.core.util.Tuple;
-import org.apache.wayang.core.util.fs.FileSystem;
-import org.apache.wayang.core.util.fs.FileSystems;
 import org.apache.wayang.java.channels.CollectionChannel;
 import org.apache.wayang.java.channels.JavaChannelInstance;
 import org.apache.wayang.java.channels.StreamChannel;
 import org.apache.wayang.java.execution.JavaExecutor;
+import org.apache.wayang.java.io.ParallelTextFileWriter;
 import org.apache.wayang.java.platform.JavaPlatform;
 
-import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.OutputStreamWriter;
-import java.io.UncheckedIOException;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
@@ -71,21 +67,15 @@ public class JavaTextFileSink<T> extends TextFileSink<T> implements JavaExecutio
         assert outputs.length == 0;
 
         JavaChannelInstance input = (JavaChannelInstance) inputs[0];
-        final FileSystem fs = FileSystems.requireFileSystem(this.textFileUrl);
         final Function<T, String> formatter = javaExecutor.getCompiler().compile(this.formattingDescriptor);
-
-
-        try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(fs.create(this.textFileUrl)))) {
-            input.<T>provideStream().forEach(
-                    dataQuantum -> {
-                        try {
-                            writer.write(formatter.apply(dataQuantum));
-                            writer.write('\n');
-                        } catch (IOException e) {
-                            throw new UncheckedIOException(e);
-                        }
-                    }
-            );
+        final ParallelTextFileWriter writer = ParallelTextFileWriter.create(javaExecutor.getConfiguration());
+
+        try {
+            if (input instanceof CollectionChannel.Instance) {
+                writer.write(((CollectionChannel.Instance) input).<T>provideCollection(), formatter, this.textFileUrl);
+            } else {
+                writer.write(input.<T>provideStream(), formatter, this.textFileUrl);
+            }
         } catch (IOException e) {
             throw new WayangException("Writing failed.", e);
         }
@@ -26,8 +26,10 @@ import org.apache.wayang.core.platform.ChannelDescriptor;
 import org.apache.wayang.core.platform.ChannelInstance;
 import org.apache.wayang.core.platform.lineage.ExecutionLineageNode;
 import org.apache.wayang.core.util.Tuple;
+import org.apache.wayang.core.util.fs.CompressionCodec;
 import org.apache.wayang.java.channels.StreamChannel;
 import org.apache.wayang.java.execution.JavaExecutor;
+import org.apache.wayang.java.io.SplittingTextFileReader;
 
 import java.io.BufferedReader;
 import java.io.IOException;
@@ -38,10 +40,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.stream.Stream;
 import java.net.HttpURLConnection;
-import java.net.URI;
 import java.net.URL;
-import java.nio.file.Files;
-import java.nio.file.Path;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -65,7 +64,9 @@ public class JavaTextFileSource extends TextFileSource implements JavaExecutionO
             if (connection.getResponseCode() == HttpURLConnection.HTTP_OK) {
                 logger.info(">>> Ready to stream the data from URL: " + sourceUrl.toString());
                 // Read the data line by line and process it in the StreamChannel
-                final BufferedReader reader = new BufferedReader(new InputStreamReader(connection.getInputStream()));
+                final BufferedReader reader = new BufferedReader(new InputStreamReader(
+                        CompressionCodec.forFile(sourceUrl.getPath()).decompress(connection.getInputStream())
+                ));
                 return reader.lines().onClose(() -> {
                     try {
                         connection.disconnect();
@@ -86,8 +87,17 @@ public class JavaTextFileSource extends TextFileSource implements JavaExecutionO
      * @return Stream<String> from the file system
      */
     public static Stream<String> streamFromFs(final String path) {
+        return JavaTextFileSource.streamFromFs(path, new SplittingTextFileReader(
+                SplittingTextFileReader.DEFAULT_SPLIT_SIZE, Runtime.getRuntime().availableProcessors()
+        ));
+    }
+
+    /**
+     * @return Stream<String> from the file system, which may be a directory of part files and may be compressed
+     */
+    public static Stream<String> streamFromFs(final String path, final SplittingTextFileReader reader) {
         try {
-            return Files.lines(Path.of(URI.create(path)));
+            return reader.lines(path);
         } catch (final Exception e) {
             throw new WayangException(e);
         }
@@ -129,7 +139,7 @@ public class JavaTextFileSource extends TextFileSource implements JavaExecutionO
 
         final Stream<String> lines = (protocol.startsWith("https") || protocol.startsWith("http"))
                 ? JavaTextFileSource.streamFromURL(sourceUrl)
-                : JavaTextFileSource.streamFromFs(urlStr);
+                : JavaTextFileSource.streamFromFs(urlStr, SplittingTextFileReader.create(javaExecutor.getConfiguration()));
 
         ((StreamChannel.Instance) outputs[0]).accept(lines);
 
@@ -30,18 +30,15 @@ import org.apache.wayang.core.platform.ChannelInstance;
 import org.apache.wayang.core.platform.lineage.ExecutionLineageNode;
 import org.apache.wayang.core.types.DataSetType;
 import org.apache.wayang.core.util.Tuple;
-import org.apache.wayang.core.util.fs.FileSystem;
-import org.apache.wayang.core.util.fs.FileSystems;
+import org.apache.wayang.core.util.fs.CompressionCodec;
 import org.apache.wayang.java.channels.CollectionChannel;
 import org.apache.wayang.java.channels.JavaChannelInstance;
 import org.apache.wayang.java.channels.StreamChannel;
 import org.apache.wayang.java.execution.JavaExecutor;
+import org.apache.wayang.java.io.ParallelTextFileWriter;
 import org.apache.wayang.java.platform.JavaPlatform;
 
-import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.OutputStreamWriter;
-import java.io.UncheckedIOException;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -76,37 +73,22 @@ public class JavaTsvFileSink<T extends Tuple2<?, ?>> extends UnarySink<T> implem
             OptimizationContext.OperatorContext operatorContext) {
         assert inputs.length == this.getNumInputs();
 
-        // Prepare Hadoop's SequenceFile.Writer.
         FileChannel.Instance output = (FileChannel.Instance) outputs[0];
         final String path = output.addGivenOrTempPath(this.targetPath, javaExecutor.getCompiler().getConfiguration());
-        final FileSystem fileSystem = FileSystems.getFileSystem(path).orElseThrow(
-                () -> new IllegalStateException(String.format("No file system found for \"%s\".", this.targetPath))
-        );
 
-        try (final BufferedWriter writer = new BufferedWriter(
-                new OutputStreamWriter(
-                        fileSystem.create(path), "UTF-8"
-                )
-        )) {
-            try {
-                ((JavaChannelInstance) inputs[0]).provideStream().forEach(
-                        dataQuantum -> {
-                            try {
-                                // TODO: Once there are more tuple types, make this generic.
-                                @SuppressWarnings("unchecked")
-                                Tuple2<Object, Object> tuple2 = (Tuple2<Object, Object>) dataQuantum;
-                                writer.append(String.valueOf(tuple2.field0))
-                                        .append('\t')
-                                        .append(String.valueOf(tuple2.field1))
-                                        .append('\n');
-                            } catch (IOException e) {
-                                throw new UncheckedIOException(e);
-                            }
-                        }
-                );
-            } catch (UncheckedIOException e) {
-                throw e.getCause();
-            }
+        // The TSV file is read back by other operators, so it must not be compressed or split into parts.
+        final ParallelTextFileWriter writer = new ParallelTextFileWriter(
+                (int) javaExecutor.getConfiguration().getLongProperty(ParallelTextFileWriter.PARALLELISM_PROPERTY_KEY, 1),
+                1,
+                CompressionCodec.NONE
+        );
+        try {
+            // TODO: Once there are more tuple types, make this generic.
+            writer.<Tuple2<?, ?>>write(
+                    ((JavaChannelInstance) inputs[0]).provideStream(),
+                    tuple2 -> String.valueOf(tuple2.field0) + '\t' + tuple2.field1,
+                    path
+            );
         } catch (IOException e) {
             throw new WayangException(String.format("%s failed on writing to %s.", this, this.targetPath), e);
         }
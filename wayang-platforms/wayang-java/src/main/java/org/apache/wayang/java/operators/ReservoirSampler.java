@@ -0,0 +1,191 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.wayang.java.operators;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Draws a uniform sample without replacement from a sequence of data quanta of unknown length via Algorithm L
+ * (Li, 1994): rather than drawing a random number per data quantum, it draws the number of data quanta to skip until
+ * the next one that enters the sample. Random-access {@link List}s are thus sampled without reading the skipped data
+ * quanta at all.
+ * <p>Instances that sample disjoint parts of a dataset can be merged into a sample of the whole dataset via
+ * {@link #merge(List, int, Random)}, so that the parts can be sampled concurrently.</p>
+ *
+ * @param <T> the type of the data quanta
+ */
+class ReservoirSampler<T> {
+
+    private final int capacity;
+
+    private final Random random;
+
+    private final List<T> reservoir;
+
+    /**
+     * Number of data quanta offered to this instance.
+     */
+    private long count = 0;
+
+    /**
+     * Index (1-based) of the next data quantum to enter the {@link #reservoir} once it is full.
+     */
+    private long nextIndex;
+
+    /**
+     * Largest of the random keys of the data quanta in the {@link #reservoir}, if the sample consisted of the data
+     * quanta with the smallest uniformly distributed keys.
+     */
+    private double w;
+
+    ReservoirSampler(int capacity, Random random) {
+        if (capacity < 0) throw new IllegalArgumentException(String.format("Illegal sample size: %d.", capacity));
+        this.capacity = capacity;
+        this.random = random;
+        this.reservoir = new ArrayList<>(Math.min(capacity, 1 << 16));
+        this.nextIndex = capacity == 0 ? Long.MAX_VALUE : capacity + 1L;
+    }
+
+    /**
+     * Offer a data quantum.
+     */
+    void add(T dataQuantum) {
+        this.count++;
+        if (this.count <= this.capacity) {
+            this.reservoir.add(dataQuantum);
+            if (this.count == this.capacity) this.initializeSkipping();
+        } else if (this.count == this.nextIndex) {
+            this.replace(dataQuantum);
+        }
+    }
+
+    /**
+     * Offer all data quanta of an {@link Iterator}.
+     */
+    void addAll(Iterator<T> dataQuanta) {
+        while (dataQuanta.hasNext()) {
+            this.add(dataQuanta.next());
+        }
+    }
+
+    /**
+     * Offer the data quanta of a range of a random-access {@link List}, reading only those that enter the sample.
+     *
+     * @param list the {@link List}
+     * @param from the start of the range (inclusive)
+     * @param to   the end of the range (exclusive)
+     */
+    void addAll(List<T> list, int from, int to) {
+        int index = from;
+        while (index < to && this.count < this.capacity) {
+            this.add(list.get(index++));
+        }
+        while (index < to) {
+            final long numRemaining = to - index;
+            final long numSkipped = this.nextIndex - this.count - 1;
+            if (numSkipped >= numRemaining) {
+                this.count += numRemaining;
+                return;
+            }
+            index += (int) numSkipped;
+            this.count += numSkipped;
+            this.add(list.get(index++));
+        }
+    }
+
+    private void initializeSkipping() {
+        this.w = Math.exp(Math.log(this.nextUniform()) / this.capacity);
+        this.scheduleNext();
+    }
+
+    private void replace(T dataQuantum) {
+        this.reservoir.set(this.random.nextInt(this.capacity), dataQuantum);
+        this.w *= Math.exp(Math.log(this.nextUniform()) / this.capacity);
+        this.scheduleNext();
+    }
+
+    private void scheduleNext() {
+        final double numSkipped = Math.floor(Math.log(this.nextUniform()) / Math.log1p(-this.w));
+        this.nextIndex = numSkipped >= Long.MAX_VALUE - this.count ?
+                Long.MAX_VALUE :
+                this.count + (long) numSkipped + 1;
+    }
+
+    /**
+     * @return a uniform random number in {@code (0, 1]}
+     */
+    private double nextUniform() {
+        return 1d - this.random.nextDouble();
+    }
+
+    long getCount() {
+        return this.count;
+    }
+
+    /**
+     * @return the sample of the data quanta offered so far; backed by this instance
+     */
+    List<T> getSample() {
+        return this.reservoir;
+    }
+
+    /**
+     * Merge the samples of disjoint parts of a dataset into a sample of the whole dataset. Each data quantum of the
+     * result is drawn from the sample of a part with a probability proportional to the number of not yet drawn data
+     * quanta of that part, which preserves the uniformity of the sample.
+     *
+     * @param samplers   sampled the parts with a capacity of at least {@code sampleSize} each
+     * @param sampleSize the size of the merged sample
+     * @param random     draws the data quanta for the merged sample
+     * @return the merged sample
+     */
+    static <T> List<T> merge(List<ReservoirSampler<T>> samplers, int sampleSize, Random random) {
+        if (samplers.size() == 1) return samplers.get(0).getSample();
+
+        final long[] numRemaining = new long[samplers.size()];
+        final List<List<T>> samples = new ArrayList<>(samplers.size());
+        long totalNumRemaining = 0;
+        for (int i = 0; i < samplers.size(); i++) {
+            numRemaining[i] = samplers.get(i).getCount();
+            totalNumRemaining += numRemaining[i];
+            samples.add(new ArrayList<>(samplers.get(i).getSample()));
+        }
+
+        final List<T> result = new ArrayList<>((int) Math.min(sampleSize, totalNumRemaining));
+        while (result.size() < sampleSize && totalNumRemaining > 0) {
+            long pick = (long) (random.nextDouble() * totalNumRemaining);
+            int part = 0;
+            while (pick >= numRemaining[part]) {
+                pick -= numRemaining[part++];
+            }
+            // The sample of the part is uniform, so any of its not yet drawn data quanta will do.
+            final List<T> sample = samples.get(part);
+            final int index = random.nextInt(sample.size());
+            result.add(sample.get(index));
+            sample.set(index, sample.get(sample.size() - 1));
+            sample.remove(sample.size() - 1);
+            numRemaining[part]--;
+            totalNumRemaining--;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.wayang.java.execution;
+
+import org.apache.wayang.basic.data.Tuple2;
+import org.apache.wayang.core.api.Configuration;
+import org.apache.wayang.core.api.WayangContext;
+import org.apache.wayang.core.function.FlatMapDescriptor;
+import org.apache.wayang.core.function.PredicateDescriptor;
+import org.apache.wayang.core.function.ReduceDescriptor;
+import org.apache.wayang.core.function.TransformationDescriptor;
+import org.apache.wayang.core.plan.wayangplan.WayangPlan;
+import org.apache.wayang.core.types.DataSetType;
+import org.apache.wayang.core.types.DataUnitType;
+import org.apache.wayang.java.Java;
+import org.apache.wayang.java.operators.JavaCollectionSource;
+import org.apache.wayang.java.operators.JavaFilterOperator;
+import org.apache.wayang.java.operators.JavaFlatMapOperator;
+import org.apache.wayang.java.operators.JavaLocalCallbackSink;
+import org.apache.wayang.java.operators.JavaMapOperator;
+import org.apache.wayang.java.operators.JavaReduceByOperator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Micro-benchmark that compares fused and unfused chains of stateless operators on a WordCount-style plan (flat map
+ * lines to words, filter, normalize, pair with ones, and reduce by word) and on the bare {@link FusedPipeline}s of
+ * such chains. Run it via its {@link #main(String[])} method, optionally passing the number of lines.
+ */
+public class FusionBenchmark {
+
+    private static final String[] WORDS = {
+            "the", "quick", "brown", "fox", "jumps", "over", "lazy", "dog", "and", "runs", "away", "again", ""
+    };
+
+    public static void main(String[] args) {
+        final int numLines = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        final Random random = new Random(42);
+        final List<String> lines = new ArrayList<>(numLines);
+        for (int i = 0; i < numLines; i++) {
+            final StringBuilder sb = new StringBuilder();
+            for (int j = 0; j < 10; j++) {
+                sb.append(WORDS[random.nextInt(WORDS.length)].toUpperCase()).append(' ');
+            }
+            lines.add(sb.toString());
+        }
+
+        for (String isFusion : Arrays.asList("false", "true")) {
+            run("WordCount plan (fusion=" + isFusion + ")", numLines, () -> runWordCount(lines, isFusion));
+        }
+        run("Word pipeline (unfused)", numLines, () -> countWords(lines, false));
+        run("Word pipeline (fused)", numLines, () -> countWords(lines, true));
+    }
+
+    private static long runWordCount(List<String> lines, String isFusion) {
+        JavaCollectionSource<String> source = new JavaCollectionSource<>(lines, DataSetType.createDefault(String.class));
+        JavaFlatMapOperator<String, String> split = new JavaFlatMapOperator<>(
+                DataSetType.createDefault(String.class),
+                DataSetType.createDefault(String.class),
+                new FlatMapDescriptor<>(line -> Arrays.asList(line.split(" ")), String.class, String.class)
+        );
+        JavaFilterOperator<String> filter = new JavaFilterOperator<>(
+                DataSetType.createDefault(String.class),
+                new PredicateDescriptor<>(word -> !word.isEmpty(), String.class)
+        );
+        JavaMapOperator<String, String> normalize = new JavaMapOperator<>(
+                DataSetType.createDefault(String.class),
+                DataSetType.createDefault(String.class),
+                new TransformationDescriptor<>(String::toLowerCase, String.class, String.class)
+        );
+        JavaMapOperator<String, Tuple2<String, Integer>> pair = new JavaMapOperator<>(
+                DataSetType.createDefault(String.class),
+                DataSetType.createDefaultUnchecked(Tuple2.class),
+                new TransformationDescriptor<>(word -> new Tuple2<>(word, 1), DataUnitType.createBasic(String.class), DataUnitType.createBasicUnchecked(Tuple2.class))
+        );
+        JavaReduceByOperator<Tuple2<String, Integer>, String> count = new JavaReduceByOperator<>(
+                DataSetType.createDefaultUnchecked(Tuple2.class),
+                new TransformationDescriptor<>(Tuple2::getField0, DataUnitType.createBasicUnchecked(Tuple2.class), DataUnitType.createBasic(String.class)),
+                new ReduceDescriptor<>((a, b) -> new Tuple2<>(a.field0, a.field1 + b.field1), DataUnitType.createGroupedUnchecked(Tuple2.class), DataUnitType.createBasicUnchecked(Tuple2.class))
+        );
+        List<Tuple2<String, Integer>> collector = new ArrayList<>();
+        JavaLocalCallbackSink<Tuple2<String, Integer>> sink = new JavaLocalCallbackSink<>(collector::add, DataSetType.createDefaultUnchecked(Tuple2.class));
+        source.connectTo(0, split, 0);
+        split.connectTo(0, filter, 0);
+        filter.connectTo(0, normalize, 0);
+        normalize.connectTo(0, pair, 0);
+        pair.connectTo(0, count, 0);
+        count.connectTo(0, sink, 0);
+
+        final Configuration configuration = new Configuration();
+        configuration.setProperty(JavaExecutor.FUSION_PROPERTY_KEY, isFusion);
+        new WayangContext(configuration).with(Java.basicPlugin()).execute(new WayangPlan(sink));
+        return collector.stream().mapToLong(tuple -> tuple.field1).sum();
+    }
+
+    private static long countWords(List<String> lines, boolean isFusion) {
+        final FusedPipeline.Step[] steps = {
+                FusedPipeline.<String, String>flatMap(line -> Arrays.asList(line.split(" "))),
+                FusedPipeline.<String>filter(word -> !word.isEmpty()),
+                FusedPipeline.<String, String>map(String::toLowerCase),
+                FusedPipeline.<String, Tuple2<String, Integer>>map(word -> new Tuple2<>(word, 1))
+        };
+        if (isFusion) {
+            FusedPipeline pipeline = FusedPipeline.of(lines.stream());
+            for (FusedPipeline.Step step : steps) pipeline = pipeline.then(step);
+            return pipeline.toStream().count();
+        }
+        Stream<Object> stream = lines.stream().map(line -> line);
+        for (FusedPipeline.Step step : steps) stream = step.applyTo(stream);
+        return stream.count();
+    }
+
+    private static void run(String name, int numLines, Supplier<Long> benchmark) {
+        long blackhole = 0;
+        for (int i = 0; i < 3; i++) blackhole += benchmark.get(); // warm-up
+        final long startTime = System.nanoTime();
+        for (int i = 0; i < 5; i++) blackhole += benchmark.get();
+        final long elapsedNanos = System.nanoTime() - startTime;
+        System.out.printf("%-36s %10.1f ns/line (checksum %d)%n", name, elapsedNanos / (5d * numLines), blackhole);
+    }
+}
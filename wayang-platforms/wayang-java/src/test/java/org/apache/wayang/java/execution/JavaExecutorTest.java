@@ -18,26 +18,43 @@
 
 package org.apache.wayang.java.execution;
 
+import org.apache.wayang.commons.util.profiledb.model.Experiment;
+import org.apache.wayang.commons.util.profiledb.model.Subject;
+import org.apache.wayang.core.api.Configuration;
 import org.apache.wayang.core.api.WayangContext;
 import org.apache.wayang.core.function.ExecutionContext;
+import org.apache.wayang.core.function.FlatMapDescriptor;
 import org.apache.wayang.core.function.FunctionDescriptor;
+import org.apache.wayang.core.function.PredicateDescriptor;
 import org.apache.wayang.core.function.TransformationDescriptor;
 import org.apache.wayang.core.plan.wayangplan.WayangPlan;
+import org.apache.wayang.core.profiling.UdfProfileMeasurement;
 import org.apache.wayang.core.types.DataSetType;
 import org.apache.wayang.core.util.WayangArrays;
 import org.apache.wayang.core.util.WayangCollections;
 import org.apache.wayang.java.Java;
+import org.apache.wayang.java.compiler.PipelineCompiler;
+import org.apache.wayang.java.compiler.UdfProfiler;
 import org.apache.wayang.java.operators.JavaCollectionSource;
 import org.apache.wayang.java.operators.JavaDoWhileOperator;
+import org.apache.wayang.java.operators.JavaFilterOperator;
+import org.apache.wayang.java.operators.JavaFlatMapOperator;
 import org.apache.wayang.java.operators.JavaLocalCallbackSink;
 import org.apache.wayang.java.operators.JavaMapOperator;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Test suite for the {@link JavaExecutor}.
@@ -129,4 +146,86 @@ class JavaExecutorTest {
         assertEquals(WayangArrays.asList(6, 7, 8), collector);
     }
 
+    @Test
+    void testUdfProfiling() {
+        JavaCollectionSource<Integer> source = new JavaCollectionSource<>(
+                WayangArrays.asList(1, 2, 3, 4, 5),
+                DataSetType.createDefault(Integer.class)
+        );
+        JavaMapOperator<Integer, Integer> square = new JavaMapOperator<>(
+                DataSetType.createDefault(Integer.class),
+                DataSetType.createDefault(Integer.class),
+                new TransformationDescriptor<>(v -> v * v, Integer.class, Integer.class)
+        );
+        square.setName("square");
+        Collection<Integer> collector = new LinkedList<>();
+        JavaLocalCallbackSink<Integer> sink = new JavaLocalCallbackSink<>(collector::add, DataSetType.createDefault(Integer.class));
+        source.connectTo(0, square, 0);
+        square.connectTo(0, sink, 0);
+
+        final Configuration configuration = new Configuration();
+        configuration.setProperty(UdfProfiler.ENABLED_PROPERTY_KEY, "true");
+        configuration.setProperty(UdfProfiler.SAMPLING_PROPERTY_KEY, "1");
+        final WayangContext wayangContext = new WayangContext(configuration).with(Java.basicPlugin());
+        final Experiment experiment = new Experiment("test", new Subject("test", "0"));
+        wayangContext.createJob("test", new WayangPlan(sink), experiment).execute();
+
+        assertEquals(WayangArrays.asList(1, 4, 9, 16, 25), collector);
+        final List<UdfProfileMeasurement> measurements = experiment.getMeasurements().stream()
+                .filter(measurement -> measurement instanceof UdfProfileMeasurement)
+                .map(measurement -> (UdfProfileMeasurement) measurement)
+                .collect(Collectors.toList());
+        assertEquals(1, measurements.size());
+        assertTrue(measurements.get(0).getOperator().contains("square"));
+        assertEquals(5, measurements.get(0).getInvocations());
+        assertEquals(5, measurements.get(0).getSampledInvocations());
+        assertTrue(measurements.get(0).getWallNanos() > 0);
+    }
+
+    @Test
+    void testFusion() {
+        final List<List<String>> results = new ArrayList<>();
+        for (String isFusion : Arrays.asList("true", "false")) {
+            JavaCollectionSource<String> source = new JavaCollectionSource<>(
+                    Arrays.asList("a b", "", "c d e", "f"),
+                    DataSetType.createDefault(String.class)
+            );
+            JavaFlatMapOperator<String, String> split = new JavaFlatMapOperator<>(
+                    DataSetType.createDefault(String.class),
+                    DataSetType.createDefault(String.class),
+                    new FlatMapDescriptor<>(line -> Arrays.asList(line.split(" ")), String.class, String.class)
+            );
+            JavaFilterOperator<String> filter = new JavaFilterOperator<>(
+                    DataSetType.createDefault(String.class),
+                    new PredicateDescriptor<>(word -> !word.isEmpty() && !word.equals("d"), String.class)
+            );
+            JavaMapOperator<String, String> upperCase = new JavaMapOperator<>(
+                    DataSetType.createDefault(String.class),
+                    DataSetType.createDefault(String.class),
+                    new TransformationDescriptor<>(String::toUpperCase, String.class, String.class)
+            );
+            List<String> collector = new ArrayList<>();
+            JavaLocalCallbackSink<String> sink = new JavaLocalCallbackSink<>(collector::add, DataSetType.createDefault(String.class));
+            source.connectTo(0, split, 0);
+            split.connectTo(0, filter, 0);
+            filter.connectTo(0, upperCase, 0);
+            upperCase.connectTo(0, sink, 0);
+
+            final Configuration configuration = new Configuration();
+            configuration.setProperty(JavaExecutor.FUSION_PROPERTY_KEY, isFusion);
+            new WayangContext(configuration).with(Java.basicPlugin()).execute(new WayangPlan(sink));
+            results.add(collector);
+        }
+
+        assertEquals(Arrays.asList("A", "B", "C", "E", "F"), results.get(0));
+        assertEquals(results.get(0), results.get(1));
+
+        // The fused chain should have been compiled.
+        final FusedPipeline pipeline = FusedPipeline.of(Stream.of(1, 2, 3, 4))
+                .then(FusedPipeline.<Integer>filter(i -> i % 2 == 0))
+                .then(FusedPipeline.<Integer, Integer>map(i -> i * 10));
+        assertNotNull(PipelineCompiler.compile(pipeline.getSteps()));
+        assertEquals(WayangArrays.asList(20, 40), pipeline.toStream().collect(Collectors.toList()));
+    }
+
 }
@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.wayang.java.mapping;
+
+import org.apache.wayang.basic.data.Tuple2;
+import org.apache.wayang.basic.operators.CartesianOperator;
+import org.apache.wayang.basic.operators.CollectionSource;
+import org.apache.wayang.basic.operators.FilterOperator;
+import org.apache.wayang.basic.operators.LocalCallbackSink;
+import org.apache.wayang.core.api.WayangContext;
+import org.apache.wayang.core.plan.executionplan.ExecutionPlan;
+import org.apache.wayang.core.plan.executionplan.ExecutionTask;
+import org.apache.wayang.core.plan.wayangplan.ExecutionOperator;
+import org.apache.wayang.core.plan.wayangplan.WayangPlan;
+import org.apache.wayang.core.types.DataSetType;
+import org.apache.wayang.core.util.WayangArrays;
+import org.apache.wayang.java.Java;
+import org.apache.wayang.java.operators.JavaCartesianOperator;
+import org.apache.wayang.java.operators.JavaFilterOperator;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test suite for {@link FilteredCartesianMapping}.
+ */
+class FilteredCartesianMappingTest {
+
+    @SuppressWarnings("unchecked")
+    private static WayangPlan createPlan(List<Tuple2<Integer, Integer>> collector,
+                                         List<Tuple2<Integer, Integer>> unfilteredCollector) {
+        CollectionSource<Integer> source0 = new CollectionSource<>(WayangArrays.asList(1, 2, 3), Integer.class);
+        CollectionSource<Integer> source1 = new CollectionSource<>(WayangArrays.asList(1, 2, 3, 4), Integer.class);
+        CartesianOperator<Integer, Integer> cartesian = new CartesianOperator<>(Integer.class, Integer.class);
+        FilterOperator<Tuple2<Integer, Integer>> filter = new FilterOperator<>(
+                DataSetType.createDefaultUnchecked(Tuple2.class),
+                pair -> pair.field0 < pair.field1
+        );
+        LocalCallbackSink<Tuple2<Integer, Integer>> sink = LocalCallbackSink.createCollectingSink(
+                collector, DataSetType.createDefaultUnchecked(Tuple2.class)
+        );
+        source0.connectTo(0, cartesian, 0);
+        source1.connectTo(0, cartesian, 1);
+        cartesian.connectTo(0, filter, 0);
+        filter.connectTo(0, sink, 0);
+
+        if (unfilteredCollector == null) {
+            return new WayangPlan(sink);
+        }
+        LocalCallbackSink<Tuple2<Integer, Integer>> unfilteredSink = LocalCallbackSink.createCollectingSink(
+                unfilteredCollector, DataSetType.createDefaultUnchecked(Tuple2.class)
+        );
+        cartesian.connectTo(0, unfilteredSink, 0);
+        return new WayangPlan(sink, unfilteredSink);
+    }
+
+    private static List<ExecutionOperator> collectExecutionOperators(ExecutionPlan executionPlan) {
+        return executionPlan.collectAllTasks().stream()
+                .map(ExecutionTask::getOperator)
+                .collect(Collectors.toList());
+    }
+
+    private static List<String> format(List<Tuple2<Integer, Integer>> pairs) {
+        return pairs.stream().map(Tuple2::toString).sorted().collect(Collectors.toList());
+    }
+
+    @Test
+    void testFuseFilter() {
+        final WayangContext wayangContext = new WayangContext().with(Java.basicPlugin());
+        final ExecutionPlan executionPlan = wayangContext.buildInitialExecutionPlan(
+                "testFuseFilter", createPlan(new ArrayList<>(), null)
+        );
+        final List<ExecutionOperator> operators = collectExecutionOperators(executionPlan);
+        assertFalse(operators.stream().anyMatch(operator -> operator instanceof JavaFilterOperator));
+        assertTrue(operators.stream().anyMatch(operator -> operator instanceof JavaCartesianOperator
+                && ((JavaCartesianOperator<?, ?>) operator).getFilterDescriptor() != null));
+
+        final List<Tuple2<Integer, Integer>> collector = new ArrayList<>();
+        wayangContext.execute("testFuseFilter", createPlan(collector, null));
+        assertEquals(
+                format(Arrays.asList(
+                        new Tuple2<>(1, 2), new Tuple2<>(1, 3), new Tuple2<>(1, 4),
+                        new Tuple2<>(2, 3), new Tuple2<>(2, 4), new Tuple2<>(3, 4)
+                )),
+                format(collector)
+        );
+    }
+
+    @Test
+    void testKeepFilterWithSharedCartesian() {
+        final WayangContext wayangContext = new WayangContext().with(Java.basicPlugin());
+        final ExecutionPlan executionPlan = wayangContext.buildInitialExecutionPlan(
+                "testKeepFilterWithSharedCartesian", createPlan(new ArrayList<>(), new ArrayList<>())
+        );
+        final List<ExecutionOperator> operators = collectExecutionOperators(executionPlan);
+        assertTrue(operators.stream().anyMatch(operator -> operator instanceof JavaFilterOperator));
+        final JavaCartesianOperator<?, ?> cartesian = (JavaCartesianOperator<?, ?>) operators.stream()
+                .filter(operator -> operator instanceof JavaCartesianOperator)
+                .findAny()
+                .orElse(null);
+        assertNotNull(cartesian);
+        assertEquals(null, cartesian.getFilterDescriptor());
+
+        final List<Tuple2<Integer, Integer>> collector = new ArrayList<>();
+        final List<Tuple2<Integer, Integer>> unfilteredCollector = new ArrayList<>();
+        wayangContext.execute("testKeepFilterWithSharedCartesian", createPlan(collector, unfilteredCollector));
+        assertEquals(6, collector.size());
+        assertEquals(12, unfilteredCollector.size());
+    }
+}
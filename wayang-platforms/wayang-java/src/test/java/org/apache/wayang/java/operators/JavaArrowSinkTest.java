@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.wayang.java.operators;
+
+import org.apache.wayang.basic.channels.ArrowChannel;
+import org.apache.wayang.basic.channels.ArrowRecordCodec;
+import org.apache.wayang.basic.data.Record;
+import org.apache.wayang.basic.data.Tuple2;
+import org.apache.wayang.core.platform.ChannelInstance;
+import org.apache.wayang.core.types.DataSetType;
+import org.apache.wayang.java.channels.ChannelConversions;
+import org.apache.wayang.java.channels.StreamChannel;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test suite for {@link JavaArrowSink} and {@link JavaArrowSource}.
+ */
+class JavaArrowSinkTest extends JavaExecutionOperatorTestBase {
+
+    @Test
+    void testRoundTrip() {
+        configuration.setProperty(ArrowRecordCodec.BATCH_SIZE_PROPERTY_KEY, "2");
+        try {
+            List<Record> records = Arrays.asList(
+                    new Record("a", 1, 1.5d),
+                    new Record("b", 2, 2.5d),
+                    new Record("c", null, 3.5d)
+            );
+
+            JavaArrowSink sink = new JavaArrowSink();
+            ArrowChannel.Instance arrowChannelInstance = (ArrowChannel.Instance) ArrowChannel.DESCRIPTOR
+                    .createChannel(null, configuration)
+                    .createInstance(null, null, -1);
+            evaluate(sink, new ChannelInstance[]{createCollectionChannelInstance(records)}, new ChannelInstance[]{arrowChannelInstance});
+            assertEquals(2, arrowChannelInstance.provideBatches().size());
+
+            JavaArrowSource source = new JavaArrowSource();
+            StreamChannel.Instance outputChannelInstance = createStreamChannelInstance();
+            evaluate(source, new ChannelInstance[]{arrowChannelInstance}, new ChannelInstance[]{outputChannelInstance});
+            assertEquals(records, outputChannelInstance.<Record>provideStream().collect(Collectors.toList()));
+        } finally {
+            configuration.setProperty(ArrowRecordCodec.BATCH_SIZE_PROPERTY_KEY, String.valueOf(ArrowRecordCodec.DEFAULT_BATCH_SIZE));
+        }
+    }
+
+    @Test
+    void testConversionsApplyOnlyToRecords() {
+        assertTrue(ChannelConversions.STREAM_TO_ARROW.isSupporting(DataSetType.createDefault(Record.class)));
+        assertFalse(ChannelConversions.STREAM_TO_ARROW.isSupporting(DataSetType.createDefault(Tuple2.class)));
+        assertTrue(ChannelConversions.STREAM_TO_COLLECTION.isSupporting(DataSetType.createDefault(Tuple2.class)));
+    }
+}
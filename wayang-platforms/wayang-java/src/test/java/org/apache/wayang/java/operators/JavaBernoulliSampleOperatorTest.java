@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.wayang.java.operators;
+
+import org.apache.wayang.core.types.DataSetType;
+import org.apache.wayang.java.channels.JavaChannelInstance;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test suite for {@link JavaBernoulliSampleOperator}.
+ */
+class JavaBernoulliSampleOperatorTest extends JavaExecutionOperatorTestBase {
+
+    @Test
+    void testExecution() {
+        // Prepare test data.
+        Stream<Integer> inputStream = IntStream.range(0, 100_000).boxed();
+        final int sampleSize = 1000;
+
+        // Build the sample operator.
+        JavaBernoulliSampleOperator<Integer> sampleOperator =
+                new JavaBernoulliSampleOperator<>(
+                        iterationNumber -> sampleSize,
+                        DataSetType.createDefaultUnchecked(Integer.class),
+                        iterationNumber -> 42L
+                );
+        sampleOperator.setDatasetSize(100_000);
+
+        JavaChannelInstance[] inputs = new JavaChannelInstance[]{createStreamChannelInstance(inputStream)};
+        JavaChannelInstance[] outputs = new JavaChannelInstance[]{createStreamChannelInstance()};
+
+        // Execute.
+        evaluate(sampleOperator, inputs, outputs);
+
+        // Verify the outcome.
+        final List<Integer> result = outputs[0].<Integer>provideStream().collect(Collectors.toList());
+        assertTrue(result.size() > 850 && result.size() < 1150, "Unexpected sample size: " + result.size());
+        assertEquals(result.size(), result.stream().distinct().count());
+    }
+
+    @Test
+    void testLargerSampleExecution() {
+        // Prepare test data.
+        Stream<Integer> inputStream = Stream.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+
+        // Build the sample operator.
+        JavaBernoulliSampleOperator<Integer> sampleOperator =
+                new JavaBernoulliSampleOperator<>(
+                        iterationNumber -> 15, // sample size larger than dataset size
+                        DataSetType.createDefaultUnchecked(Integer.class),
+                        iterationNumber -> 42L
+                );
+        sampleOperator.setDatasetSize(10);
+
+        JavaChannelInstance[] inputs = new JavaChannelInstance[]{createStreamChannelInstance(inputStream)};
+        JavaChannelInstance[] outputs = new JavaChannelInstance[]{createStreamChannelInstance()};
+
+        // Execute.
+        evaluate(sampleOperator, inputs, outputs);
+
+        // Verify the outcome.
+        final List<Integer> result = outputs[0].<Integer>provideStream().collect(Collectors.toList());
+        assertEquals(10, result.size());
+    }
+
+}
@@ -19,13 +19,18 @@
 package org.apache.wayang.java.operators;
 
 import org.apache.wayang.basic.data.Tuple2;
+import org.apache.wayang.core.function.PredicateDescriptor;
 import org.apache.wayang.core.types.DataSetType;
+import org.apache.wayang.core.util.ReflectionUtils;
 import org.apache.wayang.java.channels.JavaChannelInstance;
 import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -63,4 +68,45 @@ class JavaCartesianOperatorTest extends JavaExecutionOperatorTestBase {
 
     }
 
+    @Test
+    void testTiledExecutionWithFusedFilter() {
+        // Use small tiles, so that the inputs span multiple tiles.
+        configuration.setProperty(JavaCartesianOperator.TILE_SIZE_PROPERTY_KEY, "7");
+
+        // Prepare test data.
+        final List<Integer> inputList0 = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+        final List<Integer> inputList1 = IntStream.range(0, 30).boxed().collect(Collectors.toList());
+
+        // Build the Cartesian operator with a fused filter.
+        JavaCartesianOperator<Integer, Integer> cartesianOperator = new JavaCartesianOperator<>(
+                new JavaCartesianOperator<>(
+                        DataSetType.createDefaultUnchecked(Integer.class),
+                        DataSetType.createDefaultUnchecked(Integer.class)),
+                new PredicateDescriptor<>(
+                        pair -> (pair.field0 + pair.field1) % 10 == 0,
+                        ReflectionUtils.specify(Tuple2.class)
+                )
+        );
+
+        // Execute.
+        JavaChannelInstance[] inputs = new JavaChannelInstance[]{
+                createStreamChannelInstance(inputList0.stream()),
+                createStreamChannelInstance(inputList1.stream())
+        };
+        JavaChannelInstance[] outputs = new JavaChannelInstance[]{createStreamChannelInstance()};
+        evaluate(cartesianOperator, inputs, outputs);
+
+        // Verify the outcome.
+        final Set<Tuple2<Integer, Integer>> expected = new HashSet<>();
+        for (Integer element0 : inputList0) {
+            for (Integer element1 : inputList1) {
+                if ((element0 + element1) % 10 == 0) expected.add(new Tuple2<>(element0, element1));
+            }
+        }
+        final List<Tuple2<Integer, Integer>> result = outputs[0].<Tuple2<Integer, Integer>>provideStream()
+                .collect(Collectors.toList());
+        assertEquals(expected.size(), result.size());
+        assertEquals(expected, new HashSet<>(result));
+    }
+
 }
@@ -26,6 +26,7 @@ import org.apache.wayang.core.util.WayangCollections;
 import org.apache.wayang.core.util.Tuple;
 import org.apache.wayang.java.channels.CollectionChannel;
 import org.apache.wayang.java.channels.JavaChannelInstance;
+import org.apache.wayang.java.channels.StreamChannel;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
@@ -33,7 +34,11 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -114,6 +119,62 @@ class JavaCoGroupOperatorTest extends JavaExecutionOperatorTestBase {
         );
     }
 
+    @Test
+    void testExecutionWithSortedInputs() {
+        // Prepare test data.
+        StreamChannel.Instance input0 = createStreamChannelInstance(Stream.of(
+                new Tuple2<>(1, "b"),
+                new Tuple2<>(1, "c"),
+                new Tuple2<>(2, "d"),
+                new Tuple2<>(3, "e")
+        ));
+        StreamChannel.Instance input1 = createStreamChannelInstance(Stream.of(
+                new Tuple2<>("x", 1), new Tuple2<>("y", 1), new Tuple2<>("z", 2), new Tuple2<>("w", 4)));
+        StreamChannel.Instance output = createStreamChannelInstance();
+
+        // Build the co-group operator.
+        JavaCoGroupOperator<Tuple2<Integer, String>, Tuple2<String, Integer>, Integer> coGroup =
+                new JavaCoGroupOperator<>(
+                        DataSetType.createDefaultUnchecked(Tuple2.class),
+                        DataSetType.createDefaultUnchecked(Tuple2.class),
+                        new ProjectionDescriptor<>(
+                                DataUnitType.createBasicUnchecked(Tuple2.class),
+                                DataUnitType.createBasic(Integer.class),
+                                "field0"),
+                        new ProjectionDescriptor<>(
+                                DataUnitType.createBasicUnchecked(Tuple2.class),
+                                DataUnitType.createBasic(Integer.class),
+                                "field1"));
+        coGroup.withSortedInputs(true);
+
+        // Execute.
+        JavaChannelInstance[] inputs = new JavaChannelInstance[]{input0, input1};
+        JavaChannelInstance[] outputs = new JavaChannelInstance[]{output};
+        evaluate(coGroup, inputs, outputs);
+
+        // Verify the outcome: the co-groups should be emitted in key order.
+        final List<Tuple2<Iterable<Tuple2<Integer, String>>, Iterable<Tuple2<String, Integer>>>> result =
+                output.<Tuple2<Iterable<Tuple2<Integer, String>>, Iterable<Tuple2<String, Integer>>>>provideStream()
+                        .collect(Collectors.toList());
+        assertEquals(4, result.size());
+        assertTrue(this.compare(new Tuple<>(
+                Arrays.asList(new Tuple2<>(1, "b"), new Tuple2<>(1, "c")),
+                Arrays.asList(new Tuple2<>("x", 1), new Tuple2<>("y", 1))
+        ), result.get(0)));
+        assertTrue(this.compare(new Tuple<>(
+                Collections.singletonList(new Tuple2<>(2, "d")),
+                Collections.singletonList(new Tuple2<>("z", 2))
+        ), result.get(1)));
+        assertTrue(this.compare(new Tuple<>(
+                Collections.singletonList(new Tuple2<>(3, "e")),
+                Collections.emptyList()
+        ), result.get(2)));
+        assertTrue(this.compare(new Tuple<>(
+                Collections.emptyList(),
+                Collections.singletonList(new Tuple2<>("w", 4))
+        ), result.get(3)));
+    }
+
     private boolean compare(Tuple<Collection<Tuple2<Integer, String>>, Collection<Tuple2<String, Integer>>> expected,
                             Tuple2<Iterable<Tuple2<Integer, String>>, Iterable<Tuple2<String, Integer>>> actual) {
         return this.compareGroup(expected.field0, actual.field0) && this.compareGroup(expected.field1, actual.field1);
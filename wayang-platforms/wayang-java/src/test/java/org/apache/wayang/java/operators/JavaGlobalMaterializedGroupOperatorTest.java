@@ -21,11 +21,16 @@ package org.apache.wayang.java.operators;
 import org.apache.wayang.core.types.DataSetType;
 import org.apache.wayang.java.channels.CollectionChannel;
 import org.apache.wayang.java.channels.JavaChannelInstance;
+import org.apache.wayang.java.io.SpillingGrouper;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -81,4 +86,35 @@ class JavaGlobalMaterializedGroupOperatorTest extends JavaExecutionOperatorTestB
         assertEquals(1, result.size());
         assertTrue(result.iterator().next().isEmpty());
     }
+
+    @Test
+    void testExecutionWithSpilling() {
+        final long threshold = configuration.getLongProperty(SpillingGrouper.THRESHOLD_PROPERTY_KEY);
+        configuration.setProperty(SpillingGrouper.THRESHOLD_PROPERTY_KEY, "10");
+        try {
+            // Prepare test data.
+            List<Integer> inputList = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+
+            // Build the reduce operator.
+            JavaGlobalMaterializedGroupOperator<Integer> globalGroup =
+                    new JavaGlobalMaterializedGroupOperator<>(
+                            DataSetType.createDefaultUnchecked(Integer.class),
+                            DataSetType.createGroupedUnchecked(Iterable.class)
+                    );
+
+            // Execute.
+            JavaChannelInstance[] inputs = new JavaChannelInstance[]{createStreamChannelInstance(inputList.stream())};
+            JavaChannelInstance[] outputs = new JavaChannelInstance[]{createCollectionChannelInstance()};
+            evaluate(globalGroup, inputs, outputs);
+
+            // Verify the outcome.
+            final Collection<Iterable<Integer>> result = ((CollectionChannel.Instance) outputs[0]).provideCollection();
+            assertEquals(1, result.size());
+            final List<Integer> group = new ArrayList<>();
+            result.iterator().next().forEach(group::add);
+            assertEquals(inputList, group);
+        } finally {
+            configuration.setProperty(SpillingGrouper.THRESHOLD_PROPERTY_KEY, String.valueOf(threshold));
+        }
+    }
 }
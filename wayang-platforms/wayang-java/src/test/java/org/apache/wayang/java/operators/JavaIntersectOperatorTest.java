@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.wayang.java.operators;
+
+import org.apache.wayang.java.channels.JavaChannelInstance;
+import org.apache.wayang.java.channels.StreamChannel;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Test suite for {@link JavaIntersectOperator}.
+ */
+class JavaIntersectOperatorTest extends JavaExecutionOperatorTestBase {
+
+    @Test
+    void testExecution() {
+        // Prepare test data.
+        StreamChannel.Instance input0 = createStreamChannelInstance(Stream.of(5, 1, 3, 1, 7, 9));
+        StreamChannel.Instance input1 = createStreamChannelInstance(Stream.of(9, 1, 4, 1, 5, 5, 8));
+        StreamChannel.Instance output = createStreamChannelInstance();
+
+        // Execute.
+        JavaIntersectOperator<Integer> intersect = new JavaIntersectOperator<>(Integer.class);
+        evaluate(intersect, new JavaChannelInstance[]{input0, input1}, new JavaChannelInstance[]{output});
+
+        // Verify the outcome.
+        final List<Integer> result = output.<Integer>provideStream().collect(Collectors.toList());
+        assertEquals(3, result.size());
+        assertEquals(new HashSet<>(Arrays.asList(1, 5, 9)), new HashSet<>(result));
+    }
+
+    @Test
+    void testExecutionWithSortedInputs() {
+        // Prepare test data.
+        StreamChannel.Instance input0 = createStreamChannelInstance(Stream.of(1, 1, 3, 5, 7, 9));
+        StreamChannel.Instance input1 = createStreamChannelInstance(Stream.of(1, 1, 4, 5, 5, 8, 9, 10));
+        StreamChannel.Instance output = createStreamChannelInstance();
+
+        // Execute.
+        JavaIntersectOperator<Integer> intersect = new JavaIntersectOperator<>(Integer.class);
+        intersect.withSortedInputs(true);
+        evaluate(intersect, new JavaChannelInstance[]{input0, input1}, new JavaChannelInstance[]{output});
+
+        // Verify the outcome.
+        final List<Integer> result = output.<Integer>provideStream().collect(Collectors.toList());
+        assertEquals(Arrays.asList(1, 5, 9), result);
+    }
+
+}
@@ -17,7 +17,24 @@
  */
 package org.apache.wayang.java.operators;
 
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.wayang.basic.data.Tuple2;
 import org.apache.wayang.basic.operators.KafkaTopicSource;
+import org.apache.wayang.basic.operators.LocalCallbackSink;
+import org.apache.wayang.basic.operators.MapOperator;
+import org.apache.wayang.basic.operators.ReduceByOperator;
+import org.apache.wayang.basic.streaming.KafkaMicroBatchRunner;
+import org.apache.wayang.basic.streaming.KafkaMicroBatchSession;
+import org.apache.wayang.core.api.WayangContext;
+import org.apache.wayang.core.api.exception.WayangException;
+import org.apache.wayang.core.function.ReduceDescriptor;
+import org.apache.wayang.core.function.TransformationDescriptor;
+import org.apache.wayang.core.plan.wayangplan.WayangPlan;
+import org.apache.wayang.core.types.DataSetType;
+import org.apache.wayang.core.types.DataUnitType;
+import org.apache.wayang.java.Java;
 import org.apache.wayang.java.channels.JavaChannelInstance;
 import org.apache.wayang.java.execution.JavaExecutor;
 import org.junit.jupiter.api.AfterEach;
@@ -25,13 +42,18 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Locale;
 import java.util.Properties;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 
@@ -125,6 +147,85 @@ class JavaKafkaTopicSourceTest extends JavaExecutionOperatorTestBase {
 
     }
 
+    @Test
+    void testMicroBatches() {
+        final String topicName = "words";
+        final TopicPartition partition = new TopicPartition(topicName, 0);
+        MockConsumer<String, String> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        KafkaMicroBatchSession session = new KafkaMicroBatchSession(consumer, topicName, 3, 10);
+        consumer.rebalance(Collections.singletonList(partition));
+        consumer.updateBeginningOffsets(Collections.singletonMap(partition, 0L));
+        addRecords(consumer, partition, 0, "a", "b", "a");
+
+        final boolean[] isFailing = {false};
+        KafkaMicroBatchRunner<Tuple2<String, Integer>> runner = new KafkaMicroBatchRunner<Tuple2<String, Integer>>(
+                new WayangContext().with(Java.basicPlugin()),
+                session,
+                JavaKafkaTopicSourceTest::createWordCountPlan,
+                results -> {
+                    if (isFailing[0]) throw new IllegalStateException("Sink failed.");
+                }
+        ).withIncrementalReduce(pair -> pair.field0, (a, b) -> new Tuple2<>(a.field0, a.field1 + b.field1));
+
+        assertEquals(3, runner.runBatch());
+        Map<String, Tuple2<String, Integer>> aggregates = runner.getAggregates();
+        assertEquals(2, (int) aggregates.get("a").field1);
+        assertEquals(1, (int) aggregates.get("b").field1);
+        assertEquals(3L, consumer.committed(Collections.singleton(partition)).get(partition).offset());
+
+        // A failing sink must neither commit nor update the state.
+        addRecords(consumer, partition, 3, "c", "a");
+        isFailing[0] = true;
+        assertThrows(WayangException.class, runner::runBatch);
+        assertEquals(2, (int) runner.<String>getAggregates().get("a").field1);
+        assertEquals(3L, consumer.committed(Collections.singleton(partition)).get(partition).offset());
+
+        // The failed batch is processed again. The MockConsumer does not redeliver records, so we need to add them
+        // again; they are emitted only if the consumer has been rewound.
+        addRecords(consumer, partition, 3, "c", "a");
+        isFailing[0] = false;
+        assertEquals(2, runner.runBatch());
+        aggregates = runner.getAggregates();
+        assertEquals(3, (int) aggregates.get("a").field1);
+        assertEquals(1, (int) aggregates.get("c").field1);
+        assertEquals(5L, consumer.committed(Collections.singleton(partition)).get(partition).offset());
+        assertEquals(2L, runner.getNumProcessedBatches());
+        runner.close();
+    }
+
+    private static void addRecords(MockConsumer<String, String> consumer, TopicPartition partition, long offset, String... values) {
+        for (String value : values) {
+            consumer.addRecord(new ConsumerRecord<>(partition.topic(), partition.partition(), offset++, null, value));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static WayangPlan createWordCountPlan(KafkaTopicSource source, Collection<Tuple2<String, Integer>> collector) {
+        MapOperator<String, Tuple2<String, Integer>> mapOperator = new MapOperator<>(
+                new TransformationDescriptor<>(word -> new Tuple2<>(word, 1),
+                        DataUnitType.createBasic(String.class),
+                        DataUnitType.createBasicUnchecked(Tuple2.class)
+                ), DataSetType.createDefault(String.class),
+                DataSetType.createDefaultUnchecked(Tuple2.class)
+        );
+        ReduceByOperator<Tuple2<String, Integer>, String> reduceByOperator = new ReduceByOperator<>(
+                new TransformationDescriptor<>(pair -> pair.field0,
+                        DataUnitType.createBasicUnchecked(Tuple2.class),
+                        DataUnitType.createBasic(String.class)),
+                new ReduceDescriptor<>((a, b) -> new Tuple2<>(a.field0, a.field1 + b.field1),
+                        DataUnitType.createGroupedUnchecked(Tuple2.class),
+                        DataUnitType.createBasicUnchecked(Tuple2.class)),
+                DataSetType.createDefaultUnchecked(Tuple2.class)
+        );
+        LocalCallbackSink<Tuple2<String, Integer>> sink = LocalCallbackSink.createCollectingSink(
+                collector, DataSetType.createDefaultUnchecked(Tuple2.class)
+        );
+        source.connectTo(0, mapOperator, 0);
+        mapOperator.connectTo(0, reduceByOperator, 0);
+        reduceByOperator.connectTo(0, sink, 0);
+        return new WayangPlan(sink);
+    }
+
     private void processRecord(ConsumerRecord<String, String> record) {
         // Implement your record processing logic here
         System.out.printf("===> processRecord :: key = %s, value = %s%n", record.key(), record.value());
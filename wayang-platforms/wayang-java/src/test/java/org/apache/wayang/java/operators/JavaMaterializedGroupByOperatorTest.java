@@ -23,12 +23,15 @@ import org.apache.wayang.basic.function.ProjectionDescriptor;
 import org.apache.wayang.core.types.DataSetType;
 import org.apache.wayang.core.types.DataUnitType;
 import org.apache.wayang.java.channels.JavaChannelInstance;
+import org.apache.wayang.java.io.SpillingGrouper;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -73,6 +76,55 @@ class JavaMaterializedGroupByOperatorTest extends JavaExecutionOperatorTestBase
         Arrays.stream(expectedResults)
                 .forEach(expected -> assertTrue(result.contains(expected), "Not contained: " + expected));
         assertEquals(expectedResults.length, result.size());
+    }
+
+    @Test
+    void testExecutionWithSpilling() {
+        final long threshold = configuration.getLongProperty(SpillingGrouper.THRESHOLD_PROPERTY_KEY);
+        final long numPartitions = configuration.getLongProperty(SpillingGrouper.PARTITIONS_PROPERTY_KEY);
+        configuration.setProperty(SpillingGrouper.THRESHOLD_PROPERTY_KEY, "10");
+        configuration.setProperty(SpillingGrouper.PARTITIONS_PROPERTY_KEY, "2");
+        try {
+            // Prepare test data.
+            Stream<Tuple2<Integer, Integer>> inputStream = IntStream.range(0, 1000)
+                    .mapToObj(i -> new Tuple2<>(i % 7, i));
+
+            // Build the reduce operator.
+            JavaMaterializedGroupByOperator<Tuple2<Integer, Integer>, Integer> collocateByOperator =
+                    new JavaMaterializedGroupByOperator<>(
+                            new ProjectionDescriptor<>(
+                                    DataUnitType.createBasicUnchecked(Tuple2.class),
+                                    DataUnitType.createBasicUnchecked(Tuple2.class),
+                                    "field0"),
+                            DataSetType.createDefaultUnchecked(Tuple2.class),
+                            DataSetType.createGroupedUnchecked(Tuple2.class)
+                    );
+
+            // Execute.
+            JavaChannelInstance[] inputs = new JavaChannelInstance[]{createStreamChannelInstance(inputStream)};
+            JavaChannelInstance[] outputs = new JavaChannelInstance[]{createCollectionChannelInstance()};
+            evaluate(collocateByOperator, inputs, outputs);
 
+            // Verify the outcome.
+            final List<Iterable<Tuple2<Integer, Integer>>> result = outputs[0].<Iterable<Tuple2<Integer, Integer>>>provideStream()
+                    .collect(Collectors.toList());
+            assertEquals(7, result.size());
+            int numDataQuanta = 0;
+            for (Iterable<Tuple2<Integer, Integer>> group : result) {
+                // Spilled groups can be iterated repeatedly.
+                for (int round = 0; round < 2; round++) {
+                    final List<Tuple2<Integer, Integer>> dataQuanta = new ArrayList<>();
+                    group.forEach(dataQuanta::add);
+                    final int key = dataQuanta.get(0).field0;
+                    assertTrue(dataQuanta.stream().allMatch(dataQuantum -> dataQuantum.field0 == key && dataQuantum.field1 % 7 == key));
+                    assertEquals(key < 1000 % 7 ? 143 : 142, dataQuanta.size());
+                    if (round == 0) numDataQuanta += dataQuanta.size();
+                }
+            }
+            assertEquals(1000, numDataQuanta);
+        } finally {
+            configuration.setProperty(SpillingGrouper.THRESHOLD_PROPERTY_KEY, String.valueOf(threshold));
+            configuration.setProperty(SpillingGrouper.PARTITIONS_PROPERTY_KEY, String.valueOf(numPartitions));
+        }
     }
 }
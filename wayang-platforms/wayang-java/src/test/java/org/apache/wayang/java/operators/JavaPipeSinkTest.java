@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wayang.java.operators;
+
+import org.apache.wayang.basic.channels.DataPipe;
+import org.apache.wayang.basic.channels.PipeChannel;
+import org.apache.wayang.core.platform.ChannelInstance;
+import org.apache.wayang.core.platform.lineage.ExecutionLineageNode;
+import org.apache.wayang.core.types.DataSetType;
+import org.apache.wayang.core.util.Tuple;
+import org.apache.wayang.java.channels.StreamChannel;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test suite for {@link JavaPipeSink} and {@link JavaPipeSource}.
+ */
+class JavaPipeSinkTest extends JavaExecutionOperatorTestBase {
+
+    @Test
+    void testRoundTrip() {
+        final List<Integer> integers = JavaObjectFileSinkTest.enumerateRange(20000);
+        final DataSetType<Integer> type = DataSetType.createDefault(Integer.class);
+
+        final PipeChannel.Instance pipe = createPipeChannelInstance();
+        evaluate(new JavaPipeSink<>(type),
+                new ChannelInstance[]{createCollectionChannelInstance(integers)},
+                new ChannelInstance[]{pipe});
+
+        final StreamChannel.Instance output = createStreamChannelInstance();
+        evaluate(new JavaPipeSource<>(type), new ChannelInstance[]{pipe}, new ChannelInstance[]{output});
+        // Disposing the input must not close the pipe that is still being consumed.
+        pipe.dispose();
+
+        try (Stream<Integer> stream = output.provideStream()) {
+            assertEquals(integers, stream.collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    void testSinkReturnsBeforeProductionCompletes() {
+        // The input stream would block forever, if it were consumed on the calling thread.
+        final Iterator<Integer> infiniteIterator = Stream.iterate(0, i -> i + 1).iterator();
+        final PipeChannel.Instance pipe = createPipeChannelInstance();
+        final JavaPipeSink<Integer> sink = new JavaPipeSink<>(DataSetType.createDefault(Integer.class));
+        final Tuple<Collection<ExecutionLineageNode>, Collection<ChannelInstance>> result = sink.evaluate(
+                new ChannelInstance[]{createStreamChannelInstance(Stream.generate(infiniteIterator::next))},
+                new ChannelInstance[]{pipe},
+                createExecutor(),
+                createOperatorContext(sink)
+        );
+        // As the production is still running, nothing must be reported for measurement.
+        assertTrue(result.getField0().isEmpty());
+        assertTrue(result.getField1().isEmpty());
+
+        final DataPipe<Integer> dataPipe = pipe.takePipe();
+        final Iterator<Integer> iterator = dataPipe.iterator();
+        for (int i = 0; i < 10000; i++) {
+            assertEquals(i, iterator.next());
+        }
+        dataPipe.close();
+        assertTrue(dataPipe.isClosed());
+    }
+
+    private static PipeChannel.Instance createPipeChannelInstance() {
+        return (PipeChannel.Instance) PipeChannel.DESCRIPTOR
+                .createChannel(null, configuration)
+                .createInstance(null, null, -1);
+    }
+
+}
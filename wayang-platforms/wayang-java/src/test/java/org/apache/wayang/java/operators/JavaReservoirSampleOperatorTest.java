@@ -22,11 +22,15 @@ import org.apache.wayang.core.types.DataSetType;
 import org.apache.wayang.java.channels.JavaChannelInstance;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Test suite for {@link JavaReservoirSampleOperator}.
@@ -85,4 +89,39 @@ class JavaReservoirSampleOperatorTest extends JavaExecutionOperatorTestBase {
 
     }
 
+    @Test
+    void testParallelExecution() {
+        // Prepare test data.
+        List<Integer> inputList = IntStream.range(0, 200_000).boxed().collect(Collectors.toList());
+        final int sampleSize = 1000;
+
+        List<List<Integer>> results = new ArrayList<>();
+        for (int run = 0; run < 2; run++) {
+            // Build the sample operator.
+            JavaReservoirSampleOperator<Integer> sampleOperator =
+                    new JavaReservoirSampleOperator<>(
+                            iterationNumber -> sampleSize,
+                            DataSetType.createDefaultUnchecked(Integer.class),
+                            iterationNumber -> 42L
+                    );
+
+            JavaChannelInstance[] inputs = new JavaChannelInstance[]{createCollectionChannelInstance(inputList)};
+            JavaChannelInstance[] outputs = new JavaChannelInstance[]{createCollectionChannelInstance()};
+
+            // Execute.
+            evaluate(sampleOperator, inputs, outputs);
+            results.add(outputs[0].<Integer>provideStream().collect(Collectors.toList()));
+        }
+
+        // Verify the outcome.
+        final List<Integer> result = results.get(0);
+        assertEquals(sampleSize, result.size());
+        assertEquals(sampleSize, new HashSet<>(result).size());
+        assertTrue(result.stream().allMatch(i -> i >= 0 && i < inputList.size()));
+        // Both halves of the input should be represented about equally.
+        final long numLowerHalf = result.stream().filter(i -> i < inputList.size() / 2).count();
+        assertTrue(numLowerHalf > 400 && numLowerHalf < 600, "Skewed sample: " + numLowerHalf);
+        assertEquals(result, results.get(1));
+    }
+
 }
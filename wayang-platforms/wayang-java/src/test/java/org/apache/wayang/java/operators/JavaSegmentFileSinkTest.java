@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.wayang.java.operators;
+
+import org.apache.wayang.basic.channels.FileChannel;
+import org.apache.wayang.basic.data.Record;
+import org.apache.wayang.core.platform.ChannelInstance;
+import org.apache.wayang.core.types.DataSetType;
+import org.apache.wayang.core.util.fs.FileSystems;
+import org.apache.wayang.java.io.SegmentFileWriter;
+import org.apache.wayang.java.io.SegmentFiles;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test suite for {@link JavaSegmentFileSink}.
+ */
+class JavaSegmentFileSinkTest extends JavaExecutionOperatorTestBase {
+
+    @Test
+    void testWritingStream() throws IOException {
+        configuration.setProperty(SegmentFileWriter.SEGMENT_SIZE_PROPERTY_KEY, "10000");
+        configuration.setProperty(SegmentFileWriter.COMPRESSION_PROPERTY_KEY, "gzip");
+        final List<Integer> integers = JavaObjectFileSinkTest.enumerateRange(50000);
+
+        final FileChannel.Instance output = this.evaluateSink(
+                createStreamChannelInstance(integers.stream()), DataSetType.createDefault(Integer.class)
+        );
+
+        final List<String> segmentUrls = SegmentFiles.listSegments(output.getSinglePath());
+        assertTrue(segmentUrls.size() > 1);
+        assertEquals(integers, this.readSegments(segmentUrls));
+        assertEquals(OptionalLong.of(50000L), output.getMeasuredCardinality());
+        FileSystems.requireFileSystem(output.getSinglePath()).delete(output.getSinglePath(), true);
+    }
+
+    @Test
+    void testWritingCollectionOfRecords() throws IOException {
+        configuration.setProperty(SegmentFileWriter.SEGMENTS_PROPERTY_KEY, "3");
+        configuration.setProperty(SegmentFileWriter.COMPRESSION_PROPERTY_KEY, "zstd");
+        final List<Record> records = IntStream.range(0, 30000)
+                .mapToObj(i -> new Record(i, "record " + i, i % 7 == 0 ? null : (double) i))
+                .collect(Collectors.toList());
+
+        final FileChannel.Instance output = this.evaluateSink(
+                createCollectionChannelInstance(records), DataSetType.createDefault(Record.class)
+        );
+
+        final List<String> segmentUrls = SegmentFiles.listSegments(output.getSinglePath());
+        assertEquals(3, segmentUrls.size());
+        assertEquals(records, this.readSegments(segmentUrls));
+        FileSystems.requireFileSystem(output.getSinglePath()).delete(output.getSinglePath(), true);
+    }
+
+    private <T> FileChannel.Instance evaluateSink(ChannelInstance input, DataSetType<T> type) {
+        final FileChannel.Instance output = (FileChannel.Instance) FileChannel.LOCAL_SEGMENT_FILE_DESCRIPTOR
+                .createChannel(null, configuration)
+                .createInstance(null, null, -1);
+        evaluate(new JavaSegmentFileSink<>(type), new ChannelInstance[]{input}, new ChannelInstance[]{output});
+        return output;
+    }
+
+    private <T> List<T> readSegments(List<String> segmentUrls) {
+        List<T> dataQuanta = new ArrayList<>();
+        for (String segmentUrl : segmentUrls) {
+            SegmentFiles.<T>read(segmentUrl).forEachRemaining(dataQuanta::add);
+        }
+        return dataQuanta;
+    }
+
+}
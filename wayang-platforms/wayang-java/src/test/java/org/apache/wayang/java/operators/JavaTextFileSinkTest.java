@@ -25,26 +25,35 @@ import org.apache.wayang.core.optimizer.OptimizationContext;
 import org.apache.wayang.core.plan.wayangplan.OutputSlot;
 import org.apache.wayang.core.platform.ChannelInstance;
 import org.apache.wayang.core.util.fs.LocalFileSystem;
+import org.apache.wayang.java.channels.CollectionChannel;
 import org.apache.wayang.java.channels.StreamChannel;
 import org.apache.wayang.java.execution.JavaExecutor;
+import org.apache.wayang.java.io.ParallelTextFileWriter;
+import org.apache.wayang.java.io.SplittingTextFileReader;
 import org.apache.wayang.java.platform.JavaPlatform;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
+import java.util.zip.GZIPInputStream;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -75,6 +84,8 @@ class JavaTextFileSinkTest extends JavaExecutionOperatorTestBase {
     void teardownTest() {
 
         Locale.setDefault(defaultLocale);
+        configuration.setProperty(ParallelTextFileWriter.PARTS_PROPERTY_KEY, "1");
+        configuration.setProperty(ParallelTextFileWriter.COMPRESSION_PROPERTY_KEY, "auto");
     }
 
     @Test
@@ -110,5 +121,57 @@ class JavaTextFileSinkTest extends JavaExecutionOperatorTestBase {
 
     }
 
+    @Test
+    void testWritingCompressedFileInParallel() throws IOException, URISyntaxException {
+        configuration.setProperty(ParallelTextFileWriter.PARALLELISM_PROPERTY_KEY, "4");
+
+        final File tempDir = LocalFileSystem.findTempDir();
+        final String targetUrl = LocalFileSystem.toURL(new File(tempDir, "testWritingCompressedFileInParallel.txt.gz"));
+        JavaTextFileSink<Integer> sink = new JavaTextFileSink<>(
+                targetUrl,
+                new TransformationDescriptor<>(String::valueOf, Integer.class, String.class)
+        );
+
+        StreamChannel.Instance inputChannelInstance = createStreamChannelInstance(IntStream.range(0, 50000).boxed());
+        evaluate(sink, new ChannelInstance[]{inputChannelInstance}, new ChannelInstance[0]);
+
+        // The file consists of several gzip members, which must be read as a whole.
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(Paths.get(new URI(targetUrl)))), StandardCharsets.UTF_8))) {
+            assertEquals(
+                    IntStream.range(0, 50000).mapToObj(String::valueOf).collect(Collectors.toList()),
+                    reader.lines().collect(Collectors.toList())
+            );
+        }
+    }
+
+    @Test
+    void testWritingPartFiles() throws IOException, URISyntaxException {
+        configuration.setProperty(ParallelTextFileWriter.PARALLELISM_PROPERTY_KEY, "4");
+        configuration.setProperty(ParallelTextFileWriter.PARTS_PROPERTY_KEY, "3");
+        configuration.setProperty(ParallelTextFileWriter.COMPRESSION_PROPERTY_KEY, "zstd");
+
+        final File tempDir = LocalFileSystem.findTempDir();
+        final String targetUrl = LocalFileSystem.toURL(new File(tempDir, "testWritingPartFiles"));
+        JavaTextFileSink<Integer> sink = new JavaTextFileSink<>(
+                targetUrl,
+                new TransformationDescriptor<>(String::valueOf, Integer.class, String.class)
+        );
+
+        final List<Integer> inputValues = IntStream.range(0, 20000).boxed().collect(Collectors.toList());
+        CollectionChannel.Instance inputChannelInstance = createCollectionChannelInstance(inputValues);
+        evaluate(sink, new ChannelInstance[]{inputChannelInstance}, new ChannelInstance[0]);
+
+        final File targetDir = new File(new URI(targetUrl));
+        assertTrue(new File(targetDir, "_SUCCESS").exists());
+        assertTrue(new File(targetDir, "part-00002.zst").exists());
+        try (Stream<String> lines = new SplittingTextFileReader(1024, 2).lines(targetUrl)) {
+            assertEquals(
+                    inputValues.stream().map(String::valueOf).collect(Collectors.toList()),
+                    lines.collect(Collectors.toList())
+            );
+        }
+    }
+
 
 }
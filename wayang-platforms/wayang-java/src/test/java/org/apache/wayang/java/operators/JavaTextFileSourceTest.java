@@ -18,18 +18,28 @@
 
 package org.apache.wayang.java.operators;
 
+import org.apache.wayang.core.util.fs.CompressionCodec;
 import org.apache.wayang.java.channels.JavaChannelInstance;
 import org.apache.wayang.java.execution.JavaExecutor;
+import org.apache.wayang.java.io.SplittingTextFileReader;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.stream.Collectors;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 /**
@@ -75,6 +85,61 @@ class JavaTextFileSourceTest extends JavaExecutionOperatorTestBase {
         assertEquals(63, result.size());
     }
 
+    @Test
+    void testReadLocalFileInSplits(@TempDir Path tempDir) throws Exception {
+        configuration.setProperty(SplittingTextFileReader.SPLIT_SIZE_PROPERTY_KEY, "37");
+        configuration.setProperty(SplittingTextFileReader.PARALLELISM_PROPERTY_KEY, "3");
+
+        // Write lines of varying lengths, some of which span several splits.
+        final List<String> expectedLines = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            expectedLines.add(i % 17 == 0 ? "" : "line " + i + " " + "x".repeat(i % 53));
+        }
+        final Path file = tempDir.resolve("lines.txt");
+        Files.writeString(file, String.join("\n", expectedLines.subList(0, 100)) + "\r\n"
+                + String.join("\r\n", expectedLines.subList(100, 150)) + "\r"
+                + String.join("\r", expectedLines.subList(150, 200)));
+
+        // Execute.
+        final JavaTextFileSource source = new JavaTextFileSource(file.toUri().toString());
+        final JavaChannelInstance[] inputs = new JavaChannelInstance[] {};
+        final JavaChannelInstance[] outputs = new JavaChannelInstance[] { createStreamChannelInstance() };
+        evaluate(source, inputs, outputs);
+
+        // Verify the outcome.
+        assertEquals(expectedLines, outputs[0].<String>provideStream().collect(Collectors.toList()));
+    }
+
+    @Test
+    void testReadCompressedPartFiles(@TempDir Path tempDir) throws Exception {
+        final List<String> expectedLines = new ArrayList<>();
+        final CompressionCodec[] codecs = {CompressionCodec.GZIP, CompressionCodec.BZIP2, CompressionCodec.ZSTD, CompressionCodec.NONE};
+        for (int part = 0; part < codecs.length; part++) {
+            List<String> lines = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                lines.add(String.format("part %d, line %d", part, i));
+            }
+            expectedLines.addAll(lines);
+            final Path file = tempDir.resolve(String.format("part-%05d%s", part, codecs[part].getExtension()));
+            try (Writer writer = new OutputStreamWriter(
+                    codecs[part].compress(Files.newOutputStream(file)), StandardCharsets.UTF_8)) {
+                writer.write(String.join("\n", lines));
+                writer.write("\n");
+            }
+        }
+        Files.createFile(tempDir.resolve("_SUCCESS"));
+        Files.createFile(tempDir.resolve(".part-00000.gz.crc"));
+
+        // Execute.
+        final JavaTextFileSource source = new JavaTextFileSource(tempDir.toUri().toString());
+        final JavaChannelInstance[] inputs = new JavaChannelInstance[] {};
+        final JavaChannelInstance[] outputs = new JavaChannelInstance[] { createStreamChannelInstance() };
+        evaluate(source, inputs, outputs);
+
+        // Verify the outcome.
+        assertEquals(expectedLines, outputs[0].<String>provideStream().collect(Collectors.toList()));
+    }
+
     /**
      * Requires a local HTTP Server running, in the project root ...
      *
@@ -30,6 +30,8 @@ import org.apache.wayang.core.platform.Executor;
 import org.apache.wayang.core.platform.Platform;
 import org.apache.wayang.jdbc.platform.JdbcPlatformTemplate;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -66,6 +68,8 @@ public class SqlQueryChannel extends Channel {
 
         private String jdbcName = null;
 
+        private List<String> partitionQueries = Collections.emptyList();
+
         /**
          * Creates a new instance and registers it with its {@link Executor}.
          *
@@ -98,6 +102,24 @@ public class SqlQueryChannel extends Channel {
 
         public void setJdbcName(String jdbcName) {this.jdbcName = jdbcName;}
 
+        /**
+         * Provide SQL queries that together yield the same result as the {@link #getSqlQuery() SQL query}, but can
+         * be executed in parallel.
+         *
+         * @param partitionQueries the SQL queries, each of which is restricted to a partition of the scanned table
+         */
+        public void setPartitionQueries(List<String> partitionQueries) {
+            this.partitionQueries = partitionQueries;
+        }
+
+        /**
+         * @return the SQL queries for the partitions of the scanned table; empty if it is not partitioned
+         * @see #setPartitionQueries(List)
+         */
+        public List<String> getPartitionQueries() {
+            return this.partitionQueries;
+        }
+
         public String getJdbcName(){ return this.jdbcName;}
     }
 
@@ -20,13 +20,15 @@ package org.apache.wayang.jdbc.execution;
 
 import org.apache.wayang.core.api.exception.WayangException;
 
+import java.io.Serializable;
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.util.Objects;
 
 /**
  * This class describes a database.
  */
-public class DatabaseDescriptor {
+public class DatabaseDescriptor implements Serializable {
 
     private final String jdbcUrl, user, password, jdbcDriverClassName;
 
@@ -47,7 +49,8 @@ public class DatabaseDescriptor {
     }
 
     /**
-     * Creates a {@link Connection} to the database described by this instance.
+     * Creates a {@link Connection} to the database described by this instance. Consider borrowing a
+     * {@link Connection} from a {@link JdbcConnectionPool} instead.
      *
      * @return the {@link Connection}
      */
@@ -66,4 +69,25 @@ public class DatabaseDescriptor {
             ), e);
         }
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || this.getClass() != o.getClass()) return false;
+        final DatabaseDescriptor that = (DatabaseDescriptor) o;
+        return Objects.equals(this.jdbcUrl, that.jdbcUrl) &&
+                Objects.equals(this.user, that.user) &&
+                Objects.equals(this.password, that.password) &&
+                Objects.equals(this.jdbcDriverClassName, that.jdbcDriverClassName);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.jdbcUrl, this.user, this.password, this.jdbcDriverClassName);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s[%s as %s]", this.getClass().getSimpleName(), this.jdbcUrl, this.user);
+    }
 }
@@ -0,0 +1,424 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.wayang.jdbc.execution;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.wayang.core.api.exception.WayangException;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pools {@link Connection}s to the database described by a {@link DatabaseDescriptor}, so that they need not be
+ * established anew for every query. Idle {@link Connection}s are validated before they are handed out again and
+ * closed once they have been idle for too long. Each pooled {@link Connection} furthermore caches
+ * {@link PreparedStatement}s by their SQL text.
+ * <p>Note that the statement cache is keyed by the full SQL text. The queries generated by the
+ * {@link JdbcExecutor} inline their literals rather than binding parameters, so a cached statement is only reused for
+ * byte-identical queries on the same {@link Connection}, e.g., when a plan is executed repeatedly. Queries that
+ * differ only in their literals are prepared anew and compete for the cache slots.</p>
+ * <p>Instances are shared via {@link org.apache.wayang.jdbc.platform.JdbcPlatformTemplate#getConnectionPool}.</p>
+ */
+public class JdbcConnectionPool implements AutoCloseable {
+
+    private static final Logger logger = LogManager.getLogger(JdbcConnectionPool.class);
+
+    /**
+     * Idle {@link Connection}s are validated before they are handed out again if they have been idle for at least
+     * this many milliseconds.
+     */
+    private static final long VALIDATION_INTERVAL_MILLIS = 1000L;
+
+    /**
+     * Evicts expired idle {@link Connection}s of all instances.
+     */
+    private static final ScheduledExecutorService evictionService = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "wayang-jdbc-pool-eviction");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final DatabaseDescriptor databaseDescriptor;
+
+    /**
+     * Maximum number of open {@link Connection}s; if not positive, {@link Connection}s are not pooled at all.
+     */
+    private final int maxSize;
+
+    private final long idleTimeoutMillis, borrowTimeoutMillis;
+
+    private final int validationTimeoutSeconds;
+
+    /**
+     * Maximum number of cached {@link PreparedStatement}s per {@link Connection}.
+     */
+    private final int statementCacheSize;
+
+    /**
+     * Idle {@link Entry}s, the most recently released one first.
+     */
+    private final Deque<Entry> idleEntries = new ArrayDeque<>();
+
+    /**
+     * Number of open {@link Connection}s, be they idle, borrowed, or being established.
+     */
+    private int numOpenConnections = 0;
+
+    private boolean isClosed = false;
+
+    private final ScheduledFuture<?> evictionTask;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param databaseDescriptor       describes the database to connect to
+     * @param maxSize                  the maximum number of open {@link Connection}s; if not positive,
+     *                                 {@link Connection}s are closed rather than pooled when they are released
+     * @param idleTimeoutMillis        milliseconds after which an idle {@link Connection} is closed
+     * @param borrowTimeoutMillis      milliseconds to wait for a {@link Connection} if {@code maxSize} of them are
+     *                                 borrowed already
+     * @param validationTimeoutMillis  milliseconds to wait for the validation of an idle {@link Connection}
+     * @param statementCacheSize       maximum number of cached {@link PreparedStatement}s per {@link Connection};
+     *                                 if not positive, {@link PreparedStatement}s are not cached
+     */
+    public JdbcConnectionPool(DatabaseDescriptor databaseDescriptor,
+                              int maxSize,
+                              long idleTimeoutMillis,
+                              long borrowTimeoutMillis,
+                              long validationTimeoutMillis,
+                              int statementCacheSize) {
+        this.databaseDescriptor = databaseDescriptor;
+        this.maxSize = maxSize;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.validationTimeoutSeconds = (int) Math.max(1L, (validationTimeoutMillis + 999L) / 1000L);
+        this.statementCacheSize = statementCacheSize;
+        if (this.maxSize > 0 && this.idleTimeoutMillis > 0) {
+            final long period = Math.max(1000L, this.idleTimeoutMillis / 2);
+            this.evictionTask = evictionService.scheduleWithFixedDelay(this::evictIdleConnections, period, period, TimeUnit.MILLISECONDS);
+        } else {
+            this.evictionTask = null;
+        }
+    }
+
+    /**
+     * Borrow a {@link Connection}. It is either an idle one that is still valid or a newly established one.
+     *
+     * @return a {@link PooledConnection} that must be {@link PooledConnection#close() closed} to return the
+     * {@link Connection} to this instance
+     */
+    public PooledConnection borrow() {
+        return this.borrow(true);
+    }
+
+    /**
+     * Borrow a {@link Connection} to be held for as long as a consumer takes, e.g., to read a {@link java.sql.ResultSet}
+     * lazily. Unlike {@link #borrow()}, this does not wait if the maximum number of {@link Connection}s is open already,
+     * but establishes an additional {@link Connection}, which is closed rather than pooled once it is released. Thus,
+     * slow or forgetful consumers cannot starve other borrowers.
+     *
+     * @return a {@link PooledConnection} that must be {@link PooledConnection#close() closed} to return the
+     * {@link Connection} to this instance
+     */
+    public PooledConnection borrowUncapped() {
+        return this.borrow(false);
+    }
+
+    private PooledConnection borrow(boolean isCapped) {
+        final long deadline = System.currentTimeMillis() + this.borrowTimeoutMillis;
+        while (true) {
+            final Entry entry;
+            synchronized (this) {
+                if (this.isClosed) {
+                    throw new WayangException(String.format("Connection pool for %s is closed.", this.databaseDescriptor));
+                }
+                entry = this.idleEntries.pollFirst();
+                if (entry == null) {
+                    if (!isCapped || this.maxSize <= 0 || this.numOpenConnections < this.maxSize) {
+                        this.numOpenConnections++;
+                        break;
+                    }
+                    final long waitMillis = deadline - System.currentTimeMillis();
+                    if (waitMillis <= 0) {
+                        throw new WayangException(String.format(
+                                "Timed out waiting for one of %d connections to %s.", this.maxSize, this.databaseDescriptor
+                        ));
+                    }
+                    try {
+                        this.wait(waitMillis);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new WayangException("Interrupted while waiting for a connection.", e);
+                    }
+                    continue;
+                }
+            }
+
+            // Validate the idle connection outside of the lock, as this might involve a round trip to the database.
+            if (this.isUsable(entry)) {
+                return new PooledConnection(entry);
+            }
+            this.discard(entry);
+        }
+
+        try {
+            return new PooledConnection(new Entry(this.databaseDescriptor.createJdbcConnection()));
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                this.numOpenConnections--;
+                this.notifyAll();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Check whether an idle {@link Entry} can be handed out again.
+     */
+    private boolean isUsable(Entry entry) {
+        final long idleMillis = System.currentTimeMillis() - entry.lastReleaseMillis;
+        if (this.idleTimeoutMillis > 0 && idleMillis >= this.idleTimeoutMillis) return false;
+        if (idleMillis < VALIDATION_INTERVAL_MILLIS) return true;
+        try {
+            return entry.connection.isValid(this.validationTimeoutSeconds);
+        } catch (SQLException e) {
+            logger.debug("Could not validate connection to {}.", this.databaseDescriptor, e);
+            return false;
+        }
+    }
+
+    /**
+     * Take back a borrowed {@link Entry}.
+     */
+    private void release(Entry entry) {
+        boolean isReusable;
+        try {
+            isReusable = this.maxSize > 0 && !entry.connection.isClosed();
+            if (isReusable && !entry.connection.getAutoCommit()) {
+                entry.connection.rollback();
+                entry.connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            logger.debug("Could not reset connection to {}.", this.databaseDescriptor, e);
+            isReusable = false;
+        }
+
+        if (isReusable) {
+            synchronized (this) {
+                // Close surplus connections from borrowUncapped().
+                if (!this.isClosed && this.numOpenConnections <= this.maxSize) {
+                    entry.lastReleaseMillis = System.currentTimeMillis();
+                    this.idleEntries.addFirst(entry);
+                    this.notifyAll();
+                    return;
+                }
+            }
+        }
+        this.discard(entry);
+    }
+
+    /**
+     * Close the {@link Connection} of an {@link Entry} that is neither idle nor borrowed anymore.
+     */
+    private void discard(Entry entry) {
+        synchronized (this) {
+            this.numOpenConnections--;
+            this.notifyAll();
+        }
+        entry.close();
+    }
+
+    /**
+     * Close all idle {@link Connection}s that have been idle for longer than the idle timeout.
+     */
+    void evictIdleConnections() {
+        final Collection<Entry> evictedEntries = new ArrayList<>();
+        synchronized (this) {
+            final long now = System.currentTimeMillis();
+            // The least recently released entries are at the end.
+            final Iterator<Entry> iterator = this.idleEntries.descendingIterator();
+            while (iterator.hasNext()) {
+                final Entry entry = iterator.next();
+                if (now - entry.lastReleaseMillis < this.idleTimeoutMillis) break;
+                iterator.remove();
+                evictedEntries.add(entry);
+            }
+        }
+        evictedEntries.forEach(this::discard);
+    }
+
+    /**
+     * @return the number of open {@link Connection}s, be they idle or borrowed
+     */
+    public synchronized int getNumOpenConnections() {
+        return this.numOpenConnections;
+    }
+
+    /**
+     * @return the number of idle {@link Connection}s
+     */
+    public synchronized int getNumIdleConnections() {
+        return this.idleEntries.size();
+    }
+
+    /**
+     * Close all idle {@link Connection}s and any borrowed {@link Connection} once it is released.
+     */
+    @Override
+    public void close() {
+        final Collection<Entry> idleEntries;
+        synchronized (this) {
+            if (this.isClosed) return;
+            this.isClosed = true;
+            idleEntries = new ArrayList<>(this.idleEntries);
+            this.idleEntries.clear();
+            this.notifyAll();
+        }
+        if (this.evictionTask != null) this.evictionTask.cancel(false);
+        idleEntries.forEach(this::discard);
+    }
+
+    /**
+     * A pooled {@link Connection} along with its cached {@link PreparedStatement}s.
+     */
+    private class Entry {
+
+        private final Connection connection;
+
+        /**
+         * Caches {@link PreparedStatement}s by their SQL text with a least-recently-used eviction.
+         */
+        private final Map<String, PreparedStatement> statementCache = new LinkedHashMap<String, PreparedStatement>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (this.size() <= JdbcConnectionPool.this.statementCacheSize) return false;
+                closeQuietly(eldest.getValue());
+                return true;
+            }
+        };
+
+        private long lastReleaseMillis;
+
+        private Entry(Connection connection) {
+            this.connection = connection;
+        }
+
+        private PreparedStatement prepareStatement(String sql) throws SQLException {
+            if (JdbcConnectionPool.this.statementCacheSize <= 0) {
+                return this.connection.prepareStatement(sql);
+            }
+            PreparedStatement statement = this.statementCache.get(sql);
+            if (statement == null || statement.isClosed()) {
+                statement = this.connection.prepareStatement(sql);
+                this.statementCache.put(sql, statement);
+            } else {
+                statement.clearParameters();
+            }
+            return statement;
+        }
+
+        private void close() {
+            this.statementCache.values().forEach(JdbcConnectionPool::closeQuietly);
+            this.statementCache.clear();
+            try {
+                this.connection.close();
+            } catch (SQLException e) {
+                logger.warn("Could not close connection to {}.", JdbcConnectionPool.this.databaseDescriptor, e);
+            }
+        }
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            logger.debug("Could not close prepared statement.", e);
+        }
+    }
+
+    /**
+     * A {@link Connection} borrowed from a {@link JdbcConnectionPool}. Closing this instance returns the
+     * {@link Connection} to the pool.
+     */
+    public class PooledConnection implements AutoCloseable {
+
+        private Entry entry;
+
+        private PooledConnection(Entry entry) {
+            this.entry = entry;
+        }
+
+        /**
+         * Provide the borrowed {@link Connection}. It must not be closed; close this instance instead.
+         *
+         * @return the {@link Connection}
+         */
+        public Connection getConnection() {
+            return this.getEntry().connection;
+        }
+
+        /**
+         * Prepare a {@link PreparedStatement} or reuse one that has been prepared for the same {@code sql} on the
+         * borrowed {@link Connection} before. It must not be closed, as it might be reused later on; closing its
+         * {@link java.sql.ResultSet}s suffices. Statements are matched by their exact SQL text, so statements with
+         * inlined literals are only reused for the very same literals.
+         *
+         * @param sql the SQL text of the statement
+         * @return the {@link PreparedStatement}
+         */
+        public PreparedStatement prepareStatement(String sql) throws SQLException {
+            final Entry entry = this.getEntry();
+            if (JdbcConnectionPool.this.maxSize <= 0) {
+                // The connection is closed on release anyway, so there is nothing to reuse.
+                return entry.connection.prepareStatement(sql);
+            }
+            return entry.prepareStatement(sql);
+        }
+
+        private Entry getEntry() {
+            if (this.entry == null) throw new IllegalStateException("Connection has already been returned to the pool.");
+            return this.entry;
+        }
+
+        /**
+         * Return the {@link Connection} to the {@link JdbcConnectionPool}. Does nothing if it has been returned
+         * already.
+         */
+        @Override
+        public void close() {
+            final Entry entry = this.entry;
+            if (entry == null) return;
+            this.entry = null;
+            JdbcConnectionPool.this.release(entry);
+        }
+    }
+}
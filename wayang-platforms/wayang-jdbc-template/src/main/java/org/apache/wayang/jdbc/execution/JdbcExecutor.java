@@ -54,6 +54,7 @@ import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -64,7 +65,11 @@ public class JdbcExecutor extends ExecutorTemplate {
 
     private final JdbcPlatformTemplate platform;
 
-    private final Connection connection;
+    /**
+     * Provides a {@link Connection} per {@link ExecutionStage}, which is returned once the stage's SQL query has been
+     * created, so that concurrent jobs do not hold {@link Connection}s in between their stages.
+     */
+    private final JdbcConnectionPool connectionPool;
 
     private final Logger logger = LogManager.getLogger(this.getClass());
 
@@ -73,12 +78,15 @@ public class JdbcExecutor extends ExecutorTemplate {
     public JdbcExecutor(final JdbcPlatformTemplate platform, final Job job) {
         super(job.getCrossPlatformExecutor());
         this.platform = platform;
-        this.connection = this.platform.createDatabaseDescriptor(job.getConfiguration()).createJdbcConnection();
+        this.connectionPool = this.platform.getConnectionPool(job.getConfiguration());
     }
 
     @Override
     public void execute(final ExecutionStage stage, final OptimizationContext optimizationContext, final ExecutionState executionState) {
-        final Tuple2<String, SqlQueryChannel.Instance> pair = this.createSqlQuery(stage, optimizationContext);
+        final Tuple2<String, SqlQueryChannel.Instance> pair;
+        try (JdbcConnectionPool.PooledConnection pooledConnection = this.connectionPool.borrow()) {
+            pair = this.createSqlQuery(stage, optimizationContext, pooledConnection.getConnection());
+        }
         final String query = pair.field0;
         final SqlQueryChannel.Instance queryChannel = pair.field1;
 
@@ -152,10 +160,11 @@ public class JdbcExecutor extends ExecutorTemplate {
      * 
      * @param stage
      * @param context
+     * @param connection on which to inspect the database while creating the sql statement
      * @return a tuple containing the sql statement
      */
     protected Tuple2<String, SqlQueryChannel.Instance> createSqlQuery(final ExecutionStage stage,
-            final OptimizationContext context) {
+            final OptimizationContext context, final Connection connection) {
         final Collection<?> startTasks = stage.getStartTasks();
         final Collection<?> termTasks = stage.getTerminalTasks();
 
@@ -197,17 +206,36 @@ public class JdbcExecutor extends ExecutorTemplate {
         }
 
         // Create the SQL query.
-        final String tableName = this.getSqlClause(tableOp);
+        final String tableName = this.getSqlClause(tableOp, connection);
         final Collection<String> conditions = filterTasks.stream()
                 .map(ExecutionTask::getOperator)
-                .map(this::getSqlClause)
+                .map(operator -> this.getSqlClause(operator, connection))
                 .collect(Collectors.toList());
-        final String projection = projectionTask == null ? "*" : this.getSqlClause(projectionTask.getOperator());
+        final String projection = projectionTask == null ? "*" : this.getSqlClause(projectionTask.getOperator(), connection);
         final Collection<String> joins = joinTasks.stream()
                 .map(ExecutionTask::getOperator)
-                .map(this::getSqlClause)
+                .map(operator -> this.getSqlClause(operator, connection))
                 .collect(Collectors.toList());
 
+        // Split the scan of large tables into partitions that can be fetched in parallel.
+        final OptimizationContext.OperatorContext tableOpContext = context.getOperatorContext(tableOp);
+        if (tableOpContext != null) {
+            final TableScanPartitioner partitioner = new TableScanPartitioner(this.platform, this.getConfiguration());
+            final int numPartitions = partitioner.getNumPartitions(tableOpContext.getOutputCardinality(0));
+            final List<String> partitionQueries = new ArrayList<>(numPartitions);
+            for (String partitionCondition : partitioner.createPartitionConditions(connection, tableName, numPartitions)) {
+                final Collection<String> partitionConditions = new ArrayList<>(conditions);
+                partitionConditions.add(partitionCondition);
+                partitionQueries.add(this.createSqlQuery(projection, tableName, joins, partitionConditions));
+            }
+            tipChannelInstance.setPartitionQueries(partitionQueries);
+        }
+
+        return new Tuple2<>(this.createSqlQuery(projection, tableName, joins, conditions), tipChannelInstance);
+    }
+
+    private String createSqlQuery(final String projection, final String tableName, final Collection<String> joins,
+            final Collection<String> conditions) {
         final StringBuilder sb = new StringBuilder(1000);
         sb.append("SELECT ").append(projection).append(" FROM ").append(tableName);
         if (!joins.isEmpty()) {
@@ -218,33 +246,32 @@ public class JdbcExecutor extends ExecutorTemplate {
         }
         if (!conditions.isEmpty()) {
             sb.append(" WHERE ");
+            // Parenthesize conjoined conditions, as ORs within them would bind weaker than the ANDs between them.
+            final boolean isParenthesizing = conditions.size() > 1;
             String separator = "";
             for (final String condition : conditions) {
-                sb.append(separator).append(condition);
+                sb.append(separator);
+                if (isParenthesizing) {
+                    sb.append('(').append(condition).append(')');
+                } else {
+                    sb.append(condition);
+                }
                 separator = " AND ";
             }
         }
         sb.append(';');
-        return new Tuple2<>(sb.toString(), tipChannelInstance);
+        return sb.toString();
     }
 
     /**
      * Creates a SQL clause that corresponds to the given {@link Operator}.
      *
-     * @param operator for that the SQL clause should be generated
+     * @param operator   for that the SQL clause should be generated
+     * @param connection on which the SQL clause will be executed
      * @return the SQL clause
      */
-    private String getSqlClause(final Operator operator) {
-        return ((JdbcExecutionOperator) operator).createSqlClause(this.connection, this.functionCompiler);
-    }
-
-    @Override
-    public void dispose() {
-        try {
-            this.connection.close();
-        } catch (final SQLException e) {
-            this.logger.error("Could not close JDBC connection to PostgreSQL correctly.", e);
-        }
+    private String getSqlClause(final Operator operator, final Connection connection) {
+        return ((JdbcExecutionOperator) operator).createSqlClause(connection, this.functionCompiler);
     }
 
     @Override
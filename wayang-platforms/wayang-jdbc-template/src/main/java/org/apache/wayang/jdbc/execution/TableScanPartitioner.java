@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.wayang.jdbc.execution;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.wayang.core.api.Configuration;
+import org.apache.wayang.core.optimizer.cardinality.CardinalityEstimate;
+import org.apache.wayang.jdbc.platform.JdbcPlatformTemplate;
+
+import java.math.BigInteger;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Splits the scan of a table into range-bounded partitions that can be fetched in parallel. The table is split on
+ * an integer column, which is either configured via {@link JdbcPlatformTemplate#getPartitionColumnProperty(String)}
+ * or else the single-column primary key of the table. The number of partitions follows from the estimated number
+ * of rows of the table and {@link JdbcPlatformTemplate#partitionRowsProperty}.
+ */
+public class TableScanPartitioner {
+
+    private static final Logger logger = LogManager.getLogger(TableScanPartitioner.class);
+
+    private final JdbcPlatformTemplate platform;
+
+    private final Configuration configuration;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param platform      whose tables should be partitioned
+     * @param configuration provides the partitioning properties
+     */
+    public TableScanPartitioner(JdbcPlatformTemplate platform, Configuration configuration) {
+        this.platform = platform;
+        this.configuration = configuration;
+    }
+
+    /**
+     * Determine into how many partitions a table should be split.
+     *
+     * @param cardinality the estimated number of rows of the table
+     * @return the number of partitions; {@code 1} if the table should be scanned as a whole
+     */
+    public int getNumPartitions(CardinalityEstimate cardinality) {
+        final long rowsPerPartition = this.configuration.getLongProperty(this.platform.partitionRowsProperty, 0);
+        if (rowsPerPartition <= 0 || cardinality == null) return 1;
+        final long maxPartitions = this.configuration.getLongProperty(this.platform.maxPartitionsProperty, 16);
+        final long numPartitions = (cardinality.getGeometricMeanEstimate() + rowsPerPartition - 1) / rowsPerPartition;
+        return (int) Math.max(1, Math.min(numPartitions, maxPartitions));
+    }
+
+    /**
+     * Create a condition per partition of a table. Together, the conditions select each row of the table exactly
+     * once, including those whose partition column is {@code NULL}.
+     *
+     * @param connection    on which to inspect the table
+     * @param tableName     the name of the table
+     * @param numPartitions the requested number of partitions
+     * @return the conditions; empty if the table cannot be partitioned
+     */
+    public List<String> createPartitionConditions(Connection connection, String tableName, int numPartitions) {
+        if (numPartitions < 2) return Collections.emptyList();
+        try {
+            final String column = this.findPartitionColumn(connection, tableName);
+            if (column == null) {
+                logger.debug("Found no partition column for {}; scanning it as a whole.", tableName);
+                return Collections.emptyList();
+            }
+            final String qualifiedColumn = tableName + "." + column;
+
+            final BigInteger[] bounds = this.queryBounds(connection, tableName, qualifiedColumn);
+            if (bounds == null) return Collections.emptyList();
+            final BigInteger span = bounds[1].subtract(bounds[0]).add(BigInteger.ONE);
+            final int n = span.min(BigInteger.valueOf(numPartitions)).intValueExact();
+            if (n < 2) return Collections.emptyList();
+
+            // Partition i covers [boundaries[i-1], boundaries[i]).
+            final List<String> conditions = new ArrayList<>(n);
+            BigInteger lowerBoundary = null;
+            for (int i = 1; i <= n; i++) {
+                final BigInteger upperBoundary = i == n ?
+                        null :
+                        bounds[0].add(span.multiply(BigInteger.valueOf(i)).divide(BigInteger.valueOf(n)));
+                if (lowerBoundary == null) {
+                    conditions.add(String.format("(%s < %s OR %s IS NULL)", qualifiedColumn, upperBoundary, qualifiedColumn));
+                } else if (upperBoundary == null) {
+                    conditions.add(String.format("%s >= %s", qualifiedColumn, lowerBoundary));
+                } else {
+                    conditions.add(String.format(
+                            "%s >= %s AND %s < %s", qualifiedColumn, lowerBoundary, qualifiedColumn, upperBoundary
+                    ));
+                }
+                lowerBoundary = upperBoundary;
+            }
+            logger.info("Scanning {} in {} partitions on {}.", tableName, n, column);
+            return conditions;
+        } catch (SQLException e) {
+            logger.warn("Could not partition {}; scanning it as a whole.", tableName, e);
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Find the column on which to split a table: the configured one or else the single-column primary key.
+     *
+     * @return the (quoted, if discovered) column name or {@code null} if there is none
+     */
+    String findPartitionColumn(Connection connection, String tableName) throws SQLException {
+        final String configuredColumn = this.configuration.getStringProperty(
+                this.platform.getPartitionColumnProperty(tableName), null
+        );
+        if (configuredColumn != null) return configuredColumn;
+
+        final int separatorPos = tableName.lastIndexOf('.');
+        final String schema = separatorPos == -1 ? null : tableName.substring(0, separatorPos);
+        final String table = tableName.substring(separatorPos + 1);
+
+        // Databases differ in how they case unquoted identifiers in their catalogs.
+        final DatabaseMetaData metaData = connection.getMetaData();
+        final Set<String> tableCandidates = new LinkedHashSet<>(List.of(
+                table, table.toUpperCase(Locale.ROOT), table.toLowerCase(Locale.ROOT)
+        ));
+        for (String tableCandidate : tableCandidates) {
+            final List<String> keyColumns = new ArrayList<>(1);
+            try (ResultSet resultSet = metaData.getPrimaryKeys(null, null, tableCandidate)) {
+                while (resultSet.next()) {
+                    final String tableSchema = resultSet.getString("TABLE_SCHEM");
+                    if (schema == null || schema.equalsIgnoreCase(tableSchema)) {
+                        keyColumns.add(resultSet.getString("COLUMN_NAME"));
+                    }
+                }
+            }
+            if (!keyColumns.isEmpty()) {
+                if (keyColumns.size() > 1) return null;
+                final String quote = metaData.getIdentifierQuoteString().trim();
+                return quote + keyColumns.get(0) + quote;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Query the minimum and maximum value of the partition column.
+     *
+     * @return the bounds or {@code null} if the table is empty or the column does not hold integers
+     */
+    private BigInteger[] queryBounds(Connection connection, String tableName, String qualifiedColumn) throws SQLException {
+        final String sql = String.format(
+                "SELECT MIN(%s), MAX(%s) FROM %s;", qualifiedColumn, qualifiedColumn, tableName
+        );
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            if (!resultSet.next()) return null;
+            final BigInteger min = toBigInteger(resultSet.getObject(1));
+            final BigInteger max = toBigInteger(resultSet.getObject(2));
+            if (min == null || max == null) {
+                logger.debug("{} has no integer bounds on {}.", tableName, qualifiedColumn);
+                return null;
+            }
+            return new BigInteger[]{min, max};
+        }
+    }
+
+    private static BigInteger toBigInteger(Object value) {
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return BigInteger.valueOf(((Number) value).longValue());
+        } else if (value instanceof BigInteger) {
+            return (BigInteger) value;
+        }
+        return null;
+    }
+}
@@ -24,6 +24,7 @@ import org.apache.wayang.core.optimizer.OptimizationContext;
 import org.apache.wayang.core.optimizer.cardinality.CardinalityEstimate;
 import org.apache.wayang.core.optimizer.cardinality.CardinalityEstimator;
 import org.apache.wayang.jdbc.compiler.FunctionCompiler;
+import org.apache.wayang.jdbc.execution.JdbcConnectionPool;
 import org.apache.logging.log4j.LogManager;
 
 import java.sql.Connection;
@@ -76,18 +77,19 @@ public abstract class JdbcTableSource extends TableSource implements JdbcExecuti
                 );
 
                 // Establish a DB connection.
-                try (Connection connection = JdbcTableSource.this.getPlatform()
-                        .createDatabaseDescriptor(optimizationContext.getConfiguration())
-                        .createJdbcConnection()) {
+                try (JdbcConnectionPool.PooledConnection connection = JdbcTableSource.this.getPlatform()
+                        .getConnectionPool(optimizationContext.getConfiguration())
+                        .borrow()) {
 
                     // Query the table cardinality.
                     final String sql = String.format("SELECT count(*) FROM %s;", JdbcTableSource.this.getTableName());
-                    final ResultSet resultSet = connection.createStatement().executeQuery(sql);
-                    if (!resultSet.next()) {
-                        throw new SQLException("No query result for \"" + sql + "\".");
+                    try (ResultSet resultSet = connection.prepareStatement(sql).executeQuery()) {
+                        if (!resultSet.next()) {
+                            throw new SQLException("No query result for \"" + sql + "\".");
+                        }
+                        long cardinality = resultSet.getLong(1);
+                        return new CardinalityEstimate(cardinality, cardinality, 1d);
                     }
-                    long cardinality = resultSet.getLong(1);
-                    return new CardinalityEstimate(cardinality, cardinality, 1d);
 
                 } catch (Exception e) {
                     LogManager.getLogger(this.getClass()).error(
@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.wayang.jdbc.operators;
+
+import org.apache.wayang.basic.data.Record;
+import org.apache.wayang.core.api.exception.WayangException;
+import org.apache.wayang.jdbc.execution.DatabaseDescriptor;
+
+import java.sql.Connection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Executes the SQL queries for the partitions of a table scan in parallel and exposes their {@link Record}s as a
+ * single {@link Iterator}. Each query runs on a dedicated thread and {@link Connection}, so that long-running scans
+ * do not exhaust the connection pool. The {@link Record}s of the different partitions are interleaved.
+ * <p>Instances should be {@link #close() closed} if they are not exhausted, as the scanning threads block otherwise.</p>
+ * <p>As each partition is scanned in a transaction of its own, the partitions do not share a snapshot of the table.
+ * Rows that are modified concurrently may thus be missed or seen twice.</p>
+ */
+public class PartitionedResultSetIterator implements Iterator<Record>, AutoCloseable {
+
+    /**
+     * Maximum number of fetched {@link Record}s that wait to be consumed.
+     */
+    private static final int BUFFER_SIZE = 1024;
+
+    /**
+     * Signals that a partition has been scanned completely.
+     */
+    private static final Object END_OF_PARTITION = new Object();
+
+    /**
+     * Passes {@link Record}s, {@link #END_OF_PARTITION} markers, and {@link Throwable}s from the scanning threads.
+     */
+    private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(BUFFER_SIZE);
+
+    private final ExecutorService scanningThreads;
+
+    /**
+     * The number of partitions that have not been scanned completely yet.
+     */
+    private int numPendingPartitions;
+
+    /**
+     * The next {@link Record} to be delivered via {@link #next()} or {@code null}.
+     */
+    private Record next;
+
+    /**
+     * Creates a new instance and starts scanning.
+     *
+     * @param databaseDescriptor describes the database to scan
+     * @param partitionQueries   the SQL queries for the partitions
+     */
+    public PartitionedResultSetIterator(DatabaseDescriptor databaseDescriptor, List<String> partitionQueries) {
+        this.numPendingPartitions = partitionQueries.size();
+        this.scanningThreads = Executors.newFixedThreadPool(Math.max(1, partitionQueries.size()), runnable -> {
+            final Thread thread = new Thread(runnable, "wayang-jdbc-partition-scan");
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (String partitionQuery : partitionQueries) {
+            this.scanningThreads.execute(() -> this.scan(databaseDescriptor, partitionQuery));
+        }
+        this.scanningThreads.shutdown();
+    }
+
+    private void scan(DatabaseDescriptor databaseDescriptor, String partitionQuery) {
+        Object last = END_OF_PARTITION;
+        try (Connection connection = databaseDescriptor.createJdbcConnection();
+             SqlToStreamOperator.ResultSetIterator resultSetIterator =
+                     new SqlToStreamOperator.ResultSetIterator(connection, partitionQuery)) {
+            while (resultSetIterator.hasNext()) {
+                this.queue.put(resultSetIterator.next());
+            }
+        } catch (InterruptedException e) {
+            // This instance has been closed.
+            return;
+        } catch (Throwable t) {
+            last = t;
+        }
+        try {
+            this.queue.put(last);
+        } catch (InterruptedException e) {
+            // This instance has been closed.
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (this.next == null && this.numPendingPartitions > 0) {
+            final Object element;
+            try {
+                element = this.queue.take();
+            } catch (InterruptedException e) {
+                this.close();
+                Thread.currentThread().interrupt();
+                throw new WayangException("Interrupted while scanning table partitions.", e);
+            }
+            if (element == END_OF_PARTITION) {
+                this.numPendingPartitions--;
+            } else if (element instanceof Throwable) {
+                this.close();
+                throw new WayangException("Could not scan table partition.", (Throwable) element);
+            } else {
+                this.next = (Record) element;
+            }
+        }
+        return this.next != null;
+    }
+
+    @Override
+    public Record next() {
+        if (!this.hasNext()) throw new NoSuchElementException();
+        final Record curNext = this.next;
+        this.next = null;
+        return curNext;
+    }
+
+    @Override
+    public void close() {
+        this.numPendingPartitions = 0;
+        this.scanningThreads.shutdownNow();
+    }
+}
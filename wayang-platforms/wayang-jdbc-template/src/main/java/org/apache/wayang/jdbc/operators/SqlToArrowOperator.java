@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.wayang.jdbc.operators;
+
+import org.apache.wayang.basic.channels.ArrowChannel;
+import org.apache.wayang.basic.channels.ArrowRecordCodec;
+import org.apache.wayang.basic.data.Record;
+import org.apache.wayang.basic.types.RecordType;
+import org.apache.wayang.core.optimizer.OptimizationContext;
+import org.apache.wayang.core.optimizer.costs.LoadProfileEstimators;
+import org.apache.wayang.core.plan.wayangplan.Operator;
+import org.apache.wayang.core.plan.wayangplan.UnaryToUnaryOperator;
+import org.apache.wayang.core.platform.ChannelDescriptor;
+import org.apache.wayang.core.platform.ChannelInstance;
+import org.apache.wayang.core.platform.lineage.ExecutionLineageNode;
+import org.apache.wayang.core.types.DataSetType;
+import org.apache.wayang.core.util.JsonSerializable;
+import org.apache.wayang.core.util.ReflectionUtils;
+import org.apache.wayang.core.util.Tuple;
+import org.apache.wayang.core.util.json.WayangJsonObj;
+import org.apache.wayang.java.execution.JavaExecutor;
+import org.apache.wayang.java.operators.JavaExecutionOperator;
+import org.apache.wayang.jdbc.channels.SqlQueryChannel;
+import org.apache.wayang.jdbc.execution.JdbcConnectionPool;
+import org.apache.wayang.jdbc.platform.JdbcPlatformTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * This {@link Operator} converts {@link SqlQueryChannel}s to {@link ArrowChannel}s, i.e., it encodes the result set
+ * of the SQL query into columnar batches while iterating it.
+ */
+public class SqlToArrowOperator extends UnaryToUnaryOperator<Record, Record> implements JavaExecutionOperator, JsonSerializable {
+
+    private final JdbcPlatformTemplate jdbcPlatform;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param jdbcPlatform from which the SQL data comes
+     */
+    public SqlToArrowOperator(JdbcPlatformTemplate jdbcPlatform) {
+        this(jdbcPlatform, DataSetType.createDefault(Record.class));
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param jdbcPlatform from which the SQL data comes
+     * @param dataSetType  type of the {@link Record}s being transformed; see {@link RecordType}
+     */
+    public SqlToArrowOperator(JdbcPlatformTemplate jdbcPlatform, DataSetType<Record> dataSetType) {
+        super(dataSetType, dataSetType, false);
+        this.jdbcPlatform = jdbcPlatform;
+    }
+
+    protected SqlToArrowOperator(SqlToArrowOperator that) {
+        super(that);
+        this.jdbcPlatform = that.jdbcPlatform;
+    }
+
+    @Override
+    public Tuple<Collection<ExecutionLineageNode>, Collection<ChannelInstance>> evaluate(
+            ChannelInstance[] inputs,
+            ChannelInstance[] outputs,
+            JavaExecutor executor,
+            OptimizationContext.OperatorContext operatorContext) {
+        // Cast the inputs and outputs.
+        final SqlQueryChannel.Instance input = (SqlQueryChannel.Instance) inputs[0];
+        final ArrowChannel.Instance output = (ArrowChannel.Instance) outputs[0];
+
+        JdbcPlatformTemplate producerPlatform = (JdbcPlatformTemplate) input.getChannel().getProducer().getPlatform();
+        final JdbcConnectionPool.PooledConnection connection = producerPlatform
+                .getConnectionPool(executor.getConfiguration())
+                .borrow();
+        final int batchSize = (int) executor.getConfiguration().getLongProperty(
+                ArrowRecordCodec.BATCH_SIZE_PROPERTY_KEY, ArrowRecordCodec.DEFAULT_BATCH_SIZE
+        );
+
+        final ResultSetCounter resultSetCounter = new ResultSetCounter(
+                new SqlToStreamOperator.ResultSetIterator(connection, input.getSqlQuery())
+        );
+        List<byte[]> batches = new ArrayList<>();
+        ArrowRecordCodec.encode(resultSetCounter, batchSize).forEachRemaining(batches::add);
+        output.accept(batches, resultSetCounter.count);
+
+        ExecutionLineageNode queryLineageNode = new ExecutionLineageNode(operatorContext);
+        queryLineageNode.add(LoadProfileEstimators.createFromSpecification(
+                String.format("wayang.%s.sqltoarrow.load.query", this.jdbcPlatform.getPlatformId()),
+                executor.getConfiguration()
+        ));
+        queryLineageNode.addPredecessor(input.getLineage());
+        ExecutionLineageNode outputLineageNode = new ExecutionLineageNode(operatorContext);
+        outputLineageNode.add(LoadProfileEstimators.createFromSpecification(
+                String.format("wayang.%s.sqltoarrow.load.output", this.jdbcPlatform.getPlatformId()),
+                executor.getConfiguration()
+        ));
+        output.getLineage().addPredecessor(outputLineageNode);
+
+        return queryLineageNode.collectAndMark();
+    }
+
+    @Override
+    public List<ChannelDescriptor> getSupportedInputChannels(int index) {
+        return Collections.singletonList(this.jdbcPlatform.getSqlQueryChannelDescriptor());
+    }
+
+    @Override
+    public List<ChannelDescriptor> getSupportedOutputChannels(int index) {
+        return Collections.singletonList(ArrowChannel.DESCRIPTOR);
+    }
+
+    @Override
+    public Collection<String> getLoadProfileEstimatorConfigurationKeys() {
+        return Arrays.asList(
+                String.format("wayang.%s.sqltoarrow.load.query", this.jdbcPlatform.getPlatformId()),
+                String.format("wayang.%s.sqltoarrow.load.output", this.jdbcPlatform.getPlatformId())
+        );
+    }
+
+    /**
+     * Counts the {@link Record}s delivered by an {@link Iterator}.
+     */
+    private static class ResultSetCounter implements Iterator<Record> {
+
+        private final Iterator<Record> iterator;
+
+        private long count = 0L;
+
+        private ResultSetCounter(Iterator<Record> iterator) {
+            this.iterator = iterator;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.iterator.hasNext();
+        }
+
+        @Override
+        public Record next() {
+            final Record next = this.iterator.next();
+            this.count++;
+            return next;
+        }
+    }
+
+    @Override
+    public WayangJsonObj toJson() {
+        return new WayangJsonObj().put("platform", this.jdbcPlatform.getClass().getCanonicalName());
+    }
+
+    @SuppressWarnings("unused")
+    public static SqlToArrowOperator fromJson(WayangJsonObj wayangJsonObj) {
+        final String platformClassName = wayangJsonObj.getString("platform");
+        JdbcPlatformTemplate jdbcPlatform = ReflectionUtils.evaluate(platformClassName + ".getInstance()");
+        return new SqlToArrowOperator(jdbcPlatform);
+    }
+}
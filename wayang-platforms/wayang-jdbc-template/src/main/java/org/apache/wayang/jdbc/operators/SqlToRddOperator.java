@@ -18,7 +18,11 @@
 
 package org.apache.wayang.jdbc.operators;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.spark.TaskContext;
 import org.apache.spark.api.java.JavaRDD;
+import org.apache.spark.api.java.function.FlatMapFunction;
+import org.apache.spark.util.TaskCompletionListener;
 import org.apache.wayang.basic.data.Record;
 import org.apache.wayang.core.optimizer.OptimizationContext;
 import org.apache.wayang.core.plan.wayangplan.UnaryToUnaryOperator;
@@ -30,12 +34,15 @@ import org.apache.wayang.core.util.JsonSerializable;
 import org.apache.wayang.core.util.Tuple;
 import org.apache.wayang.core.util.json.WayangJsonObj;
 import org.apache.wayang.jdbc.channels.SqlQueryChannel;
+import org.apache.wayang.jdbc.execution.DatabaseDescriptor;
+import org.apache.wayang.jdbc.execution.JdbcConnectionPool;
 import org.apache.wayang.jdbc.platform.JdbcPlatformTemplate;
 import org.apache.wayang.spark.channels.RddChannel;
 import org.apache.wayang.spark.execution.SparkExecutor;
 import org.apache.wayang.spark.operators.SparkExecutionOperator;
 
 import java.sql.Connection;
+import java.sql.SQLException;
 import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
@@ -79,18 +86,26 @@ public class SqlToRddOperator extends UnaryToUnaryOperator<Record, Record> imple
         final RddChannel.Instance output = (RddChannel.Instance) outputs[0];
 
         JdbcPlatformTemplate producerPlatform = (JdbcPlatformTemplate) input.getChannel().getProducer().getPlatform();
-        final Connection connection = producerPlatform
-                .createDatabaseDescriptor(executor.getConfiguration())
-                .createJdbcConnection();
-
-        Iterator<Record> resultSetIterator = new SqlToStreamOperator.ResultSetIterator(connection, input.getSqlQuery());
-        Iterable<Record> resultSetIterable = () -> resultSetIterator;
-
-        // Convert the ResultSet to a JavaRDD.
-        JavaRDD<Record> resultSetRDD = executor.sc.parallelize(
-                StreamSupport.stream(resultSetIterable.spliterator(), false).collect(Collectors.toList()),
-                executor.getNumDefaultPartitions()
-        );
+        final JavaRDD<Record> resultSetRDD;
+        if (input.getPartitionQueries().size() > 1) {
+            // Fetch each partition of the scanned table as an RDD partition of its own.
+            final List<String> partitionQueries = input.getPartitionQueries();
+            resultSetRDD = executor.sc.parallelize(partitionQueries, partitionQueries.size())
+                    .mapPartitions(new PartitionScan(producerPlatform.createDatabaseDescriptor(executor.getConfiguration())));
+        } else {
+            final JdbcConnectionPool.PooledConnection connection = producerPlatform
+                    .getConnectionPool(executor.getConfiguration())
+                    .borrow();
+
+            Iterator<Record> resultSetIterator = new SqlToStreamOperator.ResultSetIterator(connection, input.getSqlQuery());
+            Iterable<Record> resultSetIterable = () -> resultSetIterator;
+
+            // Convert the ResultSet to a JavaRDD.
+            resultSetRDD = executor.sc.parallelize(
+                    StreamSupport.stream(resultSetIterable.spliterator(), false).collect(Collectors.toList()),
+                    executor.getNumDefaultPartitions()
+            );
+        }
 
         output.accept(resultSetRDD, executor);
 
@@ -103,6 +118,57 @@ public class SqlToRddOperator extends UnaryToUnaryOperator<Record, Record> imple
         return queryLineageNode.collectAndMark();
     }
 
+    /**
+     * Executes the SQL queries that make up an RDD partition on a dedicated {@link Connection}.
+     */
+    private static class PartitionScan implements FlatMapFunction<Iterator<String>, Record> {
+
+        private final DatabaseDescriptor databaseDescriptor;
+
+        private PartitionScan(DatabaseDescriptor databaseDescriptor) {
+            this.databaseDescriptor = databaseDescriptor;
+        }
+
+        @Override
+        public Iterator<Record> call(Iterator<String> partitionQueries) {
+            final List<String> queries = new ArrayList<>();
+            partitionQueries.forEachRemaining(queries::add);
+            if (queries.isEmpty()) return Collections.emptyIterator();
+
+            final Connection connection = this.databaseDescriptor.createJdbcConnection();
+            final TaskContext taskContext = TaskContext.get();
+            if (taskContext != null) {
+                taskContext.addTaskCompletionListener((TaskCompletionListener) context -> closeQuietly(connection));
+            }
+            final Iterator<Record> records = queries.stream()
+                    .flatMap(query -> StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+                            new SqlToStreamOperator.ResultSetIterator(connection, query), 0
+                    ), false))
+                    .iterator();
+            return new Iterator<Record>() {
+                @Override
+                public boolean hasNext() {
+                    if (records.hasNext()) return true;
+                    closeQuietly(connection);
+                    return false;
+                }
+
+                @Override
+                public Record next() {
+                    return records.next();
+                }
+            };
+        }
+
+        private static void closeQuietly(Connection connection) {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                LogManager.getLogger(PartitionScan.class).warn("Could not close connection.", e);
+            }
+        }
+    }
+
     @Override
     public boolean containsAction() {
         return false;
@@ -27,6 +27,7 @@ import org.apache.wayang.core.plan.wayangplan.Operator;
 import org.apache.wayang.core.plan.wayangplan.UnaryToUnaryOperator;
 import org.apache.wayang.core.platform.ChannelDescriptor;
 import org.apache.wayang.core.platform.ChannelInstance;
+import org.apache.wayang.core.platform.ExecutionResourceTemplate;
 import org.apache.wayang.core.platform.lineage.ExecutionLineageNode;
 import org.apache.wayang.core.types.DataSetType;
 import org.apache.wayang.core.util.JsonSerializable;
@@ -37,6 +38,7 @@ import org.apache.wayang.java.channels.StreamChannel;
 import org.apache.wayang.java.execution.JavaExecutor;
 import org.apache.wayang.java.operators.JavaExecutionOperator;
 import org.apache.wayang.jdbc.channels.SqlQueryChannel;
+import org.apache.wayang.jdbc.execution.JdbcConnectionPool;
 import org.apache.wayang.jdbc.platform.JdbcPlatformTemplate;
 import org.apache.logging.log4j.LogManager;
 
@@ -97,13 +99,28 @@ public class SqlToStreamOperator extends UnaryToUnaryOperator<Record, Record> im
         final StreamChannel.Instance output = (StreamChannel.Instance) outputs[0];
 
         JdbcPlatformTemplate producerPlatform = (JdbcPlatformTemplate) input.getChannel().getProducer().getPlatform();
-        final Connection connection = producerPlatform
-                .createDatabaseDescriptor(executor.getConfiguration())
-                .createJdbcConnection();
+        final Stream<Record> resultSetStream;
+        if (input.getPartitionQueries().size() > 1) {
+            // Fetch the partitions of the scanned table in parallel.
+            PartitionedResultSetIterator resultSetIterator = new PartitionedResultSetIterator(
+                    producerPlatform.createDatabaseDescriptor(executor.getConfiguration()),
+                    input.getPartitionQueries()
+            );
+            resultSetStream = StreamSupport.stream(Spliterators.spliteratorUnknownSize(resultSetIterator, 0), false)
+                    .onClose(resultSetIterator::close);
+            closeOnDispose(resultSetIterator, executor);
+        } else {
+            // The connection is held for as long as the stream is consumed, so it must not starve other borrowers.
+            final JdbcConnectionPool.PooledConnection connection = producerPlatform
+                    .getConnectionPool(executor.getConfiguration())
+                    .borrowUncapped();
 
-        Iterator<Record> resultSetIterator = new ResultSetIterator(connection, input.getSqlQuery());
-        Spliterator<Record> resultSetSpliterator = Spliterators.spliteratorUnknownSize(resultSetIterator, 0);
-        Stream<Record> resultSetStream = StreamSupport.stream(resultSetSpliterator, false);
+            ResultSetIterator resultSetIterator = new ResultSetIterator(connection, input.getSqlQuery());
+            Spliterator<Record> resultSetSpliterator = Spliterators.spliteratorUnknownSize(resultSetIterator, 0);
+            resultSetStream = StreamSupport.stream(resultSetSpliterator, false)
+                    .onClose(resultSetIterator::close);
+            closeOnDispose(resultSetIterator, executor);
+        }
 
         output.accept(resultSetStream);
 
@@ -123,6 +140,19 @@ public class SqlToStreamOperator extends UnaryToUnaryOperator<Record, Record> im
         return queryLineageNode.collectAndMark();
     }
 
+    /**
+     * Close an {@link AutoCloseable} at the latest when the {@code executor} is disposed, as consumers of a
+     * {@link Stream} need neither exhaust nor close it.
+     */
+    private static void closeOnDispose(AutoCloseable closeable, JavaExecutor executor) {
+        executor.register(new ExecutionResourceTemplate(null) {
+            @Override
+            protected void doDispose() throws Exception {
+                closeable.close();
+            }
+        });
+    }
+
     @Override
     public List<ChannelDescriptor> getSupportedInputChannels(int index) {
         return Collections.singletonList(this.jdbcPlatform.getSqlQueryChannelDescriptor());
@@ -156,6 +186,11 @@ public class SqlToStreamOperator extends UnaryToUnaryOperator<Record, Record> im
          */
         private Record next;
 
+        /**
+         * The pooled connection to return once the {@link #resultSet} is exhausted or {@code null}.
+         */
+        private JdbcConnectionPool.PooledConnection pooledConnection;
+
         /**
          * Creates a new instance.
          *
@@ -175,6 +210,24 @@ public class SqlToStreamOperator extends UnaryToUnaryOperator<Record, Record> im
             this.moveToNext();
         }
 
+        /**
+         * Creates a new instance that executes a SQL query via a cached {@link java.sql.PreparedStatement} and
+         * returns the connection to its pool once it is closed.
+         *
+         * @param pooledConnection the pooled JDBC connection on which to execute a SQL query
+         * @param sqlQuery         the SQL query
+         */
+        public ResultSetIterator(JdbcConnectionPool.PooledConnection pooledConnection, String sqlQuery) {
+            this.pooledConnection = pooledConnection;
+            try {
+                this.resultSet = pooledConnection.prepareStatement(sqlQuery).executeQuery();
+            } catch (SQLException e) {
+                this.close();
+                throw new WayangException("Could not execute SQL.", e);
+            }
+            this.moveToNext();
+        }
+
         /**
          * Moves this instance to the next {@link Record}.
          */
@@ -221,6 +274,10 @@ public class SqlToStreamOperator extends UnaryToUnaryOperator<Record, Record> im
                     this.resultSet = null;
                 }
             }
+            if (this.pooledConnection != null) {
+                this.pooledConnection.close();
+                this.pooledConnection = null;
+            }
         }
     }
 
@@ -28,9 +28,12 @@ import org.apache.wayang.core.platform.Platform;
 import org.apache.wayang.core.util.ReflectionUtils;
 import org.apache.wayang.jdbc.channels.SqlQueryChannel;
 import org.apache.wayang.jdbc.execution.DatabaseDescriptor;
+import org.apache.wayang.jdbc.execution.JdbcConnectionPool;
 import org.apache.wayang.jdbc.execution.JdbcExecutor;
 
 import java.sql.Connection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * {@link Platform} implementation for a JDBC-accessible database.
@@ -47,6 +50,20 @@ public abstract class JdbcPlatformTemplate extends Platform {
 
     public final String jdbcPasswordProperty = String.format("wayang.%s.jdbc.password", this.getPlatformId());
 
+    public final String poolMaxSizeProperty = String.format("wayang.%s.jdbc.pool.max-size", this.getPlatformId());
+
+    public final String poolIdleTimeoutProperty = String.format("wayang.%s.jdbc.pool.idle-timeout", this.getPlatformId());
+
+    public final String poolBorrowTimeoutProperty = String.format("wayang.%s.jdbc.pool.borrow-timeout", this.getPlatformId());
+
+    public final String poolValidationTimeoutProperty = String.format("wayang.%s.jdbc.pool.validation-timeout", this.getPlatformId());
+
+    public final String statementCacheSizeProperty = String.format("wayang.%s.jdbc.statement-cache.size", this.getPlatformId());
+
+    public final String partitionRowsProperty = String.format("wayang.%s.tablesource.partition.rows", this.getPlatformId());
+
+    public final String maxPartitionsProperty = String.format("wayang.%s.tablesource.partition.max", this.getPlatformId());
+
     private String getDefaultConfigurationFile() {
         return String.format("wayang-%s-defaults.properties", this.getPlatformId());
     }
@@ -62,6 +79,11 @@ public abstract class JdbcPlatformTemplate extends Platform {
 
     private Connection connection = null;
 
+    /**
+     * Shares {@link JdbcConnectionPool}s among all {@link Executor}s and operators of this instance.
+     */
+    private final Map<DatabaseDescriptor, JdbcConnectionPool> connectionPools = new ConcurrentHashMap<>();
+
     protected JdbcPlatformTemplate(String platformName, String configName) {
         super(platformName, configName);
     }
@@ -121,6 +143,16 @@ public abstract class JdbcPlatformTemplate extends Platform {
         return this.sqlQueryChannelDescriptor;
     }
 
+    /**
+     * Provide the key of the property that configures the column on which scans of a table are partitioned.
+     *
+     * @param tableName the name of the table
+     * @return the property key
+     */
+    public String getPartitionColumnProperty(String tableName) {
+        return String.format("wayang.%s.tablesource.partition.column.%s", this.getPlatformId(), tableName);
+    }
+
     /**
      * Creates a new {@link DatabaseDescriptor} for this instance and the given {@link Configuration}.
      *
@@ -135,4 +167,35 @@ public abstract class JdbcPlatformTemplate extends Platform {
                 this.getJdbcDriverClassName()
         );
     }
+
+    /**
+     * Provides the {@link JdbcConnectionPool} for the database described in the given {@link Configuration}.
+     *
+     * @param configuration describes the database and configures the {@link JdbcConnectionPool} if it is not
+     *                      created yet
+     * @return the {@link JdbcConnectionPool}
+     * @see #createDatabaseDescriptor(Configuration)
+     */
+    public JdbcConnectionPool getConnectionPool(Configuration configuration) {
+        return this.getConnectionPool(this.createDatabaseDescriptor(configuration), configuration);
+    }
+
+    /**
+     * Provides the {@link JdbcConnectionPool} for a database. There is only one per {@link DatabaseDescriptor}, so
+     * that all jobs share their {@link Connection}s.
+     *
+     * @param databaseDescriptor describes the database
+     * @param configuration      configures the {@link JdbcConnectionPool} if it is not created yet
+     * @return the {@link JdbcConnectionPool}
+     */
+    public JdbcConnectionPool getConnectionPool(DatabaseDescriptor databaseDescriptor, Configuration configuration) {
+        return this.connectionPools.computeIfAbsent(databaseDescriptor, descriptor -> new JdbcConnectionPool(
+                descriptor,
+                (int) configuration.getLongProperty(this.poolMaxSizeProperty, 8),
+                configuration.getLongProperty(this.poolIdleTimeoutProperty, 60000),
+                configuration.getLongProperty(this.poolBorrowTimeoutProperty, 30000),
+                configuration.getLongProperty(this.poolValidationTimeoutProperty, 5000),
+                (int) configuration.getLongProperty(this.statementCacheSizeProperty, 32)
+        ));
+    }
 }
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.wayang.jdbc.execution;
+
+import org.apache.wayang.core.api.Configuration;
+import org.apache.wayang.core.api.exception.WayangException;
+import org.apache.wayang.jdbc.test.HsqldbPlatform;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test suite for {@link JdbcConnectionPool}.
+ */
+class JdbcConnectionPoolTest {
+
+    private static DatabaseDescriptor createDatabaseDescriptor() {
+        return HsqldbPlatform.getInstance().createDatabaseDescriptor(new Configuration());
+    }
+
+    @Test
+    void testReuseConnectionsAndStatements() throws SQLException {
+        try (JdbcConnectionPool pool = new JdbcConnectionPool(createDatabaseDescriptor(), 2, 60000, 1000, 1000, 4)) {
+            final Connection connection;
+            final PreparedStatement statement;
+            try (JdbcConnectionPool.PooledConnection pooledConnection = pool.borrow()) {
+                connection = pooledConnection.getConnection();
+                statement = pooledConnection.prepareStatement("VALUES (1)");
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    assertTrue(resultSet.next());
+                    assertEquals(1, resultSet.getInt(1));
+                }
+            }
+            assertEquals(1, pool.getNumIdleConnections());
+
+            try (JdbcConnectionPool.PooledConnection pooledConnection = pool.borrow()) {
+                assertSame(connection, pooledConnection.getConnection());
+                assertSame(statement, pooledConnection.prepareStatement("VALUES (1)"));
+                assertNotSame(statement, pooledConnection.prepareStatement("VALUES (2)"));
+            }
+            assertEquals(1, pool.getNumOpenConnections());
+        }
+    }
+
+    @Test
+    void testMaxSize() {
+        try (JdbcConnectionPool pool = new JdbcConnectionPool(createDatabaseDescriptor(), 1, 60000, 100, 1000, 4)) {
+            final JdbcConnectionPool.PooledConnection pooledConnection = pool.borrow();
+            assertThrows(WayangException.class, pool::borrow);
+
+            pooledConnection.close();
+            pool.borrow().close();
+            assertEquals(1, pool.getNumOpenConnections());
+        }
+    }
+
+    @Test
+    void testBorrowUncapped() throws SQLException {
+        try (JdbcConnectionPool pool = new JdbcConnectionPool(createDatabaseDescriptor(), 1, 60000, 100, 1000, 4)) {
+            final JdbcConnectionPool.PooledConnection pooledConnection = pool.borrow();
+            final JdbcConnectionPool.PooledConnection surplusConnection = pool.borrowUncapped();
+            final Connection connection = surplusConnection.getConnection();
+            assertEquals(2, pool.getNumOpenConnections());
+
+            // Surplus connections are not pooled.
+            surplusConnection.close();
+            assertTrue(connection.isClosed());
+            pooledConnection.close();
+            assertEquals(1, pool.getNumOpenConnections());
+            assertEquals(1, pool.getNumIdleConnections());
+        }
+    }
+
+    @Test
+    void testEvictIdleConnections()throws InterruptedException, SQLException {
+        try (JdbcConnectionPool pool = new JdbcConnectionPool(createDatabaseDescriptor(), 2, 10, 1000, 1000, 4)) {
+            final JdbcConnectionPool.PooledConnection pooledConnection = pool.borrow();
+            final Connection connection = pooledConnection.getConnection();
+            pooledConnection.close();
+
+            Thread.sleep(50);
+            pool.evictIdleConnections();
+            assertEquals(0, pool.getNumOpenConnections());
+            assertTrue(connection.isClosed());
+        }
+    }
+
+    @Test
+    void testWithoutPooling() throws SQLException {
+        try (JdbcConnectionPool pool = new JdbcConnectionPool(createDatabaseDescriptor(), 0, 60000, 1000, 1000, 4)) {
+            final JdbcConnectionPool.PooledConnection pooledConnection = pool.borrow();
+            final Connection connection = pooledConnection.getConnection();
+            pooledConnection.close();
+
+            assertTrue(connection.isClosed());
+            assertEquals(0, pool.getNumOpenConnections());
+        }
+    }
+}
@@ -23,6 +23,7 @@ import org.apache.wayang.core.api.Configuration;
 import org.apache.wayang.core.api.Job;
 import org.apache.wayang.core.function.PredicateDescriptor;
 import org.apache.wayang.core.optimizer.DefaultOptimizationContext;
+import org.apache.wayang.core.optimizer.cardinality.CardinalityEstimate;
 import org.apache.wayang.core.plan.executionplan.ExecutionStage;
 import org.apache.wayang.core.plan.executionplan.ExecutionTask;
 import org.apache.wayang.core.platform.CrossPlatformExecutor;
@@ -38,8 +39,12 @@ import org.apache.wayang.jdbc.test.HsqldbProjectionOperator;
 import org.apache.wayang.jdbc.test.HsqldbTableSource;
 import org.junit.jupiter.api.Test;
 
+import java.sql.Connection;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.Collections;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.mock;
@@ -240,8 +245,83 @@ class JdbcExecutorTest {
         SqlQueryChannel.Instance sqlQueryChannelInstance =
                 (SqlQueryChannel.Instance) job.getCrossPlatformExecutor().getChannelInstance(sqlToStreamTask.getInputChannel(0));
         assertEquals(
-                "SELECT name, age FROM customer WHERE age >= 18 AND name IS NOT NULL;",
+                "SELECT name, age FROM customer WHERE (age >= 18) AND (name IS NOT NULL);",
                 sqlQueryChannelInstance.getSqlQuery()
         );
     }
+
+    @Test
+    void testExecuteWithOrFilterAndPartitions() throws SQLException {
+        final HsqldbPlatform platform = HsqldbPlatform.getInstance();
+        Configuration configuration = new Configuration();
+        configuration.setProperty(platform.partitionRowsProperty, "25");
+        Job job = mock(Job.class);
+        when(job.getConfiguration()).thenReturn(configuration);
+        when(job.getCrossPlatformExecutor()).thenReturn(new CrossPlatformExecutor(job, new NoInstrumentationStrategy()));
+        SqlQueryChannel.Descriptor sqlChannelDescriptor = platform.getSqlQueryChannelDescriptor();
+
+        try (Connection connection = platform.createDatabaseDescriptor(configuration).createJdbcConnection()) {
+            final Statement statement = connection.createStatement();
+            statement.execute("CREATE TABLE testOrFilterAndPartitions (id BIGINT PRIMARY KEY, a INT);");
+            for (int i = 0; i < 100; i++) {
+                statement.execute(String.format("INSERT INTO testOrFilterAndPartitions VALUES (%d, %d);", i, i % 10));
+            }
+        }
+
+        ExecutionStage sqlStage = mock(ExecutionStage.class);
+
+        JdbcTableSource tableSource = new HsqldbTableSource("testOrFilterAndPartitions");
+        ExecutionTask tableSourceTask = new ExecutionTask(tableSource);
+        tableSourceTask.setOutputChannel(0, new SqlQueryChannel(sqlChannelDescriptor, tableSource.getOutput(0)));
+        tableSourceTask.setStage(sqlStage);
+
+        JdbcFilterOperator filterOperator = new HsqldbFilterOperator(
+                new PredicateDescriptor<>(
+                        (PredicateDescriptor.SerializablePredicate<Record>) record -> {
+                            throw new UnsupportedOperationException();
+                        },
+                        Record.class
+                ).withSqlImplementation("a = 1 OR a = 2")
+        );
+        ExecutionTask filterTask = new ExecutionTask(filterOperator);
+        filterTask.setStage(sqlStage);
+        tableSourceTask.getOutputChannel(0).addConsumer(filterTask, 0);
+        filterTask.setOutputChannel(0, new SqlQueryChannel(sqlChannelDescriptor, filterOperator.getOutput(0)));
+
+        when(sqlStage.getStartTasks()).thenReturn(Collections.singleton(tableSourceTask));
+        when(sqlStage.getTerminalTasks()).thenReturn(Collections.singleton(filterTask));
+
+        ExecutionStage nextStage = mock(ExecutionStage.class);
+
+        SqlToStreamOperator sqlToStreamOperator = new SqlToStreamOperator(platform);
+        ExecutionTask sqlToStreamTask = new ExecutionTask(sqlToStreamOperator);
+        filterTask.getOutputChannel(0).addConsumer(sqlToStreamTask, 0);
+        sqlToStreamTask.setStage(nextStage);
+
+        DefaultOptimizationContext optimizationContext = new DefaultOptimizationContext(job);
+        optimizationContext.addOneTimeOperator(tableSource).setOutputCardinality(0, new CardinalityEstimate(100, 100, 1d));
+
+        JdbcExecutor executor = new JdbcExecutor(platform, job);
+        executor.execute(sqlStage, optimizationContext, job.getCrossPlatformExecutor());
+
+        SqlQueryChannel.Instance sqlQueryChannelInstance =
+                (SqlQueryChannel.Instance) job.getCrossPlatformExecutor().getChannelInstance(sqlToStreamTask.getInputChannel(0));
+        assertEquals(
+                "SELECT * FROM testOrFilterAndPartitions WHERE a = 1 OR a = 2;",
+                sqlQueryChannelInstance.getSqlQuery()
+        );
+
+        // The partitions must not widen the filter.
+        final List<String> partitionQueries = sqlQueryChannelInstance.getPartitionQueries();
+        assertEquals(4, partitionQueries.size());
+        int count = 0;
+        try (Connection connection = platform.createDatabaseDescriptor(configuration).createJdbcConnection()) {
+            for (String partitionQuery : partitionQueries) {
+                try (ResultSet resultSet = connection.createStatement().executeQuery(partitionQuery)) {
+                    while (resultSet.next()) count++;
+                }
+            }
+        }
+        assertEquals(20, count);
+    }
 }
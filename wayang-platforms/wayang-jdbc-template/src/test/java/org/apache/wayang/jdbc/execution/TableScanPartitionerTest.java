@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.wayang.jdbc.execution;
+
+import org.apache.wayang.core.api.Configuration;
+import org.apache.wayang.core.optimizer.cardinality.CardinalityEstimate;
+import org.apache.wayang.jdbc.test.HsqldbPlatform;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test suite for {@link TableScanPartitioner}.
+ */
+class TableScanPartitionerTest {
+
+    @Test
+    void testGetNumPartitions() {
+        final HsqldbPlatform platform = HsqldbPlatform.getInstance();
+        final Configuration configuration = new Configuration();
+        final TableScanPartitioner partitioner = new TableScanPartitioner(platform, configuration);
+        assertEquals(1, partitioner.getNumPartitions(new CardinalityEstimate(1000, 1000, 1d)));
+
+        configuration.setProperty(platform.partitionRowsProperty, "100");
+        configuration.setProperty(platform.maxPartitionsProperty, "8");
+        assertEquals(1, partitioner.getNumPartitions(new CardinalityEstimate(100, 100, 1d)));
+        assertEquals(3, partitioner.getNumPartitions(new CardinalityEstimate(201, 201, 1d)));
+        assertEquals(8, partitioner.getNumPartitions(new CardinalityEstimate(1000, 1000, 1d)));
+    }
+
+    @Test
+    void testPartitionOnPrimaryKey() throws SQLException {
+        final HsqldbPlatform platform = HsqldbPlatform.getInstance();
+        final Configuration configuration = new Configuration();
+        try (Connection connection = platform.createDatabaseDescriptor(configuration).createJdbcConnection()) {
+            final Statement statement = connection.createStatement();
+            statement.execute("CREATE TABLE testPartitionOnPrimaryKey (id BIGINT PRIMARY KEY, b VARCHAR(6));");
+            for (int i = -5; i < 95; i++) {
+                statement.execute(String.format("INSERT INTO testPartitionOnPrimaryKey VALUES (%d, 'x');", i));
+            }
+
+            final TableScanPartitioner partitioner = new TableScanPartitioner(platform, configuration);
+            assertEquals("\"ID\"", partitioner.findPartitionColumn(connection, "testPartitionOnPrimaryKey"));
+
+            final List<String> conditions = partitioner.createPartitionConditions(
+                    connection, "testPartitionOnPrimaryKey", 4
+            );
+            assertEquals(4, conditions.size());
+            int totalCount = 0;
+            for (String condition : conditions) {
+                final int count = count(connection, "testPartitionOnPrimaryKey", condition);
+                assertEquals(25, count);
+                totalCount += count;
+            }
+            assertEquals(100, totalCount);
+        }
+    }
+
+    @Test
+    void testPartitionOnConfiguredColumn() throws SQLException {
+        final HsqldbPlatform platform = HsqldbPlatform.getInstance();
+        final Configuration configuration = new Configuration();
+        configuration.setProperty(platform.getPartitionColumnProperty("testPartitionOnConfiguredColumn"), "a");
+        try (Connection connection = platform.createDatabaseDescriptor(configuration).createJdbcConnection()) {
+            final Statement statement = connection.createStatement();
+            statement.execute("CREATE TABLE testPartitionOnConfiguredColumn (a INT, b VARCHAR(6));");
+            statement.execute("INSERT INTO testPartitionOnConfiguredColumn VALUES (NULL, 'null');");
+            for (int i = 0; i < 3; i++) {
+                statement.execute(String.format("INSERT INTO testPartitionOnConfiguredColumn VALUES (%d, 'x');", i));
+            }
+
+            // There cannot be more partitions than distinct values in the partition column's range.
+            final TableScanPartitioner partitioner = new TableScanPartitioner(platform, configuration);
+            final List<String> conditions = partitioner.createPartitionConditions(
+                    connection, "testPartitionOnConfiguredColumn", 8
+            );
+            assertEquals(3, conditions.size());
+            assertEquals(2, count(connection, "testPartitionOnConfiguredColumn", conditions.get(0)));
+            assertEquals(1, count(connection, "testPartitionOnConfiguredColumn", conditions.get(1)));
+            assertEquals(1, count(connection, "testPartitionOnConfiguredColumn", conditions.get(2)));
+        }
+    }
+
+    @Test
+    void testWithoutPartitionColumn() throws SQLException {
+        final HsqldbPlatform platform = HsqldbPlatform.getInstance();
+        final Configuration configuration = new Configuration();
+        try (Connection connection = platform.createDatabaseDescriptor(configuration).createJdbcConnection()) {
+            final Statement statement = connection.createStatement();
+            statement.execute("CREATE TABLE testWithoutPartitionColumn (a INT, b VARCHAR(6));");
+            statement.execute("INSERT INTO testWithoutPartitionColumn VALUES (0, 'zero');");
+
+            final TableScanPartitioner partitioner = new TableScanPartitioner(platform, configuration);
+            assertNull(partitioner.findPartitionColumn(connection, "testWithoutPartitionColumn"));
+            assertTrue(partitioner.createPartitionConditions(connection, "testWithoutPartitionColumn", 4).isEmpty());
+        }
+    }
+
+    private static int count(Connection connection, String tableName, String condition) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(
+                     String.format("SELECT count(*) FROM %s WHERE %s;", tableName, condition)
+             )) {
+            assertTrue(resultSet.next());
+            return resultSet.getInt(1);
+        }
+    }
+}
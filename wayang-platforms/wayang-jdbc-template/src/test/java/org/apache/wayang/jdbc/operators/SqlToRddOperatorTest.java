@@ -112,6 +112,74 @@ class SqlToRddOperatorTest extends OperatorTestBase {
         assertEquals(expected, output);
     }
 
+    @Test
+    void testWithPartitionedHsqldb() throws SQLException {
+        Configuration configuration = new Configuration();
+
+        Job job = mock(Job.class);
+        when(job.getConfiguration()).thenReturn(configuration);
+
+        CrossPlatformExecutor cpe = new CrossPlatformExecutor(job, new FullInstrumentationStrategy());
+        when(job.getCrossPlatformExecutor()).thenReturn(cpe);
+        final SparkExecutor sparkExecutor = new SparkExecutor(SparkPlatform.getInstance(), job);
+
+        HsqldbPlatform hsqldbPlatform = new HsqldbPlatform();
+
+        // Create some test data.
+        try (Connection jdbcConnection = hsqldbPlatform.createDatabaseDescriptor(configuration).createJdbcConnection()) {
+            final Statement statement = jdbcConnection.createStatement();
+            statement.execute("CREATE TABLE testSqlToRddWithPartitionedHsqldb (a INT, b VARCHAR(6));");
+            statement.execute("INSERT INTO testSqlToRddWithPartitionedHsqldb VALUES (0, 'zero');");
+            statement.execute("INSERT INTO testSqlToRddWithPartitionedHsqldb VALUES (1, 'one');");
+            statement.execute("INSERT INTO testSqlToRddWithPartitionedHsqldb VALUES (2, 'two');");
+        }
+
+        final ExecutionOperator filterOperator = new HsqldbFilterOperator(
+                new PredicateDescriptor<>(x -> false, Record.class)
+        );
+        final SqlQueryChannel sqlQueryChannel = new SqlQueryChannel(
+                HsqldbPlatform.getInstance().getSqlQueryChannelDescriptor(),
+                filterOperator.getOutput(0)
+        );
+        SqlQueryChannel.Instance sqlQueryChannelInstance = sqlQueryChannel.createInstance(
+                hsqldbPlatform.createExecutor(job),
+                mock(OptimizationContext.OperatorContext.class),
+                0
+        );
+        sqlQueryChannelInstance.setSqlQuery("SELECT * FROM testSqlToRddWithPartitionedHsqldb;");
+        sqlQueryChannelInstance.setPartitionQueries(Arrays.asList(
+                "SELECT * FROM testSqlToRddWithPartitionedHsqldb WHERE a < 1;",
+                "SELECT * FROM testSqlToRddWithPartitionedHsqldb WHERE a >= 1 AND a < 2;",
+                "SELECT * FROM testSqlToRddWithPartitionedHsqldb WHERE a >= 2;"
+        ));
+        ExecutionTask producer = new ExecutionTask(filterOperator);
+        producer.setOutputChannel(0, sqlQueryChannel);
+
+        RddChannel.Instance rddChannelInstance =
+                new RddChannel(RddChannel.UNCACHED_DESCRIPTOR, mock(OutputSlot.class)).createInstance(
+                        sparkExecutor,
+                        mock(OptimizationContext.OperatorContext.class),
+                        0
+                );
+
+        SqlToRddOperator sqlToRddOperator = new SqlToRddOperator(HsqldbPlatform.getInstance());
+        evaluate(
+                sqlToRddOperator,
+                new ChannelInstance[]{sqlQueryChannelInstance},
+                new ChannelInstance[]{rddChannelInstance}
+        );
+
+        assertEquals(3, rddChannelInstance.provideRdd().getNumPartitions());
+        List<Record> output = rddChannelInstance.<Record>provideRdd().collect();
+        List<Record> expected = Arrays.asList(
+                new Record(0, "zero"),
+                new Record(1, "one"),
+                new Record(2, "two")
+        );
+
+        assertEquals(expected, output);
+    }
+
     @Test
     void testWithEmptyHsqldb() throws SQLException {
         Configuration configuration = new Configuration();
@@ -41,6 +41,7 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -116,6 +117,75 @@ class SqlToStreamOperatorTest extends OperatorTestBase {
         assertEquals(expected, output);
     }
 
+    @Test
+    void testWithPartitionedHsqldb() throws SQLException {
+        Configuration configuration = new Configuration();
+
+        Job job = mock(Job.class);
+        when(job.getConfiguration()).thenReturn(configuration);
+
+        CrossPlatformExecutor cpe = new CrossPlatformExecutor(job, new FullInstrumentationStrategy());
+        when(job.getCrossPlatformExecutor()).thenReturn(cpe);
+        final JavaExecutor javaExecutor = new JavaExecutor(JavaPlatform.getInstance(), job);
+
+        HsqldbPlatform hsqldbPlatform = new HsqldbPlatform();
+
+        // Create some test data.
+        try (Connection jdbcConnection = hsqldbPlatform.createDatabaseDescriptor(configuration).createJdbcConnection()) {
+            final Statement statement = jdbcConnection.createStatement();
+            statement.execute("CREATE TABLE testWithPartitionedHsqldb (a INT, b VARCHAR(6));");
+            statement.execute("INSERT INTO testWithPartitionedHsqldb VALUES (0, 'zero');");
+            statement.execute("INSERT INTO testWithPartitionedHsqldb VALUES (1, 'one');");
+            statement.execute("INSERT INTO testWithPartitionedHsqldb VALUES (2, 'two');");
+        }
+
+        final ExecutionOperator filterOperator = new HsqldbFilterOperator(
+                new PredicateDescriptor<>(x -> false, Record.class)
+        );
+        final SqlQueryChannel sqlQueryChannel = new SqlQueryChannel(
+                HsqldbPlatform.getInstance().getSqlQueryChannelDescriptor(),
+                filterOperator.getOutput(0)
+        );
+        SqlQueryChannel.Instance sqlQueryChannelInstance = sqlQueryChannel.createInstance(
+                hsqldbPlatform.createExecutor(job),
+                mock(OptimizationContext.OperatorContext.class),
+                0
+        );
+        sqlQueryChannelInstance.setSqlQuery("SELECT * FROM testWithPartitionedHsqldb;");
+        sqlQueryChannelInstance.setPartitionQueries(Arrays.asList(
+                "SELECT * FROM testWithPartitionedHsqldb WHERE a < 1;",
+                "SELECT * FROM testWithPartitionedHsqldb WHERE a >= 1 AND a < 2;",
+                "SELECT * FROM testWithPartitionedHsqldb WHERE a >= 2;"
+        ));
+        ExecutionTask producer = new ExecutionTask(filterOperator);
+        producer.setOutputChannel(0, sqlQueryChannel);
+
+        StreamChannel.Instance streamChannelInstance =
+                new StreamChannel(StreamChannel.DESCRIPTOR, mock(OutputSlot.class)).createInstance(
+                        javaExecutor,
+                        mock(OptimizationContext.OperatorContext.class),
+                        0
+                );
+
+        SqlToStreamOperator sqlToStreamOperator = new SqlToStreamOperator(HsqldbPlatform.getInstance());
+        evaluate(
+                sqlToStreamOperator,
+                new ChannelInstance[]{sqlQueryChannelInstance},
+                new ChannelInstance[]{streamChannelInstance}
+        );
+
+        List<Record> output = streamChannelInstance.<Record>provideStream()
+                .sorted(Comparator.comparingInt(record -> record.getInt(0)))
+                .collect(Collectors.toList());
+        List<Record> expected = Arrays.asList(
+                new Record(0, "zero"),
+                new Record(1, "one"),
+                new Record(2, "two")
+        );
+
+        assertEquals(expected, output);
+    }
+
     @Test
     void testWithEmptyHsqldb() throws SQLException {
         Configuration configuration = new Configuration();
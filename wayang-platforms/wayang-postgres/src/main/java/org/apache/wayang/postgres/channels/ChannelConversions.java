@@ -18,9 +18,12 @@
 
 package org.apache.wayang.postgres.channels;
 
+import org.apache.wayang.basic.channels.ArrowChannel;
+import org.apache.wayang.basic.channels.RecordChannelConversion;
 import org.apache.wayang.core.optimizer.channels.ChannelConversion;
 import org.apache.wayang.core.optimizer.channels.DefaultChannelConversion;
 import org.apache.wayang.java.channels.StreamChannel;
+import org.apache.wayang.jdbc.operators.SqlToArrowOperator;
 import org.apache.wayang.jdbc.operators.SqlToRddOperator;
 import org.apache.wayang.jdbc.operators.SqlToStreamOperator;
 import org.apache.wayang.postgres.platform.PostgresPlatform;
@@ -46,9 +49,16 @@ public class ChannelConversions {
             () -> new SqlToRddOperator(PostgresPlatform.getInstance())
     );
 
+    public static final ChannelConversion SQL_TO_ARROW_CONVERSION = new RecordChannelConversion(
+            PostgresPlatform.getInstance().getSqlQueryChannelDescriptor(),
+            ArrowChannel.DESCRIPTOR,
+            () -> new SqlToArrowOperator(PostgresPlatform.getInstance())
+    );
+
     public static final Collection<ChannelConversion> ALL = Arrays.asList(
             SQL_TO_STREAM_CONVERSION,
-            SQL_TO_UNCACHED_RDD_CONVERSION
+            SQL_TO_UNCACHED_RDD_CONVERSION,
+            SQL_TO_ARROW_CONVERSION
     );
 
 }
@@ -18,19 +18,27 @@
 
 package org.apache.wayang.spark.channels;
 
+import org.apache.wayang.basic.channels.ArrowChannel;
 import org.apache.wayang.basic.channels.FileChannel;
+import org.apache.wayang.basic.channels.PipeChannel;
+import org.apache.wayang.basic.channels.RecordChannelConversion;
 import org.apache.wayang.basic.data.Tuple2;
 import org.apache.wayang.core.optimizer.channels.ChannelConversion;
 import org.apache.wayang.core.optimizer.channels.DefaultChannelConversion;
 import org.apache.wayang.core.types.DataSetType;
 import org.apache.wayang.java.channels.CollectionChannel;
 import org.apache.wayang.java.platform.JavaPlatform;
+import org.apache.wayang.spark.operators.SparkArrowSink;
+import org.apache.wayang.spark.operators.SparkArrowSource;
 import org.apache.wayang.spark.operators.SparkBroadcastOperator;
 import org.apache.wayang.spark.operators.SparkCacheOperator;
 import org.apache.wayang.spark.operators.SparkCollectOperator;
 import org.apache.wayang.spark.operators.SparkCollectionSource;
 import org.apache.wayang.spark.operators.SparkObjectFileSink;
 import org.apache.wayang.spark.operators.SparkObjectFileSource;
+import org.apache.wayang.spark.operators.SparkPipeSink;
+import org.apache.wayang.spark.operators.SparkPipeSource;
+import org.apache.wayang.spark.operators.SparkSegmentFileSource;
 import org.apache.wayang.spark.operators.SparkTsvFileSink;
 import org.apache.wayang.spark.operators.SparkTsvFileSource;
 
@@ -108,6 +116,48 @@ public class ChannelConversions {
             () -> new SparkObjectFileSource<>(DataSetType.createDefault(Void.class))
     );
 
+    public static final ChannelConversion UNCACHED_RDD_TO_ARROW = new RecordChannelConversion(
+            RddChannel.UNCACHED_DESCRIPTOR,
+            ArrowChannel.DESCRIPTOR,
+            SparkArrowSink::new
+    );
+
+    public static final ChannelConversion CACHED_RDD_TO_ARROW = new RecordChannelConversion(
+            RddChannel.CACHED_DESCRIPTOR,
+            ArrowChannel.DESCRIPTOR,
+            SparkArrowSink::new
+    );
+
+    public static final ChannelConversion ARROW_TO_UNCACHED_RDD = new RecordChannelConversion(
+            ArrowChannel.DESCRIPTOR,
+            RddChannel.UNCACHED_DESCRIPTOR,
+            SparkArrowSource::new
+    );
+
+    public static final ChannelConversion LOCAL_SEGMENT_FILE_TO_UNCACHED_RDD = new DefaultChannelConversion(
+            FileChannel.LOCAL_SEGMENT_FILE_DESCRIPTOR,
+            RddChannel.UNCACHED_DESCRIPTOR,
+            () -> new SparkSegmentFileSource<>(DataSetType.createDefault(Void.class))
+    );
+
+    public static final ChannelConversion PIPE_TO_CACHED_RDD = new DefaultChannelConversion(
+            PipeChannel.DESCRIPTOR,
+            RddChannel.CACHED_DESCRIPTOR,
+            () -> new SparkPipeSource<>(DataSetType.createDefault(Void.class))
+    );
+
+    public static final ChannelConversion UNCACHED_RDD_TO_PIPE = new DefaultChannelConversion(
+            RddChannel.UNCACHED_DESCRIPTOR,
+            PipeChannel.DESCRIPTOR,
+            () -> new SparkPipeSink<>(DataSetType.createDefault(Void.class))
+    );
+
+    public static final ChannelConversion CACHED_RDD_TO_PIPE = new DefaultChannelConversion(
+            RddChannel.CACHED_DESCRIPTOR,
+            PipeChannel.DESCRIPTOR,
+            () -> new SparkPipeSink<>(DataSetType.createDefault(Void.class))
+    );
+
     public static Collection<ChannelConversion> ALL = Arrays.asList(
             UNCACHED_RDD_TO_CACHED_RDD,
             COLLECTION_TO_BROADCAST,
@@ -119,6 +169,13 @@ public class ChannelConversions {
             HDFS_OBJECT_FILE_TO_UNCACHED_RDD,
 //            HDFS_TSV_TO_UNCACHED_RDD,
             CACHED_RDD_TO_HDFS_TSV,
-            UNCACHED_RDD_TO_HDFS_TSV
+            UNCACHED_RDD_TO_HDFS_TSV,
+            UNCACHED_RDD_TO_ARROW,
+            CACHED_RDD_TO_ARROW,
+            ARROW_TO_UNCACHED_RDD,
+            LOCAL_SEGMENT_FILE_TO_UNCACHED_RDD,
+            PIPE_TO_CACHED_RDD,
+            UNCACHED_RDD_TO_PIPE,
+            CACHED_RDD_TO_PIPE
     );
 }
@@ -20,6 +20,7 @@ package org.apache.wayang.spark.operators;
 
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.logging.log4j.LogManager;
 import org.apache.spark.api.java.JavaRDD;
 import org.apache.wayang.basic.operators.KafkaTopicSource;
 import org.apache.wayang.core.optimizer.OptimizationContext;
@@ -66,19 +67,22 @@ public class SparkKafkaTopicSource extends KafkaTopicSource implements SparkExec
         assert inputs.length == this.getNumInputs();
         assert outputs.length == this.getNumOutputs();
 
-        // We use a single Kafka client for reading data from our Kafka topic.
-        System.out.println("### 7 ... ");
-        this.initConsumer( (KafkaTopicSource) this );
-
-        ConsumerRecords<String, String> records = this.getConsumer().poll(Duration.ofMillis(100));
-
         List<String> collectedRecords = new ArrayList<>();
-        for (ConsumerRecord<String, String> record : records) {
-            collectedRecords.add( record.value() );
+        if (this.getMicroBatchSession() != null) {
+            // In micro-batch mode, the session has already polled the batch.
+            collectedRecords.addAll(this.getMicroBatchSession().getCurrentBatch());
+        } else {
+            // We use a single Kafka client for reading data from our Kafka topic.
+            this.initConsumer( (KafkaTopicSource) this );
+
+            ConsumerRecords<String, String> records = this.getConsumer().poll(Duration.ofMillis(100));
+
+            for (ConsumerRecord<String, String> record : records) {
+                collectedRecords.add( record.value() );
+            }
+            LogManager.getLogger(this.getClass()).debug("Polled {} records from {}.", records.count(), this.getTopicName());
         }
 
-        System.out.println("### 8 ... ");
-
         RddChannel.Instance output = (RddChannel.Instance) outputs[0];
 
         final JavaRDD<String> rdd = sparkExecutor.sc.parallelize( collectedRecords );
@@ -101,7 +105,9 @@ public class SparkKafkaTopicSource extends KafkaTopicSource implements SparkExec
 
     @Override
     protected ExecutionOperator createCopy() {
-        return new SparkKafkaTopicSource(this.getTopicName(), this.getEncoding());
+        final SparkKafkaTopicSource copy = new SparkKafkaTopicSource(this.getTopicName(), this.getEncoding());
+        copy.withMicroBatchSession(this.getMicroBatchSession());
+        return copy;
     }
 
     @Override
@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.wayang.spark.operators;
+
+import org.apache.commons.lang3.Validate;
+import org.apache.spark.api.java.JavaRDD;
+import org.apache.spark.api.java.function.FlatMapFunction;
+import org.apache.spark.storage.StorageLevel;
+import org.apache.wayang.basic.channels.DataPipe;
+import org.apache.wayang.basic.channels.PipeChannel;
+import org.apache.wayang.core.api.Configuration;
+import org.apache.wayang.core.api.exception.WayangException;
+import org.apache.wayang.core.optimizer.OptimizationContext;
+import org.apache.wayang.core.optimizer.cardinality.CardinalityEstimator;
+import org.apache.wayang.core.optimizer.cardinality.DefaultCardinalityEstimator;
+import org.apache.wayang.core.plan.wayangplan.ExecutionOperator;
+import org.apache.wayang.core.plan.wayangplan.UnaryToUnaryOperator;
+import org.apache.wayang.core.platform.ChannelDescriptor;
+import org.apache.wayang.core.platform.ChannelInstance;
+import org.apache.wayang.core.platform.lineage.ExecutionLineageNode;
+import org.apache.wayang.core.types.DataSetType;
+import org.apache.wayang.core.util.Tuple;
+import org.apache.wayang.java.io.PipeServer;
+import org.apache.wayang.spark.channels.RddChannel;
+import org.apache.wayang.spark.execution.SparkExecutor;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Converts a {@link PipeChannel} into a {@link RddChannel}. The {@link DataPipe} is served from the driver via a
+ * {@link PipeServer}, and each partition of the {@link JavaRDD} pulls blocks of data quanta from it while they are
+ * still being produced, in no particular order. As the data quanta can be pulled only once, the {@link JavaRDD} is
+ * persisted, and recomputing a partition, e.g., for a task retry, fails the job rather than losing data quanta. For the
+ * same reason, this operator is not used if {@code spark.speculation} is enabled.
+ */
+public class SparkPipeSource<T> extends UnaryToUnaryOperator<T, T> implements SparkExecutionOperator {
+
+    public SparkPipeSource(DataSetType<T> type) {
+        super(type, type, false);
+    }
+
+    @Override
+    public Tuple<Collection<ExecutionLineageNode>, Collection<ChannelInstance>> evaluate(
+            ChannelInstance[] inputs,
+            ChannelInstance[] outputs,
+            SparkExecutor sparkExecutor,
+            OptimizationContext.OperatorContext operatorContext) {
+        PipeChannel.Instance input = (PipeChannel.Instance) inputs[0];
+        RddChannel.Instance output = (RddChannel.Instance) outputs[0];
+
+        // The RDD is computed only after the input has been disposed, so the executor takes over the pipe.
+        final DataPipe<T> pipe = input.takePipe();
+        final PipeServer server;
+        try {
+            final String driverHost = sparkExecutor.sc.getConf().get(
+                    "spark.driver.host", InetAddress.getLocalHost().getHostAddress()
+            );
+            server = PipeServer.serve(pipe, driverHost);
+        } catch (IOException e) {
+            pipe.close();
+            throw new WayangException(String.format("Could not serve %s.", pipe), e);
+        }
+        sparkExecutor.register(server);
+
+        final String host = server.getHost();
+        final int port = server.getPort();
+        final int numPartitions = sparkExecutor.getNumDefaultPartitions();
+        final List<Integer> partitions = IntStream.range(0, numPartitions).boxed().collect(Collectors.toList());
+        final FlatMapFunction<Iterator<Integer>, T> receiver = partition -> PipeServer.connect(host, port, partition.next());
+        final JavaRDD<T> rdd = sparkExecutor.sc
+                .parallelize(partitions, numPartitions)
+                .mapPartitions(receiver)
+                .persist(StorageLevel.MEMORY_AND_DISK());
+        this.name(rdd);
+        output.accept(rdd, sparkExecutor);
+
+        return ExecutionOperator.modelLazyExecution(inputs, outputs, operatorContext);
+    }
+
+    @Override
+    public boolean isFiltered(OptimizationContext.OperatorContext operatorContext) {
+        // Speculative task attempts would request partitions of the pipe a second time.
+        final Configuration configuration = operatorContext.getOptimizationContext().getConfiguration();
+        return !PipeChannel.isApplicable(operatorContext)
+                || configuration.getBooleanProperty("spark.speculation", false)
+                || SparkExecutionOperator.super.isFiltered(operatorContext);
+    }
+
+    @Override
+    public List<ChannelDescriptor> getSupportedInputChannels(int index) {
+        return Collections.singletonList(PipeChannel.DESCRIPTOR);
+    }
+
+    @Override
+    public List<ChannelDescriptor> getSupportedOutputChannels(int index) {
+        return Collections.singletonList(RddChannel.CACHED_DESCRIPTOR);
+    }
+
+    @Override
+    public boolean containsAction() {
+        return false;
+    }
+
+    @Override
+    public Optional<CardinalityEstimator> createCardinalityEstimator(
+            final int outputIndex,
+            final Configuration configuration) {
+        Validate.inclusiveBetween(0, 0, outputIndex);
+        return Optional.of(new DefaultCardinalityEstimator(1d, 1, this.isSupportingBroadcastInputs(),
+                inputCards -> inputCards[0]));
+    }
+
+    @Override
+    public String getLoadProfileEstimatorConfigurationKey() {
+        return "wayang.spark.pipesource.load";
+    }
+
+}
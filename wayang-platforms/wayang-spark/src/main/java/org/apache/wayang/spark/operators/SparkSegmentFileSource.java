@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.wayang.spark.operators;
+
+import org.apache.commons.lang3.Validate;
+import org.apache.spark.api.java.JavaRDD;
+import org.apache.spark.api.java.function.FlatMapFunction;
+import org.apache.wayang.basic.channels.FileChannel;
+import org.apache.wayang.core.api.Configuration;
+import org.apache.wayang.core.optimizer.OptimizationContext;
+import org.apache.wayang.core.optimizer.cardinality.CardinalityEstimator;
+import org.apache.wayang.core.optimizer.cardinality.DefaultCardinalityEstimator;
+import org.apache.wayang.core.plan.wayangplan.ExecutionOperator;
+import org.apache.wayang.core.plan.wayangplan.UnaryToUnaryOperator;
+import org.apache.wayang.core.platform.ChannelDescriptor;
+import org.apache.wayang.core.platform.ChannelInstance;
+import org.apache.wayang.core.platform.lineage.ExecutionLineageNode;
+import org.apache.wayang.core.types.DataSetType;
+import org.apache.wayang.core.util.Tuple;
+import org.apache.wayang.java.io.SegmentFiles;
+import org.apache.wayang.spark.channels.RddChannel;
+import org.apache.wayang.spark.execution.SparkExecutor;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Converts a directory of segment files (see {@link SegmentFiles}) into a {@link RddChannel}. Each segment becomes a
+ * partition that is read and decoded on the workers, which therefore need access to the (local or shared) disk. This
+ * instance is filtered unless Spark runs locally or the disk is declared to be shared.
+ */
+public class SparkSegmentFileSource<T> extends UnaryToUnaryOperator<T, T> implements SparkExecutionOperator {
+
+    public SparkSegmentFileSource(DataSetType<T> type) {
+        super(type, type, false);
+    }
+
+    @Override
+    public Tuple<Collection<ExecutionLineageNode>, Collection<ChannelInstance>> evaluate(
+            ChannelInstance[] inputs,
+            ChannelInstance[] outputs,
+            SparkExecutor sparkExecutor,
+            OptimizationContext.OperatorContext operatorContext) {
+        FileChannel.Instance input = (FileChannel.Instance) inputs[0];
+        RddChannel.Instance output = (RddChannel.Instance) outputs[0];
+
+        final List<String> segmentUrls = SegmentFiles.listSegments(input.getSinglePath());
+        final FlatMapFunction<String, T> reader = SegmentFiles::read;
+        final JavaRDD<T> rdd = sparkExecutor.sc
+                .parallelize(segmentUrls, Math.max(1, segmentUrls.size()))
+                .flatMap(reader);
+        this.name(rdd);
+        output.accept(rdd, sparkExecutor);
+
+        return ExecutionOperator.modelLazyExecution(inputs, outputs, operatorContext);
+    }
+
+    @Override
+    public boolean isFiltered(OptimizationContext.OperatorContext operatorContext) {
+        return !isReadableByWorkers(operatorContext.getOptimizationContext().getConfiguration())
+                || SparkExecutionOperator.super.isFiltered(operatorContext);
+    }
+
+    /**
+     * Tells whether the workers can read the segment files, which are written to the driver's temporary directory.
+     *
+     * @param configuration provides the Spark master and whether the temporary directory is shared
+     * @return whether Spark runs locally or the temporary directory is shared
+     */
+    private static boolean isReadableByWorkers(Configuration configuration) {
+        return configuration.getBooleanProperty(FileChannel.SHARED_TEMPDIR_PROPERTY_KEY, false)
+                || configuration.getStringProperty("spark.master", "").startsWith("local");
+    }
+
+    @Override
+    public List<ChannelDescriptor> getSupportedInputChannels(int index) {
+        return Collections.singletonList(FileChannel.LOCAL_SEGMENT_FILE_DESCRIPTOR);
+    }
+
+    @Override
+    public List<ChannelDescriptor> getSupportedOutputChannels(int index) {
+        return Collections.singletonList(RddChannel.UNCACHED_DESCRIPTOR);
+    }
+
+    @Override
+    public boolean containsAction() {
+        return false;
+    }
+
+    @Override
+    public Optional<CardinalityEstimator> createCardinalityEstimator(
+            final int outputIndex,
+            final Configuration configuration) {
+        Validate.inclusiveBetween(0, 0, outputIndex);
+        return Optional.of(new DefaultCardinalityEstimator(1d, 1, this.isSupportingBroadcastInputs(),
+                inputCards -> inputCards[0]));
+    }
+
+    @Override
+    public String getLoadProfileEstimatorConfigurationKey() {
+        return "wayang.spark.segmentfilesource.load";
+    }
+
+}
@@ -104,6 +104,11 @@ public class SparkSortOperator<Type, Key>
         return "wayang.spark.sort.load";
     }
 
+    @Override
+    public boolean isOrderSensitive() {
+        return true;
+    }
+
     @Override
     public List<ChannelDescriptor> getSupportedInputChannels(int index) {
         assert index <= this.getNumInputs() || (index == 0 && this.getNumInputs() == 0);
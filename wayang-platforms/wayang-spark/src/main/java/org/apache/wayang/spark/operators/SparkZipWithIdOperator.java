@@ -103,6 +103,11 @@ public class SparkZipWithIdOperator<InputType>
         return "wayang.spark.zipwithid.load";
     }
 
+    @Override
+    public boolean isOrderSensitive() {
+        return true;
+    }
+
     @Override
     public List<ChannelDescriptor> getSupportedInputChannels(int index) {
         if (index == 0) {
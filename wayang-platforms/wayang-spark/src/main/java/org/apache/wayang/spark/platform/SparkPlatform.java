@@ -85,7 +85,8 @@ public class SparkPlatform extends Platform {
             "spark.io.compression.codec",
             "spark.driver.memory",
             "spark.executor.heartbeatInterval",
-            "spark.network.timeout"
+            "spark.network.timeout",
+            "spark.speculation"
             // "spark.extraListeners"
     };
 
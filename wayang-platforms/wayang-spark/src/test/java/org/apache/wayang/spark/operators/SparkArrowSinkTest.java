@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.wayang.spark.operators;
+
+import org.apache.wayang.basic.channels.ArrowChannel;
+import org.apache.wayang.basic.channels.ArrowRecordCodec;
+import org.apache.wayang.basic.data.Record;
+import org.apache.wayang.core.platform.ChannelInstance;
+import org.apache.wayang.spark.channels.RddChannel;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test suite for {@link SparkArrowSink} and {@link SparkArrowSource}.
+ */
+class SparkArrowSinkTest extends SparkOperatorTestBase {
+
+    @Test
+    void testRoundTrip() {
+        this.configuration.setProperty(ArrowRecordCodec.BATCH_SIZE_PROPERTY_KEY, "10");
+        final List<Record> records = IntStream.range(0, 100)
+                .mapToObj(i -> new Record(i, "record " + i, i % 3 == 0 ? null : i * 0.5d))
+                .collect(Collectors.toList());
+
+        // Encode the RDD.
+        RddChannel.Instance input = this.createRddChannelInstance(records);
+        ArrowChannel.Instance arrowChannelInstance = (ArrowChannel.Instance) ArrowChannel.DESCRIPTOR
+                .createChannel(null, this.configuration)
+                .createInstance(this.sparkExecutor, null, -1);
+        this.evaluate(new SparkArrowSink(), new ChannelInstance[]{input}, new ChannelInstance[]{arrowChannelInstance});
+        assertTrue(arrowChannelInstance.provideBatches().size() >= 10);
+
+        // Decode it again.
+        RddChannel.Instance output = this.createRddChannelInstance();
+        this.evaluate(new SparkArrowSource(), new ChannelInstance[]{arrowChannelInstance}, new ChannelInstance[]{output});
+        assertEquals(records, output.<Record>provideRdd().collect());
+    }
+
+}
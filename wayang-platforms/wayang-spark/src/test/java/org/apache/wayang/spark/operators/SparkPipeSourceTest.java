@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.wayang.spark.operators;
+
+import org.apache.wayang.basic.channels.DataPipe;
+import org.apache.wayang.basic.channels.PipeChannel;
+import org.apache.wayang.core.api.exception.WayangException;
+import org.apache.wayang.core.platform.ChannelInstance;
+import org.apache.wayang.core.types.DataSetType;
+import org.apache.wayang.java.io.PipeServer;
+import org.apache.wayang.spark.channels.RddChannel;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test suite for {@link SparkPipeSource} and {@link SparkPipeSink}.
+ */
+class SparkPipeSourceTest extends SparkOperatorTestBase {
+
+    @Test
+    void testReadingPipe() {
+        final List<Integer> integers = IntStream.range(0, 50000).boxed().collect(Collectors.toList());
+        final DataPipe<Integer> dataPipe = new DataPipe<>(4, 1000);
+        dataPipe.produceAsync(integers.iterator(), "producer");
+        final PipeChannel.Instance input = this.createPipeChannelInstance();
+        input.accept(dataPipe);
+
+        RddChannel.Instance output = this.createRddChannelInstance();
+        this.evaluate(
+                new SparkPipeSource<>(DataSetType.createDefault(Integer.class)),
+                new ChannelInstance[]{input},
+                new ChannelInstance[]{output}
+        );
+        // The pipe must outlive the input channel instance.
+        input.dispose();
+
+        // The partitions compete for the data quanta, so their order is not retained.
+        final List<Integer> result = new ArrayList<>(output.<Integer>provideRdd().collect());
+        result.sort(Integer::compareTo);
+        assertEquals(integers, result);
+        // The data quanta can be obtained once only, but the RDD is persisted.
+        assertEquals(integers.size(), output.provideRdd().count());
+    }
+
+    @Test
+    void testRequestingPartitionTwice() throws IOException {
+        final DataPipe<Integer> dataPipe = new DataPipe<>(4, 1000);
+        dataPipe.produceAsync(IntStream.range(0, 5000).boxed().iterator(), "producer");
+        final PipeServer server = PipeServer.serve(dataPipe, "localhost");
+        try {
+            final Iterator<Integer> firstAttempt = PipeServer.connect(server.getHost(), server.getPort(), 0);
+            assertTrue(firstAttempt.hasNext());
+
+            // A retried task must not receive only the remainder of the data quanta.
+            final Iterator<Integer> secondAttempt = PipeServer.connect(server.getHost(), server.getPort(), 0);
+            assertThrows(WayangException.class, () -> secondAttempt.forEachRemaining(dataQuantum -> { }));
+        } finally {
+            server.dispose();
+        }
+    }
+
+    @Test
+    void testWritingPipe() {
+        final List<Integer> integers = IntStream.range(0, 20000).boxed().collect(Collectors.toList());
+        final PipeChannel.Instance output = this.createPipeChannelInstance();
+        this.evaluate(
+                new SparkPipeSink<>(DataSetType.createDefault(Integer.class)),
+                new ChannelInstance[]{this.createRddChannelInstance(integers)},
+                new ChannelInstance[]{output}
+        );
+
+        try (DataPipe<Integer> dataPipe = output.takePipe()) {
+            final List<Integer> result = new ArrayList<>();
+            dataPipe.iterator().forEachRemaining(result::add);
+            assertEquals(integers, result);
+        }
+    }
+
+    private PipeChannel.Instance createPipeChannelInstance() {
+        return (PipeChannel.Instance) PipeChannel.DESCRIPTOR
+                .createChannel(null, this.configuration)
+                .createInstance(null, null, -1);
+    }
+
+}
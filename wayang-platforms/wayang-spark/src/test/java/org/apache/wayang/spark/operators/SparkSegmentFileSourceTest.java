@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.wayang.spark.operators;
+
+import org.apache.wayang.basic.channels.FileChannel;
+import org.apache.wayang.basic.data.Record;
+import org.apache.wayang.core.platform.ChannelInstance;
+import org.apache.wayang.core.types.DataSetType;
+import org.apache.wayang.core.util.fs.CompressionCodec;
+import org.apache.wayang.core.util.fs.FileSystems;
+import org.apache.wayang.java.io.SegmentFileWriter;
+import org.apache.wayang.spark.channels.RddChannel;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test suite for {@link SparkSegmentFileSource}.
+ */
+class SparkSegmentFileSourceTest extends SparkOperatorTestBase {
+
+    @Test
+    void testReadingSegments() throws IOException {
+        // Write records and other objects, which are encoded differently.
+        final List<Object> dataQuanta = new ArrayList<>();
+        IntStream.range(0, 20000).mapToObj(i -> new Record(i, "record " + i)).forEach(dataQuanta::add);
+        IntStream.range(0, 20000).mapToObj(i -> "string " + i).forEach(dataQuanta::add);
+        final String directoryUrl = Files.createTempDirectory("wayang-spark").resolve("segments").toUri().toString();
+        final int numSegments = new SegmentFileWriter(4, 10000, CompressionCodec.GZIP).write(dataQuanta, directoryUrl);
+        assertEquals(4, numSegments);
+
+        // Read them with Spark.
+        final FileChannel.Instance input = (FileChannel.Instance) FileChannel.LOCAL_SEGMENT_FILE_DESCRIPTOR
+                .createChannel(null, this.configuration)
+                .createInstance(null, null, -1);
+        input.addPath(directoryUrl);
+        RddChannel.Instance output = this.createRddChannelInstance();
+        this.evaluate(
+                new SparkSegmentFileSource<>(DataSetType.createDefault(Object.class)),
+                new ChannelInstance[]{input},
+                new ChannelInstance[]{output}
+        );
+
+        assertEquals(numSegments, output.provideRdd().getNumPartitions());
+        assertEquals(dataQuanta, output.provideRdd().collect());
+        FileSystems.requireFileSystem(directoryUrl).delete(directoryUrl, true);
+    }
+
+    @Test
+    void testFilteringOnClusters() {
+        final SparkSegmentFileSource<Object> source = new SparkSegmentFileSource<>(DataSetType.createDefault(Object.class));
+        this.configuration.setProperty("spark.master", "local[2]");
+        assertFalse(source.isFiltered(this.createOperatorContext(source)));
+
+        this.configuration.setProperty("spark.master", "spark://cluster:7077");
+        assertTrue(source.isFiltered(this.createOperatorContext(source)));
+
+        this.configuration.setProperty(FileChannel.SHARED_TEMPDIR_PROPERTY_KEY, "true");
+        assertFalse(source.isFiltered(this.createOperatorContext(source)));
+    }
+
+}
@@ -18,9 +18,12 @@
 
 package org.apache.wayang.sqlite3.channels;
 
+import org.apache.wayang.basic.channels.ArrowChannel;
+import org.apache.wayang.basic.channels.RecordChannelConversion;
 import org.apache.wayang.core.optimizer.channels.ChannelConversion;
 import org.apache.wayang.core.optimizer.channels.DefaultChannelConversion;
 import org.apache.wayang.java.channels.StreamChannel;
+import org.apache.wayang.jdbc.operators.SqlToArrowOperator;
 import org.apache.wayang.jdbc.operators.SqlToRddOperator;
 import org.apache.wayang.jdbc.operators.SqlToStreamOperator;
 import org.apache.wayang.spark.channels.RddChannel;
@@ -47,9 +50,16 @@ public class ChannelConversions {
             () -> new SqlToRddOperator(Sqlite3Platform.getInstance())
     );
 
+    public static final ChannelConversion SQL_TO_ARROW_CONVERSION = new RecordChannelConversion(
+            Sqlite3Platform.getInstance().getSqlQueryChannelDescriptor(),
+            ArrowChannel.DESCRIPTOR,
+            () -> new SqlToArrowOperator(Sqlite3Platform.getInstance())
+    );
+
     public static final Collection<ChannelConversion> ALL = Arrays.asList(
             SQL_TO_STREAM_CONVERSION,
-            SQL_TO_UNCACHED_RDD_CONVERSION
+            SQL_TO_UNCACHED_RDD_CONVERSION,
+            SQL_TO_ARROW_CONVERSION
     );
 
 }
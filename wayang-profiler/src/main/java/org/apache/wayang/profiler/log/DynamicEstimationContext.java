@@ -32,9 +32,21 @@ public class DynamicEstimationContext implements EstimationContext {
 
     private final Individual individual;
 
+    /**
+     * Cached cardinalities of the {@link #wrappedEstimationContext} or {@code null}.
+     */
+    private final DynamicLoadEstimator.Cardinalities cardinalities;
+
     public DynamicEstimationContext(Individual individual, EstimationContext wrappedEstimationContext) {
+        this(individual, wrappedEstimationContext, null);
+    }
+
+    public DynamicEstimationContext(Individual individual,
+                                    EstimationContext wrappedEstimationContext,
+                                    DynamicLoadEstimator.Cardinalities cardinalities) {
         this.individual = individual;
         this.wrappedEstimationContext = wrappedEstimationContext;
+        this.cardinalities = cardinalities;
     }
 
     @Override
@@ -65,4 +77,8 @@ public class DynamicEstimationContext implements EstimationContext {
     public Individual getIndividual() {
         return this.individual;
     }
+
+    public DynamicLoadEstimator.Cardinalities getCardinalities() {
+        return this.cardinalities;
+    }
 }
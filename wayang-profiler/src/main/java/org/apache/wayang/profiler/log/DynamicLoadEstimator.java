@@ -22,20 +22,20 @@ import org.apache.wayang.core.optimizer.cardinality.CardinalityEstimate;
 import org.apache.wayang.core.optimizer.costs.EstimationContext;
 import org.apache.wayang.core.optimizer.costs.LoadEstimate;
 import org.apache.wayang.core.optimizer.costs.LoadEstimator;
+import org.apache.wayang.core.optimizer.costs.LoadExpressionCompiler;
 import org.apache.wayang.core.optimizer.costs.LoadProfileEstimator;
 import org.apache.wayang.core.optimizer.costs.LoadProfileEstimators;
-import org.apache.wayang.core.util.mathex.Context;
 import org.apache.wayang.core.util.mathex.DefaultContext;
 import org.apache.wayang.core.util.mathex.Expression;
 import org.apache.wayang.core.util.mathex.ExpressionBuilder;
-import org.apache.wayang.core.util.mathex.exceptions.EvaluationException;
 
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.function.Function;
-import java.util.function.ToDoubleFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * Adjustable {@link LoadProfileEstimator} implementation.
@@ -51,6 +51,11 @@ public class DynamicLoadEstimator extends LoadEstimator {
             Collections.emptySet()
     );
 
+    /**
+     * Matches variables that represent genes of an {@link Individual}.
+     */
+    private static final Pattern GENE_VARIABLE_PATTERN = Pattern.compile("_var(\\d+)");
+
     /**
      * Function to estimate the load for given {@link Individual}.
      */
@@ -103,11 +108,11 @@ public class DynamicLoadEstimator extends LoadEstimator {
 
         final Expression expr = ExpressionBuilder.parse(sb.toString()).specify(LoadProfileEstimators.baseContext);
 
+        // Compile the expression once, so that the many evaluations during the optimization are cheap.
+        final LoadExpressionCompiler.CompiledExpression compiledExpression =
+                LoadExpressionCompiler.compile(sb.toString(), DynamicLoadEstimator::bindGene);
         SinglePointEstimator singlePointEstimator =
-                (individual, inCards, outCards) -> {
-                    Context mathContext = createMathContext(individual, inCards, outCards);
-                    return Math.round(expr.evaluate(mathContext));
-                };
+                (individual, inCards, outCards) -> Math.round(compiledExpression.evaluate(individual, inCards, outCards));
         final Function<Individual, String> specificationBuilder = individual -> {
             DefaultContext context = new DefaultContext();
             for (Variable variable : variables) {
@@ -122,61 +127,20 @@ public class DynamicLoadEstimator extends LoadEstimator {
     }
 
     /**
-     * Create a mathematical {@link Context} from the parameters.
+     * Binds variables of the form {@code _var<i>} to the {@code i}-th gene of the {@link Individual} of the
+     * {@link DynamicEstimationContext}.
      *
-     * @param context             provides miscellaneous variables and the {@link Individual}
-     * @param inputCardinalities  provides input {@link CardinalityEstimate}s (`in***`)
-     * @param outputCardinalities provides output {@link CardinalityEstimate}s (`out***`)
-     * @return the {@link Context}
+     * @param variableName the name of the variable
+     * @return the bound variable or {@code null} if the variable does not describe a gene
      */
-    private static Context createMathContext(final DynamicEstimationContext context,
-                                             final long[] inputCardinalities,
-                                             final long[] outputCardinalities) {
-        return new Context() {
-            @Override
-            public double getVariable(String variableName) throws EvaluationException {
-                // Serve "in999" and "out999" variables directly from the cardinality arrays.
-                if (variableName.startsWith("in") && variableName.length() > 2) {
-                    int accu = 0;
-                    int i;
-                    for (i = 2; i < variableName.length(); i++) {
-                        char c = variableName.charAt(i);
-                        if (!Character.isDigit(c)) break;
-                        accu = 10 * accu + (c - '0');
-                    }
-                    if (i == variableName.length()) return inputCardinalities[accu];
-                } else if (variableName.startsWith("out") && variableName.length() > 3) {
-                    int accu = 0;
-                    int i;
-                    for (i = 3; i < variableName.length(); i++) {
-                        char c = variableName.charAt(i);
-                        if (!Character.isDigit(c)) break;
-                        accu = 10 * accu + (c - '0');
-                    }
-                    if (i == variableName.length()) return outputCardinalities[accu];
-                } else if (variableName.startsWith("_var") && variableName.length() > 4) {
-                    int accu = 0;
-                    int i;
-                    for (i = 4; i < variableName.length(); i++) {
-                        char c = variableName.charAt(i);
-                        if (!Character.isDigit(c)) break;
-                        accu = 10 * accu + (c - '0');
-                    }
-                    if (i == variableName.length()) return context.getIndividual().getGenome()[accu];
-                }
-
-                // Otherwise, ask the context for the property.
-                return context.getDoubleProperty(variableName, Double.NaN);
-            }
-
-            @Override
-            public ToDoubleFunction<double[]> getFunction(String functionName) throws EvaluationException {
-                throw new EvaluationException("This context does not provide any functions.");
-            }
-        };
+    private static LoadExpressionCompiler.CompiledExpression bindGene(String variableName) {
+        final Matcher matcher = GENE_VARIABLE_PATTERN.matcher(variableName);
+        if (!matcher.matches()) return null;
+        final int index = Integer.parseInt(matcher.group(1));
+        return (context, inputCardinalities, outputCardinalities) ->
+                ((DynamicEstimationContext) context).getIndividual().getGenome()[index];
     }
 
-
     /**
      * Creates a new instance.
      *
@@ -212,6 +176,18 @@ public class DynamicLoadEstimator extends LoadEstimator {
             throw new IllegalArgumentException("Invalid estimation context.");
         }
         final DynamicEstimationContext dynamicContext = (DynamicEstimationContext) context;
+        final Cardinalities cardinalities = dynamicContext.getCardinalities();
+        if (cardinalities != null) {
+            return new LoadEstimate(
+                    Math.round(this.singlePointEstimator.estimate(
+                            dynamicContext, cardinalities.lowerInputCardinalities, cardinalities.lowerOutputCardinalities
+                    )),
+                    Math.round(this.singlePointEstimator.estimate(
+                            dynamicContext, cardinalities.upperInputCardinalities, cardinalities.upperOutputCardinalities
+                    )),
+                    cardinalities.jointProbability
+            );
+        }
         final CardinalityEstimate[] inputEstimates = context.getInputCardinalities();
         final CardinalityEstimate[] outputEstimates = context.getOutputCardinalities();
         long[] inputCardinalities = new long[inputEstimates.length];
@@ -260,4 +236,41 @@ public class DynamicLoadEstimator extends LoadEstimator {
         return this.employedVariables;
     }
 
+    /**
+     * Caches the lower and upper input and output cardinalities of an {@link EstimationContext} in primitive arrays,
+     * so that they need not be extracted from the {@link CardinalityEstimate}s for every evaluated {@link Individual}.
+     */
+    public static class Cardinalities {
+
+        private final long[] lowerInputCardinalities, upperInputCardinalities,
+                lowerOutputCardinalities, upperOutputCardinalities;
+
+        private final double jointProbability;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param context provides the {@link CardinalityEstimate}s
+         */
+        public Cardinalities(EstimationContext context) {
+            final CardinalityEstimate[] inputEstimates = context.getInputCardinalities();
+            final CardinalityEstimate[] outputEstimates = context.getOutputCardinalities();
+            this.lowerInputCardinalities = new long[inputEstimates.length];
+            this.upperInputCardinalities = new long[inputEstimates.length];
+            for (int i = 0; i < inputEstimates.length; i++) {
+                final CardinalityEstimate estimate = zeroLoad.replaceNullCardinality(inputEstimates[i]);
+                this.lowerInputCardinalities[i] = estimate.getLowerEstimate();
+                this.upperInputCardinalities[i] = estimate.getUpperEstimate();
+            }
+            this.lowerOutputCardinalities = new long[outputEstimates.length];
+            this.upperOutputCardinalities = new long[outputEstimates.length];
+            for (int i = 0; i < outputEstimates.length; i++) {
+                final CardinalityEstimate estimate = zeroLoad.replaceNullCardinality(outputEstimates[i]);
+                this.lowerOutputCardinalities[i] = estimate.getLowerEstimate();
+                this.upperOutputCardinalities[i] = estimate.getUpperEstimate();
+            }
+            this.jointProbability = zeroLoad.calculateJointProbability(inputEstimates, outputEstimates);
+        }
+    }
+
 }
@@ -34,7 +34,11 @@ import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import java.util.function.ToDoubleFunction;
 
 /**
@@ -113,6 +117,33 @@ public class GeneticOptimizer {
      */
     private long runtimeSum;
 
+    /**
+     * Features of the {@link #observations} (in their iteration order) that are required to calculate the fitness of
+     * {@link Individual}s. They are precomputed once, as the fitness calculation is the hot loop of the optimization.
+     */
+    private final long[] measuredExecutionTimes;
+
+    private final double[] observationBasedWeights, runtimeBasedWeights;
+
+    private final AtomicExecutionGroup[][] executionGroups;
+
+    private final DynamicLoadEstimator.Cardinalities[][] executionGroupCardinalities;
+
+    /**
+     * Genome indices of the {@link #platformOverheads} of the initialized {@link Platform}s per observation.
+     */
+    private final int[][] platformOverheadGenes;
+
+    /**
+     * Evaluates the fitness of {@link Individual}s in parallel or {@code null} to evaluate sequentially.
+     */
+    private final ForkJoinPool forkJoinPool;
+
+    /**
+     * Shared {@link ForkJoinPool}s by their parallelism.
+     */
+    private static final Map<Integer, ForkJoinPool> forkJoinPools = new ConcurrentHashMap<>();
+
     /**
      * Creates a new instance.
      */
@@ -175,6 +206,45 @@ public class GeneticOptimizer {
             }
             this.runtimeSum += observation.getMeasuredExecutionTime();
         }
+
+        // Precompute the features of the PartialExecutions.
+        final int numObservations = this.observations.size();
+        this.measuredExecutionTimes = new long[numObservations];
+        this.observationBasedWeights = new double[numObservations];
+        this.runtimeBasedWeights = new double[numObservations];
+        this.executionGroups = new AtomicExecutionGroup[numObservations][];
+        this.executionGroupCardinalities = new DynamicLoadEstimator.Cardinalities[numObservations][];
+        this.platformOverheadGenes = new int[numObservations][];
+        int observationIndex = 0;
+        for (PartialExecution observation : this.observations) {
+            this.measuredExecutionTimes[observationIndex] = observation.getMeasuredExecutionTime();
+            this.observationBasedWeights[observationIndex] = this.calculateObservationBasedWeight(observation);
+            this.runtimeBasedWeights[observationIndex] = this.calculateRuntimeBasedWeight(observation);
+            final AtomicExecutionGroup[] executionGroups = observation.getAtomicExecutionGroups().toArray(new AtomicExecutionGroup[0]);
+            this.executionGroups[observationIndex] = executionGroups;
+            this.executionGroupCardinalities[observationIndex] = new DynamicLoadEstimator.Cardinalities[executionGroups.length];
+            for (int i = 0; i < executionGroups.length; i++) {
+                this.executionGroupCardinalities[observationIndex][i] =
+                        new DynamicLoadEstimator.Cardinalities(executionGroups[i].getEstimationContext());
+            }
+            this.platformOverheadGenes[observationIndex] = observation.getInitializedPlatforms().stream()
+                    .map(this.platformOverheads::get)
+                    .filter(Objects::nonNull)
+                    .mapToInt(Variable::getIndex)
+                    .toArray();
+            observationIndex++;
+        }
+
+        final int parallelism = (int) this.configuration.getLongProperty(
+                "wayang.profiler.ga.parallelism", Runtime.getRuntime().availableProcessors()
+        );
+        if (parallelism > 1) {
+            this.forkJoinPool = forkJoinPools.computeIfAbsent(parallelism, ForkJoinPool::new);
+            // Evaluate a dummy individual sequentially, so that lazily initialized caches are set up before going parallel.
+            this.fitnessFunction.applyAsDouble(new Individual(this.optimizationSpace.getNumDimensions()));
+        } else {
+            this.forkJoinPool = null;
+        }
     }
 
     /**
@@ -200,11 +270,9 @@ public class GeneticOptimizer {
     public List<Individual> createInitialPopulation() {
         List<Individual> individuals = new ArrayList<>(this.populationSize);
         for (int i = 0; i < this.populationSize; i++) {
-            final Individual individual = this.optimizationSpace.createRandomIndividual(this.random);
-            this.updateFitnessOf(individual);
-            individuals.add(individual);
+            individuals.add(this.optimizationSpace.createRandomIndividual(this.random));
         }
-        individuals.sort(Individual.fitnessComparator);
+        this.updateFitness(individuals);
         return individuals;
     }
 
@@ -214,10 +282,23 @@ public class GeneticOptimizer {
      * @param individuals the {@link Individual}s
      */
     public void updateFitness(List<Individual> individuals) {
-        individuals.forEach(this::updateFitnessOf);
+        this.calculateFitness(individuals);
         individuals.sort(Individual.fitnessComparator);
     }
 
+    /**
+     * Update the fitness of the {@link Individual}s w.r.t. to this instance, in parallel if configured.
+     *
+     * @param individuals the {@link Individual}s
+     */
+    private void calculateFitness(List<Individual> individuals) {
+        if (this.forkJoinPool == null || individuals.size() < 2) {
+            individuals.forEach(this::updateFitnessOf);
+        } else {
+            this.forkJoinPool.invoke(new FitnessEvaluation(individuals, 0, individuals.size()));
+        }
+    }
+
     private void updateFitnessOf(Individual individual) {
         individual.updateFitness(this.fitnessFunction);
         individual.updateMaturity(this.activatedGenes);
@@ -237,15 +318,15 @@ public class GeneticOptimizer {
         );
         int selectionSize = selectedIndividuals.size();
 
-        // Create mutations.
+        // Create mutations and cross-overs and evaluate them at once.
+        List<Individual> offsprings = new ArrayList<>(this.populationSize);
         int numMutations = (int) Math.round(this.mutationRatio * this.populationSize);
         for (int i = 0; i < numMutations; i++) {
             final Individual individual = selectedIndividuals.get(this.random.nextInt(selectionSize));
             final Individual mutant = individual.mutate(
                     this.random, this.activatedGenes, this.optimizationSpace, this.mutationAlterationRatio, this.mutationResetRatio
             );
-            this.updateFitnessOf(mutant);
-            nextGeneration.add(mutant);
+            offsprings.add(mutant);
         }
 
         // Cross over.
@@ -254,9 +335,10 @@ public class GeneticOptimizer {
             final Individual individual1 = selectedIndividuals.get(this.random.nextInt(selectionSize));
             final Individual individual2 = selectedIndividuals.get(this.random.nextInt(selectionSize));
             final Individual offspring = individual1.crossOver(individual2, this.random);
-            this.updateFitnessOf(offspring);
-            nextGeneration.add(offspring);
+            offsprings.add(offspring);
         }
+        this.calculateFitness(offsprings);
+        nextGeneration.addAll(offsprings);
 
         // Process elites.
         for (int i = 0; i < this.eliteSize; i++) {
@@ -298,6 +380,42 @@ public class GeneticOptimizer {
         return observations;
     }
 
+    /**
+     * Estimates the execution time of an observation.
+     *
+     * @param individual       provides the parameters for the estimation
+     * @param observationIndex the index of the observation in {@link #getObservations()}
+     * @return the estimated execution time
+     */
+    double estimateTime(Individual individual, int observationIndex) {
+        final AtomicExecutionGroup[] executionGroups = this.executionGroups[observationIndex];
+        final DynamicLoadEstimator.Cardinalities[] cardinalities = this.executionGroupCardinalities[observationIndex];
+        double estimate = 0d;
+        for (int i = 0; i < executionGroups.length; i++) {
+            final DynamicEstimationContext estimationContext = new DynamicEstimationContext(
+                    individual, executionGroups[i].getEstimationContext(), cardinalities[i]
+            );
+            estimate += executionGroups[i].estimateExecutionTime(estimationContext).getGeometricMeanEstimate();
+        }
+        final double[] genome = individual.getGenome();
+        for (int gene : this.platformOverheadGenes[observationIndex]) {
+            estimate += genome[gene];
+        }
+        return estimate;
+    }
+
+    long[] getMeasuredExecutionTimes() {
+        return this.measuredExecutionTimes;
+    }
+
+    double[] getObservationBasedWeights() {
+        return this.observationBasedWeights;
+    }
+
+    double[] getRuntimeBasedWeights() {
+        return this.runtimeBasedWeights;
+    }
+
     public HashMap<Object, Integer> getNumObservations() {
         return numObservations;
     }
@@ -338,5 +456,33 @@ public class GeneticOptimizer {
         return keys;
     }
 
+    /**
+     * Evaluates the fitness of a range of {@link Individual}s by recursively splitting it.
+     */
+    private class FitnessEvaluation extends RecursiveAction {
+
+        private final List<Individual> individuals;
+
+        private final int from, to;
+
+        private FitnessEvaluation(List<Individual> individuals, int from, int to) {
+            this.individuals = individuals;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.to - this.from == 1) {
+                GeneticOptimizer.this.updateFitnessOf(this.individuals.get(this.from));
+            } else {
+                int middle = (this.from + this.to) >>> 1;
+                invokeAll(
+                        new FitnessEvaluation(this.individuals, this.from, middle),
+                        new FitnessEvaluation(this.individuals, middle, this.to)
+                );
+            }
+        }
+    }
 
 }
@@ -54,6 +54,7 @@ import java.util.Map;
 import java.util.Queue;
 import java.util.Random;
 import java.util.Set;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -115,38 +116,26 @@ public class GeneticOptimizerApp {
         double maxCardinalitySpread = this.configuration.getDoubleProperty("wayang.profiler.ga.max-cardinality-spread", 1d);
         double minCardinalityConfidence = this.configuration.getDoubleProperty("wayang.profiler.ga.min-cardinality-confidence", 1d);
         long minExecutionTime = this.configuration.getLongProperty("wayang.profiler.ga.min-exec-time", 1);
-        try (ExecutionLog executionLog = ExecutionLog.open(configuration)) {
-            this.partialExecutions = executionLog.stream().collect(Collectors.toList());
-
-            int lastSize = this.partialExecutions.size();
-            this.partialExecutions.removeIf(partialExecution -> !this.checkEstimatorTemplates(partialExecution));
-            int newSize = this.partialExecutions.size();
-            System.out.printf("Removed %d executions with no template-based estimators.\n", lastSize - newSize);
-            lastSize = newSize;
-
-            this.partialExecutions.removeIf(partialExecution -> !this.checkSpread(partialExecution, maxCardinalitySpread));
-            newSize = this.partialExecutions.size();
-            System.out.printf("Removed %d executions with a too large cardinality spread (> %.2f).\n", lastSize - newSize, minCardinalityConfidence);
-            lastSize = newSize;
-
-            this.partialExecutions.removeIf(partialExecution -> !this.checkNonEmptyCardinalities(partialExecution));
-            newSize = this.partialExecutions.size();
-            System.out.printf("Removed %d executions with zero cardinalities.\n", lastSize - newSize);
-            lastSize = newSize;
-
-            this.partialExecutions.removeIf(partialExecution -> !this.checkConfidence(partialExecution, minCardinalityConfidence));
-            newSize = this.partialExecutions.size();
-            System.out.printf("Removed %d executions with a too low cardinality confidence (< %.2f).\n", lastSize - newSize, minCardinalityConfidence);
-            lastSize = newSize;
-
-            this.partialExecutions.removeIf(partialExecution -> partialExecution.getMeasuredExecutionTime() < minExecutionTime);
-            newSize = this.partialExecutions.size();
-            System.out.printf("Removed %d executions with a too short runtime (< %,d ms).\n", lastSize - newSize, minExecutionTime);
-            lastSize = newSize;
-
-            this.partialExecutions.removeIf(partialExecution -> new Random().nextDouble() > samplingFactor);
-            newSize = this.partialExecutions.size();
-            System.out.printf("Removed %d executions due to sampling.\n", lastSize - newSize);
+        // Apply the filters while streaming the log, so that only the retained PartialExecutions are kept in memory.
+        final long[] numRemovals = new long[6];
+        final Random random = new Random();
+        try (ExecutionLog executionLog = ExecutionLog.open(configuration);
+             Stream<PartialExecution> partialExecutionStream = executionLog.stream()) {
+            this.partialExecutions = partialExecutionStream
+                    .filter(countRemovals(numRemovals, 0, this::checkEstimatorTemplates))
+                    .filter(countRemovals(numRemovals, 1, partialExecution -> this.checkSpread(partialExecution, maxCardinalitySpread)))
+                    .filter(countRemovals(numRemovals, 2, this::checkNonEmptyCardinalities))
+                    .filter(countRemovals(numRemovals, 3, partialExecution -> this.checkConfidence(partialExecution, minCardinalityConfidence)))
+                    .filter(countRemovals(numRemovals, 4, partialExecution -> partialExecution.getMeasuredExecutionTime() >= minExecutionTime))
+                    .filter(countRemovals(numRemovals, 5, partialExecution -> random.nextDouble() <= samplingFactor))
+                    .collect(Collectors.toList());
+
+            System.out.printf("Removed %d executions with no template-based estimators.\n", numRemovals[0]);
+            System.out.printf("Removed %d executions with a too large cardinality spread (> %.2f).\n", numRemovals[1], maxCardinalitySpread);
+            System.out.printf("Removed %d executions with zero cardinalities.\n", numRemovals[2]);
+            System.out.printf("Removed %d executions with a too low cardinality confidence (< %.2f).\n", numRemovals[3], minCardinalityConfidence);
+            System.out.printf("Removed %d executions with a too short runtime (< %,d ms).\n", numRemovals[4], minExecutionTime);
+            System.out.printf("Removed %d executions due to sampling.\n", numRemovals[5]);
         } catch (Exception e) {
             throw new WayangException("Could not evaluate execution log.", e);
         }
@@ -201,6 +190,22 @@ public class GeneticOptimizerApp {
         );
     }
 
+    /**
+     * Wraps a {@link Predicate} so that it counts the elements it rejects.
+     *
+     * @param counters  maintains the counts
+     * @param index     of the counter for the {@code predicate}
+     * @param predicate the {@link Predicate} to wrap
+     * @return the wrapped {@link Predicate}
+     */
+    private static <T> Predicate<T> countRemovals(long[] counters, int index, Predicate<T> predicate) {
+        return element -> {
+            if (predicate.test(element)) return true;
+            counters[index]++;
+            return false;
+        };
+    }
+
     /**
      * Check if all {@link CardinalityEstimate}s for the {@link PartialExecution} are sufficiently confident.
      *
@@ -231,22 +231,20 @@ public class Individual {
         double fitnessSum = 0d;
 
         // Calculate the arithmetic mean of the partial fitnesses for each data point.
-        for (PartialExecution partialExecution : geneticOptimizer.getData()) {
+        final long[] measuredExecutionTimes = geneticOptimizer.getMeasuredExecutionTimes();
+        final double[] observationBasedWeights = geneticOptimizer.getObservationBasedWeights();
+        for (int i = 0; i < measuredExecutionTimes.length; i++) {
             // Estimate the time with the current variables.
-            double timeEstimate = this.estimateTime(
-                    partialExecution,
-                    geneticOptimizer.getPlatformOverheads(),
-                    geneticOptimizer.getConfiguration()
-            );
+            double timeEstimate = geneticOptimizer.estimateTime(this, i);
 
             // Calculate the weight.
 //            double weight = Math.log(partialExecution.getMeasuredExecutionTime() + 2d) / Math.log(2);
 //            double weight = Math.sqrt(Math.max(timeEstimate, partialExecution.getMeasuredExecutionTime())) + 1;
-            double weight = geneticOptimizer.calculateObservationBasedWeight(partialExecution);
+            double weight = observationBasedWeights[i];
 //                    + geneticOptimizer.calculateRuntimeBasedWeight(partialExecution);
 
             // Calculate the partial fitness.
-            double relativeDelta = this.calculateRelativeDelta(timeEstimate, partialExecution.getMeasuredExecutionTime());
+            double relativeDelta = this.calculateRelativeDelta(timeEstimate, measuredExecutionTimes[i]);
 
             // Prepare mean calculation.
 //            fitnessSum += weight / (partialFitness + harmonicSmoothing);
@@ -271,15 +269,13 @@ public class Individual {
     double calculateAbsoluteFitness(GeneticOptimizer geneticOptimizer) {
         double weightSum = 0d;
         double fitnessSum = 0d;
-        for (PartialExecution partialExecution : geneticOptimizer.getData()) {
-            double timeEstimate = this.estimateTime(
-                    partialExecution,
-                    geneticOptimizer.getPlatformOverheads(),
-                    geneticOptimizer.getConfiguration()
-            );
-            double weight = geneticOptimizer.calculateObservationBasedWeight(partialExecution)
-                    + 3 * geneticOptimizer.calculateRuntimeBasedWeight(partialExecution);
-            double partialFitness = this.calculateAbsolutePartialFitness(timeEstimate, partialExecution.getMeasuredExecutionTime());
+        final long[] measuredExecutionTimes = geneticOptimizer.getMeasuredExecutionTimes();
+        final double[] observationBasedWeights = geneticOptimizer.getObservationBasedWeights();
+        final double[] runtimeBasedWeights = geneticOptimizer.getRuntimeBasedWeights();
+        for (int i = 0; i < measuredExecutionTimes.length; i++) {
+            double timeEstimate = geneticOptimizer.estimateTime(this, i);
+            double weight = observationBasedWeights[i] + 3 * runtimeBasedWeights[i];
+            double partialFitness = this.calculateAbsolutePartialFitness(timeEstimate, measuredExecutionTimes[i]);
             weightSum += weight;
             fitnessSum += weight * -(partialFitness * partialFitness);
         }
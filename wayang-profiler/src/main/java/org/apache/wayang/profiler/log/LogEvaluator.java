@@ -38,7 +38,6 @@ import java.util.Collection;
 import java.util.Comparator;
 import java.util.LinkedList;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
@@ -50,7 +49,11 @@ public class LogEvaluator {
 
     private final Configuration configuration;
 
-    private final Collection<PartialExecution> partialExecutions;
+    /**
+     * Provides the {@link PartialExecution}s. They are streamed anew for every command, so that large logs need not
+     * fit into memory.
+     */
+    private final ExecutionLog executionLog;
 
     private final Collection<Predicate<PartialExecution>> filters = new LinkedList<>();
 
@@ -64,21 +67,13 @@ public class LogEvaluator {
         SparkPlatform.getInstance();
 
         this.configuration = configuration;
-        this.partialExecutions = loadLog(configuration);
+        this.executionLog = ExecutionLog.open(configuration);
 
         // Print some general statistics.
         this.modifySorting("sort rel desc".split(" "));
         this.printStatistics();
     }
 
-    private static Collection<PartialExecution> loadLog(Configuration configuration) {
-        try (ExecutionLog executionLog = ExecutionLog.open(configuration)) {
-            return executionLog.stream().collect(Collectors.toList());
-        } catch (Exception e) {
-            throw new WayangException("Could not evaluate execution log.", e);
-        }
-    }
-
     private void runUserLoop() throws IOException {
         String input;
         BufferedReader commandLine = new BufferedReader(new InputStreamReader(System.in));
@@ -106,11 +101,13 @@ public class LogEvaluator {
     }
 
     private void printPartialExecutions(String[] commandLine) {
-        Stream<PartialExecution> stream = createPartialExecutionStream();
-        if (commandLine.length >= 2) {
-            stream = stream.limit(Long.parseLong(commandLine[1]));
+        try (Stream<PartialExecution> stream = this.createPartialExecutionStream()) {
+            Stream<PartialExecution> limitedStream = stream;
+            if (commandLine.length >= 2) {
+                limitedStream = limitedStream.limit(Long.parseLong(commandLine[1]));
+            }
+            limitedStream.forEach(this::print);
         }
-        stream.forEach(this::print);
     }
 
     private void print(PartialExecution pe) {
@@ -125,14 +122,17 @@ public class LogEvaluator {
     }
 
     private void printStatistics() {
-        // Print some general statistics.
-        final TimeEstimate overallTimeEstimate = this.createPartialExecutionStream()
-                .map(partialExecution -> partialExecution.getOverallTimeEstimate(this.configuration))
-                .reduce(TimeEstimate.ZERO, TimeEstimate::plus);
-        final long overallMeasuredTime = this.createPartialExecutionStream()
-                .map(PartialExecution::getMeasuredExecutionTime)
-                .reduce(0L, (a, b) -> a + b);
-        System.out.printf("Found %d partial executions.\n", this.createPartialExecutionStream().count());
+        // Print some general statistics, thereby scanning the log only once.
+        TimeEstimate overallTimeEstimate = TimeEstimate.ZERO;
+        long overallMeasuredTime = 0L, numPartialExecutions = 0L;
+        try (Stream<PartialExecution> stream = this.createPartialExecutionStream()) {
+            for (PartialExecution partialExecution : (Iterable<PartialExecution>) stream::iterator) {
+                overallTimeEstimate = overallTimeEstimate.plus(partialExecution.getOverallTimeEstimate(this.configuration));
+                overallMeasuredTime += partialExecution.getMeasuredExecutionTime();
+                numPartialExecutions++;
+            }
+        }
+        System.out.printf("Found %d partial executions.\n", numPartialExecutions);
         System.out.printf("> Measured execution time: %s\n", Formats.formatDuration(overallMeasuredTime, true));
         System.out.printf("> Estimated execution time: %s\n", overallTimeEstimate);
         System.out.println();
@@ -218,8 +218,18 @@ public class LogEvaluator {
         return inputString.toLowerCase().matches(".*" + regex + ".*");
     }
 
+    /**
+     * Streams the filtered and sorted {@link PartialExecution}s from the {@link #executionLog}.
+     *
+     * @return the {@link Stream}; must be closed after use
+     */
     private Stream<PartialExecution> createPartialExecutionStream() {
-        Stream<PartialExecution> stream = this.partialExecutions.stream();
+        Stream<PartialExecution> stream;
+        try {
+            stream = this.executionLog.stream();
+        } catch (IOException e) {
+            throw new WayangException("Could not evaluate execution log.", e);
+        }
         for (Predicate<PartialExecution> filter : this.filters) {
             stream = stream.filter(filter);
         }